@@ -144,6 +144,7 @@ create table ACT_RU_JOB (
     HANDLER_CFG_ nvarchar(4000),
     CUSTOM_VALUES_ID_ nvarchar(64),
     CREATE_TIME_ datetime2 NULL,
+    SHARD_ int,
     TENANT_ID_ nvarchar(255) default '',
     primary key (ID_)
 );
@@ -144,6 +144,7 @@ create table ACT_RU_JOB (
     HANDLER_CFG_ varchar(4000),
     CUSTOM_VALUES_ID_ varchar(64),
     CREATE_TIME_ timestamp(3) NULL,
+    SHARD_ integer,
     TENANT_ID_ varchar(255) default '',
     primary key (ID_)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
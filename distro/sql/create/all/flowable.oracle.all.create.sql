@@ -144,6 +144,7 @@ create table ACT_RU_JOB (
     HANDLER_CFG_ NVARCHAR2(2000),
     CUSTOM_VALUES_ID_ NVARCHAR2(64),
     CREATE_TIME_ TIMESTAMP(6),
+    SHARD_ INTEGER,
     TENANT_ID_ NVARCHAR2(255) DEFAULT '',
     primary key (ID_)
 );
@@ -67,6 +67,7 @@ import org.flowable.common.engine.impl.el.DefaultExpressionManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
@@ -353,7 +354,9 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
 
     protected void initAppDefinitionCache() {
         if (appDefinitionCache == null) {
-            if (appDefinitionCacheLimit <= 0) {
+            if (concurrentDeploymentCacheEnabled) {
+                appDefinitionCache = new ConcurrentDeploymentCache<>(appDefinitionCacheLimit);
+            } else if (appDefinitionCacheLimit <= 0) {
                 appDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 appDefinitionCache = new DefaultDeploymentCache<>(appDefinitionCacheLimit);
@@ -61,6 +61,7 @@ import org.flowable.cmmn.engine.impl.DefaultCmmnHistoryCleaningManager;
 import org.flowable.cmmn.engine.impl.agenda.CmmnEngineAgendaFactory;
 import org.flowable.cmmn.engine.impl.agenda.CmmnEngineAgendaSessionFactory;
 import org.flowable.cmmn.engine.impl.agenda.DefaultCmmnEngineAgendaFactory;
+import org.flowable.cmmn.engine.impl.agenda.PlanItemBehaviorTypeResolver;
 import org.flowable.cmmn.engine.impl.callback.ChildBpmnCaseInstanceStateChangeCallback;
 import org.flowable.cmmn.engine.impl.callback.ChildCaseInstanceStateChangeCallback;
 import org.flowable.cmmn.engine.impl.callback.DefaultInternalCmmnJobManager;
@@ -82,6 +83,7 @@ import org.flowable.cmmn.engine.impl.delete.DeleteHistoricCaseInstancesSequentia
 import org.flowable.cmmn.engine.impl.deployer.CaseDefinitionDiagramHelper;
 import org.flowable.cmmn.engine.impl.deployer.CmmnDeployer;
 import org.flowable.cmmn.engine.impl.deployer.CmmnDeploymentManager;
+import org.flowable.cmmn.engine.impl.deployer.CmmnExpressionPreParser;
 import org.flowable.cmmn.engine.impl.el.CmmnExpressionManager;
 import org.flowable.cmmn.engine.impl.eventregistry.CmmnEventRegistryEventConsumer;
 import org.flowable.cmmn.engine.impl.form.DefaultFormFieldHandler;
@@ -247,6 +249,7 @@ import org.flowable.common.engine.impl.HasVariableServiceConfiguration;
 import org.flowable.common.engine.impl.HasVariableTypes;
 import org.flowable.common.engine.impl.ScriptingEngineAwareEngineConfiguration;
 import org.flowable.common.engine.impl.ServiceConfigurator;
+import org.flowable.common.engine.impl.agenda.AgendaOperationBehaviorTypeResolver;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskInvoker;
@@ -281,6 +284,7 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
@@ -296,6 +300,7 @@ import org.flowable.entitylink.service.EntityLinkServiceConfiguration;
 import org.flowable.entitylink.service.impl.db.EntityLinkDbSchemaManager;
 import org.flowable.eventregistry.api.EventRegistryEventConsumer;
 import org.flowable.eventregistry.impl.configurator.EventRegistryEngineConfigurator;
+import org.flowable.eventregistry.impl.consumer.BaseEventRegistryEventConsumer;
 import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
 import org.flowable.eventsubscription.service.impl.db.EventSubscriptionDbSchemaManager;
 import org.flowable.form.api.FormFieldHandler;
@@ -319,6 +324,7 @@ import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncRunnableExecution
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
+import org.flowable.job.service.impl.asyncexecutor.notification.JobNotificationChannel;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
@@ -326,6 +332,7 @@ import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodec;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.task.service.InternalTaskAssignmentManager;
 import org.flowable.task.service.InternalTaskVariableScopeResolver;
@@ -467,6 +474,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    // When enabled, the expressions of case definitions are parsed when they are deployed or put in the cache
+    // and deployments with malformed expressions are rejected
+    protected boolean isExpressionPreParsingEnabled;
 
     // Scripting support
     protected ScriptingEngines scriptingEngines;
@@ -530,6 +540,11 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected VariableServiceConfiguration variableServiceConfiguration;
     protected InternalHistoryVariableManager internalHistoryVariableManager;
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
+    /**
+     * When true, getting or setting a variable by name only fetches that variable instead of all the variables of the case or plan item instance.
+     * By default false for backwards compatibility.
+     */
+    protected boolean selectiveVariableFetchingEnabled;
     /**
      * This flag determines whether variables of the type 'json' and 'longJson' will be tracked.
      * <p>
@@ -583,6 +598,18 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected FailedJobCommandFactory failedJobCommandFactory;
     protected InternalJobParentStateResolver internalJobParentStateResolver;
     protected List<String> enabledJobCategories;
+
+    /**
+     * Channel through which the nodes of a cluster notify each other of new async jobs, see {@link JobNotificationChannel}.
+     * By default null, meaning that the async executors only find the jobs of other nodes by polling.
+     */
+    protected JobNotificationChannel jobNotificationChannel;
+
+    /**
+     * The number of shards async jobs are spread over, see {@link JobServiceConfiguration#setJobShardCount(int)}.
+     */
+    protected int jobShardCount = 16;
+
     protected String jobExecutionScope = JobServiceConfiguration.JOB_EXECUTION_SCOPE_CMMN;
     protected String historyJobExecutionScope = JobServiceConfiguration.JOB_EXECUTION_SCOPE_CMMN;
     
@@ -669,6 +696,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+    protected AsyncHistoryPayloadCodec asyncHistoryPayloadCodec;
     protected AsyncHistoryListener asyncHistoryListener;
 
     // More info: see similar async executor properties.
@@ -704,6 +732,14 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected boolean eventRegistryUniqueCaseInstanceCheckWithLock = true;
 
+    /**
+     * Whether the event registry consumer should use a node local index of the event subscriptions,
+     * to skip the event subscription query for events that can't have a matching subscription.
+     * Only for single node deployments: the {@link org.flowable.eventregistry.impl.consumer.EventSubscriptionIndex EventSubscriptionIndex}
+     * doesn't see the subscriptions created on other nodes, so events for them would be dropped in a cluster.
+     */
+    protected boolean eventRegistrySingleNodeEventSubscriptionIndexEnabled = false;
+
     /**
      * The amount of time for the lock of a unique start event.
      */
@@ -1025,10 +1061,16 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     @Override
     public void initCommandInvoker() {
         if (this.commandInvoker == null) {
+            initAgendaOperationMetrics();
             this.commandInvoker = new CmmnCommandInvoker(agendaOperationRunner);
         }
     }
 
+    @Override
+    protected AgendaOperationBehaviorTypeResolver createAgendaOperationBehaviorTypeResolver() {
+        return new PlanItemBehaviorTypeResolver();
+    }
+
     @Override
     public void initSessionFactories() {
         super.initSessionFactories();
@@ -1199,6 +1241,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         cmmnDeployer.setCmmnParser(cmmnParser);
         cmmnDeployer.setCaseDefinitionDiagramHelper(caseDefinitionDiagramHelper);
         cmmnDeployer.setUsePrefixId(usePrefixId);
+        if (isExpressionPreParsingEnabled && cmmnDeployer.getExpressionPreParser() == null) {
+            cmmnDeployer.setExpressionPreParser(new CmmnExpressionPreParser(expressionManager));
+        }
 
         defaultDeployers.add(cmmnDeployer);
         return defaultDeployers;
@@ -1206,7 +1251,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected void initCaseDefinitionCache() {
         if (caseDefinitionCache == null) {
-            if (caseDefinitionCacheLimit <= 0) {
+            if (concurrentDeploymentCacheEnabled) {
+                caseDefinitionCache = new ConcurrentDeploymentCache<>(caseDefinitionCacheLimit);
+            } else if (caseDefinitionCacheLimit <= 0) {
                 caseDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 caseDefinitionCache = new DefaultDeploymentCache<>(caseDefinitionCacheLimit);
@@ -1438,6 +1485,10 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         } else {
             cmmnEventRegistryEventConsumer = new CmmnEventRegistryEventConsumer(this);
         }
+
+        if (eventRegistrySingleNodeEventSubscriptionIndexEnabled && cmmnEventRegistryEventConsumer instanceof BaseEventRegistryEventConsumer) {
+            ((BaseEventRegistryEventConsumer) cmmnEventRegistryEventConsumer).enableEventSubscriptionIndex();
+        }
         
         addEventRegistryEventConsumer(cmmnEventRegistryEventConsumer.getConsumerKey(), cmmnEventRegistryEventConsumer);
     }
@@ -1554,6 +1605,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
         this.variableServiceConfiguration.setMaxLengthString(this.getMaxLengthString());
         this.variableServiceConfiguration.setSerializableVariableTypeTrackDeserializedObjects(this.isSerializableVariableTypeTrackDeserializedObjects());
+        this.variableServiceConfiguration.setSelectiveVariableFetchingEnabled(this.isSelectiveVariableFetchingEnabled());
         this.variableServiceConfiguration.setLoggingSessionEnabled(isLoggingSessionEnabled());
     }
 
@@ -1838,6 +1890,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
+            jobServiceConfiguration.setAsyncHistoryPayloadCodec(asyncHistoryPayloadCodec);
             
             this.jobServiceConfiguration.setJobExecutionScope(this.jobExecutionScope);
             this.jobServiceConfiguration.setHistoryJobExecutionScope(this.historyJobExecutionScope);
@@ -1846,6 +1899,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
                 this.jobServiceConfiguration.setEnabledJobCategories(enabledJobCategories);
             }
 
+            this.jobServiceConfiguration.setJobNotificationChannel(jobNotificationChannel);
+            this.jobServiceConfiguration.setJobShardCount(jobShardCount);
+
             this.jobServiceConfiguration.setConfigurators(jobServiceConfigurators);
         }
     }
@@ -2787,6 +2843,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isExpressionPreParsingEnabled() {
+        return isExpressionPreParsingEnabled;
+    }
+
+    public CmmnEngineConfiguration setExpressionPreParsingEnabled(boolean isExpressionPreParsingEnabled) {
+        this.isExpressionPreParsingEnabled = isExpressionPreParsingEnabled;
+        return this;
+    }
+
     public DelegateExpressionFieldInjectionMode getDelegateExpressionFieldInjectionMode() {
         return delegateExpressionFieldInjectionMode;
     }
@@ -3091,6 +3156,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isSelectiveVariableFetchingEnabled() {
+        return selectiveVariableFetchingEnabled;
+    }
+
+    public CmmnEngineConfiguration setSelectiveVariableFetchingEnabled(boolean selectiveVariableFetchingEnabled) {
+        this.selectiveVariableFetchingEnabled = selectiveVariableFetchingEnabled;
+        return this;
+    }
+
     public boolean isJsonVariableTypeTrackObjects() {
         return jsonVariableTypeTrackObjects;
     }
@@ -3290,6 +3364,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isEventRegistrySingleNodeEventSubscriptionIndexEnabled() {
+        return eventRegistrySingleNodeEventSubscriptionIndexEnabled;
+    }
+
+    public CmmnEngineConfiguration setEventRegistrySingleNodeEventSubscriptionIndexEnabled(boolean eventRegistrySingleNodeEventSubscriptionIndexEnabled) {
+        this.eventRegistrySingleNodeEventSubscriptionIndexEnabled = eventRegistrySingleNodeEventSubscriptionIndexEnabled;
+        return this;
+    }
+
     public Duration getEventRegistryUniqueCaseInstanceStartLockTime() {
         return eventRegistryUniqueCaseInstanceStartLockTime;
     }
@@ -3817,6 +3900,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
         return this;
     }
+
+    public AsyncHistoryPayloadCodec getAsyncHistoryPayloadCodec() {
+        return asyncHistoryPayloadCodec;
+    }
+
+    public CmmnEngineConfiguration setAsyncHistoryPayloadCodec(AsyncHistoryPayloadCodec asyncHistoryPayloadCodec) {
+        this.asyncHistoryPayloadCodec = asyncHistoryPayloadCodec;
+        return this;
+    }
     
     public boolean isAsyncHistoryExecutorMessageQueueMode() {
         return asyncHistoryExecutorMessageQueueMode;
@@ -4186,6 +4278,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public JobNotificationChannel getJobNotificationChannel() {
+        return jobNotificationChannel;
+    }
+
+    public CmmnEngineConfiguration setJobNotificationChannel(JobNotificationChannel jobNotificationChannel) {
+        this.jobNotificationChannel = jobNotificationChannel;
+        return this;
+    }
+
+    public int getJobShardCount() {
+        return jobShardCount;
+    }
+
+    public CmmnEngineConfiguration setJobShardCount(int jobShardCount) {
+        this.jobShardCount = jobShardCount;
+        return this;
+    }
+
     public String getJobExecutionScope() {
         return jobExecutionScope;
     }
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.agenda;
+
+import org.flowable.cmmn.engine.impl.agenda.operation.AbstractPlanItemInstanceOperation;
+import org.flowable.cmmn.engine.impl.agenda.operation.StartPlanItemInstanceOperation;
+import org.flowable.cmmn.engine.impl.agenda.operation.TriggerPlanItemInstanceOperation;
+import org.flowable.cmmn.engine.impl.persistence.entity.PlanItemInstanceEntity;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.common.engine.impl.agenda.AgendaOperationBehaviorTypeResolver;
+
+/**
+ * Resolves the plan item behavior executed by the operations that start or trigger a plan item instance.
+ */
+public class PlanItemBehaviorTypeResolver implements AgendaOperationBehaviorTypeResolver {
+
+    @Override
+    public String resolveBehaviorType(Runnable operation) {
+        if (operation instanceof StartPlanItemInstanceOperation || operation instanceof TriggerPlanItemInstanceOperation) {
+            PlanItemInstanceEntity planItemInstanceEntity = ((AbstractPlanItemInstanceOperation) operation).getPlanItemInstanceEntity();
+            if (planItemInstanceEntity != null) {
+                PlanItem planItem = planItemInstanceEntity.getPlanItem();
+                if (planItem != null && planItem.getBehavior() != null) {
+                    return planItem.getBehavior().getClass().getSimpleName();
+                }
+            }
+        }
+        return null;
+    }
+
+}
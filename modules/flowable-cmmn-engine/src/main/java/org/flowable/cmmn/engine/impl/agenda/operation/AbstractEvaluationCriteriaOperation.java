@@ -28,6 +28,7 @@ import org.flowable.cmmn.converter.util.PlanItemUtil;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.cmmn.engine.impl.agenda.PlanItemEvaluationResult;
 import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyIndex;
 import org.flowable.cmmn.engine.impl.persistence.entity.CaseInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.CountingPlanItemInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.EntityWithSentryPartInstances;
@@ -36,6 +37,7 @@ import org.flowable.cmmn.engine.impl.persistence.entity.PlanItemInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.PlanItemInstanceEntityManager;
 import org.flowable.cmmn.engine.impl.persistence.entity.SentryPartInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.SentryPartInstanceEntityManager;
+import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
 import org.flowable.cmmn.engine.impl.repository.CaseDefinitionUtil;
 import org.flowable.cmmn.engine.impl.util.CaseInstanceUtil;
 import org.flowable.cmmn.engine.impl.util.CmmnLoggingSessionUtil;
@@ -73,6 +75,14 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
     /** only the last evaluation planned on the agenda operation will have this true. */
     protected boolean evaluateStagesAndCaseInstanceCompletion;
 
+    /**
+     * The sentry dependency index of the case definition of the evaluated entities and the criteria it selects for the current life cycle event,
+     * looked up once per operation.
+     */
+    protected String sentryDependencyIndexCaseDefinitionId;
+    protected SentryDependencyIndex sentryDependencyIndex;
+    protected Set<Criterion> criteriaAffectedByLifeCycleEvent;
+
     public AbstractEvaluationCriteriaOperation(CommandContext commandContext, String caseInstanceId, CaseInstanceEntity caseInstanceEntity, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
         super(commandContext, caseInstanceId, caseInstanceEntity);
         this.planItemLifeCycleEvent = planItemLifeCycleEvent;
@@ -450,8 +460,16 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
      * @return Returns the criterion that is satisfied. If none is satisfied, null is returned.
      */
     protected Criterion evaluateCriteria(EntityWithSentryPartInstances entityWithSentryPartInstances, List<Criterion> criteria) {
+        SentryDependencyIndex sentryDependencyIndex = getSentryDependencyIndex(entityWithSentryPartInstances);
         for (Criterion criterion : criteria) {
 
+            // Criteria with only on parts are only evaluated when the index selected them for the current life cycle event,
+            // this avoids fetching the satisfied sentry part instances for all the others
+            if (sentryDependencyIndex != null && sentryDependencyIndex.isOnPartOnly(criterion)
+                    && !criteriaAffectedByLifeCycleEvent.contains(criterion)) {
+                continue;
+            }
+
             Sentry sentry = criterion.getSentry();
 
             // There can be zero or more on parts and zero or one if part.
@@ -566,6 +584,27 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
         return null;
     }
 
+    protected SentryDependencyIndex getSentryDependencyIndex(EntityWithSentryPartInstances entityWithSentryPartInstances) {
+        String caseDefinitionId = null;
+        if (entityWithSentryPartInstances instanceof CaseInstanceEntity) {
+            caseDefinitionId = ((CaseInstanceEntity) entityWithSentryPartInstances).getCaseDefinitionId();
+        } else if (entityWithSentryPartInstances instanceof PlanItemInstanceEntity) {
+            caseDefinitionId = ((PlanItemInstanceEntity) entityWithSentryPartInstances).getCaseDefinitionId();
+        }
+
+        if (caseDefinitionId == null) {
+            return null;
+        }
+
+        if (!caseDefinitionId.equals(sentryDependencyIndexCaseDefinitionId)) {
+            CaseDefinitionCacheEntry cacheEntry = CaseDefinitionUtil.getCaseDefinitionCacheEntry(caseDefinitionId);
+            sentryDependencyIndexCaseDefinitionId = caseDefinitionId;
+            sentryDependencyIndex = cacheEntry != null ? cacheEntry.getSentryDependencyIndex() : null;
+            criteriaAffectedByLifeCycleEvent = sentryDependencyIndex != null ? sentryDependencyIndex.getCriteriaAffectedBy(planItemLifeCycleEvent) : null;
+        }
+        return sentryDependencyIndex;
+    }
+
     protected boolean evaluateAvailableCondition(CommandContext commandContext, PlanItemInstanceEntity planItemInstanceEntity) {
         PlanItem planItem = planItemInstanceEntity.getPlanItem();
         if (isEventListenerWithAvailableCondition(planItem)) {
@@ -753,6 +792,7 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
 
     public void setPlanItemLifeCycleEvent(PlanItemLifeCycleEvent planItemLifeCycleEvent) {
         this.planItemLifeCycleEvent = planItemLifeCycleEvent;
+        this.sentryDependencyIndexCaseDefinitionId = null;
     }
 
 
@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.criteria;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.CaseElement;
+import org.flowable.cmmn.model.Criterion;
+import org.flowable.cmmn.model.HasEntryCriteria;
+import org.flowable.cmmn.model.HasExitCriteria;
+import org.flowable.cmmn.model.Sentry;
+import org.flowable.cmmn.model.SentryOnPart;
+
+/**
+ * Index of the criteria of a case, from the (source plan item, standard event) of their sentry on parts to the criteria.
+ * <p>
+ * A criterion with a sentry that has only on parts can only become satisfied by a life cycle event matching one of its on parts:
+ * on parts satisfied by earlier events have already been stored at that point. Such criteria don't need to be evaluated for other life cycle events.
+ * Criteria with an if part (which can become satisfied through a variable change) or that are not part of the index (for example
+ * those of plan items added after the case definition was deployed) always need to be evaluated.
+ */
+public class SentryDependencyIndex {
+
+    protected final Set<Criterion> onPartOnlyCriteria = Collections.newSetFromMap(new IdentityHashMap<>());
+    protected final Map<String, Set<Criterion>> criteriaByOnPart = new HashMap<>();
+
+    public static SentryDependencyIndex build(Case caze) {
+        SentryDependencyIndex sentryDependencyIndex = new SentryDependencyIndex();
+        if (caze.getPlanModel() != null) {
+            sentryDependencyIndex.addCriteria(caze.getPlanModel());
+        }
+        for (CaseElement caseElement : caze.getAllCaseElements().values()) {
+            sentryDependencyIndex.addCriteria(caseElement);
+        }
+        return sentryDependencyIndex;
+    }
+
+    protected void addCriteria(Object element) {
+        if (element instanceof HasEntryCriteria) {
+            for (Criterion criterion : ((HasEntryCriteria) element).getEntryCriteria()) {
+                addCriterion(criterion);
+            }
+        }
+        if (element instanceof HasExitCriteria) {
+            for (Criterion criterion : ((HasExitCriteria) element).getExitCriteria()) {
+                addCriterion(criterion);
+            }
+        }
+    }
+
+    protected void addCriterion(Criterion criterion) {
+        Sentry sentry = criterion.getSentry();
+        if (sentry == null || sentry.getSentryIfPart() != null || sentry.getOnParts().isEmpty()) {
+            return;
+        }
+
+        for (SentryOnPart sentryOnPart : sentry.getOnParts()) {
+            if (sentryOnPart.getSourceRef() == null || sentryOnPart.getStandardEvent() == null) {
+                return;
+            }
+        }
+
+        onPartOnlyCriteria.add(criterion);
+        for (SentryOnPart sentryOnPart : sentry.getOnParts()) {
+            criteriaByOnPart.computeIfAbsent(getOnPartKey(sentryOnPart.getSourceRef(), sentryOnPart.getStandardEvent()),
+                    key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(criterion);
+        }
+    }
+
+    /**
+     * @return whether the sentry of the criterion only has on parts, i.e. whether it can only become satisfied by a life cycle event
+     *         matching one of them.
+     */
+    public boolean isOnPartOnly(Criterion criterion) {
+        return onPartOnlyCriteria.contains(criterion);
+    }
+
+    /**
+     * @return the criteria with only on parts that have an on part matching the given life cycle event. These are the only
+     *         on part only criteria that need to be evaluated for the event.
+     */
+    public Set<Criterion> getCriteriaAffectedBy(PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        if (planItemLifeCycleEvent == null || planItemLifeCycleEvent.getPlanItem() == null) {
+            return Collections.emptySet();
+        }
+
+        Set<Criterion> criteria = criteriaByOnPart.get(getOnPartKey(planItemLifeCycleEvent.getPlanItem().getId(), planItemLifeCycleEvent.getTransition()));
+        return criteria != null ? criteria : Collections.emptySet();
+    }
+
+    protected String getOnPartKey(String sourceRef, String standardEvent) {
+        return sourceRef + '#' + standardEvent;
+    }
+
+}
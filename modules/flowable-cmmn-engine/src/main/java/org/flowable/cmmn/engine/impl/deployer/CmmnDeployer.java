@@ -69,6 +69,7 @@ public class CmmnDeployer implements EngineDeployer {
     protected IdGenerator idGenerator;
     protected CmmnParser cmmnParser;
     protected CaseDefinitionDiagramHelper caseDefinitionDiagramHelper;
+    protected CmmnExpressionPreParser expressionPreParser;
     protected boolean usePrefixId;
     
     public CmmnDeployer(CmmnEngineConfiguration cmmnEngineConfiguration) {
@@ -88,6 +89,10 @@ public class CmmnDeployer implements EngineDeployer {
         }
 
         verifyCaseDefinitionsDoNotShareKeys(parseResult.getAllCaseDefinitions());
+        if (expressionPreParser != null) {
+            expressionPreParser.preParseExpressions(parseResult);
+        }
+
         copyDeploymentValuesToCaseDefinitions(parseResult.getDeployment(), parseResult.getAllCaseDefinitions());
         setResourceNamesOnCaseDefinitions(parseResult);
 
@@ -368,6 +373,14 @@ public class CmmnDeployer implements EngineDeployer {
         this.usePrefixId = usePrefixId;
     }
 
+    public CmmnExpressionPreParser getExpressionPreParser() {
+        return expressionPreParser;
+    }
+
+    public void setExpressionPreParser(CmmnExpressionPreParser expressionPreParser) {
+        this.expressionPreParser = expressionPreParser;
+    }
+
     protected class CmmnParseContextImpl implements CmmnParseContext {
 
         protected final EngineResource resource;
@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.deployer;
+
+import java.util.List;
+
+import org.flowable.cmmn.engine.impl.parser.CmmnParseResult;
+import org.flowable.cmmn.engine.impl.persistence.entity.CaseDefinitionEntity;
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.CaseElement;
+import org.flowable.cmmn.model.FieldExtension;
+import org.flowable.cmmn.model.FlowableListener;
+import org.flowable.cmmn.model.HumanTask;
+import org.flowable.cmmn.model.ImplementationType;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.cmmn.model.PlanItemControl;
+import org.flowable.cmmn.model.PlanItemDefinition;
+import org.flowable.cmmn.model.PlanItemRule;
+import org.flowable.cmmn.model.Sentry;
+import org.flowable.cmmn.model.ServiceTask;
+import org.flowable.cmmn.model.Stage;
+import org.flowable.cmmn.model.Task;
+import org.flowable.cmmn.model.TaskWithFieldExtensions;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionPreParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the expressions of the deployed case definitions (sentry conditions, plan item rules, assignments,
+ * delegate expressions, listeners, ...) before they are first evaluated.
+ */
+public class CmmnExpressionPreParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CmmnExpressionPreParser.class);
+
+    protected ExpressionManager expressionManager;
+
+    public CmmnExpressionPreParser(ExpressionManager expressionManager) {
+        this.expressionManager = expressionManager;
+    }
+
+    public void preParseExpressions(CmmnParseResult parseResult) {
+        for (CaseDefinitionEntity caseDefinition : parseResult.getAllCaseDefinitions()) {
+            Case caseModel = parseResult.getCmmnCaseForCaseDefinition(caseDefinition);
+            if (caseModel != null) {
+                ExpressionPreParser preParser = new ExpressionPreParser(expressionManager, caseDefinition.getKey());
+                preParseCase(caseModel, preParser);
+                LOGGER.debug("Pre-parsed {} expressions of case definition {}", preParser.getParsedExpressionCount(), caseDefinition.getKey());
+            }
+        }
+    }
+
+    protected void preParseCase(Case caseModel, ExpressionPreParser preParser) {
+        preParseListeners(caseModel.getId(), caseModel.getLifecycleListeners(), preParser);
+
+        for (CaseElement caseElement : caseModel.getAllCaseElements().values()) {
+            preParseCaseElement(caseElement, preParser);
+        }
+    }
+
+    protected void preParseCaseElement(CaseElement caseElement, ExpressionPreParser preParser) {
+        String elementId = caseElement.getId();
+        if (caseElement instanceof PlanItem) {
+            preParsePlanItemControl(elementId, ((PlanItem) caseElement).getItemControl(), preParser);
+
+        } else if (caseElement instanceof Sentry) {
+            Sentry sentry = (Sentry) caseElement;
+            if (sentry.getSentryIfPart() != null) {
+                preParser.preParse(elementId, sentry.getSentryIfPart().getCondition());
+            }
+
+        } else if (caseElement instanceof PlanItemDefinition) {
+            preParsePlanItemDefinition((PlanItemDefinition) caseElement, preParser);
+        }
+    }
+
+    protected void preParsePlanItemDefinition(PlanItemDefinition planItemDefinition, ExpressionPreParser preParser) {
+        String elementId = planItemDefinition.getId();
+        preParseListeners(elementId, planItemDefinition.getLifecycleListeners(), preParser);
+        preParsePlanItemControl(elementId, planItemDefinition.getDefaultControl(), preParser);
+
+        if (planItemDefinition instanceof HumanTask) {
+            HumanTask humanTask = (HumanTask) planItemDefinition;
+            preParser.preParse(elementId, humanTask.getAssignee());
+            preParser.preParse(elementId, humanTask.getOwner());
+            preParser.preParse(elementId, humanTask.getCandidateUsers());
+            preParser.preParse(elementId, humanTask.getCandidateGroups());
+            preParser.preParse(elementId, humanTask.getPriority());
+            preParser.preParse(elementId, humanTask.getDueDate());
+            preParser.preParse(elementId, humanTask.getCategory());
+            preParseListeners(elementId, humanTask.getTaskListeners(), preParser);
+
+        } else if (planItemDefinition instanceof ServiceTask) {
+            ServiceTask serviceTask = (ServiceTask) planItemDefinition;
+            preParseImplementation(elementId, serviceTask.getImplementationType(), serviceTask.getImplementation(), preParser);
+
+        } else if (planItemDefinition instanceof Stage) {
+            preParser.preParse(elementId, ((Stage) planItemDefinition).getAutoCompleteCondition());
+        }
+
+        if (planItemDefinition instanceof Task) {
+            preParser.preParse(elementId, ((Task) planItemDefinition).getBlockingExpression());
+        }
+
+        if (planItemDefinition instanceof TaskWithFieldExtensions) {
+            preParseFieldExtensions(elementId, ((TaskWithFieldExtensions) planItemDefinition).getFieldExtensions(), preParser);
+        }
+    }
+
+    protected void preParsePlanItemControl(String elementId, PlanItemControl planItemControl, ExpressionPreParser preParser) {
+        if (planItemControl != null) {
+            preParsePlanItemRule(elementId, planItemControl.getRequiredRule(), preParser);
+            preParsePlanItemRule(elementId, planItemControl.getRepetitionRule(), preParser);
+            preParsePlanItemRule(elementId, planItemControl.getManualActivationRule(), preParser);
+            preParsePlanItemRule(elementId, planItemControl.getCompletionNeutralRule(), preParser);
+        }
+    }
+
+    protected void preParsePlanItemRule(String elementId, PlanItemRule planItemRule, ExpressionPreParser preParser) {
+        if (planItemRule != null) {
+            preParser.preParse(elementId, planItemRule.getCondition());
+        }
+    }
+
+    protected void preParseListeners(String elementId, List<FlowableListener> listeners, ExpressionPreParser preParser) {
+        if (listeners != null) {
+            for (FlowableListener listener : listeners) {
+                preParseImplementation(elementId, listener.getImplementationType(), listener.getImplementation(), preParser);
+                preParseFieldExtensions(elementId, listener.getFieldExtensions(), preParser);
+            }
+        }
+    }
+
+    protected void preParseImplementation(String elementId, String implementationType, String implementation, ExpressionPreParser preParser) {
+        if (ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION.equals(implementationType)
+                || ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(implementationType)) {
+            preParser.preParse(elementId, implementation);
+        }
+    }
+
+    protected void preParseFieldExtensions(String elementId, List<FieldExtension> fieldExtensions, ExpressionPreParser preParser) {
+        if (fieldExtensions != null) {
+            for (FieldExtension fieldExtension : fieldExtensions) {
+                preParser.preParse(elementId, fieldExtension.getExpression());
+            }
+        }
+    }
+
+    public ExpressionManager getExpressionManager() {
+        return expressionManager;
+    }
+
+    public void setExpressionManager(ExpressionManager expressionManager) {
+        this.expressionManager = expressionManager;
+    }
+}
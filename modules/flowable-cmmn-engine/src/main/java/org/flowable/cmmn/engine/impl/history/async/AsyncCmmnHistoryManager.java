@@ -39,6 +39,7 @@ import org.flowable.task.api.history.HistoricTaskLogEntryBuilder;
 import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
@@ -238,7 +239,9 @@ public class AsyncCmmnHistoryManager extends AbstractAsyncCmmnHistoryManager {
         if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
             ObjectNode data = cmmnEngineConfiguration.getObjectMapper().createObjectNode();
             addCommonVariableFields(variableInstanceEntity, data, updateTime);
-            getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), CmmnAsyncHistoryConstants.TYPE_VARIABLE_UPDATED, data);
+            if (!coalesceVariableUpdate(variableInstanceEntity.getId(), data)) {
+                getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), CmmnAsyncHistoryConstants.TYPE_VARIABLE_UPDATED, data);
+            }
         }
     }
 
@@ -248,7 +251,9 @@ public class AsyncCmmnHistoryManager extends AbstractAsyncCmmnHistoryManager {
             ObjectNode data = cmmnEngineConfiguration.getObjectMapper().createObjectNode();
             putIfNotNull(data, CmmnAsyncHistoryConstants.FIELD_ID, variableInstanceEntity.getId());
             putIfNotNull(data, CmmnAsyncHistoryConstants.FIELD_REVISION, variableInstanceEntity.getRevision());
-            getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), CmmnAsyncHistoryConstants.TYPE_VARIABLE_REMOVED, data);
+            if (!coalesceVariableRemoved(variableInstanceEntity.getId())) {
+                getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), CmmnAsyncHistoryConstants.TYPE_VARIABLE_REMOVED, data);
+            }
         }
     }
     
@@ -429,6 +434,55 @@ public class AsyncCmmnHistoryManager extends AbstractAsyncCmmnHistoryManager {
         }
     }
     
+    /**
+     * Merges a variable update into the variable created or updated data of the same variable
+     * that was recorded earlier in the same transaction.
+     * 
+     * @return true if the update was merged and doesn't need to be added to the async history session
+     */
+    protected boolean coalesceVariableUpdate(String variableId, ObjectNode data) {
+        AsyncHistorySession.AsyncHistorySessionData asyncHistorySessionData = getAsyncHistorySession().getAsyncHistorySessionData(getJobServiceConfiguration());
+        if (asyncHistorySessionData == null) {
+            return false;
+        }
+
+        ObjectNode variableCreatedData = asyncHistorySessionData.findJobData(CmmnAsyncHistoryConstants.TYPE_VARIABLE_CREATED,
+                CmmnAsyncHistoryConstants.FIELD_ID, variableId);
+        if (variableCreatedData != null) {
+            // The created data gets the latest state (including the last update time), but keeps its create time
+            JsonNode createTime = variableCreatedData.get(CmmnAsyncHistoryConstants.FIELD_CREATE_TIME);
+            JsonNode timeStamp = variableCreatedData.get(AsyncHistorySession.TIMESTAMP);
+            variableCreatedData.removeAll();
+            variableCreatedData.setAll(data);
+            if (createTime != null) {
+                variableCreatedData.set(CmmnAsyncHistoryConstants.FIELD_CREATE_TIME, createTime);
+            }
+            if (timeStamp != null) {
+                variableCreatedData.set(AsyncHistorySession.TIMESTAMP, timeStamp);
+            }
+            return true;
+        }
+
+        // An earlier update is superseded by this one
+        asyncHistorySessionData.removeJobData(CmmnAsyncHistoryConstants.TYPE_VARIABLE_UPDATED, CmmnAsyncHistoryConstants.FIELD_ID, variableId);
+        return false;
+    }
+
+    /**
+     * Removes the variable created and updated data of the variable that was recorded earlier in the same transaction.
+     * 
+     * @return true if the variable was created in the same transaction, in which case there is no historic variable to remove
+     */
+    protected boolean coalesceVariableRemoved(String variableId) {
+        AsyncHistorySession.AsyncHistorySessionData asyncHistorySessionData = getAsyncHistorySession().getAsyncHistorySessionData(getJobServiceConfiguration());
+        if (asyncHistorySessionData == null) {
+            return false;
+        }
+
+        asyncHistorySessionData.removeJobData(CmmnAsyncHistoryConstants.TYPE_VARIABLE_UPDATED, CmmnAsyncHistoryConstants.FIELD_ID, variableId);
+        return asyncHistorySessionData.removeJobData(CmmnAsyncHistoryConstants.TYPE_VARIABLE_CREATED, CmmnAsyncHistoryConstants.FIELD_ID, variableId) != null;
+    }
+
     protected JobServiceConfiguration getJobServiceConfiguration() {
         return cmmnEngineConfiguration.getJobServiceConfiguration();
     }
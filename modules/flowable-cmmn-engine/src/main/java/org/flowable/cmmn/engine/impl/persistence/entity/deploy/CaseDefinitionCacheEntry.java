@@ -13,6 +13,7 @@
 package org.flowable.cmmn.engine.impl.persistence.entity.deploy;
 
 import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyIndex;
 import org.flowable.cmmn.model.Case;
 import org.flowable.cmmn.model.CmmnModel;
 
@@ -21,11 +22,13 @@ public class CaseDefinitionCacheEntry {
     protected CaseDefinition caseDefinition;
     protected CmmnModel cmmnModel;
     protected Case caze;
+    protected SentryDependencyIndex sentryDependencyIndex;
 
     public CaseDefinitionCacheEntry(CaseDefinition caseDefinition, CmmnModel cmmnModel, Case caze) {
         this.caseDefinition = caseDefinition;
         this.cmmnModel = cmmnModel;
         this.caze = caze;
+        this.sentryDependencyIndex = caze != null ? SentryDependencyIndex.build(caze) : null;
     }
 
     public CaseDefinition getCaseDefinition() {
@@ -50,6 +53,15 @@ public class CaseDefinitionCacheEntry {
 
     public void setCase(Case caze) {
         this.caze = caze;
+        this.sentryDependencyIndex = caze != null ? SentryDependencyIndex.build(caze) : null;
+    }
+
+    public SentryDependencyIndex getSentryDependencyIndex() {
+        return sentryDependencyIndex;
+    }
+
+    public void setSentryDependencyIndex(SentryDependencyIndex sentryDependencyIndex) {
+        this.sentryDependencyIndex = sentryDependencyIndex;
     }
 
 }
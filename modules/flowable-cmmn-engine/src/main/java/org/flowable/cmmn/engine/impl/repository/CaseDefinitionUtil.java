@@ -70,6 +70,16 @@ public class CaseDefinitionUtil {
         return deploymentManager.getCaseDefinitionCache().get(caseDefinitionId).getCmmnModel();
     }
 
+    public static CaseDefinitionCacheEntry getCaseDefinitionCacheEntry(String caseDefinitionId) {
+        CmmnDeploymentManager deploymentManager = CommandContextUtil.getCmmnEngineConfiguration().getDeploymentManager();
+        CaseDefinitionCacheEntry cacheEntry = deploymentManager.getCaseDefinitionCache().get(caseDefinitionId);
+        if (cacheEntry != null) {
+            return cacheEntry;
+        }
+        deploymentManager.findDeployedCaseDefinitionById(caseDefinitionId);
+        return deploymentManager.getCaseDefinitionCache().get(caseDefinitionId);
+    }
+
     public static Case getCase(String caseDefinitionId) {
         return getCmmnModel(caseDefinitionId).getPrimaryCase();
     }
@@ -13,6 +13,10 @@
 
 package org.flowable.cmmn.engine.impl.task;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.task.service.InternalTaskVariableScopeResolver;
@@ -42,4 +46,27 @@ public class DefaultCmmnTaskVariableScopeResolver implements InternalTaskVariabl
         return null;
     }
 
+    @Override
+    public void prefetchParentVariableScopes(Collection<TaskEntity> tasks) {
+        Set<String> planItemInstanceIds = new LinkedHashSet<>();
+        Set<String> caseInstanceIds = new LinkedHashSet<>();
+        for (TaskEntity taskEntity : tasks) {
+            if (ScopeTypes.CMMN.equals(taskEntity.getScopeType())) {
+                if (taskEntity.getSubScopeId() != null) {
+                    planItemInstanceIds.add(taskEntity.getSubScopeId());
+                }
+                if (taskEntity.getScopeId() != null) {
+                    caseInstanceIds.add(taskEntity.getScopeId());
+                }
+            }
+        }
+
+        if (!planItemInstanceIds.isEmpty()) {
+            cmmnEngineConfiguration.getPlanItemInstanceEntityManager().findByIds(planItemInstanceIds);
+        }
+        if (!caseInstanceIds.isEmpty()) {
+            cmmnEngineConfiguration.getCaseInstanceEntityManager().findByIds(caseInstanceIds);
+        }
+    }
+
 }
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.sentry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyIndex;
+import org.flowable.cmmn.engine.impl.persistence.entity.PlanItemInstanceEntityImpl;
+import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
+import org.flowable.cmmn.engine.impl.repository.CaseDefinitionUtil;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.cmmn.engine.test.CmmnDeployment;
+import org.flowable.cmmn.engine.test.FlowableCmmnTestCase;
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.Criterion;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.cmmn.model.PlanItemTransition;
+import org.flowable.task.api.Task;
+import org.junit.Test;
+
+public class SentryDependencyIndexTest extends FlowableCmmnTestCase {
+
+    @Test
+    @CmmnDeployment
+    public void testSentryDependencyIndex() {
+        CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
+                .caseDefinitionKey("sentryDependencyIndex")
+                .start();
+
+        cmmnManagementService.executeCommand(commandContext -> {
+            CaseDefinitionCacheEntry cacheEntry = CaseDefinitionUtil.getCaseDefinitionCacheEntry(caseInstance.getCaseDefinitionId());
+            SentryDependencyIndex sentryDependencyIndex = cacheEntry.getSentryDependencyIndex();
+            assertThat(sentryDependencyIndex).isNotNull();
+
+            Case caze = cacheEntry.getCase();
+            Criterion criterionC = getEntryCriterion(caze, "planItemC");
+            Criterion criterionD = getEntryCriterion(caze, "planItemD");
+            Criterion criterionE = getEntryCriterion(caze, "planItemE");
+
+            // Criteria with an if part, or that are not part of the index, are always evaluated
+            assertThat(sentryDependencyIndex.isOnPartOnly(criterionC)).isTrue();
+            assertThat(sentryDependencyIndex.isOnPartOnly(criterionD)).isFalse();
+            assertThat(sentryDependencyIndex.isOnPartOnly(criterionE)).isTrue();
+            assertThat(sentryDependencyIndex.isOnPartOnly(new Criterion())).isFalse();
+
+            // Without a life cycle event no criterion with only on parts can become satisfied
+            assertThat(sentryDependencyIndex.getCriteriaAffectedBy(null)).isEmpty();
+
+            assertThat(sentryDependencyIndex.getCriteriaAffectedBy(createLifeCycleEvent(caze, "planItemA", PlanItemTransition.COMPLETE)))
+                    .containsExactlyInAnyOrder(criterionC, criterionE);
+            assertThat(sentryDependencyIndex.getCriteriaAffectedBy(createLifeCycleEvent(caze, "planItemB", PlanItemTransition.COMPLETE)))
+                    .containsExactly(criterionC);
+            assertThat(sentryDependencyIndex.getCriteriaAffectedBy(createLifeCycleEvent(caze, "planItemB", PlanItemTransition.TERMINATE)))
+                    .isEmpty();
+            return null;
+        });
+
+        assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).orderByTaskName().asc().list())
+                .extracting(Task::getName)
+                .containsExactly("A", "B");
+
+        cmmnTaskService.complete(getTask(caseInstance, "A").getId());
+        assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).orderByTaskName().asc().list())
+                .extracting(Task::getName)
+                .containsExactly("B", "E");
+        assertThat(cmmnManagementService.executeCommand(commandContext -> CommandContextUtil.getSentryPartInstanceEntityManager(commandContext)
+                .findSentryPartInstancesByCaseInstanceId(caseInstance.getId())))
+                .extracting(sentryPartInstance -> sentryPartInstance.getOnPartId())
+                .containsExactly("onPartCA");
+
+        cmmnRuntimeService.setVariable(caseInstance.getId(), "goToD", true);
+        assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).orderByTaskName().asc().list())
+                .extracting(Task::getName)
+                .containsExactly("B", "D", "E");
+
+        cmmnTaskService.complete(getTask(caseInstance, "B").getId());
+        assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).orderByTaskName().asc().list())
+                .extracting(Task::getName)
+                .containsExactly("C", "D", "E");
+    }
+
+    protected PlanItemLifeCycleEvent createLifeCycleEvent(Case caze, String planItemId, String transition) {
+        PlanItemInstanceEntityImpl planItemInstanceEntity = new PlanItemInstanceEntityImpl();
+        planItemInstanceEntity.setPlanItem((PlanItem) caze.getAllCaseElements().get(planItemId));
+        return new PlanItemLifeCycleEvent(planItemInstanceEntity, transition);
+    }
+
+    protected Criterion getEntryCriterion(Case caze, String planItemId) {
+        return ((PlanItem) caze.getAllCaseElements().get(planItemId)).getEntryCriteria().get(0);
+    }
+
+    protected Task getTask(CaseInstance caseInstance, String name) {
+        return cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).taskName(name).singleResult();
+    }
+
+}
@@ -50,6 +50,7 @@ public class DecisionExecutionAuditContainer {
     protected String exceptionMessage;
     protected String validationMessage;
     protected Boolean strictMode;
+    protected Boolean cachedResult;
 
     public DecisionExecutionAuditContainer() {
     }
@@ -233,6 +234,17 @@ public class DecisionExecutionAuditContainer {
         this.strictMode = strictMode;
     }
 
+    /**
+     * @return true when the result was taken from the decision result cache instead of evaluating the rules, in which case there are no rule executions
+     */
+    public Boolean isCachedResult() {
+        return cachedResult;
+    }
+
+    public void setCachedResult(Boolean cachedResult) {
+        this.cachedResult = cachedResult;
+    }
+
     public Map<String, String> getInputVariableTypes() {
         return inputVariableTypes;
     }
@@ -37,6 +37,7 @@ import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.interceptor.SessionFactory;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
@@ -49,6 +50,7 @@ import org.flowable.dmn.api.DmnEngineConfigurationApi;
 import org.flowable.dmn.api.DmnHistoryService;
 import org.flowable.dmn.api.DmnManagementService;
 import org.flowable.dmn.api.DmnRepositoryService;
+import org.flowable.dmn.engine.impl.DecisionResultCache;
 import org.flowable.dmn.engine.impl.DmnDecisionServiceImpl;
 import org.flowable.dmn.engine.impl.DmnEngineImpl;
 import org.flowable.dmn.engine.impl.DmnHistoryServiceImpl;
@@ -206,6 +208,36 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
      */
     protected boolean strictMode = true;
 
+    /**
+     * Set this to true to index the simple input entries (comparisons with a string or number literal) of decision tables when they are deployed.
+     *
+     * Only the rules that can match according to the index are evaluated. The rules that are skipped this way are not part of the audit trail.
+     */
+    protected boolean decisionTableCompilationEnabled;
+
+    /**
+     * Set this to true to cache the results of the decisions with flowable:cacheResult="true", keyed by the decision definition and the values of
+     * the variables used in the decision table.
+     *
+     * Only mark decisions that depend on their input variables alone. A decision table that calls a function (like fn_now()) or uses a name that is not
+     * an input variable with a simple value (string, number, boolean, date) is never cached. A result taken from the cache has no rule executions
+     * in its audit trail.
+     */
+    protected boolean decisionResultCacheEnabled;
+    protected int decisionResultCacheLimit = 1000;
+
+    /**
+     * The time in milliseconds a cached decision result is used. By default (-1) a result is used until it is evicted because of the limit
+     * or because a new version of the decision is deployed.
+     */
+    protected long decisionResultCacheTimeToLive = -1;
+
+    /**
+     * Set this to false to not store a historic decision execution when the result of a decision (or all decisions of a decision service) came from the cache.
+     */
+    protected boolean decisionResultCacheHistoryEnabled = true;
+    protected DecisionResultCache decisionResultCache;
+
     public static DmnEngineConfiguration createDmnEngineConfigurationFromResourceDefault() {
         return createDmnEngineConfigurationFromResource("flowable.dmn.cfg.xml", "dmnEngineConfiguration");
     }
@@ -281,6 +313,7 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         initDeployers();
         initHitPolicyBehaviors();
         initRuleEngineExecutor();
+        initDecisionResultCache();
         initDecisionRequirementsDiagramGenerator();
     }
 
@@ -496,7 +529,9 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
         // Decision cache
         if (definitionCache == null) {
-            if (decisionCacheLimit <= 0) {
+            if (concurrentDeploymentCacheEnabled) {
+                definitionCache = new ConcurrentDeploymentCache<>(decisionCacheLimit);
+            } else if (decisionCacheLimit <= 0) {
                 definitionCache = new DefaultDeploymentCache<>();
             } else {
                 definitionCache = new DefaultDeploymentCache<>(decisionCacheLimit);
@@ -625,6 +660,13 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     	    }
     	}
     }
+
+    public synchronized void initDecisionResultCache() {
+        if (decisionResultCacheEnabled && decisionResultCache == null) {
+            decisionResultCache = new DecisionResultCache(decisionResultCacheLimit, decisionResultCacheTimeToLive, clock);
+        }
+    }
+
     // decision requirements diagram
     /////////////////////////////////////////////////////////////
     public void initDecisionRequirementsDiagramGenerator() {
@@ -1112,6 +1154,60 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isDecisionTableCompilationEnabled() {
+        return decisionTableCompilationEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionTableCompilationEnabled(boolean decisionTableCompilationEnabled) {
+        this.decisionTableCompilationEnabled = decisionTableCompilationEnabled;
+        return this;
+    }
+
+    public boolean isDecisionResultCacheEnabled() {
+        return decisionResultCacheEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionResultCacheEnabled(boolean decisionResultCacheEnabled) {
+        this.decisionResultCacheEnabled = decisionResultCacheEnabled;
+        return this;
+    }
+
+    public int getDecisionResultCacheLimit() {
+        return decisionResultCacheLimit;
+    }
+
+    public DmnEngineConfiguration setDecisionResultCacheLimit(int decisionResultCacheLimit) {
+        this.decisionResultCacheLimit = decisionResultCacheLimit;
+        return this;
+    }
+
+    public long getDecisionResultCacheTimeToLive() {
+        return decisionResultCacheTimeToLive;
+    }
+
+    public DmnEngineConfiguration setDecisionResultCacheTimeToLive(long decisionResultCacheTimeToLive) {
+        this.decisionResultCacheTimeToLive = decisionResultCacheTimeToLive;
+        return this;
+    }
+
+    public boolean isDecisionResultCacheHistoryEnabled() {
+        return decisionResultCacheHistoryEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionResultCacheHistoryEnabled(boolean decisionResultCacheHistoryEnabled) {
+        this.decisionResultCacheHistoryEnabled = decisionResultCacheHistoryEnabled;
+        return this;
+    }
+
+    public DecisionResultCache getDecisionResultCache() {
+        return decisionResultCache;
+    }
+
+    public DmnEngineConfiguration setDecisionResultCache(DecisionResultCache decisionResultCache) {
+        this.decisionResultCache = decisionResultCache;
+        return this;
+    }
+
     @Override
     public DmnEngineConfiguration setClock(Clock clock) {
         this.clock = clock;
@@ -0,0 +1,502 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.common.engine.impl.el.VariableContainerWrapper;
+import org.flowable.dmn.engine.impl.el.ELExecutionContext;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of the simple input entries of a decision table, used to determine which rules can match before any input entry expression is evaluated.
+ * <p>
+ * An input column is indexed when its input expression is a plain variable (or property path). Its input entries are indexed when they are a dash,
+ * a string or number literal, optionally preceded by one of the operators ==, !=, &lt;, &gt;, &lt;= or &gt;=. String equality is looked up in a hash map,
+ * integer equality as well when the input value is an integer. The &lt;, &gt;, &lt;= and &gt;= entries with an integer literal are sorted by their literal,
+ * so an integer input value only visits the entries it matches. The other comparisons (and the integer ranges for an input value that is not an integer)
+ * are checked one by one, natively following the EL comparison rules.
+ * All other input entries are not indexed: the rules having them are always a candidate for that column and their entries are evaluated with EL.
+ * <p>
+ * A rule that is not a candidate can not match, a candidate rule still needs to be evaluated with EL. When the outcome of a comparison is not certain
+ * (for example a string input compared with a number), the rule stays a candidate.
+ * <p>
+ * The compiled table does not hold references to the DMN model and is not modified after it is compiled, so it can be shared by concurrent executions.
+ */
+public class CompiledDecisionTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledDecisionTable.class);
+
+    protected static final Pattern INPUT_EXPRESSION_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z_0-9]*(\\.[A-Za-z_][A-Za-z_0-9]*)*");
+    protected static final Pattern INTEGER_PATTERN = Pattern.compile("-?(0|[1-9][0-9]{0,17})");
+    protected static final Pattern DECIMAL_PATTERN = Pattern.compile("-?(0|[1-9][0-9]{0,17})\\.[0-9]{1,17}");
+
+    // Checked from long to short, the preparser adds the input expression in front of the entry as is
+    protected static final String[] OPERATORS = new String[] { "==", "!=", ">=", "<=", "<", ">" };
+
+    protected static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList("and", "div", "empty", "eq", "false", "ge", "gt", "instanceof",
+            "le", "lt", "mod", "ne", "not", "null", "or", "true"));
+
+    protected final int nrOfRules;
+    protected final List<InputColumn> inputColumns;
+
+    protected CompiledDecisionTable(int nrOfRules, List<InputColumn> inputColumns) {
+        this.nrOfRules = nrOfRules;
+        this.inputColumns = inputColumns;
+    }
+
+    public static CompiledDecisionTable compile(DecisionTable decisionTable) {
+        List<DecisionRule> rules = decisionTable.getRules();
+        int nrOfRules = rules.size();
+
+        Map<InputClause, InputColumn> inputColumnsByInputClause = new IdentityHashMap<>();
+        List<InputColumn> inputColumns = new ArrayList<>();
+        for (InputClause inputClause : decisionTable.getInputs()) {
+            if (inputClause.getInputExpression() == null || !isIndexableInputExpression(inputClause.getInputExpression().getText())) {
+                continue;
+            }
+
+            InputColumn inputColumn = new InputColumn("#{" + inputClause.getInputExpression().getText() + "}", nrOfRules);
+            inputColumnsByInputClause.put(inputClause, inputColumn);
+            inputColumns.add(inputColumn);
+        }
+
+        for (int i = 0; i < nrOfRules; i++) {
+            for (RuleInputClauseContainer ruleInputClauseContainer : rules.get(i).getInputEntries()) {
+                InputColumn inputColumn = inputColumnsByInputClause.get(ruleInputClauseContainer.getInputClause());
+                if (inputColumn != null && ruleInputClauseContainer.getInputEntry() != null) {
+                    inputColumn.addInputEntry(i, ruleInputClauseContainer.getInputEntry().getText());
+                }
+            }
+        }
+
+        inputColumns.removeIf(inputColumn -> !inputColumn.isSelective());
+        for (InputColumn inputColumn : inputColumns) {
+            for (IntegerRangeTests integerRangeTests : inputColumn.integerRangeTests.values()) {
+                integerRangeTests.sort();
+            }
+        }
+        return new CompiledDecisionTable(nrOfRules, inputColumns);
+    }
+
+    protected static boolean isIndexableInputExpression(String inputExpression) {
+        if (inputExpression == null || !INPUT_EXPRESSION_PATTERN.matcher(inputExpression).matches()) {
+            return false;
+        }
+        for (String segment : inputExpression.split("\\.")) {
+            if (RESERVED_WORDS.contains(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false when none of the input entries could be indexed, in which case all rules are candidates
+     */
+    public boolean isIndexed() {
+        return !inputColumns.isEmpty();
+    }
+
+    /**
+     * @return the indexes (in the rules list of the decision table) of the rules that can match the current input values,
+     *         or null when an input value could not be determined and all rules need to be evaluated
+     */
+    public BitSet getCandidateRules(ExpressionManager expressionManager, ELExecutionContext executionContext) {
+        if (!isIndexed()) {
+            return null;
+        }
+
+        VariableContainerWrapper variableContainer = new VariableContainerWrapper(executionContext.getStackVariables());
+        variableContainer.setInstanceId(executionContext.getInstanceId());
+        variableContainer.setScopeType(executionContext.getScopeType());
+        variableContainer.setTenantId(executionContext.getTenantId());
+
+        BitSet candidateRules = new BitSet(nrOfRules);
+        candidateRules.set(0, nrOfRules);
+        for (InputColumn inputColumn : inputColumns) {
+            Object inputValue;
+            try {
+                inputValue = expressionManager.createExpression(inputColumn.inputExpression).getValue(variableContainer);
+            } catch (Exception e) {
+                // The input entries will report the problem when they are evaluated
+                LOGGER.debug("Could not determine input value {}, evaluating all rules", inputColumn.inputExpression, e);
+                return null;
+            }
+
+            candidateRules.and(inputColumn.getMatchingRules(inputValue));
+            if (candidateRules.isEmpty()) {
+                break;
+            }
+        }
+        return candidateRules;
+    }
+
+    protected static class InputColumn {
+
+        protected final String inputExpression;
+
+        // Rules without an (indexed) entry for this column
+        protected final BitSet unconstrainedRules;
+        protected final BitSet constrainedRules;
+
+        protected final Map<String, BitSet> stringEqualsRules = new HashMap<>();
+        protected final BitSet allStringEqualsRules = new BitSet();
+        protected final Map<Long, BitSet> integerEqualsRules = new HashMap<>();
+        protected final List<InputTest> integerEqualsTests = new ArrayList<>();
+        protected final Map<String, IntegerRangeTests> integerRangeTests = new HashMap<>();
+        protected final List<InputTest> otherTests = new ArrayList<>();
+
+        protected InputColumn(String inputExpression, int nrOfRules) {
+            this.inputExpression = inputExpression;
+            this.unconstrainedRules = new BitSet(nrOfRules);
+            this.unconstrainedRules.set(0, nrOfRules);
+            this.constrainedRules = new BitSet(nrOfRules);
+        }
+
+        protected void addInputEntry(int rule, String inputEntryText) {
+            if (StringUtils.isEmpty(inputEntryText) || "-".equals(inputEntryText)) {
+                return;
+            }
+
+            if (constrainedRules.get(rule)) {
+                // More than one entry for the same input, leave it to EL
+                unconstrainedRules.set(rule);
+                return;
+            }
+
+            InputTest inputTest = parseInputEntry(rule, inputEntryText);
+            if (inputTest == null) {
+                return;
+            }
+
+            unconstrainedRules.clear(rule);
+            constrainedRules.set(rule);
+
+            if ("==".equals(inputTest.operator) && inputTest.value instanceof String) {
+                stringEqualsRules.computeIfAbsent((String) inputTest.value, key -> new BitSet()).set(rule);
+                allStringEqualsRules.set(rule);
+
+            } else if ("==".equals(inputTest.operator) && inputTest.value instanceof Long) {
+                integerEqualsRules.computeIfAbsent((Long) inputTest.value, key -> new BitSet()).set(rule);
+                integerEqualsTests.add(inputTest);
+
+            } else if (!"!=".equals(inputTest.operator) && inputTest.value instanceof Long) {
+                integerRangeTests.computeIfAbsent(inputTest.operator, IntegerRangeTests::new).inputTests.add(inputTest);
+
+            } else {
+                otherTests.add(inputTest);
+            }
+        }
+
+        protected boolean isSelective() {
+            return !constrainedRules.isEmpty();
+        }
+
+        protected BitSet getMatchingRules(Object inputValue) {
+            BitSet matchingRules = (BitSet) unconstrainedRules.clone();
+
+            if (inputValue instanceof String) {
+                BitSet rules = stringEqualsRules.get(inputValue);
+                if (rules != null) {
+                    matchingRules.or(rules);
+                }
+            } else if (inputValue != null) {
+                // EL coerces the string, leave it to EL
+                matchingRules.or(allStringEqualsRules);
+            }
+
+            Long integerValue = getIntegerValue(inputValue);
+            if (integerValue != null) {
+                BitSet rules = integerEqualsRules.get(integerValue);
+                if (rules != null) {
+                    matchingRules.or(rules);
+                }
+                for (IntegerRangeTests rangeTests : integerRangeTests.values()) {
+                    rangeTests.addMatchingRules(matchingRules, integerValue);
+                }
+
+            } else {
+                if (!(inputValue instanceof BigInteger)) {
+                    addMatchingRules(matchingRules, integerEqualsTests, inputValue);
+                }
+                for (IntegerRangeTests rangeTests : integerRangeTests.values()) {
+                    addMatchingRules(matchingRules, rangeTests.inputTests, inputValue);
+                }
+            }
+
+            addMatchingRules(matchingRules, otherTests, inputValue);
+            return matchingRules;
+        }
+
+        protected void addMatchingRules(BitSet matchingRules, List<InputTest> inputTests, Object inputValue) {
+            for (InputTest inputTest : inputTests) {
+                if (!matchingRules.get(inputTest.rule)) {
+                    Boolean result = inputTest.test(inputValue);
+                    if (result == null || result) {
+                        matchingRules.set(inputTest.rule);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the value as long when it is an integer that EL compares as integer with a long literal,
+         *         a BigInteger that does not fit in a long does not equal any long literal
+         */
+        protected Long getIntegerValue(Object inputValue) {
+            if (inputValue instanceof Long || inputValue instanceof Integer || inputValue instanceof Short || inputValue instanceof Byte) {
+                return ((Number) inputValue).longValue();
+            }
+            if (inputValue instanceof BigInteger && ((BigInteger) inputValue).bitLength() < Long.SIZE) {
+                return ((BigInteger) inputValue).longValue();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The entries of a column with the same range operator and an integer literal, sorted by their literal.
+     * The entries matching an integer input value are a prefix (&gt; and &gt;=) or a suffix (&lt; and &lt;=) of the sorted entries.
+     */
+    protected static class IntegerRangeTests {
+
+        protected final String operator;
+        protected final List<InputTest> inputTests = new ArrayList<>();
+        protected long[] values;
+        protected int[] rules;
+
+        protected IntegerRangeTests(String operator) {
+            this.operator = operator;
+        }
+
+        protected void sort() {
+            inputTests.sort((test1, test2) -> Long.compare((Long) test1.value, (Long) test2.value));
+            values = new long[inputTests.size()];
+            rules = new int[inputTests.size()];
+            for (int i = 0; i < inputTests.size(); i++) {
+                values[i] = (Long) inputTests.get(i).value;
+                rules[i] = inputTests.get(i).rule;
+            }
+        }
+
+        protected void addMatchingRules(BitSet matchingRules, long inputValue) {
+            switch (operator) {
+                case "<":
+                    setRules(matchingRules, firstIndexGreaterThan(inputValue), values.length);
+                    break;
+                case "<=":
+                    setRules(matchingRules, firstIndexNotLessThan(inputValue), values.length);
+                    break;
+                case ">":
+                    setRules(matchingRules, 0, firstIndexNotLessThan(inputValue));
+                    break;
+                case ">=":
+                    setRules(matchingRules, 0, firstIndexGreaterThan(inputValue));
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported range operator " + operator);
+            }
+        }
+
+        protected void setRules(BitSet matchingRules, int fromIndex, int toIndex) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                matchingRules.set(rules[i]);
+            }
+        }
+
+        protected int firstIndexGreaterThan(long inputValue) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] <= inputValue) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        protected int firstIndexNotLessThan(long inputValue) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < inputValue) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    protected static InputTest parseInputEntry(int rule, String inputEntryText) {
+        if (inputEntryText.contains("fn_")) {
+            // Replaced with functions by the preparser
+            return null;
+        }
+
+        String operator = "==";
+        String valueText = inputEntryText;
+        for (String candidateOperator : OPERATORS) {
+            if (inputEntryText.startsWith(candidateOperator)) {
+                operator = candidateOperator;
+                valueText = StringUtils.stripStart(inputEntryText.substring(candidateOperator.length()), " ");
+                break;
+            }
+        }
+
+        Object value = parseLiteral(valueText);
+        if (value == null) {
+            return null;
+        }
+        return new InputTest(rule, operator, value);
+    }
+
+    protected static Object parseLiteral(String text) {
+        if (text.length() >= 2) {
+            char quote = text.charAt(0);
+            if ((quote == '"' || quote == '\'') && text.charAt(text.length() - 1) == quote) {
+                String value = text.substring(1, text.length() - 1);
+                if (StringUtils.containsAny(value, '"', '\'', '\\', '{', '}', '$', '#')) {
+                    return null;
+                }
+                return value;
+            }
+        }
+
+        if (INTEGER_PATTERN.matcher(text).matches()) {
+            return Long.valueOf(text);
+        }
+        if (DECIMAL_PATTERN.matcher(text).matches()) {
+            return Double.valueOf(text);
+        }
+        return null;
+    }
+
+    /**
+     * A comparison of the input value with a literal, following the rules of the EL comparison operators.
+     */
+    protected static class InputTest {
+
+        protected final int rule;
+        protected final String operator;
+        protected final Object value;
+
+        protected InputTest(int rule, String operator, Object value) {
+            this.rule = rule;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        /**
+         * @return the result of the comparison, or null when it can not be determined without EL
+         */
+        protected Boolean test(Object inputValue) {
+            if (inputValue == null) {
+                return "!=".equals(operator);
+            }
+
+            if (value instanceof String) {
+                if (!(inputValue instanceof String)) {
+                    return null;
+                }
+                return compareResult(((String) inputValue).compareTo((String) value));
+            }
+
+            Number number = (Number) value;
+            if (inputValue instanceof BigDecimal) {
+                return compareResult(((BigDecimal) inputValue).compareTo(new BigDecimal(number.doubleValue())));
+            }
+            if (inputValue instanceof Double || inputValue instanceof Float || number instanceof Double) {
+                if (!(inputValue instanceof Number) || !isKnownNumberType(inputValue)) {
+                    return null;
+                }
+                return compareDoubles(((Number) inputValue).doubleValue(), number.doubleValue());
+            }
+            if (inputValue instanceof BigInteger) {
+                return compareResult(((BigInteger) inputValue).compareTo(BigInteger.valueOf(number.longValue())));
+            }
+            if (inputValue instanceof Long || inputValue instanceof Integer || inputValue instanceof Short || inputValue instanceof Byte) {
+                return compareResult(Long.compare(((Number) inputValue).longValue(), number.longValue()));
+            }
+            return null;
+        }
+
+        protected boolean isKnownNumberType(Object inputValue) {
+            return inputValue instanceof Double || inputValue instanceof Float || inputValue instanceof BigInteger || inputValue instanceof Long
+                    || inputValue instanceof Integer || inputValue instanceof Short || inputValue instanceof Byte;
+        }
+
+        protected Boolean compareResult(int comparison) {
+            switch (operator) {
+                case "==":
+                    return comparison == 0;
+                case "!=":
+                    return comparison != 0;
+                case "<":
+                    return comparison < 0;
+                case ">":
+                    return comparison > 0;
+                case "<=":
+                    return comparison <= 0;
+                case ">=":
+                    return comparison >= 0;
+                default:
+                    return null;
+            }
+        }
+
+        protected Boolean compareDoubles(double inputValue, double literal) {
+            // Same as EL: equality uses Double.equals and >= and <= are the negation of < and >
+            switch (operator) {
+                case "==":
+                    return Double.valueOf(inputValue).equals(literal);
+                case "!=":
+                    return !Double.valueOf(inputValue).equals(literal);
+                case "<":
+                    return inputValue < literal;
+                case ">":
+                    return inputValue > literal;
+                case "<=":
+                    return !(inputValue > literal);
+                case ">=":
+                    return !(inputValue < literal);
+                default:
+                    return null;
+            }
+        }
+    }
+}
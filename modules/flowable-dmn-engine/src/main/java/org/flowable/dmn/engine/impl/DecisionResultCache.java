@@ -0,0 +1,224 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.impl.runtime.ClockReader;
+
+/**
+ * Keeps the results of decision executions, keyed by the decision definition, the decision and the values of the variables the decision table refers to.
+ * <p>
+ * The cache keeps at most {@link #getLimit()} results, evicting the least recently used one when the limit is reached.
+ * When a time to live is set, results older than that are not returned anymore.
+ */
+public class DecisionResultCache {
+
+    protected final int limit;
+    protected final long timeToLive;
+    protected final ClockReader clock;
+    protected final Map<Key, CachedDecisionResult> cache;
+
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param limit the maximum number of cached results
+     * @param timeToLive the time in milliseconds a result is kept, or a value of 0 or lower to keep it until it is evicted
+     * @param clock the clock of the engine
+     */
+    public DecisionResultCache(final int limit, long timeToLive, ClockReader clock) {
+        this.limit = limit;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Key, CachedDecisionResult>(limit + 1, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedDecisionResult> eldest) {
+                return size() > limit;
+            }
+
+        });
+    }
+
+    public CachedDecisionResult get(Key key) {
+        CachedDecisionResult cachedDecisionResult = cache.get(key);
+        if (cachedDecisionResult != null && timeToLive > 0 && clock.getCurrentTime().getTime() - cachedDecisionResult.getCreateTime() >= timeToLive) {
+            cache.remove(key);
+            cachedDecisionResult = null;
+        }
+
+        if (cachedDecisionResult != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return cachedDecisionResult;
+    }
+
+    public void add(Key key, CachedDecisionResult cachedDecisionResult) {
+        cachedDecisionResult.createTime = clock.getCurrentTime().getTime();
+        cache.put(key, cachedDecisionResult);
+    }
+
+    /**
+     * Removes the results of all versions of the decision (service) with the given key.
+     */
+    public void removeDecisionKey(String decisionKey) {
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> Objects.equals(key.decisionKey, decisionKey));
+        }
+    }
+
+    /**
+     * Removes the results of the decision (service) definition with the given id.
+     */
+    public void removeDecisionDefinition(String decisionDefinitionId) {
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> Objects.equals(key.decisionDefinitionId, decisionDefinitionId));
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void resetCounts() {
+        hitCount.set(0L);
+        missCount.set(0L);
+    }
+
+    /**
+     * The key of a cached result. The input variables must only contain values that are immutable or copied, as they are compared with equals.
+     */
+    public static class Key {
+
+        protected final String decisionDefinitionId;
+        protected final String decisionKey;
+        protected final String decisionId;
+        protected final Map<String, Object> inputVariables;
+        protected final int hashCode;
+
+        public Key(String decisionDefinitionId, String decisionKey, String decisionId, Map<String, Object> inputVariables) {
+            this.decisionDefinitionId = decisionDefinitionId;
+            this.decisionKey = decisionKey;
+            this.decisionId = decisionId;
+            this.inputVariables = inputVariables;
+            this.hashCode = Objects.hash(decisionDefinitionId, decisionId, inputVariables);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode && Objects.equals(decisionDefinitionId, other.decisionDefinitionId)
+                    && Objects.equals(decisionId, other.decisionId) && Objects.equals(inputVariables, other.inputVariables);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The outcome of a decision execution: the decision result and the output variables that were set by the rules.
+     */
+    public static class CachedDecisionResult {
+
+        protected final List<Map<String, Object>> decisionResult;
+        protected final boolean multipleResults;
+        protected final Map<String, String> decisionResultTypes;
+        protected final String validationMessage;
+        protected final Map<String, Object> outputVariables;
+        protected long createTime;
+
+        public CachedDecisionResult(List<Map<String, Object>> decisionResult, boolean multipleResults, Map<String, String> decisionResultTypes,
+                String validationMessage, Map<String, Object> outputVariables) {
+            this.decisionResult = copyDecisionResult(decisionResult);
+            this.multipleResults = multipleResults;
+            this.decisionResultTypes = new HashMap<>(decisionResultTypes);
+            this.validationMessage = validationMessage;
+            this.outputVariables = new HashMap<>(outputVariables);
+        }
+
+        /**
+         * @return a copy of the cached decision result, which can be changed by the caller
+         */
+        public List<Map<String, Object>> getDecisionResult() {
+            return copyDecisionResult(decisionResult);
+        }
+
+        public boolean isMultipleResults() {
+            return multipleResults;
+        }
+
+        public Map<String, String> getDecisionResultTypes() {
+            return decisionResultTypes;
+        }
+
+        public String getValidationMessage() {
+            return validationMessage;
+        }
+
+        public Map<String, Object> getOutputVariables() {
+            return outputVariables;
+        }
+
+        public long getCreateTime() {
+            return createTime;
+        }
+
+        protected static List<Map<String, Object>> copyDecisionResult(List<Map<String, Object>> decisionResult) {
+            List<Map<String, Object>> copy = new ArrayList<>(decisionResult.size());
+            for (Map<String, Object> result : decisionResult) {
+                copy.add(new LinkedHashMap<>(result));
+            }
+            return copy;
+        }
+    }
+}
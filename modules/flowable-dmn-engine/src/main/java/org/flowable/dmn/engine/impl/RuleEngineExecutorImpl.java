@@ -12,15 +12,30 @@
  */
 package org.flowable.dmn.engine.impl;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
 import org.flowable.dmn.api.ExecuteDecisionContext;
+import org.flowable.dmn.api.RuleExecutionAuditContainer;
+import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.RuleEngineExecutor;
 import org.flowable.dmn.engine.impl.el.ELExecutionContext;
 import org.flowable.dmn.engine.impl.el.ELExecutionContextBuilder;
@@ -31,10 +46,13 @@ import org.flowable.dmn.engine.impl.hitpolicy.ComposeDecisionResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ComposeRuleResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ContinueEvaluatingBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.EvaluateRuleValidityBehavior;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionCacheEntry;
+import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DecisionRule;
 import org.flowable.dmn.model.DecisionTable;
 import org.flowable.dmn.model.HitPolicy;
+import org.flowable.dmn.model.InputClause;
 import org.flowable.dmn.model.LiteralExpression;
 import org.flowable.dmn.model.RuleInputClauseContainer;
 import org.flowable.dmn.model.RuleOutputClauseContainer;
@@ -54,6 +72,17 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     protected ExpressionManager expressionManager;
     protected ObjectMapper objectMapper;
 
+    // an identifier that is not part of a number and not a property or method of another value
+    protected static final Pattern IDENTIFIER_PATTERN = Pattern.compile("(?<![\\p{javaJavaIdentifierPart}.])\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*");
+    protected static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"");
+    // the rest of a function call after its name, with the function name of a prefixed function like date:now()
+    protected static final Pattern FUNCTION_CALL_PATTERN = Pattern.compile("\\s*(?::\\s*\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*\\s*)?\\(");
+    protected static final Pattern EXPRESSION_DELIMITER_PATTERN = Pattern.compile("[$#]\\{");
+    protected static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList("and", "div", "empty", "eq", "false", "ge", "gt", "instanceof", "le", "lt",
+            "mod", "ne", "not", "null", "or", "true"));
+
+    protected Map<DecisionTable, Set<String>> referencedVariableNames = Collections.synchronizedMap(new WeakHashMap<>());
+
     public RuleEngineExecutorImpl(Map<String, AbstractHitPolicy> hitPolicyBehaviors, ExpressionManager expressionManager, ObjectMapper objectMapper) {
         this.hitPolicyBehaviors = hitPolicyBehaviors;
         this.expressionManager = expressionManager;
@@ -82,11 +111,27 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         // create execution context and audit trail
         ELExecutionContext executionContext = ELExecutionContextBuilder.build(decision, executeDecisionInfo);
 
+        // reuse the result of an earlier execution with the same input
+        DecisionResultCache decisionResultCache = decision.isCacheResult() ? getDecisionResultCache() : null;
+        DecisionResultCache.Key decisionResultCacheKey = null;
+        if (decisionResultCache != null) {
+            decisionResultCacheKey = createDecisionResultCacheKey(decision, currentDecisionTable, executeDecisionInfo, executionContext);
+            if (decisionResultCacheKey != null) {
+                DecisionResultCache.CachedDecisionResult cachedDecisionResult = decisionResultCache.get(decisionResultCacheKey);
+                if (cachedDecisionResult != null) {
+                    LOGGER.debug("Using cached result for decision: {}", decision.getId());
+                    applyCachedDecisionResult(cachedDecisionResult, executionContext);
+                    executionContext.getAuditContainer().stopAudit();
+                    return executionContext.getAuditContainer();
+                }
+            }
+        }
+
         try {
             sanityCheckDecisionTable(currentDecisionTable);
 
             // evaluate decision table
-            evaluateDecisionTable(currentDecisionTable, executionContext);
+            evaluateDecisionTable(currentDecisionTable, getCompiledDecisionTable(decision, executeDecisionInfo), executionContext);
 
         } catch (FlowableException fe) {
             LOGGER.error("decision table execution sanity check failed", fe);
@@ -98,10 +143,171 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             executionContext.getAuditContainer().stopAudit();
         }
 
+        if (decisionResultCacheKey != null && !BooleanUtils.isTrue(executionContext.getAuditContainer().isFailed())) {
+            decisionResultCache.add(decisionResultCacheKey, createCachedDecisionResult(currentDecisionTable, executionContext));
+        }
+
         return executionContext.getAuditContainer();
     }
 
+    protected DecisionResultCache getDecisionResultCache() {
+        DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+        if (!dmnEngineConfiguration.isDecisionResultCacheEnabled()) {
+            return null;
+        }
+
+        // the cache can be enabled after the engine is built
+        if (dmnEngineConfiguration.getDecisionResultCache() == null) {
+            dmnEngineConfiguration.initDecisionResultCache();
+        }
+        return dmnEngineConfiguration.getDecisionResultCache();
+    }
+
+    /**
+     * @return the key of the result of the execution, or null when the result can not be cached because the decision table calls a function
+     *         or uses a name that is not an input variable with a simple value
+     */
+    protected DecisionResultCache.Key createDecisionResultCacheKey(Decision decision, DecisionTable decisionTable, ExecuteDecisionContext executeDecisionInfo,
+            ELExecutionContext executionContext) {
+
+        Map<String, Object> stackVariables = executionContext.getStackVariables();
+        if (executeDecisionInfo.getDecisionId() == null || stackVariables == null) {
+            return null;
+        }
+
+        Set<String> variableNames = getReferencedVariableNames(decisionTable);
+        if (variableNames == null) {
+            return null;
+        }
+
+        Map<String, Object> inputVariables = new TreeMap<>();
+        for (String variableName : variableNames) {
+            // beans and other names resolved by the expression manager can give a different result for the same input
+            if (!stackVariables.containsKey(variableName)) {
+                return null;
+            }
+
+            Object value = stackVariables.get(variableName);
+            if (!isCacheableValue(value)) {
+                return null;
+            }
+            inputVariables.put(variableName, value instanceof Date ? new Date(((Date) value).getTime()) : value);
+        }
+
+        return new DecisionResultCache.Key(executeDecisionInfo.getDecisionId(), executeDecisionInfo.getDecisionKey(), decision.getId(), inputVariables);
+    }
+
+    protected Set<String> getReferencedVariableNames(DecisionTable decisionTable) {
+        if (referencedVariableNames.containsKey(decisionTable)) {
+            return referencedVariableNames.get(decisionTable);
+        }
+
+        // finding the names twice for the same table is harmless
+        Set<String> variableNames = findReferencedVariableNames(decisionTable);
+        referencedVariableNames.put(decisionTable, variableNames);
+        return variableNames;
+    }
+
+    /**
+     * @return the names used in the expressions of the decision table, or null when one of the expressions calls a function
+     */
+    protected Set<String> findReferencedVariableNames(DecisionTable decisionTable) {
+        Set<String> variableNames = new HashSet<>();
+        for (InputClause inputClause : decisionTable.getInputs()) {
+            if (inputClause.getInputExpression() != null && !addReferencedVariableNames(inputClause.getInputExpression().getText(), variableNames)) {
+                return null;
+            }
+        }
+
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer inputClauseContainer : rule.getInputEntries()) {
+                if (inputClauseContainer.getInputEntry() != null && !addReferencedVariableNames(inputClauseContainer.getInputEntry().getText(), variableNames)) {
+                    return null;
+                }
+            }
+            for (RuleOutputClauseContainer outputClauseContainer : rule.getOutputEntries()) {
+                if (outputClauseContainer.getOutputEntry() != null && !addReferencedVariableNames(outputClauseContainer.getOutputEntry().getText(), variableNames)) {
+                    return null;
+                }
+            }
+        }
+        return variableNames;
+    }
+
+    /**
+     * @return false when the expression calls a function (fn_now(), date:now(), ...), as its result can change for the same input
+     */
+    protected boolean addReferencedVariableNames(String text, Set<String> variableNames) {
+        if (text == null) {
+            return true;
+        }
+
+        String expression = STRING_LITERAL_PATTERN.matcher(text).replaceAll(" ");
+        expression = EXPRESSION_DELIMITER_PATTERN.matcher(expression).replaceAll(" ");
+        Matcher matcher = IDENTIFIER_PATTERN.matcher(expression);
+        Matcher functionCallMatcher = FUNCTION_CALL_PATTERN.matcher(expression);
+        while (matcher.find()) {
+            String name = matcher.group();
+            if (!RESERVED_WORDS.contains(name)) {
+                functionCallMatcher.region(matcher.end(), expression.length());
+                if (functionCallMatcher.lookingAt()) {
+                    return false;
+                }
+                variableNames.add(name);
+            }
+        }
+        return true;
+    }
+
+    protected boolean isCacheableValue(Object value) {
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum
+                || value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger || value instanceof BigDecimal || value instanceof Double || value instanceof Float
+                || value.getClass() == Date.class;
+    }
+
+    protected DecisionResultCache.CachedDecisionResult createCachedDecisionResult(DecisionTable decisionTable, ELExecutionContext executionContext) {
+        DecisionExecutionAuditContainer auditContainer = executionContext.getAuditContainer();
+
+        // the output variables set by the valid rules are visible to the next decisions of a decision service
+        Map<String, Object> outputVariables = new HashMap<>();
+        for (DecisionRule rule : decisionTable.getRules()) {
+            RuleExecutionAuditContainer ruleExecution = auditContainer.getRuleExecutions().get(rule.getRuleNumber());
+            if (ruleExecution != null && BooleanUtils.isTrue(ruleExecution.isValid())) {
+                for (RuleOutputClauseContainer outputClauseContainer : rule.getOutputEntries()) {
+                    if (StringUtils.isNotEmpty(outputClauseContainer.getOutputEntry().getText())) {
+                        String outputVariableId = outputClauseContainer.getOutputClause().getName();
+                        outputVariables.put(outputVariableId, executionContext.getStackVariables().get(outputVariableId));
+                    }
+                }
+            }
+        }
+
+        return new DecisionResultCache.CachedDecisionResult(auditContainer.getDecisionResult(), auditContainer.isMultipleResults(),
+                auditContainer.getDecisionResultTypes(), auditContainer.getValidationMessage(), outputVariables);
+    }
+
+    protected void applyCachedDecisionResult(DecisionResultCache.CachedDecisionResult cachedDecisionResult, ELExecutionContext executionContext) {
+        DecisionExecutionAuditContainer auditContainer = executionContext.getAuditContainer();
+        auditContainer.setDecisionResult(cachedDecisionResult.getDecisionResult());
+        auditContainer.setMultipleResults(cachedDecisionResult.isMultipleResults());
+        for (Map.Entry<String, String> decisionResultType : cachedDecisionResult.getDecisionResultTypes().entrySet()) {
+            auditContainer.addDecisionResultType(decisionResultType.getKey(), decisionResultType.getValue());
+        }
+        auditContainer.setValidationMessage(cachedDecisionResult.getValidationMessage());
+        auditContainer.setCachedResult(Boolean.TRUE);
+
+        executionContext.getStackVariables().putAll(cachedDecisionResult.getOutputVariables());
+    }
+
     protected void evaluateDecisionTable(DecisionTable decisionTable, ELExecutionContext executionContext) {
+        evaluateDecisionTable(decisionTable, null, executionContext);
+    }
+
+    /**
+     * @param compiledDecisionTable the compiled decision table used to skip the rules that can not match, or null to evaluate all rules
+     */
+    protected void evaluateDecisionTable(DecisionTable decisionTable, CompiledDecisionTable compiledDecisionTable, ELExecutionContext executionContext) {
         if (decisionTable == null || decisionTable.getRules().isEmpty()) {
             throw new IllegalArgumentException("no rules present in table");
         }
@@ -116,8 +322,13 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             // evaluate rule conditions
             Map<Integer, List<RuleOutputClauseContainer>> validRuleOutputEntries = new HashMap<>();
 
-            for (DecisionRule rule : decisionTable.getRules()) {
-                boolean ruleResult = executeRule(rule, executionContext);
+            // rules that are not a candidate can not match and are not evaluated
+            BitSet candidateRules = compiledDecisionTable != null ? compiledDecisionTable.getCandidateRules(expressionManager, executionContext) : null;
+
+            List<DecisionRule> rules = decisionTable.getRules();
+            for (int i = 0; i < rules.size(); i++) {
+                DecisionRule rule = rules.get(i);
+                boolean ruleResult = (candidateRules == null || candidateRules.get(i)) && executeRule(rule, executionContext);
 
                 if (ruleResult) {
                     // evaluate decision table hit policy validity
@@ -158,6 +369,39 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         LOGGER.debug("End table evaluation: {}", decisionTable.getId());
     }
 
+    /**
+     * @return the compiled decision table, stored on the cache entry of the executed decision (service) so it goes away together with the cached DMN model,
+     *         or null when compilation is disabled or the decision is not in the decision cache
+     */
+    protected CompiledDecisionTable getCompiledDecisionTable(Decision decision, ExecuteDecisionContext executeDecisionInfo) {
+        DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
+        if (!dmnEngineConfiguration.isDecisionTableCompilationEnabled() || executeDecisionInfo.getDecisionId() == null) {
+            return null;
+        }
+
+        DecisionCacheEntry cacheEntry = dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(executeDecisionInfo.getDecisionId());
+        if (cacheEntry == null || cacheEntry.getDmnDefinition() != decision.getDmnDefinition()) {
+            return null;
+        }
+
+        // only a concurrent execution of the same decision waits for the compilation
+        return cacheEntry.getCompiledDecisionTables().computeIfAbsent(decision.getId(),
+                decisionId -> CompiledDecisionTable.compile((DecisionTable) decision.getExpression()));
+    }
+
+    /**
+     * Compiles the decision tables of the given cache entry, so this does not need to happen when they are executed for the first time.
+     */
+    public void compileDecisionTables(DecisionCacheEntry cacheEntry) {
+        // a decision service can execute all decisions of its definition
+        List<Decision> decisions = cacheEntry.getDecision() != null ? Collections.singletonList(cacheEntry.getDecision()) : cacheEntry.getDmnDefinition().getDecisions();
+        for (Decision decision : decisions) {
+            if (decision.getExpression() instanceof DecisionTable) {
+                cacheEntry.getCompiledDecisionTables().put(decision.getId(), CompiledDecisionTable.compile((DecisionTable) decision.getExpression()));
+            }
+        }
+    }
+
     protected boolean executeRule(DecisionRule rule, ELExecutionContext executionContext) {
         if (rule == null) {
             throw new FlowableException("rule cannot be null");
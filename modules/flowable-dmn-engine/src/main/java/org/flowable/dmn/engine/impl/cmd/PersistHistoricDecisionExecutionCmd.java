@@ -12,11 +12,15 @@
  */
 package org.flowable.dmn.engine.impl.cmd;
 
+import java.util.Map;
+
 import org.apache.commons.lang3.BooleanUtils;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DecisionServiceExecutionAuditContainer;
 import org.flowable.dmn.api.ExecuteDecisionContext;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
 import org.flowable.dmn.engine.impl.persistence.entity.HistoricDecisionExecutionEntity;
@@ -45,7 +49,8 @@ public class PersistHistoricDecisionExecutionCmd implements Command<Void> {
 
         DmnEngineConfiguration engineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
 
-        if (engineConfiguration.isHistoryEnabled()) {
+        if (engineConfiguration.isHistoryEnabled() && (engineConfiguration.isDecisionResultCacheHistoryEnabled()
+                || !isCachedResult(executeDecisionContext.getDecisionExecution()))) {
             HistoricDecisionExecutionEntityManager historicDecisionExecutionEntityManager = engineConfiguration.getHistoricDecisionExecutionEntityManager();
             HistoricDecisionExecutionEntity decisionExecutionEntity = historicDecisionExecutionEntityManager.create();
             decisionExecutionEntity.setDecisionDefinitionId(executeDecisionContext.getDecisionId());
@@ -79,4 +84,12 @@ public class PersistHistoricDecisionExecutionCmd implements Command<Void> {
 
         return null;
     }
+
+    protected boolean isCachedResult(DecisionExecutionAuditContainer decisionExecution) {
+        if (decisionExecution instanceof DecisionServiceExecutionAuditContainer) {
+            Map<String, DecisionExecutionAuditContainer> childDecisionExecutions = ((DecisionServiceExecutionAuditContainer) decisionExecution).getChildDecisionExecutions();
+            return !childDecisionExecutions.isEmpty() && childDecisionExecutions.values().stream().allMatch(this::isCachedResult);
+        }
+        return BooleanUtils.isTrue(decisionExecution.isCachedResult());
+    }
 }
@@ -14,6 +14,7 @@ package org.flowable.dmn.engine.impl.deployer;
 
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.RuleEngineExecutorImpl;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntity;
@@ -35,6 +36,8 @@ public class CachingAndArtifactsManager {
         DeploymentCache<DecisionCacheEntry> decisionCache = dmnEngineConfiguration.getDeploymentManager().getDecisionCache();
         DmnDeploymentEntity deployment = parsedDeployment.getDeployment();
 
+        boolean compileDecisionTables = dmnEngineConfiguration.isDecisionTableCompilationEnabled()
+                && dmnEngineConfiguration.getRuleEngineExecutor() instanceof RuleEngineExecutorImpl;
         for (DecisionEntity decisionEntity : parsedDeployment.getAllDecisions()) {
             DmnDefinition dmnDefinition = parsedDeployment.getDmnDefinitionForDecision(decisionEntity);
 
@@ -47,8 +50,16 @@ public class CachingAndArtifactsManager {
                 cacheEntry = new DecisionCacheEntry(decisionEntity, dmnDefinition, decision);
             }
 
+            if (compileDecisionTables) {
+                ((RuleEngineExecutorImpl) dmnEngineConfiguration.getRuleEngineExecutor()).compileDecisionTables(cacheEntry);
+            }
             decisionCache.add(decisionEntity.getId(), cacheEntry);
 
+            // Results of the previous versions are not needed anymore
+            if (dmnEngineConfiguration.getDecisionResultCache() != null) {
+                dmnEngineConfiguration.getDecisionResultCache().removeDecisionKey(decisionEntity.getKey());
+            }
+
             // Add to deployment for further usage
             deployment.addDeployedArtifact(decisionEntity);
         }
@@ -13,7 +13,10 @@
 package org.flowable.dmn.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.flowable.dmn.engine.impl.CompiledDecisionTable;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionEntity;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DecisionService;
@@ -32,6 +35,9 @@ public class DecisionCacheEntry implements Serializable {
     protected DecisionService decisionService;
     protected Decision decision;
 
+    // The compiled decision tables of the decisions of the cached model, by decision id
+    protected Map<String, CompiledDecisionTable> compiledDecisionTables = new ConcurrentHashMap<>();
+
     public DecisionCacheEntry(DecisionEntity decisionEntity, DmnDefinition dmnDefinition, DecisionService decisionService) {
         this.decisionEntity = decisionEntity;
         this.dmnDefinition = dmnDefinition;
@@ -72,4 +78,7 @@ public class DecisionCacheEntry implements Serializable {
     public void setDecision(Decision decision) {
         this.decision = decision;
     }
+    public Map<String, CompiledDecisionTable> getCompiledDecisionTables() {
+        return compiledDecisionTables;
+    }
 }
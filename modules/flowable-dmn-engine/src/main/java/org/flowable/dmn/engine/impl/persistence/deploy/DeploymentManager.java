@@ -171,6 +171,9 @@ public class DeploymentManager {
 
         for (DmnDecision definition : definitions) {
             decisionCache.remove(definition.getId());
+            if (engineConfig.getDecisionResultCache() != null) {
+                engineConfig.getDecisionResultCache().removeDecisionDefinition(definition.getId());
+            }
         }
     }
 
@@ -0,0 +1,195 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.test.AbstractFlowableDmnTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Executes large generated decision tables with and without decision table compilation and compares the results.
+ */
+public class CompiledDecisionTableTest extends AbstractFlowableDmnTest {
+
+    protected static final int NR_OF_RULES = 2000;
+
+    protected static final List<Object> CATEGORIES = Arrays.asList("cat1", "cat13", "cat49", "other");
+    protected static final List<Object> AMOUNTS = Arrays.asList(100, 150.5, 1900L, 0, -1, 2000);
+    protected static final List<Object> REGIONS = Arrays.asList("north", "south");
+    protected static final List<Object> SCORES = Arrays.asList(5, 15, 25.5, 29L, 30);
+
+    protected DmnDeployment deployment;
+
+    @Before
+    public void deployDecisionTables() {
+        dmnEngineConfiguration.setDecisionTableCompilationEnabled(true);
+        deployment = repositoryService.createDeployment()
+                .addString("collectTable.dmn", createDecisionTableXml("collectTable", "COLLECT", NR_OF_RULES))
+                .addString("firstTable.dmn", createDecisionTableXml("firstTable", "FIRST", NR_OF_RULES))
+                .deploy();
+    }
+
+    @After
+    public void cleanUp() {
+        dmnEngineConfiguration.setDecisionTableCompilationEnabled(false);
+        repositoryService.deleteDeployment(deployment.getId());
+    }
+
+    @Test
+    public void collectHitPolicy() {
+        assertSameResults("collectTable");
+    }
+
+    @Test
+    public void firstHitPolicy() {
+        assertSameResults("firstTable");
+    }
+
+    @Test
+    public void onlyCandidateRulesAreEvaluated() {
+        DecisionExecutionAuditContainer result = executeDecision("collectTable", true, "cat1", 100, "north", 5);
+
+        assertThat(result.isFailed()).isFalse();
+        assertThat(result.getDecisionResult()).isNotEmpty();
+        assertThat(result.getRuleExecutions()).hasSizeLessThan(NR_OF_RULES / 10);
+
+        result = executeDecision("collectTable", true, "other", 150.5, "south", 25.5);
+
+        assertThat(result.isFailed()).isFalse();
+        assertThat(result.getRuleExecutions()).hasSizeLessThan(NR_OF_RULES / 5);
+    }
+
+    protected void assertSameResults(String decisionKey) {
+        for (Object category : CATEGORIES) {
+            for (Object amount : AMOUNTS) {
+                for (Object region : REGIONS) {
+                    for (Object score : SCORES) {
+                        DecisionExecutionAuditContainer expectedResult = executeDecision(decisionKey, false, category, amount, region, score);
+                        DecisionExecutionAuditContainer result = executeDecision(decisionKey, true, category, amount, region, score);
+
+                        assertThat(expectedResult.isFailed()).isFalse();
+                        assertThat(result.isFailed()).isFalse();
+                        assertThat(result.getDecisionResult())
+                                .as("category %s, amount %s, region %s, score %s", category, amount, region, score)
+                                .isEqualTo(expectedResult.getDecisionResult());
+                    }
+                }
+            }
+        }
+    }
+
+    protected DecisionExecutionAuditContainer executeDecision(String decisionKey, boolean compilationEnabled, Object category, Object amount,
+            Object region, Object score) {
+
+        dmnEngineConfiguration.setDecisionTableCompilationEnabled(compilationEnabled);
+        return ruleService.createExecuteDecisionBuilder()
+                .decisionKey(decisionKey)
+                .variable("category", category)
+                .variable("amount", amount)
+                .variable("region", region)
+                .variable("score", score)
+                .executeWithAuditTrail();
+    }
+
+    protected String createDecisionTableXml(String decisionKey, String hitPolicy, int nrOfRules) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<definitions xmlns=\"http://www.omg.org/spec/DMN/20151101\" id=\"").append(decisionKey).append("Definitions\"")
+                .append(" namespace=\"http://www.flowable.org/dmn\">\n")
+                .append("  <decision id=\"").append(decisionKey).append("\">\n")
+                .append("    <decisionTable id=\"").append(decisionKey).append("DecisionTable\" hitPolicy=\"").append(hitPolicy).append("\">\n");
+
+        appendInput(xml, "category", "string");
+        appendInput(xml, "amount", "number");
+        appendInput(xml, "region", "string");
+        appendInput(xml, "score", "number");
+        xml.append("      <output id=\"result\" name=\"result\" typeRef=\"string\" />\n");
+
+        for (int i = 0; i < nrOfRules; i++) {
+            xml.append("      <rule>\n");
+            appendInputEntry(xml, i, "category", createCategoryEntry(i));
+            appendInputEntry(xml, i, "amount", createAmountEntry(i));
+            appendInputEntry(xml, i, "region", createRegionEntry(i));
+            appendInputEntry(xml, i, "score", createScoreEntry(i));
+            xml.append("        <outputEntry id=\"outputEntry").append(i).append("\"><text>\"rule").append(i).append("\"</text></outputEntry>\n");
+            xml.append("      </rule>\n");
+        }
+
+        xml.append("    </decisionTable>\n")
+                .append("  </decision>\n")
+                .append("</definitions>\n");
+        return xml.toString();
+    }
+
+    protected void appendInput(StringBuilder xml, String name, String typeRef) {
+        xml.append("      <input>\n")
+                .append("        <inputExpression id=\"").append(name).append("Expression\" typeRef=\"").append(typeRef).append("\">\n")
+                .append("          <text>").append(name).append("</text>\n")
+                .append("        </inputExpression>\n")
+                .append("      </input>\n");
+    }
+
+    protected void appendInputEntry(StringBuilder xml, int rule, String name, String text) {
+        xml.append("        <inputEntry id=\"").append(name).append("Entry").append(rule).append("\"><text><![CDATA[").append(text).append("]]></text></inputEntry>\n");
+    }
+
+    protected String createCategoryEntry(int rule) {
+        if (rule % 7 == 0) {
+            return "-";
+        } else if (rule % 13 == 0) {
+            return ".startsWith('cat1')";
+        }
+        return "\"cat" + (rule % 50) + "\"";
+    }
+
+    protected String createAmountEntry(int rule) {
+        int amount = (rule % 20) * 100;
+        switch (rule % 5) {
+            case 0:
+                return ">= " + amount;
+            case 1:
+                return "<" + amount;
+            case 2:
+                return String.valueOf(amount);
+            case 3:
+                return "<= " + amount + ".5";
+            default:
+                return "!= " + amount;
+        }
+    }
+
+    protected String createRegionEntry(int rule) {
+        switch (rule % 3) {
+            case 0:
+                return "!= \"north\"";
+            case 1:
+                return "'south'";
+            default:
+                return "";
+        }
+    }
+
+    protected String createScoreEntry(int rule) {
+        if (rule % 11 == 0) {
+            return "#{score > 10 && score < 20}";
+        }
+        return "> " + (rule % 30);
+    }
+}
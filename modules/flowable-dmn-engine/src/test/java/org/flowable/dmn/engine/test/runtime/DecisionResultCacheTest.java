@@ -0,0 +1,194 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.engine.test.AbstractFlowableDmnTest;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DecisionResultCacheTest extends AbstractFlowableDmnTest {
+
+    protected static final String RESOURCE = "org/flowable/dmn/engine/test/runtime/DecisionResultCacheTest.cacheResult.dmn";
+
+    @Before
+    public void enableDecisionResultCache() {
+        dmnEngineConfiguration.setDecisionResultCacheEnabled(true);
+        dmnEngineConfiguration.setDecisionResultCacheTimeToLive(1000);
+    }
+
+    @After
+    public void disableDecisionResultCache() {
+        dmnEngineConfiguration.setDecisionResultCacheEnabled(false);
+        dmnEngineConfiguration.setDecisionResultCache(null);
+        dmnEngineConfiguration.setDecisionResultCacheTimeToLive(-1);
+        dmnEngineConfiguration.setDecisionResultCacheHistoryEnabled(true);
+        dmnEngineConfiguration.getClock().reset();
+    }
+
+    @Test
+    @DmnDeployment(resources = RESOURCE)
+    public void cachedResultIsReused() {
+        DecisionExecutionAuditContainer result = executeDecision(1, "test1");
+        assertThat(result.isCachedResult()).isNull();
+        assertThat(result.getRuleExecutions()).isNotEmpty();
+        assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("result1");
+
+        result = executeDecision(1, "test1");
+        assertThat(result.isCachedResult()).isTrue();
+        assertThat(result.getRuleExecutions()).isEmpty();
+        assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("result1");
+
+        result = executeDecision(2, "test2");
+        assertThat(result.isCachedResult()).isNull();
+        assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("result2");
+
+        result = executeDecision(2, "test2");
+        assertThat(result.isCachedResult()).isTrue();
+        assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("result2");
+
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().getHitCount()).isEqualTo(2);
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().getMissCount()).isEqualTo(2);
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isEqualTo(2);
+
+        // history is recorded for cached results by default
+        assertThat(dmnHistoryService.createHistoricDecisionExecutionQuery().decisionKey("decision1").count()).isEqualTo(4);
+    }
+
+    @Test
+    @DmnDeployment(resources = RESOURCE)
+    public void historyNotRecordedForCachedResults() {
+        dmnEngineConfiguration.setDecisionResultCacheHistoryEnabled(false);
+
+        executeDecision(1, "test1");
+        executeDecision(1, "test1");
+        executeDecision(1, "test1");
+
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().getHitCount()).isEqualTo(2);
+        assertThat(dmnHistoryService.createHistoricDecisionExecutionQuery().decisionKey("decision1").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DmnDeployment(resources = RESOURCE)
+    public void cachedResultExpires() {
+        Date now = new Date();
+        dmnEngineConfiguration.getClock().setCurrentTime(now);
+        executeDecision(1, "test1");
+
+        dmnEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 500));
+        assertThat(executeDecision(1, "test1").isCachedResult()).isTrue();
+
+        dmnEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 1500));
+        assertThat(executeDecision(1, "test1").isCachedResult()).isNull();
+
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().getHitCount()).isEqualTo(1);
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DmnDeployment(resources = RESOURCE)
+    public void newVersionEvictsCachedResults() {
+        executeDecision(1, "test1");
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isEqualTo(1);
+
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(RESOURCE).deploy().getId();
+        try {
+            assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isZero();
+
+            DecisionExecutionAuditContainer result = executeDecision(1, "test1");
+            assertThat(result.isCachedResult()).isNull();
+            assertThat(result.getDecisionVersion()).isEqualTo(2);
+            assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isEqualTo(1);
+
+        } finally {
+            repositoryService.deleteDeployment(deploymentId);
+        }
+
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isZero();
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/StandaloneRuntimeTest.ruleUsageExample.dmn")
+    public void resultNotCachedWithoutOptIn() {
+        executeDecision(1, "test1");
+        assertThat(executeDecision(1, "test1").isCachedResult()).isNull();
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isZero();
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/DecisionResultCacheTest.now.dmn")
+    public void resultNotCachedWhenCallingFunction() {
+        Date tomorrow = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000L);
+        for (int i = 0; i < 2; i++) {
+            DecisionExecutionAuditContainer result = ruleService.createExecuteDecisionBuilder()
+                    .decisionKey("nowDecision")
+                    .variable("inputDate", tomorrow)
+                    .executeWithAuditTrail();
+            assertThat(result.isCachedResult()).isNull();
+            assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("future");
+        }
+
+        assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isZero();
+    }
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/runtime/DecisionResultCacheTest.bean.dmn")
+    public void resultNotCachedWhenUsingBean() {
+        ExpressionManager expressionManager = dmnEngineConfiguration.getExpressionManager();
+        Map<Object, Object> previousBeans = expressionManager.getBeans();
+        Map<String, Object> thresholds = new HashMap<>();
+        thresholds.put("maximum", 10);
+        Map<Object, Object> beans = new HashMap<>();
+        beans.put("thresholds", thresholds);
+        expressionManager.setBeans(beans);
+        try {
+            DecisionExecutionAuditContainer result = executeBeanDecision(5);
+            assertThat(result.isCachedResult()).isNull();
+            assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("below");
+
+            thresholds.put("maximum", 3);
+            result = executeBeanDecision(5);
+            assertThat(result.isCachedResult()).isNull();
+            assertThat(result.getDecisionResult()).extracting("outputVariable1").containsExactly("above");
+
+            assertThat(dmnEngineConfiguration.getDecisionResultCache().size()).isZero();
+
+        } finally {
+            expressionManager.setBeans(previousBeans);
+        }
+    }
+
+    protected DecisionExecutionAuditContainer executeBeanDecision(int inputVariable1) {
+        return ruleService.createExecuteDecisionBuilder()
+                .decisionKey("beanDecision")
+                .variable("inputVariable1", inputVariable1)
+                .executeWithAuditTrail();
+    }
+
+    protected DecisionExecutionAuditContainer executeDecision(int inputVariable1, String inputVariable2) {
+        return ruleService.createExecuteDecisionBuilder()
+                .decisionKey("decision1")
+                .variable("inputVariable1", inputVariable1)
+                .variable("inputVariable2", inputVariable2)
+                .executeWithAuditTrail();
+    }
+}
@@ -30,6 +30,7 @@ public class Decision extends DRGElement {
     protected List<AuthorityRequirement> authorityRequirements = new ArrayList<>();
     protected Expression expression;
     protected boolean forceDMN11;
+    protected boolean cacheResult;
 
     @JsonIgnore
     protected DmnDefinition dmnDefinition;
@@ -101,6 +102,13 @@ public class Decision extends DRGElement {
         this.forceDMN11 = forceDMN11;
     }
 
+    public boolean isCacheResult() {
+        return cacheResult;
+    }
+    public void setCacheResult(boolean cacheResult) {
+        this.cacheResult = cacheResult;
+    }
+
     @JsonIgnore
     public DmnDefinition getDmnDefinition() {
         return dmnDefinition;
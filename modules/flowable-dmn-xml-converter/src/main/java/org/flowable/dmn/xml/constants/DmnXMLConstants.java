@@ -43,6 +43,7 @@ public interface DmnXMLConstants {
     String ATTRIBUTE_NAMESPACE = "namespace";
     String ATTRIBUTE_AGGREGATION = "aggregation";
     String ATTRIBUTE_FORCE_DMN_11 = "forceDMN11";
+    String ATTRIBUTE_CACHE_RESULT = "cacheResult";
     String ATTRIBUTE_IS_COLLECTION = "isCollection";
 
     String ELEMENT_DEFINITIONS = "definitions";
@@ -97,6 +97,7 @@ public class DmnXMLConverter implements DmnXMLConstants {
 
     protected static final Collection<DmnExtensionAttribute> KNOWN_DECISION_ATTRIBUTES = Arrays.asList(
             new DmnExtensionAttribute(FLOWABLE_EXTENSIONS_NAMESPACE, ATTRIBUTE_FORCE_DMN_11),
+            new DmnExtensionAttribute(FLOWABLE_EXTENSIONS_NAMESPACE, ATTRIBUTE_CACHE_RESULT),
             new DmnExtensionAttribute(ATTRIBUTE_ID),
             new DmnExtensionAttribute(ATTRIBUTE_NAME)
     );
@@ -311,6 +312,9 @@ public class DmnXMLConverter implements DmnXMLConstants {
                     if (Boolean.parseBoolean(xtr.getAttributeValue(FLOWABLE_EXTENSIONS_NAMESPACE, ATTRIBUTE_FORCE_DMN_11))) {
                         currentDecision.setForceDMN11(true);
                     }
+                    if (Boolean.parseBoolean(xtr.getAttributeValue(FLOWABLE_EXTENSIONS_NAMESPACE, ATTRIBUTE_CACHE_RESULT))) {
+                        currentDecision.setCacheResult(true);
+                    }
                     DmnXMLUtil.parseAttributes(currentDecision, xtr, KNOWN_DECISION_ATTRIBUTES);
 
                     parentElement = currentDecision;
@@ -461,12 +465,15 @@ public class DmnXMLConverter implements DmnXMLConstants {
                     xtw.writeAttribute(ATTRIBUTE_NAME, decision.getName());
                 }
 
+                if ((decision.isForceDMN11() || decision.isCacheResult()) && !model.getNamespaces().containsKey(FLOWABLE_EXTENSIONS_PREFIX)) {
+                    xtw.writeNamespace(FLOWABLE_EXTENSIONS_PREFIX, FLOWABLE_EXTENSIONS_NAMESPACE);
+                }
                 if (decision.isForceDMN11()) {
-                    if (!model.getNamespaces().containsKey(FLOWABLE_EXTENSIONS_PREFIX)) {
-                        xtw.writeNamespace(FLOWABLE_EXTENSIONS_PREFIX, FLOWABLE_EXTENSIONS_NAMESPACE);
-                    }
                     xtw.writeAttribute(FLOWABLE_EXTENSIONS_PREFIX, FLOWABLE_EXTENSIONS_NAMESPACE, ATTRIBUTE_FORCE_DMN_11, "true");
                 }
+                if (decision.isCacheResult()) {
+                    xtw.writeAttribute(FLOWABLE_EXTENSIONS_PREFIX, FLOWABLE_EXTENSIONS_NAMESPACE, ATTRIBUTE_CACHE_RESULT, "true");
+                }
 
                 DmnXMLUtil.writeAttributes(decision, model.getNamespaces(), xtw);
                 DmnXMLUtil.writeElementDescription(decision, xtw);
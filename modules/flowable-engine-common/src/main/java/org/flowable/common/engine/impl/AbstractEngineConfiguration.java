@@ -73,7 +73,10 @@ import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
 import org.flowable.common.engine.api.delegate.event.FlowableEventListener;
 import org.flowable.common.engine.api.engine.EngineLifecycleListener;
+import org.flowable.common.engine.impl.agenda.AgendaOperationBehaviorTypeResolver;
+import org.flowable.common.engine.impl.agenda.AgendaOperationMetrics;
 import org.flowable.common.engine.impl.agenda.AgendaOperationRunner;
+import org.flowable.common.engine.impl.agenda.InstrumentedAgendaOperationRunner;
 import org.flowable.common.engine.impl.cfg.CommandExecutorImpl;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.cfg.TransactionContextFactory;
@@ -84,6 +87,7 @@ import org.flowable.common.engine.impl.db.LogSqlExecutionTimePlugin;
 import org.flowable.common.engine.impl.db.MybatisTypeAliasConfigurator;
 import org.flowable.common.engine.impl.db.MybatisTypeHandlerConfigurator;
 import org.flowable.common.engine.impl.db.SchemaManager;
+import org.flowable.common.engine.impl.db.StatementCountingPlugin;
 import org.flowable.common.engine.impl.event.EventDispatchAction;
 import org.flowable.common.engine.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.common.engine.impl.interceptor.Command;
@@ -103,7 +107,9 @@ import org.flowable.common.engine.impl.logging.LoggingListener;
 import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
+import org.flowable.common.engine.impl.persistence.PropertyIdGeneratorNodeLeaseManager;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.common.engine.impl.persistence.TimeOrderedIdGenerator;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
@@ -194,6 +200,12 @@ public abstract class AbstractEngineConfiguration {
 
     protected AgendaOperationRunner agendaOperationRunner = (commandContext, runnable) -> runnable.run();
 
+    /**
+     * When set, every agenda operation is measured and reported to these metrics, see {@link InstrumentedAgendaOperationRunner}.
+     * By default null, which means the agenda is not instrumented at all.
+     */
+    protected AgendaOperationMetrics agendaOperationMetrics;
+
     protected List<CommandInterceptor> customPreCommandInterceptors;
     protected List<CommandInterceptor> customPostCommandInterceptors;
     protected List<CommandInterceptor> commandInterceptors;
@@ -236,6 +248,13 @@ public abstract class AbstractEngineConfiguration {
 
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 55; // currently Execution has most params (35). 2000 / 35 = 57.
 
+    /**
+     * If set to true, the updates and deletes of entities are sent to the database as JDBC batches (grouped per statement) when flushing,
+     * instead of one statement per entity. The per-row update counts are still checked for optimistic locking,
+     * so only enable this when the JDBC driver returns real update counts for batched statements. Default false.
+     */
+    protected boolean batchedFlushEnabled;
+
     protected String mybatisMappingFile;
     protected Set<Class<?>> customMybatisMappers;
     protected Set<String> customMybatisXMLMappers;
@@ -313,6 +332,12 @@ public abstract class AbstractEngineConfiguration {
      * Set to true if the latest version of a definition should be retrieved, ignoring a possible parent deployment id value
      */
     protected boolean alwaysLookupLatestDefinitionVersion;
+
+    /**
+     * Set to true to use a {@link org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache} for the definition cache of the engine.
+     * Contrary to the default cache, it doesn't take a global lock when a definition is retrieved. The definition cache limit is applied to it as well.
+     */
+    protected boolean concurrentDeploymentCacheEnabled;
     
     /**
      * Set to true if by default lookups should fallback to the default tenant (an empty string by default or a defined tenant value)
@@ -592,6 +617,19 @@ public abstract class AbstractEngineConfiguration {
         }
     }
 
+    public void initAgendaOperationMetrics() {
+        if (agendaOperationMetrics != null && !(agendaOperationRunner instanceof InstrumentedAgendaOperationRunner)) {
+            agendaOperationRunner = new InstrumentedAgendaOperationRunner(agendaOperationRunner, agendaOperationMetrics, createAgendaOperationBehaviorTypeResolver());
+        }
+    }
+
+    /**
+     * Engines that execute behaviors through their agenda operations return a resolver, so that the behavior execution times get reported too.
+     */
+    protected AgendaOperationBehaviorTypeResolver createAgendaOperationBehaviorTypeResolver() {
+        return null;
+    }
+
     public void initCommandInterceptors() {
         if (commandInterceptors == null) {
             commandInterceptors = new ArrayList<>();
@@ -685,6 +723,17 @@ public abstract class AbstractEngineConfiguration {
         if (idGenerator == null) {
             idGenerator = new StrongUuidGenerator();
         }
+        initTimeOrderedIdGenerator();
+    }
+
+    protected void initTimeOrderedIdGenerator() {
+        if (idGenerator instanceof TimeOrderedIdGenerator) {
+            TimeOrderedIdGenerator timeOrderedIdGenerator = (TimeOrderedIdGenerator) idGenerator;
+            if (timeOrderedIdGenerator.getNodeLeaseManager() == null) {
+                // The node id is only negotiated on first use, at which point the command executor is available
+                timeOrderedIdGenerator.setNodeLeaseManager(new PropertyIdGeneratorNodeLeaseManager(this));
+            }
+        }
     }
 
     public void initObjectMapper() {
@@ -786,6 +835,7 @@ public abstract class AbstractEngineConfiguration {
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchedFlushEnabled(batchedFlushEnabled);
 
         initDbSqlSessionFactoryEntitySettings();
 
@@ -852,6 +902,7 @@ public abstract class AbstractEngineConfiguration {
                 properties.put("limitBetween", "");
                 properties.put("limitBeforeNativeQuery", "");
                 properties.put("limitAfterNativeQuery", "");
+                properties.put("forUpdateSkipLocked", "");
                 properties.put("blobType", "BLOB");
                 properties.put("boolValue", "TRUE");
 
@@ -893,6 +944,9 @@ public abstract class AbstractEngineConfiguration {
         if (isEnableLogSqlExecutionTime()) {
             initMyBatisLogSqlExecutionTimePlugin(configuration);
         }
+        if (agendaOperationMetrics != null) {
+            configuration.addInterceptor(new StatementCountingPlugin());
+        }
 
         configuration = parseMybatisConfiguration(parser);
         return configuration;
@@ -1092,6 +1146,10 @@ public abstract class AbstractEngineConfiguration {
     }
 
     public void close() {
+        if (idGenerator instanceof TimeOrderedIdGenerator) {
+            ((TimeOrderedIdGenerator) idGenerator).releaseNodeId();
+        }
+
         if (forceCloseMybatisConnectionPool && dataSource instanceof PooledDataSource) {
             /*
              * When the datasource is created by a Flowable engine (i.e. it's an instance of PooledDataSource),
@@ -1425,6 +1483,15 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public AgendaOperationMetrics getAgendaOperationMetrics() {
+        return agendaOperationMetrics;
+    }
+
+    public AbstractEngineConfiguration setAgendaOperationMetrics(AgendaOperationMetrics agendaOperationMetrics) {
+        this.agendaOperationMetrics = agendaOperationMetrics;
+        return this;
+    }
+
     public List<CommandInterceptor> getCustomPreCommandInterceptors() {
         return customPreCommandInterceptors;
     }
@@ -1560,6 +1627,15 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isBatchedFlushEnabled() {
+        return batchedFlushEnabled;
+    }
+
+    public AbstractEngineConfiguration setBatchedFlushEnabled(boolean batchedFlushEnabled) {
+        this.batchedFlushEnabled = batchedFlushEnabled;
+        return this;
+    }
+
     public boolean isBulkInsertEnabled() {
         return isBulkInsertEnabled;
     }
@@ -1712,6 +1788,15 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isConcurrentDeploymentCacheEnabled() {
+        return concurrentDeploymentCacheEnabled;
+    }
+
+    public AbstractEngineConfiguration setConcurrentDeploymentCacheEnabled(boolean concurrentDeploymentCacheEnabled) {
+        this.concurrentDeploymentCacheEnabled = concurrentDeploymentCacheEnabled;
+        return this;
+    }
+
     public boolean isFallbackToDefaultTenant() {
         return fallbackToDefaultTenant;
     }
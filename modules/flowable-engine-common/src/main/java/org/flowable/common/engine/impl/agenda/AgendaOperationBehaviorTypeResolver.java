@@ -0,0 +1,26 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.agenda;
+
+/**
+ * Determines the behavior that will be executed by an agenda operation, which is engine specific.
+ */
+@FunctionalInterface
+public interface AgendaOperationBehaviorTypeResolver {
+
+    /**
+     * @return the type of the behavior that the operation will execute, or null if it doesn't execute a behavior.
+     */
+    String resolveBehaviorType(Runnable operation);
+
+}
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.agenda;
+
+/**
+ * SPI to which the execution of agenda operations is reported when agenda instrumentation is enabled
+ * (see {@link org.flowable.common.engine.impl.AbstractEngineConfiguration#setAgendaOperationMetrics(AgendaOperationMetrics)}).
+ * <p>
+ * Implementations are called on the thread executing the operation, for every operation, so they should be cheap and thread-safe.
+ */
+public interface AgendaOperationMetrics {
+
+    /**
+     * @param operationType the simple class name of the operation, e.g. ContinueProcessOperation
+     * @param durationInNanos the time it took to execute the operation
+     * @param nrOfDbStatements the number of sql statements that were executed during the operation
+     */
+    void recordOperation(String operationType, long durationInNanos, long nrOfDbStatements);
+
+    /**
+     * Called, next to {@link #recordOperation(String, long, long)}, for operations that execute the behavior of an activity or plan item.
+     *
+     * @param behaviorType the simple class name of the behavior, e.g. UserTaskActivityBehavior
+     * @param durationInNanos the time it took to execute the operation executing the behavior
+     */
+    void recordBehavior(String behaviorType, long durationInNanos);
+
+}
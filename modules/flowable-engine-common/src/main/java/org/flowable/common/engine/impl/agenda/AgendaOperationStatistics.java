@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.agenda;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, total and maximum duration, number of db statements and a latency histogram of one type of agenda operation (or behavior).
+ * <p>
+ * The histogram has exponential buckets: bucket i counts the executions that took less than 2^i microseconds
+ * (and at least 2^(i-1) microseconds), the last bucket counts everything that took longer.
+ */
+public class AgendaOperationStatistics {
+
+    public static final int NR_OF_HISTOGRAM_BUCKETS = 32;
+
+    protected final String type;
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder totalDurationInNanos = new LongAdder();
+    protected final LongAccumulator maxDurationInNanos = new LongAccumulator(Math::max, 0L);
+    protected final LongAdder nrOfDbStatements = new LongAdder();
+    protected final AtomicLongArray histogram = new AtomicLongArray(NR_OF_HISTOGRAM_BUCKETS);
+
+    public AgendaOperationStatistics(String type) {
+        this.type = type;
+    }
+
+    public void record(long durationInNanos, long dbStatements) {
+        count.increment();
+        totalDurationInNanos.add(durationInNanos);
+        maxDurationInNanos.accumulate(durationInNanos);
+        if (dbStatements > 0) {
+            nrOfDbStatements.add(dbStatements);
+        }
+        histogram.incrementAndGet(getHistogramBucket(durationInNanos));
+    }
+
+    protected int getHistogramBucket(long durationInNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationInNanos);
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, NR_OF_HISTOGRAM_BUCKETS - 1);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalDurationInNanos() {
+        return totalDurationInNanos.sum();
+    }
+
+    public long getMaxDurationInNanos() {
+        return maxDurationInNanos.get();
+    }
+
+    public double getAverageDurationInNanos() {
+        long currentCount = getCount();
+        return currentCount > 0 ? (double) getTotalDurationInNanos() / currentCount : 0.0;
+    }
+
+    public long getNrOfDbStatements() {
+        return nrOfDbStatements.sum();
+    }
+
+    /**
+     * @return a copy of the histogram counts, see the class javadoc for the bucket boundaries.
+     */
+    public long[] getHistogram() {
+        long[] result = new long[NR_OF_HISTOGRAM_BUCKETS];
+        for (int i = 0; i < NR_OF_HISTOGRAM_BUCKETS; i++) {
+            result[i] = histogram.get(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[count=" + getCount() + ", avg=" + TimeUnit.NANOSECONDS.toMicros((long) getAverageDurationInNanos()) + "us, max="
+                + TimeUnit.NANOSECONDS.toMicros(getMaxDurationInNanos()) + "us, dbStatements=" + getNrOfDbStatements() + "]";
+    }
+
+}
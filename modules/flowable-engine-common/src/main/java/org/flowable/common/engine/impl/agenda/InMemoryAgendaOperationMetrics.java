@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.agenda;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link AgendaOperationStatistics} per operation type and per behavior type in memory.
+ */
+public class InMemoryAgendaOperationMetrics implements AgendaOperationMetrics {
+
+    protected final Map<String, AgendaOperationStatistics> operationStatistics = new ConcurrentHashMap<>();
+    protected final Map<String, AgendaOperationStatistics> behaviorStatistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordOperation(String operationType, long durationInNanos, long nrOfDbStatements) {
+        AgendaOperationStatistics statistics = operationStatistics.get(operationType);
+        if (statistics == null) {
+            statistics = operationStatistics.computeIfAbsent(operationType, AgendaOperationStatistics::new);
+        }
+        statistics.record(durationInNanos, nrOfDbStatements);
+    }
+
+    @Override
+    public void recordBehavior(String behaviorType, long durationInNanos) {
+        AgendaOperationStatistics statistics = behaviorStatistics.get(behaviorType);
+        if (statistics == null) {
+            statistics = behaviorStatistics.computeIfAbsent(behaviorType, AgendaOperationStatistics::new);
+        }
+        statistics.record(durationInNanos, 0L);
+    }
+
+    public Map<String, AgendaOperationStatistics> getOperationStatistics() {
+        return Collections.unmodifiableMap(operationStatistics);
+    }
+
+    public Map<String, AgendaOperationStatistics> getBehaviorStatistics() {
+        return Collections.unmodifiableMap(behaviorStatistics);
+    }
+
+    public void reset() {
+        operationStatistics.clear();
+        behaviorStatistics.clear();
+    }
+
+}
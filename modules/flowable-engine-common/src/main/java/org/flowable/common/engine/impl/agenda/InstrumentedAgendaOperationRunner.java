@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.agenda;
+
+import org.flowable.common.engine.impl.db.StatementCountingPlugin;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * {@link AgendaOperationRunner} that measures every operation executed by the wrapped runner and reports it to the {@link AgendaOperationMetrics}.
+ * It is only installed when agenda instrumentation is enabled, so the regular operation loop doesn't pay anything for it.
+ */
+public class InstrumentedAgendaOperationRunner implements AgendaOperationRunner {
+
+    protected final AgendaOperationRunner agendaOperationRunner;
+    protected final AgendaOperationMetrics agendaOperationMetrics;
+    protected final AgendaOperationBehaviorTypeResolver behaviorTypeResolver;
+
+    public InstrumentedAgendaOperationRunner(AgendaOperationRunner agendaOperationRunner, AgendaOperationMetrics agendaOperationMetrics,
+            AgendaOperationBehaviorTypeResolver behaviorTypeResolver) {
+        this.agendaOperationRunner = agendaOperationRunner;
+        this.agendaOperationMetrics = agendaOperationMetrics;
+        this.behaviorTypeResolver = behaviorTypeResolver;
+    }
+
+    @Override
+    public void executeOperation(CommandContext commandContext, Runnable runnable) {
+        // The behavior needs to be determined upfront, as the operation typically moves the execution to the next element
+        String behaviorType = behaviorTypeResolver != null ? behaviorTypeResolver.resolveBehaviorType(runnable) : null;
+        long statementCountBefore = StatementCountingPlugin.getStatementCount();
+        long start = System.nanoTime();
+        try {
+            agendaOperationRunner.executeOperation(commandContext, runnable);
+
+        } finally {
+            long duration = System.nanoTime() - start;
+            agendaOperationMetrics.recordOperation(runnable.getClass().getSimpleName(), duration,
+                    StatementCountingPlugin.getStatementCount() - statementCountBefore);
+            if (behaviorType != null) {
+                agendaOperationMetrics.recordBehavior(behaviorType, duration);
+            }
+        }
+    }
+
+    public AgendaOperationRunner getAgendaOperationRunner() {
+        return agendaOperationRunner;
+    }
+
+    public AgendaOperationMetrics getAgendaOperationMetrics() {
+        return agendaOperationMetrics;
+    }
+
+}
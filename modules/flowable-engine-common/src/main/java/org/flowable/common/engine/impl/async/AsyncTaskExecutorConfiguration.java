@@ -60,6 +60,19 @@ public class AsyncTaskExecutorConfiguration {
      */
     protected String threadPoolNamingPattern;
 
+    /**
+     * Whether every task should be executed on its own virtual thread instead of on the thread pool (requires Java 21 or later).
+     * The pool sizes and the queue size are not used in this mode,
+     * instead at most {@link #virtualThreadConcurrencyLimit} tasks are executed concurrently.
+     */
+    protected boolean useVirtualThreads;
+
+    /**
+     * The maximum number of tasks that are executed concurrently when using virtual threads.
+     * Tasks submitted while this limit is reached are rejected, as is the case when the queue of the thread pool is full.
+     */
+    protected int virtualThreadConcurrencyLimit = 256;
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -116,6 +129,22 @@ public class AsyncTaskExecutorConfiguration {
         this.threadPoolNamingPattern = threadPoolNamingPattern;
     }
 
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    public int getVirtualThreadConcurrencyLimit() {
+        return virtualThreadConcurrencyLimit;
+    }
+
+    public void setVirtualThreadConcurrencyLimit(int virtualThreadConcurrencyLimit) {
+        this.virtualThreadConcurrencyLimit = virtualThreadConcurrencyLimit;
+    }
+
     public void setThreadNamePrefix(String prefix) {
         if (prefix == null) {
             this.threadPoolNamingPattern = "%d";
@@ -20,13 +20,16 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,6 +130,10 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
     }
 
     protected ExecutorService initializeExecutor() {
+        if (isUseVirtualThreads()) {
+            return initializeVirtualThreadExecutor();
+        }
+
         if (threadPoolQueue == null) {
             int queueSize = getQueueSize();
             logger.info("Creating thread pool queue of size {}", queueSize);
@@ -158,6 +165,54 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
 
     }
 
+    protected ExecutorService initializeVirtualThreadExecutor() {
+        if (threadFactory == null) {
+            String threadPoolNamingPattern = getThreadPoolNamingPattern();
+            logger.info("Creating virtual thread factory with naming pattern {}", threadPoolNamingPattern);
+            threadFactory = createVirtualThreadFactory(threadPoolNamingPattern);
+        }
+
+        int concurrencyLimit = getVirtualThreadConcurrencyLimit();
+        logger.info("Creating thread per task executor service with concurrency limit {}", concurrencyLimit);
+        return new ConcurrencyLimitedExecutorService(newThreadPerTaskExecutor(threadFactory), concurrencyLimit);
+    }
+
+    // Virtual threads are only available as of Java 21, while the engine still needs to run on Java 17, hence the reflection
+
+    protected ThreadFactory createVirtualThreadFactory(String threadPoolNamingPattern) {
+        ThreadFactory virtualThreadFactory;
+        try {
+            Object virtualThreadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            virtualThreadFactory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(virtualThreadBuilder);
+        } catch (ReflectiveOperationException e) {
+            throw new FlowableException("Could not create virtual thread factory. Virtual threads require Java 21 or later", e);
+        }
+
+        AtomicLong threadCount = new AtomicLong();
+        return runnable -> {
+            Thread thread = virtualThreadFactory.newThread(runnable);
+            thread.setName(String.format(threadPoolNamingPattern, threadCount.incrementAndGet()));
+            return thread;
+        };
+    }
+
+    protected ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new FlowableException("Could not create thread per task executor service. Virtual threads require Java 21 or later", e);
+        }
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     public AsyncTaskExecutorConfiguration getConfiguration() {
         return configuration;
     }
@@ -210,6 +265,22 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
         getConfiguration().setAwaitTerminationPeriod(Duration.ofSeconds(secondsToWaitOnShutdown));
     }
 
+    public boolean isUseVirtualThreads() {
+        return getConfiguration().isUseVirtualThreads();
+    }
+
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        getConfiguration().setUseVirtualThreads(useVirtualThreads);
+    }
+
+    public int getVirtualThreadConcurrencyLimit() {
+        return getConfiguration().getVirtualThreadConcurrencyLimit();
+    }
+
+    public void setVirtualThreadConcurrencyLimit(int virtualThreadConcurrencyLimit) {
+        getConfiguration().setVirtualThreadConcurrencyLimit(virtualThreadConcurrencyLimit);
+    }
+
     public BlockingQueue<Runnable> getThreadPoolQueue() {
         return threadPoolQueue;
     }
@@ -244,6 +315,9 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
 
     @Override
     public int getRemainingCapacity() {
+        if (executorService instanceof ConcurrencyLimitedExecutorService) {
+            return ((ConcurrencyLimitedExecutorService) executorService).getAvailablePermits();
+        }
         return threadPoolQueue.remainingCapacity();
     }
 }
@@ -76,6 +76,16 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> implements
         return getDbSqlSession().selectById(getManagedEntityClass(), entityId, false);
     }
 
+    @Override
+    public List<EntityImpl> findByIds(Collection<String> entityIds) {
+        if (entityIds == null || entityIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Cache first, the missing entities are fetched in batches
+        return new ArrayList<>(getDbSqlSession().selectByIds(getManagedEntityClass(), entityIds));
+    }
+
     @Override
     public void insert(EntityImpl entity) {
         getDbSqlSession().insert(entity, getIdGenerator());
@@ -14,17 +14,25 @@
 package org.flowable.common.engine.impl.db;
 
 import java.sql.Connection;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.managed.ManagedTransaction;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.api.query.CacheAwareQuery;
@@ -35,6 +43,7 @@ import org.flowable.common.engine.impl.persistence.cache.CachedEntity;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.entity.AlwaysUpdatedPersistentObject;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
+import org.flowable.common.engine.impl.util.CollectionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +59,7 @@ public class DbSqlSession implements Session {
 
     protected EntityCache entityCache;
     protected SqlSession sqlSession;
+    protected SqlSession batchSqlSession;
     protected DbSqlSessionFactory dbSqlSessionFactory;
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
@@ -317,6 +327,54 @@ public class DbSqlSession implements Session {
         return entity;
     }
 
+    /**
+     * Returns the entities of the given class with the given ids. Entities that are in the cache are returned from there,
+     * the other ones are selected with the {@link DbSqlSessionFactory#getSelectByIdsStatement(Class) select by ids statement}
+     * in batches of at most {@link AbstractDataManager#MAX_ENTRIES_IN_CLAUSE} ids and added to the cache.
+     * When no such statement is mapped for the entity, the missing entities are selected one by one.
+     * Ids for which no entity exists are ignored.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> List<T> selectByIds(Class<T> entityClass, Collection<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+
+        List<T> entities = new ArrayList<>(uniqueIds.size());
+        Map<String, T> cachedEntities = entityCache.findInCacheByIds(entityClass, uniqueIds);
+        List<String> missingIds = new ArrayList<>(uniqueIds.size() - cachedEntities.size());
+        for (String id : uniqueIds) {
+            T cachedEntity = cachedEntities.get(id);
+            if (cachedEntity != null) {
+                entities.add(cachedEntity);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (missingIds.isEmpty()) {
+            return entities;
+        }
+
+        String selectStatement = dbSqlSessionFactory.mapStatement(dbSqlSessionFactory.getSelectByIdsStatement(entityClass));
+        if (!sqlSession.getConfiguration().hasStatement(selectStatement)) {
+            for (String id : missingIds) {
+                T entity = selectById(entityClass, id, false);
+                if (entity != null) {
+                    entities.add(entity);
+                }
+            }
+            return entities;
+        }
+
+        for (List<String> idsPartition : CollectionUtil.partition(missingIds, AbstractDataManager.MAX_ENTRIES_IN_CLAUSE)) {
+            List<Object> loadedObjects = sqlSession.selectList(selectStatement, idsPartition);
+            for (Object loadedObject : loadedObjects) {
+                entities.add((T) cacheLoadOrStore((Entity) loadedObject, null));
+            }
+        }
+        return entities;
+    }
+
     // internal session cache
     // ///////////////////////////////////////////////////
 
@@ -567,13 +625,13 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+        if (dbSqlSessionFactory.isBatchedFlushEnabled() && updatedObjects.size() > 1) {
+            flushBatchedUpdates();
+            return;
+        }
 
-            if (updateStatement == null) {
-                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
-            }
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = getMappedUpdateStatement(updatedObject);
 
             LOGGER.debug("updating: {}", updatedObject);
 
@@ -591,6 +649,51 @@ public class DbSqlSession implements Session {
         updatedObjects.clear();
     }
 
+    /**
+     * Sends all updates as JDBC batches. The updates are grouped per statement first,
+     * as MyBatis can only add consecutive executions of the same statement to one JDBC batch.
+     */
+    protected void flushBatchedUpdates() {
+        Map<String, List<Entity>> updatesPerStatement = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = getMappedUpdateStatement(updatedObject);
+            updatesPerStatement.computeIfAbsent(updateStatement, key -> new ArrayList<>()).add(updatedObject);
+        }
+
+        try {
+            SqlSession batchSession = getBatchSqlSession();
+            for (Map.Entry<String, List<Entity>> entry : updatesPerStatement.entrySet()) {
+                for (Entity updatedObject : entry.getValue()) {
+                    LOGGER.debug("updating (batched): {}", updatedObject);
+                    batchSession.update(entry.getKey(), updatedObject);
+                }
+            }
+            // Same as the non batched updates: every update needs to change a row
+            flushBatch(batchSession, false);
+
+        } finally {
+            closeBatchSqlSession();
+        }
+
+        for (Entity updatedObject : updatedObjects) {
+            // See https://activiti.atlassian.net/browse/ACT-1290
+            if (updatedObject instanceof HasRevision) {
+                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+            }
+        }
+        updatedObjects.clear();
+    }
+
+    protected String getMappedUpdateStatement(Entity updatedObject) {
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        }
+        return updateStatement;
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -633,12 +736,13 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBatchedFlushEnabled() && entitiesToDelete.size() > 1) {
+            flushBatchedDeleteEntities(entityClass, entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
-            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
-            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-            if (deleteStatement == null) {
-                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
-            }
+            String deleteStatement = getMappedDeleteStatement(entity);
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
@@ -653,8 +757,78 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Sends the deletes of one entity class as a JDBC batch.
+     * The batch is executed before returning, so that the deletion order between entity classes is kept.
+     */
+    protected void flushBatchedDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        try {
+            SqlSession batchSession = getBatchSqlSession();
+            for (Entity entity : entitiesToDelete) {
+                LOGGER.debug("deleting (batched): {}", entity);
+                batchSession.delete(getMappedDeleteStatement(entity), entity);
+            }
+            // Same as the non batched deletes: only entities with a revision need to delete a row
+            flushBatch(batchSession, true);
+
+        } finally {
+            closeBatchSqlSession();
+        }
+    }
+
+    protected String getMappedDeleteStatement(Entity entity) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+        }
+        return deleteStatement;
+    }
+
+    /**
+     * Executes the pending JDBC batches of the given session and verifies the per-row update counts.
+     * A count of 0 means the row was changed or removed concurrently, when onlyEntitiesWithRevision is true this is only checked for entities with a revision.
+     * Drivers that only report {@link Statement#SUCCESS_NO_INFO} can't be checked for this.
+     */
+    protected List<BatchResult> flushBatch(SqlSession batchSession, boolean onlyEntitiesWithRevision) {
+        List<BatchResult> batchResults = batchSession.flushStatements();
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                Object parameterObject = parameterObjects.get(i);
+                if (updateCounts[i] == 0 && (!onlyEntitiesWithRevision || parameterObject instanceof HasRevision)) {
+                    throw new FlowableOptimisticLockingException(parameterObject + " was updated by another transaction concurrently");
+                }
+            }
+        }
+        return batchResults;
+    }
+
+    /**
+     * The batch session shares the connection (and thus the transaction) of the regular session.
+     * Its transaction does not close, commit or roll back that connection, so the session can be closed after every flush.
+     */
+    protected SqlSession getBatchSqlSession() {
+        if (batchSqlSession == null) {
+            Configuration configuration = dbSqlSessionFactory.getSqlSessionFactory().getConfiguration();
+            Executor executor = configuration.newExecutor(new ManagedTransaction(sqlSession.getConnection(), false), ExecutorType.BATCH);
+            batchSqlSession = new DefaultSqlSession(configuration, executor, false);
+        }
+        return batchSqlSession;
+    }
+
+    protected void closeBatchSqlSession() {
+        if (batchSqlSession != null) {
+            // Closes the statements and discards the statements that were not flushed
+            batchSqlSession.close();
+            batchSqlSession = null;
+        }
+    }
+
     @Override
     public void close() {
+        closeBatchSqlSession();
         sqlSession.close();
     }
 
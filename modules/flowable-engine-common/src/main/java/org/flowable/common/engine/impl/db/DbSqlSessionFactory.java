@@ -62,6 +62,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<>();
 
     protected int maxNrOfStatementsInBulkInsert = 100;
+
+    protected boolean batchedFlushEnabled;
     
     protected Map<String, Class<?>> logicalNameToClassMapping = new ConcurrentHashMap<>();
     
@@ -126,6 +128,14 @@ public class DbSqlSessionFactory implements SessionFactory {
         return getStatement(entityClass, selectStatements, "select");
     }
 
+    /**
+     * The statement to select multiple entities by their ids, e.g. 'selectExecutionByIds' for the execution entity.
+     * Its parameter is the list of ids.
+     */
+    public String getSelectByIdsStatement(Class<?> entityClass) {
+        return getSelectStatement(entityClass) + "ByIds";
+    }
+
     protected String getStatement(Class<?> entityClass, Map<Class<?>, String> cachedStatements, String prefix) {
         String statement = cachedStatements.get(entityClass);
         if (statement != null) {
@@ -202,6 +212,14 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
 
+    public boolean isBatchedFlushEnabled() {
+        return batchedFlushEnabled;
+    }
+
+    public void setBatchedFlushEnabled(boolean batchedFlushEnabled) {
+        this.batchedFlushEnabled = batchedFlushEnabled;
+    }
+
     public Map<Class<?>, String> getBulkInsertStatements() {
         return bulkInsertStatements;
     }
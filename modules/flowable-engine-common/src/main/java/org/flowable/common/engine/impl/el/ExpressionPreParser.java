@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import java.util.Collection;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.Expression;
+
+/**
+ * Parses the expressions of a definition model when it is deployed or put in the deployment cache.
+ * The parsed {@link Expression expressions} end up in the expression cache of the {@link ExpressionManager},
+ * hence the first executions of a definition don't pay for parsing them.
+ * Malformed expressions are reported at that time instead of when they are first evaluated.
+ */
+public class ExpressionPreParser {
+
+    protected final ExpressionManager expressionManager;
+    protected final String definitionKey;
+    protected int parsedExpressionCount;
+
+    public ExpressionPreParser(ExpressionManager expressionManager, String definitionKey) {
+        this.expressionManager = expressionManager;
+        this.definitionKey = definitionKey;
+    }
+
+    public void preParse(String elementId, String text) {
+        if (!isExpression(text)) {
+            return;
+        }
+
+        try {
+            expressionManager.createExpression(text);
+            parsedExpressionCount++;
+        } catch (RuntimeException e) {
+            throw new FlowableException("Invalid expression '" + text + "' in element '" + elementId + "' of definition '" + definitionKey + "'", e);
+        }
+    }
+
+    public void preParse(String elementId, Collection<String> texts) {
+        if (texts != null) {
+            for (String text : texts) {
+                preParse(elementId, text);
+            }
+        }
+    }
+
+    protected boolean isExpression(String text) {
+        return text != null && (text.contains("${") || text.contains("#{"));
+    }
+
+    public int getParsedExpressionCount() {
+        return parsedExpressionCount;
+    }
+}
@@ -21,6 +21,7 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -102,8 +103,43 @@ public class BeanELResolver extends ELResolver {
 		}
 	}
 
+	/**
+	 * Key of a resolved method: the class of the base, the method name and the classes of the arguments.
+	 */
+	private static final class MethodKey {
+		private final Class<?> type;
+		private final String name;
+		private final Class<?>[] argumentTypes;
+		private final int hashCode;
+
+		MethodKey(Class<?> type, String name, Class<?>[] argumentTypes) {
+			this.type = type;
+			this.name = name;
+			this.argumentTypes = argumentTypes;
+			this.hashCode = 31 * (31 * type.hashCode() + name.hashCode()) + Arrays.hashCode(argumentTypes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MethodKey)) {
+				return false;
+			}
+			MethodKey other = (MethodKey) obj;
+			return type == other.type && name.equals(other.name) && Arrays.equals(argumentTypes, other.argumentTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
 	private final boolean readOnly;
 	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+	private final ConcurrentHashMap<MethodKey, Method> methodCache;
 	
 	private ExpressionFactory defaultFactory;
 
@@ -120,6 +156,7 @@ public class BeanELResolver extends ELResolver {
 	public BeanELResolver(boolean readOnly) {
 		this.readOnly = readOnly;
 		this.cache = new ConcurrentHashMap<>();
+		this.methodCache = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -466,7 +503,7 @@ public class BeanELResolver extends ELResolver {
 			}
 			String name = method.toString();
 			ExpressionFactory factory = getExpressionFactory(context);
-			Method target = Util.findMethod(base.getClass(), base, name, paramTypes, params, factory);
+			Method target = findMethod(base, name, paramTypes, params, factory);
 			if (target == null) {
 				throw new MethodNotFoundException("Cannot find method " + name + " with " + params.length + " parameters in " + base.getClass());
 			}
@@ -484,6 +521,49 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
+	/**
+	 * Finds the method to invoke for the given arguments. The method resolution only depends on the classes of the
+	 * arguments when none of them is null and each of them is assignable to the matching parameter type of the resolved
+	 * non varargs method. The resolved method is cached for these classes, so repeated invocations don't need to
+	 * look up and rank all the methods of the base class again.
+	 */
+	private Method findMethod(Object base, String name, Class<?>[] paramTypes, Object[] params, ExpressionFactory factory) {
+		if (paramTypes != null) {
+			return Util.findMethod(base.getClass(), base, name, paramTypes, params, factory);
+		}
+
+		Class<?>[] argumentTypes = new Class<?>[params.length];
+		for (int i = 0; i < params.length; i++) {
+			if (params[i] == null) {
+				return Util.findMethod(base.getClass(), base, name, null, params, factory);
+			}
+			argumentTypes[i] = params[i].getClass();
+		}
+
+		MethodKey key = new MethodKey(base.getClass(), name, argumentTypes);
+		Method target = methodCache.get(key);
+		if (target == null) {
+			target = Util.findMethod(base.getClass(), base, name, null, params, factory);
+			if (target != null && isResolvedByArgumentTypes(target, argumentTypes)) {
+				methodCache.put(key, target);
+			}
+		}
+		return target;
+	}
+
+	private boolean isResolvedByArgumentTypes(Method method, Class<?>[] argumentTypes) {
+		if (method.isVarArgs()) {
+			return false;
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < argumentTypes.length; i++) {
+			if (!Util.isAssignableFrom(argumentTypes[i], parameterTypes[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Lookup an expression factory used to coerce method parameters in context under key
 	 * <code>"javax.el.ExpressionFactory"</code>.
@@ -557,5 +637,6 @@ public class BeanELResolver extends ELResolver {
 				classes.remove();
 			}
 		}
+		methodCache.keySet().removeIf(key -> key.type.getClassLoader() == loader);
 	}
 }
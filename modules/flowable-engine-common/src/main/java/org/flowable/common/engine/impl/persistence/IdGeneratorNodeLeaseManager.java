@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+/**
+ * Hands out the node ids of the {@link TimeOrderedIdGenerator} as leases that expire unless they are renewed.
+ * A lease that expired (e.g. because its node crashed) can be acquired by another node.
+ * <p>
+ * Next to the lease, the high-water mark of the ids generated for a node id is stored:
+ * the time (in milliseconds since 1970) up to which ids might have been generated with that node id.
+ */
+public interface IdGeneratorNodeLeaseManager {
+
+    /**
+     * Acquire the lease of the given node id, if it is not leased or if its lease expired.
+     *
+     * @param nodeId the node id to lease
+     * @param owner the unique owner of the lease
+     * @param expiresAt the time (in milliseconds since 1970) at which the lease expires
+     * @return the high-water mark of the ids generated under the previous leases of the node id, or {@code null} if the lease was not acquired
+     */
+    Long acquireLease(int nodeId, String owner, long expiresAt);
+
+    /**
+     * Extend the lease of the given node id, if it is still held by the given owner.
+     *
+     * @return {@code true} if the lease was renewed, {@code false} if the lease is held by another owner
+     */
+    boolean renewLease(int nodeId, String owner, long expiresAt, long highWaterMark);
+
+    /**
+     * Release the lease of the given node id, if it is still held by the given owner. The high-water mark is kept.
+     */
+    void releaseLease(int nodeId, String owner, long highWaterMark);
+
+}
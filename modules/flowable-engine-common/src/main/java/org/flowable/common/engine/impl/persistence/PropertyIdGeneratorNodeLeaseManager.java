@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.cfg.TransactionPropagation;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link IdGeneratorNodeLeaseManager} storing the leases in the property table, one property per node id.
+ * The value of a property is {@code expiresAt|highWaterMark|owner}, where the expiration and owner are empty when the lease is released.
+ * Concurrent acquisitions of the same expired lease are prevented by the optimistic locking of the property.
+ * <p>
+ * The expiration is compared with the clock of the node acquiring a lease, so the clocks of the nodes need to be synchronized
+ * to well within the lease duration of the {@link TimeOrderedIdGenerator}.
+ */
+public class PropertyIdGeneratorNodeLeaseManager implements IdGeneratorNodeLeaseManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertyIdGeneratorNodeLeaseManager.class);
+
+    protected static final String SEPARATOR = "|";
+
+    protected final AbstractEngineConfiguration engineConfiguration;
+    protected final CommandConfig commandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW);
+
+    public PropertyIdGeneratorNodeLeaseManager(AbstractEngineConfiguration engineConfiguration) {
+        this.engineConfiguration = engineConfiguration;
+    }
+
+    @Override
+    public Long acquireLease(int nodeId, String owner, long expiresAt) {
+        String leaseName = getLeaseName(nodeId);
+        try {
+            return executeCommand(commandContext -> {
+                PropertyEntityManager propertyEntityManager = engineConfiguration.getPropertyEntityManager();
+                PropertyEntity property = propertyEntityManager.findById(leaseName);
+                if (property == null) {
+                    property = propertyEntityManager.create();
+                    property.setName(leaseName);
+                    property.setValue(formatLease(expiresAt, 0L, owner));
+                    propertyEntityManager.insert(property);
+                    return 0L;
+                }
+
+                String[] lease = parseLease(property.getValue());
+                long currentExpiresAt = NumberUtils.toLong(lease[0]);
+                if (currentExpiresAt >= System.currentTimeMillis()) {
+                    return null;
+                }
+
+                // The previous owner only generated ids before its lease expired
+                long highWaterMark = Math.max(NumberUtils.toLong(lease[1]), currentExpiresAt);
+                property.setValue(formatLease(expiresAt, highWaterMark, owner));
+                return highWaterMark;
+            });
+
+        } catch (FlowableOptimisticLockingException e) {
+            LOGGER.debug("Failed to acquire lease {} due to optimistic locking", leaseName, e);
+            return null;
+        } catch (RuntimeException e) {
+            // This can happen when 2 nodes insert the same lease at the same time
+            LOGGER.debug("Failed to acquire lease {}", leaseName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean renewLease(int nodeId, String owner, long expiresAt, long highWaterMark) {
+        String leaseName = getLeaseName(nodeId);
+        try {
+            return executeCommand(commandContext -> {
+                PropertyEntity property = engineConfiguration.getPropertyEntityManager().findById(leaseName);
+                if (property == null || !owner.equals(parseLease(property.getValue())[2])) {
+                    return false;
+                }
+
+                property.setValue(formatLease(expiresAt, highWaterMark, owner));
+                return true;
+            });
+
+        } catch (FlowableOptimisticLockingException e) {
+            LOGGER.debug("Failed to renew lease {} due to optimistic locking", leaseName, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseLease(int nodeId, String owner, long highWaterMark) {
+        String leaseName = getLeaseName(nodeId);
+        executeCommand(commandContext -> {
+            PropertyEntity property = engineConfiguration.getPropertyEntityManager().findById(leaseName);
+            if (property != null && owner.equals(parseLease(property.getValue())[2])) {
+                property.setValue(formatLease(null, highWaterMark, null));
+            }
+            return null;
+        });
+    }
+
+    protected String getLeaseName(int nodeId) {
+        return TimeOrderedIdGenerator.NODE_LEASE_NAME_PREFIX + nodeId;
+    }
+
+    protected String formatLease(Long expiresAt, long highWaterMark, String owner) {
+        return (expiresAt != null ? expiresAt.toString() : "") + SEPARATOR
+                + highWaterMark + SEPARATOR
+                + StringUtils.defaultString(owner);
+    }
+
+    /**
+     * @return the expiration, high-water mark and owner of the lease, which are empty when not present
+     */
+    protected String[] parseLease(String value) {
+        String[] lease = StringUtils.splitPreserveAllTokens(StringUtils.defaultString(value), SEPARATOR, 3);
+        if (lease.length != 3) {
+            // Not a lease value, hence there is no owner that could still be generating ids
+            return new String[] { "", "", "" };
+        }
+        return lease;
+    }
+
+    protected <T> T executeCommand(Command<T> command) {
+        return engineConfiguration.getCommandExecutor().execute(commandConfig, command);
+    }
+
+}
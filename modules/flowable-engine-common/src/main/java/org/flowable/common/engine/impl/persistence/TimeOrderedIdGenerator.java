@@ -0,0 +1,285 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.cfg.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link IdGenerator} producing compact, time-ordered ids without any database round-trip per id or per block of ids.
+ * <p>
+ * An id is a 63 bit number composed of (from most to least significant bits):
+ * <ul>
+ * <li>41 bits: milliseconds since {@link #DEFAULT_EPOCH} (good for ~69 years)</li>
+ * <li>10 bits: the node id, unique per running generator in the cluster</li>
+ * <li>12 bits: a sequence within the millisecond</li>
+ * </ul>
+ * The number is encoded as a fixed length (13 characters) Crockford base32 string, so that the lexicographic ordering of the ids
+ * (as used by the database indexes on the {@code ID_} columns) matches their generation order.
+ * This means new rows are always appended at the end of the index, instead of at a random place as with {@link StrongUuidGenerator}.
+ * <p>
+ * Every node owns the whole id range of its node id, hence no ranges need to be leased from the database.
+ * The node id is either configured explicitly, or negotiated on first use by leasing one of the {@value #MAX_NODE_ID} + 1 node ids
+ * through the {@link IdGeneratorNodeLeaseManager}. The lease is renewed in the background while the generator is in use,
+ * and released when the engine is closed. When the lease can't be renewed before it expires, no ids are generated anymore,
+ * as another node could then acquire the same node id. When the lease turns out to be held by another node, a new node id is negotiated.
+ * <p>
+ * When more than 4096 ids are requested within the same millisecond, or when the clock moves backwards,
+ * the generator continues with the next 'logical' millisecond, so the ids of a node are strictly increasing.
+ * The ids generated under a lease are never later than its expiration, and the lease keeps the time of the last generated id.
+ * Hence a node acquiring the node id later on continues after the ids of the previous owners, even if the clock moved backwards in between.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeOrderedIdGenerator.class);
+
+    public static final long DEFAULT_EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    public static final int NODE_ID_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+    public static final String NODE_LEASE_NAME_PREFIX = "idGeneratorNode-";
+
+    protected static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    protected static final int ID_LENGTH = 13;
+    protected static final char[] ENCODING_CHARS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    protected long epoch = DEFAULT_EPOCH;
+
+    /**
+     * The time and sequence of the last generated id, stored as (millisecondsSinceEpoch << SEQUENCE_BITS) | sequence.
+     */
+    protected final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    /**
+     * The node id together with the time until which ids can be generated with it, replaced as a whole when the lease changes.
+     */
+    protected volatile NodeLease nodeLease;
+
+    protected IdGeneratorNodeLeaseManager nodeLeaseManager;
+    protected Duration nodeLeaseDuration = Duration.ofMinutes(5);
+    protected final String nodeLeaseOwner = UUID.randomUUID().toString();
+    protected ScheduledExecutorService nodeLeaseRenewalExecutorService;
+
+    public TimeOrderedIdGenerator() {
+    }
+
+    public TimeOrderedIdGenerator(int nodeId) {
+        setNodeId(nodeId);
+    }
+
+    @Override
+    public String getNextId() {
+        NodeLease currentNodeLease = nodeLease;
+        if (currentNodeLease == null) {
+            currentNodeLease = acquireNodeLease();
+        }
+
+        long timeAndSequence = nextTimeAndSequence();
+        long time = timeAndSequence >>> SEQUENCE_BITS;
+        if (time + epoch >= currentNodeLease.expiresAt) {
+            throw new FlowableException("Could not generate id: the lease of node id " + currentNodeLease.nodeId + " expired before it could be renewed");
+        }
+
+        long id = (time << (NODE_ID_BITS + SEQUENCE_BITS))
+                | ((long) currentNodeLease.nodeId << SEQUENCE_BITS)
+                | (timeAndSequence & SEQUENCE_MASK);
+        return encode(id);
+    }
+
+    protected long nextTimeAndSequence() {
+        long now = (System.currentTimeMillis() - epoch) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimeAndSequence.get();
+            // Overflowing the sequence simply moves on to the next millisecond
+            long next = Math.max(last + 1, now);
+            if (lastTimeAndSequence.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    protected String encode(long id) {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ENCODING_CHARS[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    protected synchronized NodeLease acquireNodeLease() {
+        if (nodeLease != null) {
+            return nodeLease;
+        }
+
+        if (nodeLeaseManager == null) {
+            throw new FlowableException("No node id configured for the time ordered id generator and no node lease manager available to negotiate one");
+        }
+
+        // Start at a random node id, to avoid that all nodes booting at the same time compete for the same leases
+        int offset = ThreadLocalRandom.current().nextInt(MAX_NODE_ID + 1);
+        for (int i = 0; i <= MAX_NODE_ID; i++) {
+            int candidateNodeId = (offset + i) & MAX_NODE_ID;
+            long expiresAt = System.currentTimeMillis() + nodeLeaseDuration.toMillis();
+            Long highWaterMark = nodeLeaseManager.acquireLease(candidateNodeId, nodeLeaseOwner, expiresAt);
+            if (highWaterMark != null) {
+                LOGGER.info("Acquired node id {} for generating ids", candidateNodeId);
+                if (highWaterMark > epoch) {
+                    // Continue after the ids generated by the previous owners of the node id, also when the clock moved backwards since then
+                    long highWaterTimeAndSequence = ((highWaterMark - epoch) << SEQUENCE_BITS) | SEQUENCE_MASK;
+                    lastTimeAndSequence.accumulateAndGet(highWaterTimeAndSequence, Math::max);
+                }
+
+                nodeLease = new NodeLease(candidateNodeId, expiresAt);
+                scheduleNodeLeaseRenewal();
+                return nodeLease;
+            }
+        }
+
+        throw new FlowableException("Could not acquire any of the " + (MAX_NODE_ID + 1) + " node ids for generating ids");
+    }
+
+    protected void scheduleNodeLeaseRenewal() {
+        if (nodeLeaseRenewalExecutorService == null) {
+            long renewalInterval = Math.max(1, nodeLeaseDuration.toMillis() / 3);
+            nodeLeaseRenewalExecutorService = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("flowable-id-generator-lease-renewal-%d")
+                    .daemon(true)
+                    .build());
+            nodeLeaseRenewalExecutorService.scheduleWithFixedDelay(this::renewNodeLease, renewalInterval, renewalInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Extends the lease of the node id. Invoked periodically once a node id is negotiated.
+     */
+    protected void renewNodeLease() {
+        NodeLease currentNodeLease = nodeLease;
+        if (currentNodeLease == null || nodeLeaseManager == null) {
+            return;
+        }
+
+        long expiresAt = System.currentTimeMillis() + nodeLeaseDuration.toMillis();
+        try {
+            boolean renewed = nodeLeaseManager.renewLease(currentNodeLease.nodeId, nodeLeaseOwner, expiresAt, getHighWaterMark());
+            synchronized (this) {
+                if (nodeLease == currentNodeLease) {
+                    if (renewed) {
+                        nodeLease = new NodeLease(currentNodeLease.nodeId, expiresAt);
+                    } else {
+                        LOGGER.warn("The lease of node id {} for generating ids is held by another node, a new node id will be negotiated",
+                                currentNodeLease.nodeId);
+                        nodeLease = null;
+                    }
+                }
+            }
+
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not renew the lease of node id {} for generating ids, ids can be generated until {}",
+                    currentNodeLease.nodeId, Instant.ofEpochMilli(currentNodeLease.expiresAt), e);
+        }
+    }
+
+    /**
+     * @return the time (in milliseconds since 1970) of the last generated id
+     */
+    protected long getHighWaterMark() {
+        return (lastTimeAndSequence.get() >>> SEQUENCE_BITS) + epoch;
+    }
+
+    /**
+     * Releases the negotiated node id, if any. Invoked when the engine using this generator is closed.
+     */
+    public synchronized void releaseNodeId() {
+        if (nodeLeaseRenewalExecutorService != null) {
+            nodeLeaseRenewalExecutorService.shutdownNow();
+            nodeLeaseRenewalExecutorService = null;
+        }
+
+        if (nodeLeaseManager != null && nodeLease != null) {
+            try {
+                nodeLeaseManager.releaseLease(nodeLease.nodeId, nodeLeaseOwner, getHighWaterMark());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not release the lease of node id {}", nodeLease.nodeId, e);
+            }
+            nodeLease = null;
+        }
+    }
+
+    public int getNodeId() {
+        NodeLease currentNodeLease = nodeLease;
+        return currentNodeLease != null ? currentNodeLease.nodeId : -1;
+    }
+
+    public void setNodeId(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new FlowableIllegalArgumentException("The node id must be between 0 and " + MAX_NODE_ID);
+        }
+        // A configured node id is owned for as long as the generator runs
+        this.nodeLease = new NodeLease(nodeId, Long.MAX_VALUE);
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(long epoch) {
+        this.epoch = epoch;
+    }
+
+    public IdGeneratorNodeLeaseManager getNodeLeaseManager() {
+        return nodeLeaseManager;
+    }
+
+    public void setNodeLeaseManager(IdGeneratorNodeLeaseManager nodeLeaseManager) {
+        this.nodeLeaseManager = nodeLeaseManager;
+    }
+
+    public Duration getNodeLeaseDuration() {
+        return nodeLeaseDuration;
+    }
+
+    /**
+     * The duration of the lease of a negotiated node id. The lease is renewed every third of this duration,
+     * so ids can still be generated when a renewal fails temporarily. Defaults to 5 minutes.
+     */
+    public void setNodeLeaseDuration(Duration nodeLeaseDuration) {
+        this.nodeLeaseDuration = nodeLeaseDuration;
+    }
+
+    protected static class NodeLease {
+
+        protected final int nodeId;
+        protected final long expiresAt;
+
+        protected NodeLease(int nodeId, long expiresAt) {
+            this.nodeId = nodeId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
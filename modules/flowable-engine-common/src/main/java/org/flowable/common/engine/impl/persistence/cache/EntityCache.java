@@ -48,6 +48,12 @@ public interface EntityCache extends Session {
      */
     <T> T findInCache(Class<T> entityClass, String id);
 
+    /**
+     * Returns the cached {@link Entity} instances of the given class with the provided ids, mapped by their id.
+     * Ids for which no {@link Entity} is cached are not part of the returned map.
+     */
+    <T> Map<String, T> findInCacheByIds(Class<T> entityClass, Collection<String> ids);
+
     /**
      * Returns all cached {@link Entity} instances of a given type. Returns an empty list if no instances of the given type exist.
      */
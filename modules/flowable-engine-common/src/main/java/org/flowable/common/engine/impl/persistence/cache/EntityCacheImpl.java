@@ -61,6 +61,29 @@ public class EntityCacheImpl implements EntityCache {
         return null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> findInCacheByIds(Class<T> entityClass, Collection<String> ids) {
+        Map<String, CachedEntity> classCache = cachedObjects.get(entityClass);
+
+        if (classCache == null) {
+            classCache = findClassCacheByCheckingSubclasses(entityClass);
+        }
+
+        if (classCache == null || classCache.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, T> entities = new HashMap<>();
+        for (String id : ids) {
+            CachedEntity cachedObject = classCache.get(id);
+            if (cachedObject != null) {
+                entities.put(id, (T) cachedObject.getEntity());
+            }
+        }
+        return entities;
+    }
+
     protected Map<String, CachedEntity> findClassCacheByCheckingSubclasses(Class<?> entityClass) {
         for (Class<?> clazz : cachedObjects.keySet()) {
             if (entityClass.isAssignableFrom(clazz)) {
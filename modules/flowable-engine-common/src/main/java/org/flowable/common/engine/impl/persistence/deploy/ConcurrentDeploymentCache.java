@@ -0,0 +1,218 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache that doesn't take a lock on {@link #get(String)}, contrary to the {@link DefaultDeploymentCache}.
+ * <p>
+ * When a limit is set, entries are evicted with the CLOCK (second chance) algorithm: a read only marks an entry as referenced,
+ * and when the total weight of the cached entries exceeds the limit, the entries are swept in insertion order,
+ * evicting the first entry that wasn't referenced since the previous sweep. The weight of an entry is determined by a
+ * {@link DeploymentCacheWeigher}, by default every entry has a weight of 1, which makes the limit a maximum number of entries.
+ * <p>
+ * The hit, miss and eviction counts are kept, to be able to tune the limit.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+    protected final Map<String, CacheEntry<T>> cache = new ConcurrentHashMap<>();
+    protected final Queue<CacheEntry<T>> clock = new ConcurrentLinkedQueue<>();
+    protected final ReentrantLock evictionLock = new ReentrantLock();
+
+    protected final long limit;
+    protected final DeploymentCacheWeigher<T> weigher;
+    protected final AtomicLong totalWeight = new AtomicLong();
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    /** Cache with no limit */
+    public ConcurrentDeploymentCache() {
+        this(-1, DeploymentCacheWeigher.singleton());
+    }
+
+    /**
+     * Cache which has a hard limit on the number of entries.
+     */
+    public ConcurrentDeploymentCache(long limit) {
+        this(limit, DeploymentCacheWeigher.singleton());
+    }
+
+    /**
+     * Cache which has a hard limit on the total weight of its entries, as calculated by the given weigher.
+     */
+    public ConcurrentDeploymentCache(long limit, DeploymentCacheWeigher<T> weigher) {
+        this.limit = limit;
+        this.weigher = weigher != null ? weigher : DeploymentCacheWeigher.singleton();
+    }
+
+    @Override
+    public T get(String id) {
+        CacheEntry<T> entry = cache.get(id);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        if (!entry.referenced) { // avoid writing to the shared entry when not needed
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void add(String id, T obj) {
+        CacheEntry<T> entry = new CacheEntry<>(id, obj, limit > 0 ? Math.max(1, weigher.weigh(id, obj)) : 1);
+        CacheEntry<T> previous = cache.put(id, entry);
+        if (previous != null) {
+            removed(previous);
+        }
+
+        if (limit > 0) {
+            clock.add(entry);
+            totalWeight.addAndGet(entry.weight);
+            evictIfNeeded();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        CacheEntry<T> entry = cache.remove(id);
+        if (entry != null) {
+            removed(entry);
+        }
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return cache.containsKey(id);
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (CacheEntry<T> entry : cache.values()) {
+                remove(entry.id);
+            }
+            clock.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return Collections.unmodifiableList(cache.values().stream().map(entry -> entry.value).collect(Collectors.toList()));
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    protected void removed(CacheEntry<T> entry) {
+        if (entry.removed.compareAndSet(false, true) && limit > 0) {
+            totalWeight.addAndGet(-entry.weight);
+        }
+    }
+
+    protected void evictIfNeeded() {
+        if (totalWeight.get() <= limit) {
+            return;
+        }
+
+        evictionLock.lock();
+        try {
+            // Every entry gets a second chance at most once per sweep, so this ends after two rounds over the clock
+            while (totalWeight.get() > limit) {
+                CacheEntry<T> entry = clock.poll();
+                if (entry == null) {
+                    return;
+                }
+
+                if (entry.removed.get()) {
+                    continue; // already removed or replaced, drop it from the clock
+
+                } else if (entry.referenced && clock.size() > 0) {
+                    entry.referenced = false;
+                    clock.add(entry);
+
+                } else if (cache.remove(entry.id, entry)) {
+                    removed(entry);
+                    evictionCount.increment();
+                    if (LOGGER.isTraceEnabled()) {
+                        LOGGER.trace("Cache limit is reached, {} is evicted", entry.id);
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    protected static class CacheEntry<T> {
+
+        protected final String id;
+        protected final T value;
+        protected final int weight;
+        protected volatile boolean referenced;
+        protected final AtomicBoolean removed = new AtomicBoolean();
+
+        public CacheEntry(String id, T value, int weight) {
+            this.id = id;
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+}
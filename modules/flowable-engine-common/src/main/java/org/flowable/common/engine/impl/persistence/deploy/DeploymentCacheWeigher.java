@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+/**
+ * Calculates the weight of a cached object, which is used by the {@link ConcurrentDeploymentCache}
+ * to determine when the cache limit is reached. Weights should be positive and should not change once the object is cached.
+ */
+@FunctionalInterface
+public interface DeploymentCacheWeigher<T> {
+
+    DeploymentCacheWeigher<Object> SINGLETON = (id, object) -> 1;
+
+    int weigh(String id, T object);
+
+    @SuppressWarnings("unchecked")
+    static <T> DeploymentCacheWeigher<T> singleton() {
+        return (DeploymentCacheWeigher<T>) SINGLETON;
+    }
+
+}
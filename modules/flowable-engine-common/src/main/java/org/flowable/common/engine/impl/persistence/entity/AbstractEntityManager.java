@@ -12,6 +12,9 @@
  */
 package org.flowable.common.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.api.delegate.event.FlowableEntityEvent;
 import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
@@ -42,6 +45,11 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity, DM extend
         return getDataManager().findById(entityId);
     }
 
+    @Override
+    public List<EntityImpl> findByIds(Collection<String> entityIds) {
+        return getDataManager().findByIds(entityIds);
+    }
+
     @Override
     public EntityImpl create() {
         return getDataManager().create();
@@ -12,6 +12,10 @@
  */
 package org.flowable.common.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * @author Joram Barrez
  */
@@ -21,6 +25,21 @@ public interface EntityManager<EntityImpl extends Entity> {
 
     EntityImpl findById(String entityId);
 
+    /**
+     * Returns the entities with the given ids, ids for which no entity exists are ignored.
+     * Implementations should fetch the entities that are not cached in as few queries as possible.
+     */
+    default List<EntityImpl> findByIds(Collection<String> entityIds) {
+        List<EntityImpl> entities = new ArrayList<>(entityIds.size());
+        for (String entityId : entityIds) {
+            EntityImpl entity = findById(entityId);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
     void insert(EntityImpl entity);
 
     void insert(EntityImpl entity, boolean fireCreateEvent);
@@ -12,6 +12,10 @@
  */
 package org.flowable.common.engine.impl.persistence.entity.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.flowable.common.engine.impl.persistence.entity.Entity;
 
 /**
@@ -23,6 +27,21 @@ public interface DataManager<EntityImpl extends Entity> {
 
     EntityImpl findById(String entityId);
 
+    /**
+     * Returns the entities with the given ids, ids for which no entity exists are ignored.
+     * Implementations should fetch the entities that are not cached in as few queries as possible.
+     */
+    default List<EntityImpl> findByIds(Collection<String> entityIds) {
+        List<EntityImpl> entities = new ArrayList<>(entityIds.size());
+        for (String entityId : entityIds) {
+            EntityImpl entity = findById(entityId);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
     void insert(EntityImpl entity);
 
     EntityImpl update(EntityImpl entity);
@@ -0,0 +1,162 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.scripting;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+
+/**
+ * Bounded LRU cache of {@link CompiledScript compiled scripts}, keyed by script language and script text.
+ *
+ * <p>
+ * Compiled scripts are kept in one cache shared by all threads.
+ * Compiled scripts that must not be shared between threads are kept in a cache that is confined to the thread that compiled them,
+ * each thread cache being bounded by the same limit.
+ * </p>
+ */
+public class CompiledScriptCache {
+
+    public static final int DEFAULT_LIMIT = 500;
+
+    protected final int limit;
+    protected final Map<CacheKey, CompiledScript> sharedCache;
+    protected final ThreadLocal<Map<CacheKey, CompiledScript>> threadConfinedCache;
+
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+    protected final AtomicLong evictionCount = new AtomicLong();
+
+    public CompiledScriptCache() {
+        this(DEFAULT_LIMIT);
+    }
+
+    public CompiledScriptCache(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Compiled script cache limit must be positive");
+        }
+        this.limit = limit;
+        this.sharedCache = Collections.synchronizedMap(createLruMap());
+        this.threadConfinedCache = ThreadLocal.withInitial(this::createLruMap);
+    }
+
+    public CompiledScript get(String language, String script, boolean threadConfined) {
+        CompiledScript compiledScript = getCache(threadConfined).get(new CacheKey(language, script));
+        if (compiledScript != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return compiledScript;
+    }
+
+    public void put(String language, String script, boolean threadConfined, CompiledScript compiledScript) {
+        getCache(threadConfined).put(new CacheKey(language, script), compiledScript);
+    }
+
+    /**
+     * Clears the shared cache and the cache confined to the calling thread. The statistics are reset as well.
+     */
+    public void clear() {
+        sharedCache.clear();
+        threadConfinedCache.remove();
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+    }
+
+    /**
+     * @return the number of compiled scripts in the shared cache and in the cache confined to the calling thread
+     */
+    public int size() {
+        return sharedCache.size() + threadConfinedCache.get().size();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long requests = hits + missCount.get();
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    protected Map<CacheKey, CompiledScript> getCache(boolean threadConfined) {
+        return threadConfined ? threadConfinedCache.get() : sharedCache;
+    }
+
+    protected Map<CacheKey, CompiledScript> createLruMap() {
+        // +1 is needed, because the entry is inserted first, before it is removed
+        // true will keep the 'access-order', which is needed to have a real LRU cache
+        return new LinkedHashMap<CacheKey, CompiledScript>(limit + 1, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CompiledScript> eldest) {
+                boolean removeEldest = size() > limit;
+                if (removeEldest) {
+                    evictionCount.incrementAndGet();
+                }
+                return removeEldest;
+            }
+        };
+    }
+
+    protected static class CacheKey {
+
+        protected final String language;
+        protected final String script;
+        protected final int hashCode;
+
+        protected CacheKey(String language, String script) {
+            this.language = language;
+            this.script = script;
+            this.hashCode = 31 * Objects.hashCode(language) + Objects.hashCode(script);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return hashCode == other.hashCode && Objects.equals(language, other.language) && Objects.equals(script, other.script);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
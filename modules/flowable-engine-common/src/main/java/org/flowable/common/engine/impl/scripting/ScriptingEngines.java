@@ -13,11 +13,16 @@
 package org.flowable.common.engine.impl.scripting;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -39,6 +44,14 @@ import org.slf4j.LoggerFactory;
  * indicates thread safe read access.
  * </p>
  *
+ * <p>
+ * Scripts of engines implementing {@link Compilable} and indicating multithreaded access are compiled once and the {@link CompiledScript}
+ * is kept in a bounded {@link CompiledScriptCache}. Compiled scripts of languages registered as
+ * {@link #setThreadConfinedCompiledScriptLanguages(Set) thread confined} are never shared between threads.
+ * Scripts of engines that don't indicate multithreaded access are not compiled, as such an engine is created for every evaluation
+ * and a compiled script would keep its engine, including the global state of previous evaluations, alive.
+ * </p>
+ *
  * @author Tom Baeyens
  * @author Joram Barrez
  * @author Frederik Heremans
@@ -58,6 +71,13 @@ public class ScriptingEngines {
     protected boolean cacheScriptingEngines = true;
     protected Map<String, ScriptEngine> cachedEngines;
 
+    protected boolean cacheCompiledScripts = true;
+    protected CompiledScriptCache compiledScriptCache = new CompiledScriptCache();
+    protected Set<String> threadConfinedCompiledScriptLanguages = new HashSet<>();
+    // The JUEL engine binds the variables of the script context into the expression when parsing,
+    // so its compiled scripts can't be reused for a different evaluation
+    protected Set<String> compiledScriptCacheExcludedLanguages = new HashSet<>(Collections.singleton(DEFAULT_SCRIPTING_LANGUAGE));
+
     protected ScriptTraceEnhancer defaultTraceEnhancer;
 
     protected ScriptTraceListener scriptErrorListener = null;
@@ -108,7 +128,13 @@ public class ScriptingEngines {
     protected Object evaluate(ScriptEngine scriptEngine, ScriptEngineRequest request, Bindings bindings) {
         long startNanos = System.nanoTime();
         try {
-            Object scriptResult = scriptEngine.eval(request.getScript(), bindings);
+            Object scriptResult;
+            CompiledScript compiledScript = getCompiledScript(scriptEngine, request);
+            if (compiledScript != null) {
+                scriptResult = compiledScript.eval(bindings);
+            } else {
+                scriptResult = scriptEngine.eval(request.getScript(), bindings);
+            }
             if (scriptSuccessListener != null) {
                 DefaultScriptTrace scriptTrace = DefaultScriptTrace.successTrace(Duration.ofNanos(System.nanoTime() - startNanos), request);
                 enhanceScriptTrace(request, scriptTrace);
@@ -133,6 +159,33 @@ public class ScriptingEngines {
         }
     }
 
+    /**
+     * Returns the cached compiled form of the request script, compiling and caching it on first use.
+     *
+     * @return the compiled script or null when compiled scripts are not cached for the language or the engine is not {@link Compilable}
+     */
+    protected CompiledScript getCompiledScript(ScriptEngine scriptEngine, ScriptEngineRequest request) throws ScriptException {
+        String language = request.getLanguage();
+        if (!cacheCompiledScripts || compiledScriptCache == null || !(scriptEngine instanceof Compilable)
+                || compiledScriptCacheExcludedLanguages.contains(language) || !isMultithreadedEngine(scriptEngine)) {
+            return null;
+        }
+
+        String script = request.getScript();
+        boolean threadConfined = threadConfinedCompiledScriptLanguages.contains(language);
+        CompiledScript compiledScript = compiledScriptCache.get(language, script, threadConfined);
+        if (compiledScript == null) {
+            compiledScript = ((Compilable) scriptEngine).compile(script);
+            compiledScriptCache.put(language, script, threadConfined, compiledScript);
+        }
+        return compiledScript;
+    }
+
+    protected boolean isMultithreadedEngine(ScriptEngine scriptEngine) {
+        // A null THREADING parameter means that the engine implementation is not thread safe
+        return scriptEngine.getFactory().getParameter("THREADING") != null;
+    }
+
     protected void notifyScriptTraceListener(ScriptTraceListener listener, ScriptTrace scriptTrace) {
         try {
             listener.onScriptTrace(scriptTrace);
@@ -234,6 +287,42 @@ public class ScriptingEngines {
         return cacheScriptingEngines;
     }
 
+    public boolean isCacheCompiledScripts() {
+        return cacheCompiledScripts;
+    }
+
+    public void setCacheCompiledScripts(boolean cacheCompiledScripts) {
+        this.cacheCompiledScripts = cacheCompiledScripts;
+    }
+
+    public CompiledScriptCache getCompiledScriptCache() {
+        return compiledScriptCache;
+    }
+
+    public void setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+        this.compiledScriptCache = compiledScriptCache;
+    }
+
+    public Set<String> getThreadConfinedCompiledScriptLanguages() {
+        return threadConfinedCompiledScriptLanguages;
+    }
+
+    /**
+     * Sets the languages whose compiled scripts must not be shared between threads,
+     * even when their engine indicates multithreaded access.
+     */
+    public void setThreadConfinedCompiledScriptLanguages(Set<String> threadConfinedCompiledScriptLanguages) {
+        this.threadConfinedCompiledScriptLanguages = threadConfinedCompiledScriptLanguages;
+    }
+
+    public Set<String> getCompiledScriptCacheExcludedLanguages() {
+        return compiledScriptCacheExcludedLanguages;
+    }
+
+    public void setCompiledScriptCacheExcludedLanguages(Set<String> compiledScriptCacheExcludedLanguages) {
+        this.compiledScriptCacheExcludedLanguages = compiledScriptCacheExcludedLanguages;
+    }
+
     public ScriptTraceEnhancer getDefaultTraceEnhancer() {
         return defaultTraceEnhancer;
     }
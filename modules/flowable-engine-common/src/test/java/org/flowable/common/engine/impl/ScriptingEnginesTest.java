@@ -15,12 +15,25 @@ package org.flowable.common.engine.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+
+import org.flowable.common.engine.impl.scripting.CompiledScriptCache;
 import org.flowable.common.engine.impl.scripting.CompositeScriptTraceListener;
 import org.flowable.common.engine.impl.scripting.FlowableScriptEvaluationException;
 import org.flowable.common.engine.impl.scripting.MapResolver;
@@ -255,6 +268,96 @@ public class ScriptingEnginesTest {
         });
     }
 
+    @Test
+    public void expectScriptOfNonThreadSafeEngineNotCompiled() {
+        // GIVEN
+        String script = "myBean.setBar(myBean.getFoo() + 'Compiled'); myBean";
+        MyBean firstBean = new MyBean();
+        firstBean.setFoo("first");
+        MyBean secondBean = new MyBean();
+        secondBean.setFoo("second");
+
+        // WHEN
+        Object firstResult = engines.evaluate(ScriptEngineRequest.builder()
+                .script(script)
+                .language("JavaScript")
+                .variableContainer(VariableScope.empty())
+                .additionalResolver(new MapResolver().put("myBean", firstBean))
+                .build()).getResult();
+        Object secondResult = engines.evaluate(ScriptEngineRequest.builder()
+                .script(script)
+                .language("JavaScript")
+                .variableContainer(VariableScope.empty())
+                .additionalResolver(new MapResolver().put("myBean", secondBean))
+                .build()).getResult();
+
+        // THEN
+        assertThat(firstResult).isSameAs(firstBean);
+        assertThat(firstBean.getBar()).isEqualTo("firstCompiled");
+        assertThat(secondResult).isSameAs(secondBean);
+        assertThat(secondBean.getBar()).isEqualTo("secondCompiled");
+
+        // The Nashorn engine doesn't indicate multithreaded access
+        CompiledScriptCache compiledScriptCache = engines.getCompiledScriptCache();
+        assertThat(compiledScriptCache.getMissCount()).isZero();
+        assertThat(compiledScriptCache.size()).isZero();
+    }
+
+    @Test
+    public void expectCompiledScriptReusedForSameScript() throws Exception {
+        // GIVEN
+        ScriptEngineFactory scriptEngineFactory = mock(ScriptEngineFactory.class);
+        ScriptEngine scriptEngine = mock(ScriptEngine.class, withSettings().extraInterfaces(Compilable.class));
+        CompiledScript compiledScript = mock(CompiledScript.class);
+        when(scriptEngineFactory.getEngineName()).thenReturn("multithreadedTest");
+        when(scriptEngineFactory.getParameter("THREADING")).thenReturn("MULTITHREADED");
+        when(scriptEngineFactory.getScriptEngine()).thenReturn(scriptEngine);
+        when(scriptEngine.getFactory()).thenReturn(scriptEngineFactory);
+        when(((Compilable) scriptEngine).compile("script")).thenReturn(compiledScript);
+        when(compiledScript.eval(any(Bindings.class))).thenReturn("result");
+        engines.addScriptEngineFactory(scriptEngineFactory);
+
+        ScriptEngineRequest request = ScriptEngineRequest.builder()
+                .script("script")
+                .language("multithreadedTest")
+                .variableContainer(VariableScope.empty())
+                .build();
+
+        // WHEN
+        Object firstResult = engines.evaluate(request).getResult();
+        Object secondResult = engines.evaluate(request).getResult();
+
+        // THEN
+        assertThat(firstResult).isEqualTo("result");
+        assertThat(secondResult).isEqualTo("result");
+        verify((Compilable) scriptEngine, times(1)).compile("script");
+        verify(compiledScript, times(2)).eval(any(Bindings.class));
+
+        CompiledScriptCache compiledScriptCache = engines.getCompiledScriptCache();
+        assertThat(compiledScriptCache.getMissCount()).isEqualTo(1);
+        assertThat(compiledScriptCache.getHitCount()).isEqualTo(1);
+        assertThat(compiledScriptCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void expectScriptNotCompiledWhenCompiledScriptCacheDisabled() {
+        // GIVEN
+        engines.setCacheCompiledScripts(false);
+        ScriptEngineRequest request = ScriptEngineRequest.builder()
+                .script("1 + 1")
+                .language("JavaScript")
+                .variableContainer(VariableScope.empty())
+                .build();
+
+        // WHEN
+        engines.evaluate(request);
+        engines.evaluate(request);
+
+        // THEN
+        assertThat(engines.getCompiledScriptCache().getMissCount()).isZero();
+        assertThat(engines.getCompiledScriptCache().size()).isZero();
+    }
+
     public static class MyBean {
 
         protected String foo;
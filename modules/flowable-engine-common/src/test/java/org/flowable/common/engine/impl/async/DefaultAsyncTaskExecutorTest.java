@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class DefaultAsyncTaskExecutorTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAsyncTaskExecutorTest.class);
+
+    @Test
+    void threadPoolRemainingCapacityIsQueueCapacity() {
+        AsyncTaskExecutorConfiguration configuration = new AsyncTaskExecutorConfiguration();
+        configuration.setQueueSize(10);
+        DefaultAsyncTaskExecutor executor = new DefaultAsyncTaskExecutor(configuration);
+        executor.start();
+        try {
+            assertThat(executor.getRemainingCapacity()).isEqualTo(10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void virtualThreadsRespectConcurrencyLimit() throws Exception {
+        assumeThat(DefaultAsyncTaskExecutor.isVirtualThreadsSupported()).isTrue();
+
+        AsyncTaskExecutorConfiguration configuration = new AsyncTaskExecutorConfiguration();
+        configuration.setUseVirtualThreads(true);
+        configuration.setVirtualThreadConcurrencyLimit(4);
+        configuration.setThreadPoolNamingPattern("flowable-test-%d");
+        DefaultAsyncTaskExecutor executor = new DefaultAsyncTaskExecutor(configuration);
+        executor.start();
+        try {
+            assertThat(executor.getRemainingCapacity()).isEqualTo(4);
+
+            CountDownLatch started = new CountDownLatch(4);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            for (int i = 0; i < 4; i++) {
+                executor.execute(() -> {
+                    thread.set(Thread.currentThread());
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(executor.getRemainingCapacity()).isZero();
+            assertThat(thread.get().getName()).startsWith("flowable-test-");
+            assertThatThrownBy(() -> executor.execute(() -> { }))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            long timeout = System.currentTimeMillis() + 10000;
+            while (executor.getRemainingCapacity() < 4 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertThat(executor.getRemainingCapacity()).isEqualTo(4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Compares the throughput of blocking tasks (e.g. http service tasks) on the default thread pool and on virtual threads.
+     */
+    @Test
+    void blockingTaskThroughput() throws Exception {
+        assumeThat(DefaultAsyncTaskExecutor.isVirtualThreadsSupported()).isTrue();
+
+        int nrOfTasks = 800;
+
+        AsyncTaskExecutorConfiguration threadPoolConfiguration = new AsyncTaskExecutorConfiguration();
+        threadPoolConfiguration.setThreadPoolNamingPattern("flowable-test-pool-%d");
+        long threadPoolDuration = executeBlockingTasks(new DefaultAsyncTaskExecutor(threadPoolConfiguration), nrOfTasks);
+
+        AsyncTaskExecutorConfiguration virtualThreadsConfiguration = new AsyncTaskExecutorConfiguration();
+        virtualThreadsConfiguration.setThreadPoolNamingPattern("flowable-test-virtual-%d");
+        virtualThreadsConfiguration.setUseVirtualThreads(true);
+        virtualThreadsConfiguration.setVirtualThreadConcurrencyLimit(nrOfTasks);
+        long virtualThreadsDuration = executeBlockingTasks(new DefaultAsyncTaskExecutor(virtualThreadsConfiguration), nrOfTasks);
+
+        LOGGER.info("Executed {} blocking tasks: thread pool ({} threads) took {} ms ({} tasks/s), virtual threads took {} ms ({} tasks/s)",
+                nrOfTasks, threadPoolConfiguration.getMaxPoolSize(),
+                threadPoolDuration, nrOfTasks * 1000L / Math.max(threadPoolDuration, 1),
+                virtualThreadsDuration, nrOfTasks * 1000L / Math.max(virtualThreadsDuration, 1));
+
+        assertThat(virtualThreadsDuration).isLessThan(threadPoolDuration);
+    }
+
+    protected long executeBlockingTasks(DefaultAsyncTaskExecutor executor, int nrOfTasks) throws InterruptedException {
+        executor.start();
+        try {
+            CountDownLatch done = new CountDownLatch(nrOfTasks);
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < nrOfTasks; i++) {
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+            return System.currentTimeMillis() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
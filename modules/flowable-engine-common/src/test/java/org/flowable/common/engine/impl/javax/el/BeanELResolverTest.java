@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.javax.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.common.engine.impl.de.odysseus.el.ExpressionFactoryImpl;
+import org.flowable.common.engine.impl.de.odysseus.el.util.SimpleContext;
+import org.flowable.common.engine.impl.de.odysseus.el.util.SimpleResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BeanELResolverTest {
+
+    protected ExpressionFactory expressionFactory;
+    protected SimpleContext context;
+
+    @BeforeEach
+    void setUp() {
+        expressionFactory = new ExpressionFactoryImpl();
+        context = new SimpleContext(new SimpleResolver());
+        context.setVariable("bean", expressionFactory.createValueExpression(new OverloadedBean(), OverloadedBean.class));
+    }
+
+    @Test
+    void resolvedMethodDependsOnArgumentTypesOnRepeatedInvocations() {
+        ValueExpression expression = expressionFactory.createValueExpression(context, "${bean.describe(argument)}", Object.class);
+
+        for (int i = 0; i < 3; i++) {
+            setArgument("text");
+            assertThat(expression.getValue(context)).isEqualTo("string");
+            setArgument(new StringBuilder("text"));
+            assertThat(expression.getValue(context)).isEqualTo("charSequence");
+            setArgument(10L);
+            assertThat(expression.getValue(context)).isEqualTo("long");
+            setArgument(10);
+            assertThat(expression.getValue(context)).isEqualTo("object");
+        }
+    }
+
+    @Test
+    void coercedArgumentsAreResolvedOnEveryInvocation() {
+        ValueExpression expression = expressionFactory.createValueExpression(context, "${bean.twice(argument)}", Object.class);
+
+        for (int i = 0; i < 3; i++) {
+            setArgument("21");
+            assertThat(expression.getValue(context)).isEqualTo(42);
+            setArgument(4L);
+            assertThat(expression.getValue(context)).isEqualTo(8);
+        }
+    }
+
+    protected void setArgument(Object argument) {
+        context.getELResolver().setValue(context, null, "argument", argument);
+    }
+
+    public static class OverloadedBean {
+
+        public String describe(String value) {
+            return "string";
+        }
+
+        public String describe(CharSequence value) {
+            return "charSequence";
+        }
+
+        public String describe(long value) {
+            return "long";
+        }
+
+        public String describe(Object value) {
+            return "object";
+        }
+
+        public int twice(int value) {
+            return value * 2;
+        }
+    }
+}
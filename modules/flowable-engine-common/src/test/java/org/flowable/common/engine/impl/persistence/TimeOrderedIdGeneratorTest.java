@@ -0,0 +1,253 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void idsAreOrdered() {
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(5);
+
+        String previousId = idGenerator.getNextId();
+        assertThat(previousId).hasSize(13);
+        // Generate more than the sequence can hold within a millisecond
+        for (int i = 0; i < 10000; i++) {
+            String id = idGenerator.getNextId();
+            assertThat(id).isGreaterThan(previousId);
+            previousId = id;
+        }
+    }
+
+    @Test
+    void idsAreUniqueWhenGeneratedConcurrently() throws Exception {
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> {
+                    List<String> ids = new ArrayList<>();
+                    for (int j = 0; j < 5000; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                ids.addAll(future.get());
+            }
+            assertThat(ids).hasSize(8 * 5000);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void differentNodesGenerateDifferentIds() {
+        TimeOrderedIdGenerator node1 = new TimeOrderedIdGenerator(1);
+        TimeOrderedIdGenerator node2 = new TimeOrderedIdGenerator(2);
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(node1.getNextId());
+            ids.add(node2.getNextId());
+        }
+        assertThat(ids).hasSize(2000);
+    }
+
+    @Test
+    void nodeIdIsNegotiatedThroughLeases() {
+        InMemoryNodeLeaseManager nodeLeaseManager = new InMemoryNodeLeaseManager();
+
+        TimeOrderedIdGenerator node1 = new TimeOrderedIdGenerator();
+        node1.setNodeLeaseManager(nodeLeaseManager);
+        TimeOrderedIdGenerator node2 = new TimeOrderedIdGenerator();
+        node2.setNodeLeaseManager(nodeLeaseManager);
+
+        try {
+            node1.getNextId();
+            node2.getNextId();
+
+            assertThat(node1.getNodeId()).isBetween(0, TimeOrderedIdGenerator.MAX_NODE_ID);
+            assertThat(node2.getNodeId()).isBetween(0, TimeOrderedIdGenerator.MAX_NODE_ID);
+            assertThat(node1.getNodeId()).isNotEqualTo(node2.getNodeId());
+            assertThat(nodeLeaseManager.owners).containsOnlyKeys(node1.getNodeId(), node2.getNodeId());
+
+            int node1Id = node1.getNodeId();
+            node1.releaseNodeId();
+            assertThat(node1.getNodeId()).isEqualTo(-1);
+            assertThat(nodeLeaseManager.owners).containsOnlyKeys(node2.getNodeId());
+            assertThat(nodeLeaseManager.highWaterMarks.get(node1Id)).isPositive();
+        } finally {
+            node1.releaseNodeId();
+            node2.releaseNodeId();
+        }
+    }
+
+    @Test
+    void noNodeIdAvailable() {
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+        assertThatThrownBy(idGenerator::getNextId)
+                .isInstanceOf(FlowableException.class)
+                .hasMessageContaining("No node id configured");
+
+        idGenerator.setNodeLeaseManager(new InMemoryNodeLeaseManager() {
+
+            @Override
+            public Long acquireLease(int nodeId, String owner, long expiresAt) {
+                return null;
+            }
+        });
+        assertThatThrownBy(idGenerator::getNextId)
+                .isInstanceOf(FlowableException.class)
+                .hasMessageContaining("Could not acquire any of the 1024 node ids");
+    }
+
+    @Test
+    void idsContinueAfterHighWaterMarkOfNodeId() {
+        long highWaterMark = System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+        idGenerator.setNodeLeaseManager(new InMemoryNodeLeaseManager() {
+
+            @Override
+            public Long acquireLease(int nodeId, String owner, long expiresAt) {
+                super.acquireLease(nodeId, owner, expiresAt);
+                // e.g. the clock of this node is an hour behind the clock of the previous owner
+                return highWaterMark;
+            }
+        });
+        idGenerator.setNodeLeaseDuration(Duration.ofHours(2));
+
+        try {
+            String id = idGenerator.getNextId();
+            assertThat(idGenerator.getHighWaterMark()).isGreaterThan(highWaterMark);
+            // Any id generated now by another node is lower, as it has the current time
+            assertThat(id).isGreaterThan(new TimeOrderedIdGenerator(0).getNextId());
+        } finally {
+            idGenerator.releaseNodeId();
+        }
+    }
+
+    @Test
+    void noIdsAfterLeaseExpired() throws Exception {
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+        idGenerator.setNodeLeaseManager(new InMemoryNodeLeaseManager() {
+
+            @Override
+            public boolean renewLease(int nodeId, String owner, long expiresAt, long highWaterMark) {
+                throw new FlowableException("Database not available");
+            }
+        });
+        idGenerator.setNodeLeaseDuration(Duration.ofMillis(300));
+
+        try {
+            idGenerator.getNextId();
+            int nodeId = idGenerator.getNodeId();
+
+            Thread.sleep(500);
+            assertThatThrownBy(idGenerator::getNextId)
+                    .isInstanceOf(FlowableException.class)
+                    .hasMessageContaining("the lease of node id " + nodeId + " expired");
+        } finally {
+            idGenerator.releaseNodeId();
+        }
+    }
+
+    @Test
+    void leaseIsRenewed() {
+        InMemoryNodeLeaseManager nodeLeaseManager = new InMemoryNodeLeaseManager();
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+        idGenerator.setNodeLeaseManager(nodeLeaseManager);
+
+        try {
+            idGenerator.getNextId();
+            int nodeId = idGenerator.getNodeId();
+            long expiresAt = nodeLeaseManager.expirations.get(nodeId);
+
+            idGenerator.renewNodeLease();
+            assertThat(nodeLeaseManager.expirations.get(nodeId)).isGreaterThanOrEqualTo(expiresAt);
+            assertThat(nodeLeaseManager.highWaterMarks.get(nodeId)).isPositive();
+
+            // Another node took over the node id, so a new one is negotiated
+            nodeLeaseManager.owners.put(nodeId, "otherNode");
+            idGenerator.renewNodeLease();
+            assertThat(idGenerator.getNodeId()).isEqualTo(-1);
+            idGenerator.getNextId();
+            assertThat(idGenerator.getNodeId()).isNotEqualTo(nodeId);
+        } finally {
+            idGenerator.releaseNodeId();
+        }
+    }
+
+    @Test
+    void invalidNodeId() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(1024))
+                .isInstanceOf(FlowableIllegalArgumentException.class);
+    }
+
+    protected static class InMemoryNodeLeaseManager implements IdGeneratorNodeLeaseManager {
+
+        protected final Map<Integer, String> owners = new ConcurrentHashMap<>();
+        protected final Map<Integer, Long> expirations = new ConcurrentHashMap<>();
+        protected final Map<Integer, Long> highWaterMarks = new ConcurrentHashMap<>();
+
+        @Override
+        public synchronized Long acquireLease(int nodeId, String owner, long expiresAt) {
+            if (owners.containsKey(nodeId) && expirations.get(nodeId) >= System.currentTimeMillis()) {
+                return null;
+            }
+            owners.put(nodeId, owner);
+            expirations.put(nodeId, expiresAt);
+            return highWaterMarks.getOrDefault(nodeId, 0L);
+        }
+
+        @Override
+        public synchronized boolean renewLease(int nodeId, String owner, long expiresAt, long highWaterMark) {
+            if (!owner.equals(owners.get(nodeId))) {
+                return false;
+            }
+            expirations.put(nodeId, expiresAt);
+            highWaterMarks.put(nodeId, highWaterMark);
+            return true;
+        }
+
+        @Override
+        public synchronized void releaseLease(int nodeId, String owner, long highWaterMark) {
+            if (owner.equals(owners.get(nodeId))) {
+                owners.remove(nodeId);
+                expirations.remove(nodeId);
+                highWaterMarks.put(nodeId, highWaterMark);
+            }
+        }
+    }
+}
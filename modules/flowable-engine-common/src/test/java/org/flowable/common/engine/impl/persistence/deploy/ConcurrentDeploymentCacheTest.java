@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentDeploymentCacheTest {
+
+    @Test
+    void unlimited() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>();
+        for (int i = 0; i < 100; i++) {
+            cache.add("def" + i, "value" + i);
+        }
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.get("def42")).isEqualTo("value42");
+        assertThat(cache.get("unknown")).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isZero();
+    }
+
+    @Test
+    void referencedEntriesGetSecondChance() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(3);
+        cache.add("def1", "value1");
+        cache.add("def2", "value2");
+        cache.add("def3", "value3");
+
+        cache.get("def1");
+        cache.add("def4", "value4");
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.contains("def1")).isTrue();
+        assertThat(cache.contains("def2")).isFalse();
+        assertThat(cache.contains("def3")).isTrue();
+        assertThat(cache.contains("def4")).isTrue();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void weighedLimit() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10, (id, value) -> value.length());
+        cache.add("def1", "aaaa");
+        cache.add("def2", "bbbb");
+        assertThat(cache.getTotalWeight()).isEqualTo(8);
+
+        cache.add("def3", "cccc");
+        assertThat(cache.getAll()).containsExactlyInAnyOrder("bbbb", "cccc");
+        assertThat(cache.getTotalWeight()).isEqualTo(8);
+
+        cache.remove("def2");
+        cache.add("def3", "cc");
+        assertThat(cache.getAll()).containsExactly("cc");
+        assertThat(cache.getTotalWeight()).isEqualTo(2);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getTotalWeight()).isZero();
+    }
+
+}
@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.agenda;
+
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.common.engine.impl.agenda.AgendaOperationBehaviorTypeResolver;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Resolves the activity behavior executed by the operations that continue or trigger an execution.
+ */
+public class ActivityBehaviorTypeResolver implements AgendaOperationBehaviorTypeResolver {
+
+    @Override
+    public String resolveBehaviorType(Runnable operation) {
+        if (operation instanceof ContinueProcessOperation || operation instanceof ContinueMultiInstanceOperation
+                || operation instanceof TriggerExecutionOperation) {
+
+            ExecutionEntity execution = ((AbstractOperation) operation).getExecution();
+            if (execution != null) {
+                FlowElement currentFlowElement = execution.getCurrentFlowElement();
+                if (currentFlowElement instanceof FlowNode) {
+                    Object behavior = ((FlowNode) currentFlowElement).getBehavior();
+                    if (behavior != null) {
+                        return behavior.getClass().getSimpleName();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -27,6 +27,10 @@ public abstract class GatewayActivityBehavior extends FlowNodeActivityBehavior {
     private static final long serialVersionUID = 1L;
 
     protected void lockFirstParentScope(DelegateExecution execution) {
+        findFirstParentScope(execution).forceUpdate();
+    }
+
+    protected ExecutionEntity findFirstParentScope(DelegateExecution execution) {
 
         ExecutionEntityManager executionEntityManager = CommandContextUtil.getExecutionEntityManager();
 
@@ -41,7 +45,7 @@ public abstract class GatewayActivityBehavior extends FlowNodeActivityBehavior {
             currentExecution = parentScopeExecution;
         }
 
-        parentScopeExecution.forceUpdate();
+        return parentScopeExecution;
     }
 
 }
@@ -22,10 +22,15 @@ import org.flowable.bpmn.model.FlowElement;
 import org.flowable.bpmn.model.FlowNode;
 import org.flowable.bpmn.model.ParallelGateway;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.variable.service.VariableService;
+import org.flowable.variable.service.VariableServiceConfiguration;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +72,11 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
             throw new FlowableException("Programmatic error: parallel gateway behaviour can only be applied" + " to a ParallelGateway instance, but got an instance of " + flowElement);
         }
 
+        if (parallelGateway.getIncomingFlows().size() > 1 && CommandContextUtil.getProcessEngineConfiguration().isParallelGatewayJoinCounterEnabled()) {
+            joinWithCounter(execution, parallelGateway);
+            return;
+        }
+
         lockFirstParentScope(execution);
 
         DelegateExecution multiInstanceExecution = null;
@@ -120,6 +130,114 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
     }
 
+    /**
+     * Joins by keeping track of the number of arrived executions in a counter variable instance per gateway and parent scope execution
+     * (or multi instance execution, when the gateway is part of a multi instance subprocess).
+     * Only the first arriving execution (to initialize the counter with the executions that were already waiting, e.g. because they arrived
+     * before the counter was enabled) and the last arriving execution (to delete the other joined executions) fetch the joined executions,
+     * so the other arrivals cost constant time.
+     * Concurrent arrivals conflict on the revision of the counter, or on the parent scope execution for the first arrival.
+     */
+    protected void joinWithCounter(DelegateExecution execution, ParallelGateway parallelGateway) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        VariableServiceConfiguration variableServiceConfiguration = processEngineConfiguration.getVariableServiceConfiguration();
+        VariableService variableService = variableServiceConfiguration.getVariableService();
+
+        ExecutionEntity parentScopeExecution = findFirstParentScope(execution);
+        DelegateExecution multiInstanceExecution = null;
+        if (hasMultiInstanceParent(parallelGateway)) {
+            multiInstanceExecution = findMultiInstanceParentExecution(execution);
+        }
+        String joinScopeId = multiInstanceExecution != null ? multiInstanceExecution.getId() : parentScopeExecution.getId();
+
+        VariableInstanceEntity joinCounter = variableService.createInternalVariableInstanceQuery()
+                .subScopeId(joinScopeId)
+                .scopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_JOIN)
+                .name(parallelGateway.getId())
+                .singleResult();
+
+        int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
+        int nbrOfExecutionsCurrentlyJoined;
+        Collection<ExecutionEntity> joinedExecutions = null;
+        if (joinCounter == null) {
+            parentScopeExecution.forceUpdate();
+            joinedExecutions = findJoinedExecutions(execution, parentScopeExecution, multiInstanceExecution);
+            nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
+        } else {
+            nbrOfExecutionsCurrentlyJoined = ((Number) joinCounter.getValue()).intValue() + 1;
+        }
+
+        // Is needed to set the endTime for all historic activity joins
+        CommandContextUtil.getActivityInstanceEntityManager().recordActivityEnd((ExecutionEntity) execution, null);
+
+        if (nbrOfExecutionsCurrentlyJoined >= nbrOfExecutionsToJoin) {
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("parallel gateway '{}' ({}) activates: {} of {} joined", execution.getCurrentActivityId(),
+                        execution.getId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+            }
+
+            if (joinCounter != null) {
+                variableService.deleteVariableInstance(joinCounter);
+            }
+
+            if (joinedExecutions == null) {
+                joinedExecutions = findJoinedExecutions(execution, parentScopeExecution, multiInstanceExecution);
+            }
+
+            ExecutionEntityManager executionEntityManager = processEngineConfiguration.getExecutionEntityManager();
+            for (ExecutionEntity joinedExecution : joinedExecutions) {
+
+                // The current execution will be reused and not deleted
+                if (!joinedExecution.getId().equals(execution.getId())) {
+                    executionEntityManager.deleteRelatedDataForExecution(joinedExecution, null, false);
+                    executionEntityManager.delete(joinedExecution);
+                }
+            }
+
+            CommandContextUtil.getAgenda().planTakeOutgoingSequenceFlowsOperation((ExecutionEntity) execution, false); // false -> ignoring conditions on parallel gw
+
+        } else {
+
+            if (joinCounter == null) {
+                joinCounter = variableService.createVariableInstance(parallelGateway.getId());
+                joinCounter.setScopeId(execution.getProcessInstanceId());
+                joinCounter.setSubScopeId(joinScopeId);
+                joinCounter.setScopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_JOIN);
+                variableServiceConfiguration.getVariableInstanceValueModifier().setVariableValue(joinCounter, nbrOfExecutionsCurrentlyJoined, execution.getTenantId());
+                variableService.insertVariableInstance(joinCounter);
+            } else {
+                variableServiceConfiguration.getVariableInstanceValueModifier().updateVariableValue(joinCounter, nbrOfExecutionsCurrentlyJoined, execution.getTenantId());
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("parallel gateway '{}' ({}) does not activate: {} of {} joined", execution.getCurrentActivityId(),
+                        execution.getId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+            }
+        }
+    }
+
+    /**
+     * @return the inactive executions (including the given one) waiting in the gateway for the same parent scope or multi instance execution.
+     */
+    protected Collection<ExecutionEntity> findJoinedExecutions(DelegateExecution execution, ExecutionEntity parentScopeExecution,
+            DelegateExecution multiInstanceExecution) {
+
+        Collection<ExecutionEntity> joinedExecutions = CommandContextUtil.getExecutionEntityManager()
+                .findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
+        if (multiInstanceExecution != null) {
+            return cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
+        }
+
+        List<ExecutionEntity> scopeJoinedExecutions = new ArrayList<>(joinedExecutions.size());
+        for (ExecutionEntity joinedExecution : joinedExecutions) {
+            if (parentScopeExecution.getId().equals(findFirstParentScope(joinedExecution).getId())) {
+                scopeJoinedExecutions.add(joinedExecution);
+            }
+        }
+        return scopeJoinedExecutions;
+    }
+
     protected Collection<ExecutionEntity> cleanJoinedExecutions(Collection<ExecutionEntity> joinedExecutions, DelegateExecution multiInstanceExecution) {
         List<ExecutionEntity> cleanedExecutions = new ArrayList<>();
         for (ExecutionEntity executionEntity : joinedExecutions) {
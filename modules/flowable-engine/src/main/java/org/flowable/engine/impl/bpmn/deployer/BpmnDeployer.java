@@ -65,6 +65,7 @@ public class BpmnDeployer implements EngineDeployer {
     protected BpmnDeploymentHelper bpmnDeploymentHelper;
     protected CachingAndArtifactsManager cachingAndArtifactsManager;
     protected ProcessDefinitionDiagramHelper processDefinitionDiagramHelper;
+    protected BpmnExpressionPreParser expressionPreParser;
     protected boolean usePrefixId;
 
     @Override
@@ -79,6 +80,10 @@ public class BpmnDeployer implements EngineDeployer {
 
         bpmnDeploymentHelper.verifyProcessDefinitionsDoNotShareKeys(parsedDeployment.getAllProcessDefinitions());
 
+        if (expressionPreParser != null) {
+            expressionPreParser.preParseExpressions(parsedDeployment);
+        }
+
         bpmnDeploymentHelper.copyDeploymentValuesToProcessDefinitions(
                 parsedDeployment.getDeployment(), parsedDeployment.getAllProcessDefinitions());
         bpmnDeploymentHelper.setResourceNamesOnProcessDefinitions(parsedDeployment);
@@ -557,4 +562,12 @@ public class BpmnDeployer implements EngineDeployer {
     public void setUsePrefixId(boolean usePrefixId) {
         this.usePrefixId = usePrefixId;
     }
+
+    public BpmnExpressionPreParser getExpressionPreParser() {
+        return expressionPreParser;
+    }
+
+    public void setExpressionPreParser(BpmnExpressionPreParser expressionPreParser) {
+        this.expressionPreParser = expressionPreParser;
+    }
 }
@@ -0,0 +1,151 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.bpmn.deployer;
+
+import java.util.List;
+
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.ConditionalEventDefinition;
+import org.flowable.bpmn.model.Event;
+import org.flowable.bpmn.model.EventDefinition;
+import org.flowable.bpmn.model.FieldExtension;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowableListener;
+import org.flowable.bpmn.model.ImplementationType;
+import org.flowable.bpmn.model.MultiInstanceLoopCharacteristics;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.ServiceTask;
+import org.flowable.bpmn.model.TaskWithFieldExtensions;
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionPreParser;
+import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the expressions of the deployed process definitions (conditions, assignments, delegate expressions, listeners, ...)
+ * before they are first evaluated.
+ */
+public class BpmnExpressionPreParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BpmnExpressionPreParser.class);
+
+    protected ExpressionManager expressionManager;
+
+    public BpmnExpressionPreParser(ExpressionManager expressionManager) {
+        this.expressionManager = expressionManager;
+    }
+
+    public void preParseExpressions(ParsedDeployment parsedDeployment) {
+        for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+            BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
+            Process process = bpmnModel.getProcessById(processDefinition.getKey());
+            if (process != null) {
+                ExpressionPreParser preParser = new ExpressionPreParser(expressionManager, processDefinition.getKey());
+                preParseProcess(process, preParser);
+                LOGGER.debug("Pre-parsed {} expressions of process definition {}", preParser.getParsedExpressionCount(), processDefinition.getKey());
+            }
+        }
+    }
+
+    protected void preParseProcess(Process process, ExpressionPreParser preParser) {
+        preParseListeners(process.getId(), process.getExecutionListeners(), preParser);
+
+        for (FlowElement flowElement : process.findFlowElementsOfType(FlowElement.class, true)) {
+            preParseFlowElement(flowElement, preParser);
+        }
+    }
+
+    protected void preParseFlowElement(FlowElement flowElement, ExpressionPreParser preParser) {
+        String elementId = flowElement.getId();
+        preParseListeners(elementId, flowElement.getExecutionListeners(), preParser);
+
+        if (flowElement instanceof SequenceFlow) {
+            SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+            preParser.preParse(elementId, sequenceFlow.getConditionExpression());
+            preParser.preParse(elementId, sequenceFlow.getSkipExpression());
+
+        } else if (flowElement instanceof UserTask) {
+            UserTask userTask = (UserTask) flowElement;
+            preParser.preParse(elementId, userTask.getAssignee());
+            preParser.preParse(elementId, userTask.getOwner());
+            preParser.preParse(elementId, userTask.getCandidateUsers());
+            preParser.preParse(elementId, userTask.getCandidateGroups());
+            preParser.preParse(elementId, userTask.getPriority());
+            preParser.preParse(elementId, userTask.getDueDate());
+            preParser.preParse(elementId, userTask.getCategory());
+            preParser.preParse(elementId, userTask.getSkipExpression());
+            preParseListeners(elementId, userTask.getTaskListeners(), preParser);
+
+        } else if (flowElement instanceof ServiceTask) {
+            ServiceTask serviceTask = (ServiceTask) flowElement;
+            preParseImplementation(elementId, serviceTask.getImplementationType(), serviceTask.getImplementation(), preParser);
+            preParser.preParse(elementId, serviceTask.getSkipExpression());
+
+        } else if (flowElement instanceof Event) {
+            for (EventDefinition eventDefinition : ((Event) flowElement).getEventDefinitions()) {
+                if (eventDefinition instanceof ConditionalEventDefinition) {
+                    preParser.preParse(elementId, ((ConditionalEventDefinition) eventDefinition).getConditionExpression());
+                }
+            }
+        }
+
+        if (flowElement instanceof TaskWithFieldExtensions) {
+            preParseFieldExtensions(elementId, ((TaskWithFieldExtensions) flowElement).getFieldExtensions(), preParser);
+        }
+
+        if (flowElement instanceof Activity) {
+            MultiInstanceLoopCharacteristics loopCharacteristics = ((Activity) flowElement).getLoopCharacteristics();
+            if (loopCharacteristics != null) {
+                preParser.preParse(elementId, loopCharacteristics.getLoopCardinality());
+                preParser.preParse(elementId, loopCharacteristics.getInputDataItem());
+                preParser.preParse(elementId, loopCharacteristics.getCompletionCondition());
+            }
+        }
+    }
+
+    protected void preParseListeners(String elementId, List<FlowableListener> listeners, ExpressionPreParser preParser) {
+        if (listeners != null) {
+            for (FlowableListener listener : listeners) {
+                preParseImplementation(elementId, listener.getImplementationType(), listener.getImplementation(), preParser);
+                preParseFieldExtensions(elementId, listener.getFieldExtensions(), preParser);
+            }
+        }
+    }
+
+    protected void preParseImplementation(String elementId, String implementationType, String implementation, ExpressionPreParser preParser) {
+        if (ImplementationType.IMPLEMENTATION_TYPE_EXPRESSION.equals(implementationType)
+                || ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(implementationType)) {
+            preParser.preParse(elementId, implementation);
+        }
+    }
+
+    protected void preParseFieldExtensions(String elementId, List<FieldExtension> fieldExtensions, ExpressionPreParser preParser) {
+        if (fieldExtensions != null) {
+            for (FieldExtension fieldExtension : fieldExtensions) {
+                preParser.preParse(elementId, fieldExtension.getExpression());
+            }
+        }
+    }
+
+    public ExpressionManager getExpressionManager() {
+        return expressionManager;
+    }
+
+    public void setExpressionManager(ExpressionManager expressionManager) {
+        this.expressionManager = expressionManager;
+    }
+}
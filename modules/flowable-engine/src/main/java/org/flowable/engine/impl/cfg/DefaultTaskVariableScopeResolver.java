@@ -13,6 +13,10 @@
 
 package org.flowable.engine.impl.cfg;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.task.service.InternalTaskVariableScopeResolver;
@@ -38,6 +42,24 @@ public class DefaultTaskVariableScopeResolver implements InternalTaskVariableSco
         return null;
     }
     
+    @Override
+    public void prefetchParentVariableScopes(Collection<TaskEntity> tasks) {
+        // The process instances are included, as the variables of a task typically resolve to them
+        Set<String> executionIds = new LinkedHashSet<>();
+        for (TaskEntity task : tasks) {
+            if (task.getExecutionId() != null) {
+                executionIds.add(task.getExecutionId());
+            }
+            if (task.getProcessInstanceId() != null) {
+                executionIds.add(task.getProcessInstanceId());
+            }
+        }
+        
+        if (!executionIds.isEmpty()) {
+            getExecutionEntityManager().findByIds(executionIds);
+        }
+    }
+    
     protected ExecutionEntityManager getExecutionEntityManager() {
         return processEngineConfiguration.getExecutionEntityManager();
     }
@@ -54,6 +54,7 @@ import org.flowable.common.engine.impl.HasVariableServiceConfiguration;
 import org.flowable.common.engine.impl.HasVariableTypes;
 import org.flowable.common.engine.impl.ScriptingEngineAwareEngineConfiguration;
 import org.flowable.common.engine.impl.ServiceConfigurator;
+import org.flowable.common.engine.impl.agenda.AgendaOperationBehaviorTypeResolver;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskInvoker;
@@ -95,8 +96,10 @@ import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
@@ -152,12 +155,14 @@ import org.flowable.engine.impl.RuntimeServiceImpl;
 import org.flowable.engine.impl.SchemaOperationProcessEngineClose;
 import org.flowable.engine.impl.SchemaOperationsProcessEngineBuild;
 import org.flowable.engine.impl.TaskServiceImpl;
+import org.flowable.engine.impl.agenda.ActivityBehaviorTypeResolver;
 import org.flowable.engine.impl.agenda.AgendaSessionFactory;
 import org.flowable.engine.impl.agenda.DefaultFlowableEngineAgendaFactory;
 import org.flowable.engine.impl.app.AppDeployer;
 import org.flowable.engine.impl.app.AppResourceConverterImpl;
 import org.flowable.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.flowable.engine.impl.bpmn.deployer.BpmnDeploymentHelper;
+import org.flowable.engine.impl.bpmn.deployer.BpmnExpressionPreParser;
 import org.flowable.engine.impl.bpmn.deployer.CachingAndArtifactsManager;
 import org.flowable.engine.impl.bpmn.deployer.EventSubscriptionManager;
 import org.flowable.engine.impl.bpmn.deployer.ParsedDeploymentBuilderFactory;
@@ -386,6 +391,7 @@ import org.flowable.entitylink.service.EntityLinkServiceConfiguration;
 import org.flowable.entitylink.service.impl.db.EntityLinkDbSchemaManager;
 import org.flowable.eventregistry.api.EventRegistryEventConsumer;
 import org.flowable.eventregistry.impl.configurator.EventRegistryEngineConfigurator;
+import org.flowable.eventregistry.impl.consumer.BaseEventRegistryEventConsumer;
 import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
 import org.flowable.eventsubscription.service.impl.db.EventSubscriptionDbSchemaManager;
 import org.flowable.form.api.FormFieldHandler;
@@ -411,6 +417,7 @@ import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncRunnableExecution
 import org.flowable.job.service.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
 import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
+import org.flowable.job.service.impl.asyncexecutor.notification.JobNotificationChannel;
 import org.flowable.job.service.impl.db.JobDbSchemaManager;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobZippedHandler;
@@ -418,6 +425,7 @@ import org.flowable.job.service.impl.history.async.AsyncHistoryListener;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.AsyncHistorySessionFactory;
 import org.flowable.job.service.impl.history.async.DefaultAsyncHistoryJobProducer;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodec;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.task.api.TaskQueryInterceptor;
 import org.flowable.task.api.history.HistoricTaskQueryInterceptor;
@@ -542,6 +550,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean isAsyncHistoryJsonGzipCompressionEnabled;
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+    protected AsyncHistoryPayloadCodec asyncHistoryPayloadCodec;
     protected AsyncHistoryListener asyncHistoryListener;
 
     // Change Tenant ID Manager
@@ -594,6 +603,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected DeploymentManager deploymentManager;
 
     protected int processDefinitionCacheLimit = -1; // By default, no limit
+    protected DeploymentCacheWeigher<ProcessDefinitionCacheEntry> processDefinitionCacheWeigher; // Only used with the concurrent deployment cache, by default every definition weighs 1
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
     protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
@@ -682,6 +692,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected BlockingQueue<Runnable> asyncHistoryExecutorThreadPoolQueue;
 
     protected List<String> enabledJobCategories;
+
+    /**
+     * Channel through which the nodes of a cluster notify each other of new async jobs, see {@link JobNotificationChannel}.
+     * By default null, meaning that the async executors only find the jobs of other nodes by polling.
+     */
+    protected JobNotificationChannel jobNotificationChannel;
+
+    /**
+     * The number of shards async jobs are spread over, see {@link JobServiceConfiguration#setJobShardCount(int)}.
+     */
+    protected int jobShardCount = 16;
+
     protected String jobExecutionScope;
     protected String historyJobExecutionScope;
 
@@ -752,6 +774,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+    /**
+     * When true, getting or setting a variable by name only fetches that variable instead of all the variables of the execution or task.
+     * <p>
+     * By default false for backwards compatibility.
+     */
+    protected boolean selectiveVariableFetchingEnabled;
+
     /**
      * This flag determines whether variables of the type 'json' and 'longJson' will be tracked.
      * <p>
@@ -770,6 +799,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean parallelMultiInstanceAsyncLeave = true;
 
+    /**
+     * Whether joining parallel gateways keep track of the arrived executions with a counter per gateway and parent scope execution,
+     * instead of fetching all inactive executions of the gateway on every arrival.
+     * Executions that are moved into or out of a waiting parallel gateway (e.g. through a change of the activity state) are not reflected in the counter.
+     * When this is enabled while process instances are waiting in a join, the counter of such a join is initialized with the executions that are
+     * already waiting. Disabling it again leaves the counters of waiting joins behind, so it should not be switched off and on again while
+     * process instances are waiting in a join.
+     */
+    protected boolean parallelGatewayJoinCounterEnabled;
+
     protected ExpressionManager expressionManager;
     protected Collection<ELResolver> preDefaultELResolvers;
     protected Collection<ELResolver> preBeanELResolvers;
@@ -785,6 +824,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    // When enabled, the expressions of process definitions are parsed when they are deployed or put in the cache
+    // and deployments with malformed expressions are rejected
+    protected boolean isExpressionPreParsingEnabled;
 
     protected BusinessCalendarManager businessCalendarManager;
 
@@ -825,6 +867,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean eventRegistryUniqueProcessInstanceCheckWithLock = true;
 
+    /**
+     * Whether the event registry consumer should use a node local index of the event subscriptions,
+     * to skip the event subscription query for events that can't have a matching subscription.
+     * Only for single node deployments: the {@link org.flowable.eventregistry.impl.consumer.EventSubscriptionIndex EventSubscriptionIndex}
+     * doesn't see the subscriptions created on other nodes, so events for them would be dropped in a cluster.
+     */
+    protected boolean eventRegistrySingleNodeEventSubscriptionIndexEnabled = false;
+
     /**
      * The amount of time for the lock of a unique start event.
      */
@@ -1062,6 +1112,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     @Override
     public void initCommandInvoker() {
         if (commandInvoker == null) {
+            initAgendaOperationMetrics();
             if (enableVerboseExecutionTreeLogging) {
                 this.commandInvoker = new LoggingExecutionTreeCommandInvoker(agendaOperationRunner);
 
@@ -1071,6 +1122,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    @Override
+    protected AgendaOperationBehaviorTypeResolver createAgendaOperationBehaviorTypeResolver() {
+        return new ActivityBehaviorTypeResolver();
+    }
+
     @Override
     public String getEngineCfgKey() {
         return EngineConfigurationConstants.KEY_PROCESS_ENGINE_CONFIG;
@@ -1318,6 +1374,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     public void initDependentScopeTypes() {
         this.dependentScopeTypes.add(ScopeTypes.BPMN_VARIABLE_AGGREGATION);
         this.dependentScopeTypes.add(ScopeTypes.BPMN_EXTERNAL_WORKER);
+        this.dependentScopeTypes.add(ScopeTypes.BPMN_PARALLEL_GATEWAY_JOIN);
     }
 
     // History manager ///////////////////////////////////////////////////////////
@@ -1483,6 +1540,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
         this.variableServiceConfiguration.setMaxLengthString(this.getMaxLengthString());
         this.variableServiceConfiguration.setSerializableVariableTypeTrackDeserializedObjects(this.isSerializableVariableTypeTrackDeserializedObjects());
+        this.variableServiceConfiguration.setSelectiveVariableFetchingEnabled(this.isSelectiveVariableFetchingEnabled());
         this.variableServiceConfiguration.setLoggingSessionEnabled(isLoggingSessionEnabled());
     }
 
@@ -1661,6 +1719,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             jobServiceConfiguration.setAsyncHistoryJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             jobServiceConfiguration.setAsyncHistoryJsonGroupingThreshold(asyncHistoryJsonGroupingThreshold);
+            jobServiceConfiguration.setAsyncHistoryPayloadCodec(asyncHistoryPayloadCodec);
 
             // set the job processors
             this.jobServiceConfiguration.setJobProcessors(this.jobProcessors);
@@ -1673,6 +1732,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 this.jobServiceConfiguration.setEnabledJobCategories(enabledJobCategories);
             }
 
+            this.jobServiceConfiguration.setJobNotificationChannel(jobNotificationChannel);
+            this.jobServiceConfiguration.setJobShardCount(jobShardCount);
+
             this.jobServiceConfiguration.setConfigurators(jobServiceConfigurators);
         }
     }
@@ -1756,6 +1818,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         } else {
             bpmnEventRegistryEventConsumer = new BpmnEventRegistryEventConsumer(this);
         }
+
+        if (eventRegistrySingleNodeEventSubscriptionIndexEnabled && bpmnEventRegistryEventConsumer instanceof BaseEventRegistryEventConsumer) {
+            ((BaseEventRegistryEventConsumer) bpmnEventRegistryEventConsumer).enableEventSubscriptionIndex();
+        }
         
         addEventRegistryEventConsumer(bpmnEventRegistryEventConsumer.getConsumerKey(), bpmnEventRegistryEventConsumer);
     }
@@ -1778,7 +1844,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initProcessDefinitionCache() {
         if (processDefinitionCache == null) {
-            if (processDefinitionCacheLimit <= 0) {
+            if (concurrentDeploymentCacheEnabled) {
+                processDefinitionCache = new ConcurrentDeploymentCache<>(processDefinitionCacheLimit, processDefinitionCacheWeigher);
+            } else if (processDefinitionCacheLimit <= 0) {
                 processDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 processDefinitionCache = new DefaultDeploymentCache<>(processDefinitionCacheLimit);
@@ -1897,6 +1965,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         bpmnDeployer.setCachingAndArtifactsManager(cachingAndArtifactsManager);
         bpmnDeployer.setProcessDefinitionDiagramHelper(processDefinitionDiagramHelper);
         bpmnDeployer.setUsePrefixId(usePrefixId);
+        if (isExpressionPreParsingEnabled && bpmnDeployer.getExpressionPreParser() == null) {
+            bpmnDeployer.setExpressionPreParser(new BpmnExpressionPreParser(expressionManager));
+        }
 
         defaultDeployers.add(bpmnDeployer);
 
@@ -2350,6 +2421,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
             }
         }
+
+        initTimeOrderedIdGenerator();
     }
 
     // OTHER
@@ -3290,6 +3363,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
     }
 
+    public boolean isSelectiveVariableFetchingEnabled() {
+        return selectiveVariableFetchingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setSelectiveVariableFetchingEnabled(boolean selectiveVariableFetchingEnabled) {
+        this.selectiveVariableFetchingEnabled = selectiveVariableFetchingEnabled;
+        return this;
+    }
+
     public boolean isJsonVariableTypeTrackObjects() {
         return jsonVariableTypeTrackObjects;
     }
@@ -3308,6 +3390,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isParallelGatewayJoinCounterEnabled() {
+        return parallelGatewayJoinCounterEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setParallelGatewayJoinCounterEnabled(boolean parallelGatewayJoinCounterEnabled) {
+        this.parallelGatewayJoinCounterEnabled = parallelGatewayJoinCounterEnabled;
+        return this;
+    }
+
     public Collection<ELResolver> getPreDefaultELResolvers() {
         return preDefaultELResolvers;
     }
@@ -3400,6 +3491,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isExpressionPreParsingEnabled() {
+        return isExpressionPreParsingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setExpressionPreParsingEnabled(boolean isExpressionPreParsingEnabled) {
+        this.isExpressionPreParsingEnabled = isExpressionPreParsingEnabled;
+        return this;
+    }
+
     public BusinessCalendarManager getBusinessCalendarManager() {
         return businessCalendarManager;
     }
@@ -3856,6 +3956,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public DeploymentCacheWeigher<ProcessDefinitionCacheEntry> getProcessDefinitionCacheWeigher() {
+        return processDefinitionCacheWeigher;
+    }
+
+    /**
+     * Sets the weigher used by the concurrent deployment cache, for example a {@link org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher}
+     * to have the {@link #processDefinitionCacheLimit} applied to the size of the BPMN models instead of the number of definitions.
+     */
+    public ProcessEngineConfigurationImpl setProcessDefinitionCacheWeigher(DeploymentCacheWeigher<ProcessDefinitionCacheEntry> processDefinitionCacheWeigher) {
+        this.processDefinitionCacheWeigher = processDefinitionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
         return processDefinitionCache;
     }
@@ -4015,6 +4128,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEventRegistrySingleNodeEventSubscriptionIndexEnabled() {
+        return eventRegistrySingleNodeEventSubscriptionIndexEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setEventRegistrySingleNodeEventSubscriptionIndexEnabled(boolean eventRegistrySingleNodeEventSubscriptionIndexEnabled) {
+        this.eventRegistrySingleNodeEventSubscriptionIndexEnabled = eventRegistrySingleNodeEventSubscriptionIndexEnabled;
+        return this;
+    }
+
     public Duration getEventRegistryUniqueProcessInstanceStartLockTime() {
         return eventRegistryUniqueProcessInstanceStartLockTime;
     }
@@ -4466,6 +4588,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
 
+    public AsyncHistoryPayloadCodec getAsyncHistoryPayloadCodec() {
+        return asyncHistoryPayloadCodec;
+    }
+
+    public void setAsyncHistoryPayloadCodec(AsyncHistoryPayloadCodec asyncHistoryPayloadCodec) {
+        this.asyncHistoryPayloadCodec = asyncHistoryPayloadCodec;
+    }
+
     public AsyncHistoryListener getAsyncHistoryListener() {
         if (asyncHistoryListener == null) {
             asyncHistoryListener = new DefaultAsyncHistoryJobProducer();
@@ -4935,6 +5065,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorUseVirtualThreads() {
+        return getOrCreateAsyncExecutorTaskExecutorConfiguration().isUseVirtualThreads();
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorUseVirtualThreads(boolean asyncExecutorUseVirtualThreads) {
+        getOrCreateAsyncExecutorTaskExecutorConfiguration().setUseVirtualThreads(asyncExecutorUseVirtualThreads);
+        return this;
+    }
+
+    public int getAsyncExecutorVirtualThreadConcurrencyLimit() {
+        return getOrCreateAsyncExecutorTaskExecutorConfiguration().getVirtualThreadConcurrencyLimit();
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreadConcurrencyLimit(int asyncExecutorVirtualThreadConcurrencyLimit) {
+        getOrCreateAsyncExecutorTaskExecutorConfiguration().setVirtualThreadConcurrencyLimit(asyncExecutorVirtualThreadConcurrencyLimit);
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
         return asyncExecutorThreadPoolQueue;
     }
@@ -5230,6 +5378,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public JobNotificationChannel getJobNotificationChannel() {
+        return jobNotificationChannel;
+    }
+
+    public ProcessEngineConfigurationImpl setJobNotificationChannel(JobNotificationChannel jobNotificationChannel) {
+        this.jobNotificationChannel = jobNotificationChannel;
+        return this;
+    }
+
+    public int getJobShardCount() {
+        return jobShardCount;
+    }
+
+    public ProcessEngineConfigurationImpl setJobShardCount(int jobShardCount) {
+        this.jobShardCount = jobShardCount;
+        return this;
+    }
+
     public String getJobExecutionScope() {
         return jobExecutionScope;
     }
@@ -42,6 +42,7 @@ import org.flowable.task.api.history.HistoricTaskLogEntryBuilder;
 import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AsyncHistoryManager extends AbstractAsyncHistoryManager {
@@ -368,7 +369,9 @@ public class AsyncHistoryManager extends AbstractAsyncHistoryManager {
             
             putIfNotNull(data, HistoryJsonConstants.LAST_UPDATED_TIME, updateTime);
             
-            getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), HistoryJsonConstants.TYPE_VARIABLE_UPDATED, data);
+            if (!coalesceVariableUpdate(variable.getId(), data)) {
+                getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), HistoryJsonConstants.TYPE_VARIABLE_UPDATED, data);
+            }
         }
     }
 
@@ -379,7 +382,9 @@ public class AsyncHistoryManager extends AbstractAsyncHistoryManager {
             putIfNotNull(data, HistoryJsonConstants.ID, variable.getId());
             putIfNotNull(data, HistoryJsonConstants.REVISION, variable.getRevision());
             
-            getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), HistoryJsonConstants.TYPE_VARIABLE_REMOVED, data);
+            if (!coalesceVariableRemoved(variable.getId())) {
+                getAsyncHistorySession().addHistoricData(getJobServiceConfiguration(), HistoryJsonConstants.TYPE_VARIABLE_REMOVED, data);
+            }
         }
     }
 
@@ -582,6 +587,55 @@ public class AsyncHistoryManager extends AbstractAsyncHistoryManager {
         return null;
     }
 
+    /**
+     * Merges a variable update into the variable created or updated data of the same variable
+     * that was recorded earlier in the same transaction.
+     * 
+     * @return true if the update was merged and doesn't need to be added to the async history session
+     */
+    protected boolean coalesceVariableUpdate(String variableId, ObjectNode data) {
+        AsyncHistorySessionData asyncHistorySessionData = getAsyncHistorySession().getAsyncHistorySessionData(getJobServiceConfiguration());
+        if (asyncHistorySessionData == null) {
+            return false;
+        }
+
+        ObjectNode variableCreatedData = asyncHistorySessionData.findJobData(HistoryJsonConstants.TYPE_VARIABLE_CREATED, HistoryJsonConstants.ID, variableId);
+        if (variableCreatedData != null) {
+            // The created data gets the latest state, but keeps its create time.
+            // The last updated time is then used for the historic variable instead of the create time.
+            JsonNode createTime = variableCreatedData.get(HistoryJsonConstants.CREATE_TIME);
+            JsonNode timeStamp = variableCreatedData.get(AsyncHistorySession.TIMESTAMP);
+            variableCreatedData.removeAll();
+            variableCreatedData.setAll(data);
+            if (createTime != null) {
+                variableCreatedData.set(HistoryJsonConstants.CREATE_TIME, createTime);
+            }
+            if (timeStamp != null) {
+                variableCreatedData.set(AsyncHistorySession.TIMESTAMP, timeStamp);
+            }
+            return true;
+        }
+
+        // An earlier update is superseded by this one
+        asyncHistorySessionData.removeJobData(HistoryJsonConstants.TYPE_VARIABLE_UPDATED, HistoryJsonConstants.ID, variableId);
+        return false;
+    }
+
+    /**
+     * Removes the variable created and updated data of the variable that was recorded earlier in the same transaction.
+     * 
+     * @return true if the variable was created in the same transaction, in which case there is no historic variable to remove
+     */
+    protected boolean coalesceVariableRemoved(String variableId) {
+        AsyncHistorySessionData asyncHistorySessionData = getAsyncHistorySession().getAsyncHistorySessionData(getJobServiceConfiguration());
+        if (asyncHistorySessionData == null) {
+            return false;
+        }
+
+        asyncHistorySessionData.removeJobData(HistoryJsonConstants.TYPE_VARIABLE_UPDATED, HistoryJsonConstants.ID, variableId);
+        return asyncHistorySessionData.removeJobData(HistoryJsonConstants.TYPE_VARIABLE_CREATED, HistoryJsonConstants.ID, variableId) != null;
+    }
+
     protected JobServiceConfiguration getJobServiceConfiguration() {
         return getProcessEngineConfiguration().getJobServiceConfiguration();
     }
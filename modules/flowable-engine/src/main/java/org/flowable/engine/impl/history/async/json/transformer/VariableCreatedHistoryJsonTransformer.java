@@ -84,7 +84,10 @@ public class VariableCreatedHistoryJsonTransformer extends AbstractHistoryJsonTr
         
         Date time = getDateFromJson(historicalData, HistoryJsonConstants.CREATE_TIME);
         historicVariableInstanceEntity.setCreateTime(time);
-        historicVariableInstanceEntity.setLastUpdatedTime(time);
+        
+        // Set when updates of the variable in the same transaction were merged into the created data
+        Date lastUpdatedTime = getDateFromJson(historicalData, HistoryJsonConstants.LAST_UPDATED_TIME);
+        historicVariableInstanceEntity.setLastUpdatedTime(lastUpdatedTime != null ? lastUpdatedTime : time);
 
         historicVariableService.insertHistoricVariableInstance(historicVariableInstanceEntity);
     }
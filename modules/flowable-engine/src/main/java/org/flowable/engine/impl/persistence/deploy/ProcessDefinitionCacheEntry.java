@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
+import org.flowable.engine.impl.util.FlowNodeReachabilityIndex;
 import org.flowable.engine.repository.ProcessDefinition;
 
 /**
@@ -29,6 +30,11 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected BpmnModel bpmnModel;
     protected Process process;
 
+    /**
+     * Built on first use, see {@link org.flowable.engine.impl.util.ExecutionGraphUtil#isReachable(String, String, String)}.
+     */
+    protected volatile FlowNodeReachabilityIndex flowNodeReachabilityIndex;
+
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
         this.bpmnModel = bpmnModel;
@@ -57,6 +63,21 @@ public class ProcessDefinitionCacheEntry implements Serializable {
 
     public void setProcess(Process process) {
         this.process = process;
+        this.flowNodeReachabilityIndex = null;
+    }
+
+    public FlowNodeReachabilityIndex getFlowNodeReachabilityIndex() {
+        FlowNodeReachabilityIndex index = flowNodeReachabilityIndex;
+        if (index == null) {
+            // Building the index twice concurrently is harmless, both results are the same
+            index = FlowNodeReachabilityIndex.build(process);
+            flowNodeReachabilityIndex = index;
+        }
+        return index;
+    }
+
+    public void setFlowNodeReachabilityIndex(FlowNodeReachabilityIndex flowNodeReachabilityIndex) {
+        this.flowNodeReachabilityIndex = flowNodeReachabilityIndex;
     }
 
 }
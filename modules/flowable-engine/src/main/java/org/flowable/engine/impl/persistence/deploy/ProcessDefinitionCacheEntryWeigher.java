@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import org.flowable.bpmn.model.Process;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+
+/**
+ * Weighs a {@link ProcessDefinitionCacheEntry} by the number of flow elements (including the ones in subprocesses) of its process,
+ * which is a good approximation of the memory the parsed BPMN model takes.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+    @Override
+    public int weigh(String id, ProcessDefinitionCacheEntry cacheEntry) {
+        Process process = cacheEntry.getProcess();
+        if (process == null) {
+            return 1;
+        }
+        return Math.max(1, process.getFlowElementMap().size());
+    }
+
+}
@@ -29,18 +29,29 @@ import org.flowable.bpmn.model.SequenceFlow;
 import org.flowable.bpmn.model.StartEvent;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.context.Context;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 
 public class ExecutionGraphUtil {
 
     /**
      * Verifies if the element with the given source identifier can reach the element with the target identifier through following sequence flow.
+     * Uses the {@link FlowNodeReachabilityIndex} of the process definition when possible.
      */
     public static boolean isReachable(String processDefinitionId, String sourceElementId, String targetElementId) {
 
         // Fetch source and target elements
-        Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
+        Process process;
+        FlowNodeReachabilityIndex reachabilityIndex = null;
+        if (Context.getCommandContext() != null && CommandContextUtil.getProcessEngineConfiguration() != null) {
+            ProcessDefinitionCacheEntry cacheEntry = ProcessDefinitionUtil.getProcessDefinitionCacheEntry(processDefinitionId);
+            process = cacheEntry.getProcess();
+            reachabilityIndex = cacheEntry.getFlowNodeReachabilityIndex();
+        } else {
+            process = ProcessDefinitionUtil.getProcess(processDefinitionId);
+        }
 
         FlowElement sourceFlowElement = process.getFlowElement(sourceElementId, true);
         FlowNode sourceElement = null;
@@ -65,6 +76,13 @@ public class ExecutionGraphUtil {
             throw new FlowableException("Invalid targetElementId '" + targetElementId + "': no element found for this id n process definition '" + processDefinitionId + "'");
         }
 
+        if (reachabilityIndex != null) {
+            Boolean reachable = reachabilityIndex.isReachable(sourceElement.getId(), targetElement.getId());
+            if (reachable != null) {
+                return reachable;
+            }
+        }
+
         Set<String> visitedElements = new HashSet<>();
         return isReachable(process, sourceElement, targetElement, visitedElements);
     }
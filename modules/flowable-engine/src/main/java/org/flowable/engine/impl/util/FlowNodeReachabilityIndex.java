@@ -0,0 +1,184 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.util;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.bpmn.model.FlowElementsContainer;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.bpmn.model.SubProcess;
+
+/**
+ * The precomputed result of {@link ExecutionGraphUtil#isReachable(Process, FlowNode, FlowNode, java.util.Set)} for all flow nodes of a process:
+ * for every flow node a bitset of the flow nodes that can be reached from it.
+ * <p>
+ * It follows the same rules as the graph traversal: sequence flows are followed, a flow node without outgoing sequence flows
+ * continues with its parent sub process (one level up) and start events of event sub processes do not reach anything.
+ * <p>
+ * The index needs (number of flow nodes)^2 bits, so it is only built for processes with at most {@link #DEFAULT_MAX_FLOW_NODES} flow nodes.
+ * For bigger processes {@link #isAvailable()} returns false and the graph needs to be traversed.
+ */
+public class FlowNodeReachabilityIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MAX_FLOW_NODES = 5000;
+
+    protected final Map<String, Integer> flowNodeIndexes;
+    protected final BitSet[] reachableFlowNodes;
+
+    protected FlowNodeReachabilityIndex(Map<String, Integer> flowNodeIndexes, BitSet[] reachableFlowNodes) {
+        this.flowNodeIndexes = flowNodeIndexes;
+        this.reachableFlowNodes = reachableFlowNodes;
+    }
+
+    public static FlowNodeReachabilityIndex build(Process process) {
+        return build(process, DEFAULT_MAX_FLOW_NODES);
+    }
+
+    public static FlowNodeReachabilityIndex build(Process process, int maxFlowNodes) {
+        List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+        int nrOfFlowNodes = flowNodes.size();
+        if (nrOfFlowNodes > maxFlowNodes) {
+            return new FlowNodeReachabilityIndex(null, null);
+        }
+
+        Map<String, Integer> flowNodeIndexes = new HashMap<>(nrOfFlowNodes * 2);
+        for (int i = 0; i < nrOfFlowNodes; i++) {
+            flowNodeIndexes.put(flowNodes.get(i).getId(), i);
+        }
+
+        // The flow nodes that are the target of the outgoing sequence flows of every flow node
+        int[][] successors = new int[nrOfFlowNodes][];
+
+        // The sub process a flow node without outgoing sequence flows continues with, or -1
+        int[] parentSubProcesses = new int[nrOfFlowNodes];
+
+        boolean[] withoutOutgoingFlows = new boolean[nrOfFlowNodes];
+        boolean[] ignored = new boolean[nrOfFlowNodes];
+
+        for (int i = 0; i < nrOfFlowNodes; i++) {
+            FlowNode flowNode = flowNodes.get(i);
+            ignored[i] = flowNode instanceof StartEvent && ExecutionGraphUtil.isInEventSubprocess(flowNode);
+
+            List<SequenceFlow> outgoingFlows = flowNode.getOutgoingFlows();
+            successors[i] = new int[outgoingFlows.size()];
+            int nrOfSuccessors = 0;
+            for (SequenceFlow outgoingFlow : outgoingFlows) {
+                Integer targetIndex = flowNodeIndexes.get(outgoingFlow.getTargetRef());
+                if (targetIndex != null) {
+                    successors[i][nrOfSuccessors++] = targetIndex;
+                }
+            }
+            if (nrOfSuccessors < successors[i].length) {
+                int[] knownSuccessors = new int[nrOfSuccessors];
+                System.arraycopy(successors[i], 0, knownSuccessors, 0, nrOfSuccessors);
+                successors[i] = knownSuccessors;
+            }
+
+            withoutOutgoingFlows[i] = outgoingFlows.isEmpty();
+            parentSubProcesses[i] = -1;
+            if (withoutOutgoingFlows[i]) {
+                FlowElementsContainer parent = process.findParent(flowNode);
+                if (parent instanceof SubProcess) {
+                    parentSubProcesses[i] = flowNodeIndexes.getOrDefault(((SubProcess) parent).getId(), -1);
+                }
+            }
+        }
+
+        BitSet[] reachableFlowNodes = new BitSet[nrOfFlowNodes];
+        for (int i = 0; i < nrOfFlowNodes; i++) {
+            reachableFlowNodes[i] = computeReachableFlowNodes(i, nrOfFlowNodes, successors, withoutOutgoingFlows, parentSubProcesses, ignored);
+        }
+
+        return new FlowNodeReachabilityIndex(flowNodeIndexes, reachableFlowNodes);
+    }
+
+    /**
+     * A flow node can be entered through a sequence flow, or as the parent sub process of a flow node without outgoing sequence flows.
+     * In the latter case it does not continue with its own parent sub process when it has no outgoing sequence flows either.
+     * Both ways of entering are tracked separately: the first with the index of the flow node, the second with the index + nrOfFlowNodes.
+     */
+    protected static BitSet computeReachableFlowNodes(int source, int nrOfFlowNodes, int[][] successors, boolean[] withoutOutgoingFlows,
+            int[] parentSubProcesses, boolean[] ignored) {
+        BitSet reachable = new BitSet(nrOfFlowNodes);
+        BitSet visited = new BitSet(2 * nrOfFlowNodes);
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        toVisit.push(source);
+
+        while (!toVisit.isEmpty()) {
+            int state = toVisit.pop();
+            if (visited.get(state)) {
+                continue;
+            }
+            visited.set(state);
+
+            int flowNode;
+            if (state >= nrOfFlowNodes) {
+                flowNode = state - nrOfFlowNodes;
+
+            } else if (ignored[state]) {
+                continue;
+
+            } else if (withoutOutgoingFlows[state]) {
+                if (parentSubProcesses[state] >= 0) {
+                    toVisit.push(parentSubProcesses[state] + nrOfFlowNodes);
+                }
+                continue;
+
+            } else {
+                flowNode = state;
+            }
+
+            reachable.set(flowNode);
+            for (int successor : successors[flowNode]) {
+                toVisit.push(successor);
+            }
+        }
+
+        return reachable;
+    }
+
+    /**
+     * @return false when the process has too many flow nodes to be indexed
+     */
+    public boolean isAvailable() {
+        return reachableFlowNodes != null;
+    }
+
+    /**
+     * @return whether the target flow node can be reached from the source flow node, or null when one of both flow nodes is not indexed.
+     */
+    public Boolean isReachable(String sourceFlowNodeId, String targetFlowNodeId) {
+        if (reachableFlowNodes == null) {
+            return null;
+        }
+
+        Integer sourceIndex = flowNodeIndexes.get(sourceFlowNodeId);
+        Integer targetIndex = flowNodeIndexes.get(targetFlowNodeId);
+        if (sourceIndex == null || targetIndex == null) {
+            return null;
+        }
+        return reachableFlowNodes[sourceIndex].get(targetIndex);
+    }
+
+}
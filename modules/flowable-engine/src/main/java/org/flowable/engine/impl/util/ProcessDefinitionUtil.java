@@ -94,6 +94,15 @@ public class ProcessDefinitionUtil {
         }
     }
 
+    /**
+     * @return the cache entry of the process definition, deploying the process definition into the cache when needed.
+     */
+    public static ProcessDefinitionCacheEntry getProcessDefinitionCacheEntry(String processDefinitionId) {
+        DeploymentManager deploymentManager = CommandContextUtil.getProcessEngineConfiguration().getDeploymentManager();
+        ProcessDefinition processDefinitionEntity = deploymentManager.findDeployedProcessDefinitionById(processDefinitionId);
+        return deploymentManager.resolveProcessDefinition(processDefinitionEntity);
+    }
+
     public static BpmnModel getBpmnModel(String processDefinitionId) {
         if (CommandContextUtil.getProcessEngineConfiguration() == null) {
             return Flowable5Util.getFlowable5CompatibilityHandler().getProcessDefinitionBpmnModel(processDefinitionId);
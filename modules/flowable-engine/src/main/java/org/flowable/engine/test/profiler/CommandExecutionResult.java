@@ -28,6 +28,7 @@ public class CommandExecutionResult {
     protected Map<String, Long> dbInserts = new HashMap<>();
     protected Map<String, Long> dbUpdates = new HashMap<>();
     protected Map<String, Long> dbDeletes = new HashMap<>();
+    protected Map<String, Long> dbBatches = new HashMap<>();
 
     public String getCommandFqn() {
         return commandFqn;
@@ -120,4 +121,20 @@ public class CommandExecutionResult {
     public void setDbDeletes(Map<String, Long> dbDeletes) {
         this.dbDeletes = dbDeletes;
     }
+
+    public Map<String, Long> getDbBatches() {
+        return dbBatches;
+    }
+
+    public void addDbBatch(String batch) {
+        if (!dbBatches.containsKey(batch)) {
+            dbBatches.put(batch, 0L);
+        }
+        Long oldValue = dbBatches.get(batch);
+        dbBatches.put(batch, oldValue + 1);
+    }
+
+    public void setDbBatches(Map<String, Long> dbBatches) {
+        this.dbBatches = dbBatches;
+    }
 }
@@ -31,6 +31,7 @@ public class CommandStats {
     protected Map<String, Long> dbInserts = new HashMap<>();
     protected Map<String, Long> dbUpdates = new HashMap<>();
     protected Map<String, Long> dbDeletes = new HashMap<>();
+    protected Map<String, Long> dbBatches = new HashMap<>();
 
     public CommandStats(List<CommandExecutionResult> executions) {
         for (CommandExecutionResult execution : executions) {
@@ -43,6 +44,7 @@ public class CommandStats {
             addToDbOperation(execution.getDbInserts(), dbInserts);
             addToDbOperation(execution.getDbUpdates(), dbUpdates);
             addToDbOperation(execution.getDbDeletes(), dbDeletes);
+            addToDbOperation(execution.getDbBatches(), dbBatches);
         }
     }
 
@@ -121,4 +123,12 @@ public class CommandStats {
         this.dbDeletes = dbDeletes;
     }
 
+    public Map<String, Long> getDbBatches() {
+        return dbBatches;
+    }
+
+    public void setDbBatches(Map<String, Long> dbBatches) {
+        this.dbBatches = dbBatches;
+    }
+
 }
@@ -78,6 +78,14 @@ public class ConsoleLogger {
                     System.out.println(delete + " : " + stats.getDbDeletes().get(delete));
                 }
 
+                if (!stats.getDbBatches().isEmpty()) {
+                    System.out.println();
+                    System.out.println("Database batches:");
+                    for (String batch : stats.getDbBatches().keySet()) {
+                        System.out.println(batch + " : " + stats.getDbBatches().get(batch));
+                    }
+                }
+
                 System.out.println();
                 System.out.println();
             }
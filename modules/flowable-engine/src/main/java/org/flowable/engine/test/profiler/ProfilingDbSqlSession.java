@@ -16,6 +16,8 @@ import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.SqlSession;
 import org.flowable.common.engine.impl.db.BulkDeleteOperation;
 import org.flowable.common.engine.impl.db.DbSqlSession;
 import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
@@ -120,7 +122,7 @@ public class ProfilingDbSqlSession extends DbSqlSession {
 
     @Override
     protected void flushUpdates() {
-        if (getCurrentCommandExecution() != null) {
+        if (getCurrentCommandExecution() != null && !isBatched(updatedObjects)) {
             for (Entity persistentObject : updatedObjects) {
                 getCurrentCommandExecution().addDbUpdate(persistentObject.getClass().getName());
             }
@@ -134,7 +136,7 @@ public class ProfilingDbSqlSession extends DbSqlSession {
     @Override
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
         super.flushDeleteEntities(entityClass, entitiesToDelete);
-        if (getCurrentCommandExecution() != null) {
+        if (getCurrentCommandExecution() != null && !isBatched(entitiesToDelete)) {
             for (Entity entity : entitiesToDelete) {
                 getCurrentCommandExecution().addDbDelete(entity.getClass().getName());
             }
@@ -152,6 +154,23 @@ public class ProfilingDbSqlSession extends DbSqlSession {
         super.flushBulkDeletes(entityClass, deleteOperations);
     }
 
+    // BATCHES
+
+    @Override
+    protected List<BatchResult> flushBatch(SqlSession batchSession, boolean checkRevision) {
+        List<BatchResult> batchResults = super.flushBatch(batchSession, checkRevision);
+        if (getCurrentCommandExecution() != null) {
+            for (BatchResult batchResult : batchResults) {
+                getCurrentCommandExecution().addDbBatch(batchResult.getMappedStatement().getId() + "-batch-with-" + batchResult.getParameterObjects().size());
+            }
+        }
+        return batchResults;
+    }
+
+    protected boolean isBatched(Collection<Entity> entities) {
+        return dbSqlSessionFactory.isBatchedFlushEnabled() && entities.size() > 1;
+    }
+
     public CommandExecutionResult getCurrentCommandExecution() {
         if (commandExecutionResult == null) {
             ProfileSession profileSession = FlowableProfiler.getInstance().getCurrentProfileSession();
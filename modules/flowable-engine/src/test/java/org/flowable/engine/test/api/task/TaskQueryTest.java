@@ -32,6 +32,8 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.runtime.ProcessInstance;
@@ -4698,6 +4700,31 @@ public class TaskQueryTest extends PluggableFlowableTestCase {
                 );
     }
 
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
+    public void testQueryPrefetchParentScopes() {
+        List<String> processInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+
+        managementService.executeCommand(commandContext -> {
+            EntityCache entityCache = commandContext.getSession(EntityCache.class);
+
+            List<Task> tasks = taskService.createTaskQuery().processDefinitionKey("oneTaskProcess").list();
+            assertThat(tasks).hasSize(5);
+            assertThat(entityCache.findInCacheByIds(ExecutionEntityImpl.class, processInstanceIds)).isEmpty();
+
+            tasks = taskService.createTaskQuery().processDefinitionKey("oneTaskProcess").prefetchParentScopes().list();
+            assertThat(tasks).hasSize(5);
+            assertThat(entityCache.findInCacheByIds(ExecutionEntityImpl.class, processInstanceIds)).containsOnlyKeys(processInstanceIds);
+            for (Task task : tasks) {
+                assertThat(entityCache.findInCache(ExecutionEntityImpl.class, task.getExecutionId())).isNotNull();
+            }
+            return null;
+        });
+    }
+
     @Test
     @Deployment(resources = { "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml" })
     public void testQueryProcessVariableValueEqualsAndNotEquals() {
@@ -31,6 +31,7 @@ import org.assertj.core.groups.Tuple;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -41,6 +42,7 @@ import org.flowable.variable.api.history.HistoricVariableInstance;
 import org.flowable.variable.api.persistence.entity.VariableInstance;
 import org.flowable.variable.api.types.ValueFields;
 import org.flowable.variable.service.VariableServiceConfiguration;
+import org.flowable.variable.service.impl.VariableFetchStatistics;
 import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.joda.time.DateTime;
@@ -430,6 +432,29 @@ public class VariablesTest extends PluggableFlowableTestCase {
         assertThat(varValue).isEqualTo("HELLO world!");
     }
 
+    @Test
+    public void testSelectiveVariableFetching() {
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntityImpl processInstance = (ExecutionEntityImpl) CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstanceId);
+            processInstance.setSelectiveVariableFetching(true);
+
+            VariableFetchStatistics statistics = processEngineConfiguration.getVariableServiceConfiguration().getVariableFetchStatistics();
+            long fullFetchCount = statistics.getFullFetchCount();
+            long selectivelyFetchedVariableCount = statistics.getSelectivelyFetchedVariableCount();
+
+            assertThat(processInstance.getVariable("stringVar1")).isEqualTo("stringVarValue-1");
+            assertThat(processInstance.hasVariable("intVar2")).isTrue();
+            assertThat(processInstance.getVariable("intVar2")).isEqualTo(200);
+            assertThat(processInstance.getVariable("unknownVar")).isNull();
+            assertThat(statistics.getFullFetchCount()).isEqualTo(fullFetchCount);
+            assertThat(statistics.getSelectivelyFetchedVariableCount() - selectivelyFetchedVariableCount).isEqualTo(2);
+
+            assertThat(processInstance.getVariables()).hasSize(generateVariables().size());
+            assertThat(statistics.getFullFetchCount()).isEqualTo(fullFetchCount + 1);
+            return null;
+        });
+    }
+
     @Test
     @org.flowable.engine.test.Deployment
     public void testGetVariableInDelegateMixed() {
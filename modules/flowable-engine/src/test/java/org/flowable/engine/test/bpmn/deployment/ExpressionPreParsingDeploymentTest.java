@@ -0,0 +1,77 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionPreParsingDeploymentTest extends CustomConfigurationFlowableTestCase {
+
+    protected static final String PROCESS_TEMPLATE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:flowable=\"http://flowable.org/bpmn\""
+            + " targetNamespace=\"Examples\">"
+            + "  <process id=\"preParsing\">"
+            + "    <startEvent id=\"start\" />"
+            + "    <sequenceFlow id=\"flow1\" sourceRef=\"start\" targetRef=\"task\">"
+            + "      <conditionExpression>%s</conditionExpression>"
+            + "    </sequenceFlow>"
+            + "    <userTask id=\"task\" flowable:assignee=\"${initiator}\" />"
+            + "    <sequenceFlow id=\"flow2\" sourceRef=\"task\" targetRef=\"end\" />"
+            + "    <endEvent id=\"end\" />"
+            + "  </process>"
+            + "</definitions>";
+
+    public ExpressionPreParsingDeploymentTest() {
+        super(ExpressionPreParsingDeploymentTest.class.getName());
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setExpressionPreParsingEnabled(true);
+    }
+
+    @Test
+    public void testExpressionsParsedOnDeployment() {
+        Deployment deployment = repositoryService.createDeployment()
+                .addString("preParsing.bpmn20.xml", String.format(PROCESS_TEMPLATE, "${preParsingCondition &gt; 5}"))
+                .deploy();
+
+        try {
+            DeploymentCache<Expression> expressionCache = ((DefaultExpressionManager) processEngineConfiguration.getExpressionManager()).getExpressionCache();
+            assertThat(expressionCache.contains("${preParsingCondition > 5}")).isTrue();
+            assertThat(expressionCache.contains("${initiator}")).isTrue();
+        } finally {
+            repositoryService.deleteDeployment(deployment.getId(), true);
+        }
+    }
+
+    @Test
+    public void testMalformedExpressionRejectedOnDeployment() {
+        assertThatThrownBy(() -> repositoryService.createDeployment()
+                .addString("preParsing.bpmn20.xml", String.format(PROCESS_TEMPLATE, "${preParsingCondition &gt;}"))
+                .deploy())
+                .isInstanceOf(FlowableException.class)
+                .hasMessageContaining("Invalid expression '${preParsingCondition >}' in element 'flow1' of definition 'preParsing'");
+
+        assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+    }
+}
@@ -18,8 +18,10 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.Command;
@@ -40,11 +44,15 @@ import org.flowable.engine.delegate.JavaDelegate;
 import org.flowable.engine.delegate.MapBasedFlowableFutureJavaDelegate;
 import org.flowable.engine.delegate.ReadOnlyDelegateExecution;
 import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.test.AbstractFlowableTestCase;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.ExecutionGraphUtil;
+import org.flowable.engine.impl.util.FlowNodeReachabilityIndex;
+import org.flowable.engine.impl.util.ProcessDefinitionUtil;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.Execution;
 import org.flowable.engine.runtime.ProcessInstance;
@@ -1369,4 +1377,74 @@ public class InclusiveGatewayTest extends PluggableFlowableTestCase {
         }
     }
 
+    @Test
+    @Deployment(resources = { "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testLoop.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testJoinAfterSubprocesses.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testInclusiveGatewayInEventSubProcess.bpmn20.xml",
+            "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayTest.testParentActivationOnNonJoiningEnd.bpmn20.xml" })
+    public void testReachabilityIndexMatchesGraphTraversal() {
+        List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().list();
+        assertThat(processDefinitions).hasSize(4);
+
+        for (ProcessDefinition processDefinition : processDefinitions) {
+            managementService.executeCommand(commandContext -> {
+                ProcessDefinitionCacheEntry cacheEntry = ProcessDefinitionUtil.getProcessDefinitionCacheEntry(processDefinition.getId());
+                Process process = cacheEntry.getProcess();
+                FlowNodeReachabilityIndex reachabilityIndex = cacheEntry.getFlowNodeReachabilityIndex();
+                assertThat(reachabilityIndex.isAvailable()).isTrue();
+
+                Collection<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+                for (FlowNode source : flowNodes) {
+                    for (FlowNode target : flowNodes) {
+                        assertThat(reachabilityIndex.isReachable(source.getId(), target.getId()))
+                                .as("%s -> %s in %s", source.getId(), target.getId(), processDefinition.getKey())
+                                .isEqualTo(ExecutionGraphUtil.isReachable(process, source, target, new HashSet<>()));
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testJoinAfterWideParallelFork() {
+        int nrOfBranches = 100;
+        StringBuilder processXml = new StringBuilder()
+                .append("<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"Examples\">")
+                .append("<process id=\"wideFork\">")
+                .append("<startEvent id=\"start\" />")
+                .append("<sequenceFlow id=\"flowStart\" sourceRef=\"start\" targetRef=\"fork\" />")
+                .append("<parallelGateway id=\"fork\" />");
+        for (int i = 0; i < nrOfBranches; i++) {
+            processXml.append("<sequenceFlow id=\"flowFork").append(i).append("\" sourceRef=\"fork\" targetRef=\"task").append(i).append("\" />")
+                    .append("<userTask id=\"task").append(i).append("\" />")
+                    .append("<sequenceFlow id=\"flowJoin").append(i).append("\" sourceRef=\"task").append(i).append("\" targetRef=\"join\" />");
+        }
+        processXml.append("<inclusiveGateway id=\"join\" />")
+                .append("<sequenceFlow id=\"flowEnd\" sourceRef=\"join\" targetRef=\"end\" />")
+                .append("<endEvent id=\"end\" />")
+                .append("</process>")
+                .append("</definitions>");
+
+        String deploymentId = repositoryService.createDeployment()
+                .addString("wideFork.bpmn20.xml", processXml.toString())
+                .deploy()
+                .getId();
+        deploymentIdsForAutoCleanup.add(deploymentId);
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("wideFork");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertThat(tasks).hasSize(nrOfBranches);
+
+        for (int i = 0; i < tasks.size(); i++) {
+            taskService.complete(tasks.get(i).getId());
+            if (i < tasks.size() - 1) {
+                assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("join").count())
+                        .isEqualTo(i + 1);
+            }
+        }
+
+        assertProcessEnded(processInstance.getId());
+    }
+
 }
@@ -17,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
 
+import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
@@ -30,6 +31,7 @@ import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.flowable.task.api.Task;
 import org.flowable.task.api.TaskQuery;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -267,4 +269,154 @@ public class ParallelGatewayTest extends PluggableFlowableTestCase {
 
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+    public void testNestedForkJoinWithJoinCounter() {
+        processEngineConfiguration.setParallelGatewayJoinCounterEnabled(true);
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedForkJoin");
+
+            TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+            taskService.complete(query.singleResult().getId());
+            List<Task> tasks = query.list();
+            assertThat(tasks)
+                    .extracting(Task::getName)
+                    .containsExactly("Task A", "Task B");
+
+            taskService.complete(tasks.get(0).getId());
+            assertThat(getJoinCounters(processInstance.getId()))
+                    .extracting(VariableInstanceEntity::getValue)
+                    .containsExactly(1);
+
+            taskService.complete(query.singleResult().getId());
+            tasks = query.list();
+            assertThat(tasks)
+                    .extracting(Task::getName)
+                    .containsExactly("Task B1", "Task B2");
+
+            taskService.complete(tasks.get(0).getId());
+            taskService.complete(tasks.get(1).getId());
+            assertThat(query.list())
+                    .extracting(Task::getName)
+                    .containsExactly("Task C");
+            assertThat(getJoinCounters(processInstance.getId())).isEmpty();
+            assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("Join_AB").count()).isZero();
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayJoinCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment
+    public void testWideForkJoinWithJoinCounter() {
+        processEngineConfiguration.setParallelGatewayJoinCounterEnabled(true);
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("wideForkJoin");
+            List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+            assertThat(tasks).hasSize(20);
+
+            for (int i = 0; i < tasks.size() - 1; i++) {
+                taskService.complete(tasks.get(i).getId());
+                assertThat(getJoinCounters(processInstance.getId()))
+                        .extracting(VariableInstanceEntity::getValue)
+                        .containsExactly(i + 1);
+            }
+
+            taskService.complete(tasks.get(tasks.size() - 1).getId());
+            assertProcessEnded(processInstance.getId());
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayJoinCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testWideForkJoinWithJoinCounter.bpmn20.xml")
+    public void testEnableJoinCounterWhileWaitingInJoin() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("wideForkJoin");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertThat(tasks).hasSize(20);
+
+        // Half of the branches arrive in the join before the counter is enabled
+        for (int i = 0; i < 10; i++) {
+            taskService.complete(tasks.get(i).getId());
+        }
+        assertThat(getJoinCounters(processInstance.getId())).isEmpty();
+
+        processEngineConfiguration.setParallelGatewayJoinCounterEnabled(true);
+        try {
+            taskService.complete(tasks.get(10).getId());
+            assertThat(getJoinCounters(processInstance.getId()))
+                    .extracting(VariableInstanceEntity::getValue)
+                    .containsExactly(11);
+
+            for (int i = 11; i < tasks.size(); i++) {
+                taskService.complete(tasks.get(i).getId());
+            }
+            assertProcessEnded(processInstance.getId());
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayJoinCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testSplitMergeNoWaitstates.bpmn20.xml")
+    public void testSplitMergeNoWaitstatesWithJoinCounter() {
+        processEngineConfiguration.setParallelGatewayJoinCounterEnabled(true);
+        try {
+            // All branches arrive at the join in the same transaction
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("forkJoinNoWaitStates");
+            assertThat(processInstance.isEnded()).isTrue();
+            assertThat(getJoinCounters(processInstance.getId())).isEmpty();
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayJoinCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelSubProcess.bpmn20.xml")
+    public void testParallelMultiInstanceSubProcessWithJoinCounter() {
+        processEngineConfiguration.setParallelGatewayJoinCounterEnabled(true);
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("miParallelSubprocess");
+            List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+            assertThat(tasks)
+                    .extracting(Task::getName)
+                    .containsExactly("task one", "task one", "task two", "task two");
+
+            // Every subprocess instance joins on its own counter
+            taskService.complete(tasks.get(0).getId());
+            taskService.complete(tasks.get(1).getId());
+            assertThat(getJoinCounters(processInstance.getId()))
+                    .extracting(VariableInstanceEntity::getValue)
+                    .containsExactly(1, 1);
+
+            taskService.complete(tasks.get(2).getId());
+            assertThat(getJoinCounters(processInstance.getId()))
+                    .extracting(VariableInstanceEntity::getValue)
+                    .containsExactly(1);
+            assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).list())
+                    .extracting(Task::getName)
+                    .containsExactly("task two");
+            assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("join").count()).isEqualTo(1);
+
+            taskService.complete(tasks.get(3).getId());
+            assertProcessEnded(processInstance.getId());
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayJoinCounterEnabled(false);
+        }
+    }
+
+    protected List<VariableInstanceEntity> getJoinCounters(String processInstanceId) {
+        return managementService.executeCommand(commandContext -> processEngineConfiguration.getVariableServiceConfiguration().getVariableService()
+                .createInternalVariableInstanceQuery()
+                .scopeId(processInstanceId)
+                .scopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_JOIN)
+                .list());
+    }
+
 }
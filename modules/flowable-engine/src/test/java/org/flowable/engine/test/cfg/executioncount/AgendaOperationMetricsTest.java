@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.cfg.executioncount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.common.engine.impl.agenda.AgendaOperationRunner;
+import org.flowable.common.engine.impl.agenda.InMemoryAgendaOperationMetrics;
+import org.flowable.common.engine.impl.agenda.InstrumentedAgendaOperationRunner;
+import org.flowable.engine.impl.agenda.ActivityBehaviorTypeResolver;
+import org.flowable.engine.impl.interceptor.CommandInvoker;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AgendaOperationMetricsTest extends PluggableFlowableTestCase {
+
+    protected AgendaOperationRunner oldAgendaOperationRunner;
+    protected InMemoryAgendaOperationMetrics agendaOperationMetrics;
+
+    @BeforeEach
+    protected void setUp() {
+        CommandInvoker commandInvoker = (CommandInvoker) processEngineConfiguration.getCommandInvoker();
+        this.oldAgendaOperationRunner = commandInvoker.getAgendaOperationRunner();
+        this.agendaOperationMetrics = new InMemoryAgendaOperationMetrics();
+        commandInvoker.setAgendaOperationRunner(new InstrumentedAgendaOperationRunner(oldAgendaOperationRunner,
+                agendaOperationMetrics, new ActivityBehaviorTypeResolver()));
+    }
+
+    @AfterEach
+    protected void tearDown() {
+        ((CommandInvoker) processEngineConfiguration.getCommandInvoker()).setAgendaOperationRunner(oldAgendaOperationRunner);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/cfg/executioncount/process-usertask-01.bpmn20.xml")
+    public void testOperationsAndBehaviorsAreRecorded() {
+        runtimeService.startProcessInstanceByKey("process-usertask-01");
+
+        assertThat(agendaOperationMetrics.getOperationStatistics())
+                .containsKeys("ContinueProcessOperation", "TakeOutgoingSequenceFlowsOperation");
+        assertThat(agendaOperationMetrics.getBehaviorStatistics())
+                .containsKeys("NoneStartEventActivityBehavior", "UserTaskActivityBehavior")
+                .doesNotContainKey("NoneEndEventActivityBehavior");
+        assertThat(agendaOperationMetrics.getBehaviorStatistics().get("UserTaskActivityBehavior").getCount()).isEqualTo(1);
+
+        agendaOperationMetrics.reset();
+        assertThat(agendaOperationMetrics.getOperationStatistics()).isEmpty();
+
+        Task task = taskService.createTaskQuery().singleResult();
+        taskService.complete(task.getId());
+
+        assertThat(agendaOperationMetrics.getOperationStatistics())
+                .containsKeys("TriggerExecutionOperation", "TakeOutgoingSequenceFlowsOperation", "ContinueProcessOperation");
+        assertThat(agendaOperationMetrics.getBehaviorStatistics())
+                .containsKeys("UserTaskActivityBehavior", "NoneEndEventActivityBehavior");
+        assertThat(agendaOperationMetrics.getOperationStatistics().get("TriggerExecutionOperation").getTotalDurationInNanos()).isPositive();
+    }
+
+}
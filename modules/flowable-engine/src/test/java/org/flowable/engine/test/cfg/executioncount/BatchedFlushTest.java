@@ -0,0 +1,156 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.cfg.executioncount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.cfg.CommandExecutorImpl;
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.profiler.CommandStats;
+import org.flowable.engine.test.profiler.FlowableProfiler;
+import org.flowable.engine.test.profiler.ProfileSession;
+import org.flowable.engine.test.profiler.ProfilingDbSqlSessionFactory;
+import org.flowable.engine.test.profiler.TotalExecutionTimeCommandInterceptor;
+import org.flowable.task.api.Task;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the number of database round-trips of a command flushing many updates and deletes,
+ * with and without the batched flush mode.
+ */
+public class BatchedFlushTest extends PluggableFlowableTestCase {
+
+    protected CommandInterceptor oldFirstCommandInterceptor;
+    protected DbSqlSessionFactory oldDbSqlSessionFactory;
+    protected DbSqlSessionFactory profilingDbSqlSessionFactory;
+
+    @BeforeEach
+    protected void setUp() {
+        CommandExecutorImpl commandExecutor = ((CommandExecutorImpl) processEngineConfiguration.getCommandExecutor());
+        this.oldFirstCommandInterceptor = commandExecutor.getFirst();
+
+        TotalExecutionTimeCommandInterceptor timeCommandInterceptor = new TotalExecutionTimeCommandInterceptor();
+        timeCommandInterceptor.setNext(oldFirstCommandInterceptor);
+        commandExecutor.setFirst(timeCommandInterceptor);
+
+        this.oldDbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+        profilingDbSqlSessionFactory = new ProfilingDbSqlSessionFactory(processEngineConfiguration.isUsePrefixId());
+        profilingDbSqlSessionFactory.setBulkInserteableEntityClasses(oldDbSqlSessionFactory.getBulkInserteableEntityClasses());
+        profilingDbSqlSessionFactory.setInsertionOrder(oldDbSqlSessionFactory.getInsertionOrder());
+        profilingDbSqlSessionFactory.setDeletionOrder(oldDbSqlSessionFactory.getDeletionOrder());
+        profilingDbSqlSessionFactory.setDatabaseType(oldDbSqlSessionFactory.getDatabaseType());
+        profilingDbSqlSessionFactory.setDatabaseTablePrefix(oldDbSqlSessionFactory.getDatabaseTablePrefix());
+        profilingDbSqlSessionFactory.setTablePrefixIsSchema(oldDbSqlSessionFactory.isTablePrefixIsSchema());
+        profilingDbSqlSessionFactory.setDatabaseCatalog(oldDbSqlSessionFactory.getDatabaseCatalog());
+        profilingDbSqlSessionFactory.setDatabaseSchema(oldDbSqlSessionFactory.getDatabaseSchema());
+        profilingDbSqlSessionFactory.setSqlSessionFactory(oldDbSqlSessionFactory.getSqlSessionFactory());
+        profilingDbSqlSessionFactory.setDbHistoryUsed(oldDbSqlSessionFactory.isDbHistoryUsed());
+        profilingDbSqlSessionFactory.setDatabaseSpecificStatements(oldDbSqlSessionFactory.getDatabaseSpecificStatements());
+        profilingDbSqlSessionFactory.setLogicalNameToClassMapping(oldDbSqlSessionFactory.getLogicalNameToClassMapping());
+        processEngineConfiguration.addSessionFactory(profilingDbSqlSessionFactory);
+    }
+
+    @AfterEach
+    protected void tearDown() {
+        ((CommandExecutorImpl) processEngineConfiguration.getCommandExecutor()).setFirst(oldFirstCommandInterceptor);
+        processEngineConfiguration.addSessionFactory(oldDbSqlSessionFactory);
+        FlowableProfiler.getInstance().reset();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/cfg/executioncount/process-usertask-multi-instance.bpmn20.xml")
+    public void testRoundTripsWithAndWithoutBatchedFlush() {
+        profilingDbSqlSessionFactory.setBatchedFlushEnabled(false);
+        long regularRoundTrips = completeAllTasksInOneCommandAndCountModifyingRoundTrips();
+
+        profilingDbSqlSessionFactory.setBatchedFlushEnabled(true);
+        long batchedRoundTrips = completeAllTasksInOneCommandAndCountModifyingRoundTrips();
+
+        assertThat(batchedRoundTrips).isPositive().isLessThan(regularRoundTrips);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/cfg/executioncount/process-usertask-multi-instance.bpmn20.xml")
+    public void testOptimisticLockingWithBatchedFlush() {
+        profilingDbSqlSessionFactory.setBatchedFlushEnabled(true);
+        runtimeService.startProcessInstanceByKey("process-usertask-multi-instance");
+        List<Task> tasks = taskService.createTaskQuery().listPage(0, 2);
+        assertThat(tasks).hasSize(2);
+
+        assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+            for (Task task : tasks) {
+                TaskEntity taskEntity = CommandContextUtil.getTaskService(commandContext).getTask(task.getId());
+                taskEntity.setName("changed");
+            }
+
+            // Simulates a concurrent update of the second task
+            try (PreparedStatement statement = CommandContextUtil.getDbSqlSession(commandContext).getSqlSession().getConnection()
+                    .prepareStatement("update " + processEngineConfiguration.getDatabaseTablePrefix() + "ACT_RU_TASK set REV_ = REV_ + 1 where ID_ = ?")) {
+                statement.setString(1, tasks.get(1).getId());
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new FlowableException("Could not update task revision", e);
+            }
+            return null;
+        })).isInstanceOf(FlowableOptimisticLockingException.class);
+
+        assertThat(taskService.createTaskQuery().taskName("changed").count()).isZero();
+    }
+
+    protected long completeAllTasksInOneCommandAndCountModifyingRoundTrips() {
+        runtimeService.startProcessInstanceByKey("process-usertask-multi-instance");
+        List<Task> tasks = taskService.createTaskQuery().list();
+        assertThat(tasks).hasSize(20);
+
+        FlowableProfiler profiler = FlowableProfiler.getInstance();
+        profiler.reset();
+        profiler.startProfileSession("Complete all tasks");
+        managementService.executeCommand(commandContext -> {
+            for (Task task : tasks) {
+                taskService.complete(task.getId());
+            }
+            return null;
+        });
+        profiler.stopCurrentProfileSession();
+
+        assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+
+        long roundTrips = 0;
+        for (ProfileSession profileSession : profiler.getProfileSessions()) {
+            for (CommandStats stats : profileSession.calculateSummaryStatistics().values()) {
+                roundTrips += sum(stats.getDbUpdates()) + sum(stats.getDbDeletes()) + sum(stats.getDbBatches());
+            }
+        }
+        return roundTrips;
+    }
+
+    protected long sum(Map<String, Long> operations) {
+        return operations.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+}
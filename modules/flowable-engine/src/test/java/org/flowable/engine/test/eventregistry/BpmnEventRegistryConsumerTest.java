@@ -16,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,9 @@ import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.test.Deployment;
+import org.flowable.eventregistry.impl.DefaultInboundEventProcessor;
+import org.flowable.eventregistry.impl.consumer.BaseEventRegistryEventConsumer;
+import org.flowable.eventregistry.impl.consumer.EventSubscriptionIndex;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.task.api.Task;
 import org.junit.jupiter.api.Test;
@@ -178,6 +182,73 @@ public class BpmnEventRegistryConsumerTest extends AbstractBpmnEventRegistryCons
 
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testReceiveEventTaskWithCorrelationAndPayload.bpmn20.xml")
+    public void testReceiveEventTaskWithCorrelationAndEventSubscriptionIndex() {
+        BaseEventRegistryEventConsumer eventConsumer = (BaseEventRegistryEventConsumer) processEngineConfiguration.getEventRegistryEventConsumers()
+            .get("bpmnEventConsumer");
+        eventConsumer.enableEventSubscriptionIndex();
+        EventSubscriptionIndex eventSubscriptionIndex = eventConsumer.getEventSubscriptionIndex();
+        try {
+            Map<String, Object> variableMap = new HashMap<>();
+            variableMap.put("customerIdVar", "kermit");
+            ProcessInstance kermitProcessInstance = runtimeService.startProcessInstanceByKey("process", variableMap);
+
+            inboundEventChannelAdapter.triggerTestEvent("fozzie");
+            assertThat(eventSubscriptionIndex.isIndexed(ScopeTypes.BPMN, "myEvent")).isTrue();
+            assertThat(taskService.createTaskQuery().processInstanceId(kermitProcessInstance.getId()).count()).isZero();
+
+            // The subscription of a process instance started after the index was loaded is added through the engine events
+            variableMap.put("customerIdVar", "gonzo");
+            ProcessInstance gonzoProcessInstance = runtimeService.startProcessInstanceByKey("process", variableMap);
+            inboundEventChannelAdapter.triggerTestEvent("gonzo");
+            assertThat(taskService.createTaskQuery().processInstanceId(gonzoProcessInstance.getId()).count()).isEqualTo(1);
+
+            inboundEventChannelAdapter.triggerTestEvent("kermit");
+            assertThat(taskService.createTaskQuery().processInstanceId(kermitProcessInstance.getId()).count()).isEqualTo(1);
+
+            // There are no subscriptions without correlation
+            assertThat(eventSubscriptionIndex.hasPossibleMatch(ScopeTypes.BPMN, "myEvent", null, Collections.emptySet())).isFalse();
+
+        } finally {
+            processEngineConfiguration.getEventDispatcher().removeEventListener(eventSubscriptionIndex);
+            eventConsumer.setEventSubscriptionIndex(null);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testReceiveEventTaskWithCorrelationAndPayload.bpmn20.xml")
+    public void testReceiveEventTaskWithCorrelationInBatch() {
+        DefaultInboundEventProcessor inboundEventProcessor = (DefaultInboundEventProcessor) getEventRegistryEngineConfiguration().getInboundEventProcessor();
+        int originalEventBatchTransactionSize = inboundEventProcessor.getEventBatchTransactionSize();
+        inboundEventProcessor.setEventBatchTransactionSize(2);
+        try {
+            Map<String, Object> variableMap = new HashMap<>();
+            variableMap.put("customerIdVar", "kermit");
+            ProcessInstance kermitProcessInstance = runtimeService.startProcessInstanceByKey("process", variableMap);
+            variableMap.put("customerIdVar", "gonzo");
+            ProcessInstance gonzoProcessInstance = runtimeService.startProcessInstanceByKey("process", variableMap);
+            variableMap.put("customerIdVar", "fozzie");
+            ProcessInstance fozzieProcessInstance = runtimeService.startProcessInstanceByKey("process", variableMap);
+
+            // The first transaction handles kermit and gonzo, the second one fozzie
+            inboundEventChannelAdapter.triggerTestEventsInBatch("kermit", "gonzo", "fozzie");
+            assertThat(taskService.createTaskQuery().processInstanceId(kermitProcessInstance.getId()).count()).isEqualTo(1);
+            assertThat(taskService.createTaskQuery().processInstanceId(gonzoProcessInstance.getId()).count()).isEqualTo(1);
+            assertThat(taskService.createTaskQuery().processInstanceId(fozzieProcessInstance.getId()).count()).isEqualTo(1);
+
+            // Events without matching subscriptions in the same transaction have no influence
+            variableMap.put("customerIdVar", "piggy");
+            ProcessInstance piggyProcessInstance = runtimeService.startProcessInstanceByKey("process", variableMap);
+            inboundEventChannelAdapter.triggerTestEventsInBatch("animal", "piggy");
+            Task afterTask = taskService.createTaskQuery().processInstanceId(piggyProcessInstance.getId()).singleResult();
+            assertThat(afterTask.getTaskDefinitionKey()).isEqualTo("taskAfterTask");
+
+        } finally {
+            inboundEventProcessor.setEventBatchTransactionSize(originalEventBatchTransactionSize);
+        }
+    }
+
     @Test
     @Deployment
     public void testIntermediateCatchEventNoCorrelation() {
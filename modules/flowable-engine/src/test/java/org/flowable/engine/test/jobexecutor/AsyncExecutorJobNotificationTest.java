@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AcquireAsyncJobsDueLifecycleListener;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.job.service.impl.asyncexecutor.notification.InMemoryJobNotificationChannel;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that an async executor that is waiting for its next acquisition cycle is woken up
+ * when another engine notifies it of a new async job.
+ */
+public class AsyncExecutorJobNotificationTest {
+
+    @Test
+    public void testJobCreatedOnOtherEngineWakesUpAcquisition() throws Exception {
+        InMemoryJobNotificationChannel jobNotificationChannel = new InMemoryJobNotificationChannel();
+        AtomicInteger notificationCount = new AtomicInteger();
+        jobNotificationChannel.subscribe(notificationCount::incrementAndGet);
+
+        ProcessEngine firstProcessEngine = null;
+        ProcessEngine secondProcessEngine = null;
+
+        try {
+            firstProcessEngine = createProcessEngine(jobNotificationChannel, null);
+            firstProcessEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            // The second engine only polls once an hour, so it only finds the job in time when it gets notified
+            CountDownLatch acquisitionWaiting = new CountDownLatch(1);
+            secondProcessEngine = createProcessEngine(jobNotificationChannel, acquisitionWaiting);
+            assertThat(acquisitionWaiting.await(10, TimeUnit.SECONDS)).isTrue();
+
+            firstProcessEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            assertThat(notificationCount.get()).isEqualTo(1);
+
+            long timeout = System.currentTimeMillis() + 10000L;
+            while (firstProcessEngine.getManagementService().createJobQuery().count() > 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(100L);
+            }
+            assertThat(firstProcessEngine.getManagementService().createJobQuery().count()).isZero();
+            assertThat(firstProcessEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(1);
+
+        } finally {
+            cleanup(firstProcessEngine);
+            if (secondProcessEngine != null) {
+                secondProcessEngine.close();
+            }
+        }
+    }
+
+    protected ProcessEngine createProcessEngine(InMemoryJobNotificationChannel jobNotificationChannel, CountDownLatch acquisitionWaiting) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncExecutorJobNotificationTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setJobNotificationChannel(jobNotificationChannel);
+
+        if (acquisitionWaiting != null) {
+            processEngineConfiguration.setAsyncExecutorActivate(true);
+
+            DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+            asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(3600000);
+            asyncExecutor.setAsyncJobsDueLifecycleListener(new WaitingAcquireAsyncJobsDueLifecycleListener(acquisitionWaiting));
+            processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+        }
+
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+    protected void cleanup(ProcessEngine processEngine) {
+        if (processEngine != null) {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+    protected static class WaitingAcquireAsyncJobsDueLifecycleListener implements AcquireAsyncJobsDueLifecycleListener {
+
+        protected final CountDownLatch acquisitionWaiting;
+
+        public WaitingAcquireAsyncJobsDueLifecycleListener(CountDownLatch acquisitionWaiting) {
+            this.acquisitionWaiting = acquisitionWaiting;
+        }
+
+        @Override
+        public void startAcquiring(String engineName, int remainingCapacity, int maxAsyncJobsDuePerAcquisition) {
+        }
+
+        @Override
+        public void stopAcquiring(String engineName) {
+        }
+
+        @Override
+        public void acquiredJobs(String engineName, int jobsAcquired, int maxAsyncJobsDuePerAcquisition) {
+        }
+
+        @Override
+        public void rejectedJobs(String engineName, int jobsRejected, int jobsAcquired, int maxAsyncJobsDuePerAcquisition) {
+        }
+
+        @Override
+        public void optimistLockingException(String engineName, int maxAsyncJobsDuePerAcquisition) {
+        }
+
+        @Override
+        public void startWaiting(String engineName, long millisToWait) {
+            acquisitionWaiting.countDown();
+        }
+    }
+
+}
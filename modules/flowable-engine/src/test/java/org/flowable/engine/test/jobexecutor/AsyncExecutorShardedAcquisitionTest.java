@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.job.api.Job;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.job.service.impl.cmd.RebalanceJobShardLeasesCmd;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the sharded acquisition of async jobs by multiple engines sharing a database.
+ */
+public class AsyncExecutorShardedAcquisitionTest {
+
+    @Test
+    public void testShardAssignedOnJobCreation() {
+        ProcessEngine processEngine = null;
+        try {
+            processEngine = createProcessEngine("testShardAssignedOnJobCreation", null);
+            processEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+
+            ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            Job job = processEngine.getManagementService().createJobQuery().processInstanceId(processInstance.getId()).singleResult();
+            ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+            JobEntity jobEntity = processEngine.getManagementService().executeCommand(commandContext -> processEngineConfiguration
+                    .getJobServiceConfiguration().getJobEntityManager().findById(job.getId()));
+
+            assertThat(jobEntity.getShard()).isEqualTo(Math.floorMod(processInstance.getId().hashCode(), 16));
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testShardsRebalancedAndJobsExecuted() throws Exception {
+        ProcessEngine firstProcessEngine = null;
+        ProcessEngine secondProcessEngine = null;
+
+        try {
+            firstProcessEngine = createProcessEngine("testShardsRebalancedAndJobsExecuted", "firstExecutor");
+            firstProcessEngine.getRepositoryService().createDeployment()
+                    .addClasspathResource("org/flowable/engine/test/jobexecutor/AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml")
+                    .deploy();
+            waitForShardLeases(firstProcessEngine, 16, 0);
+
+            // The second executor joins, the first one hands over half of its shards
+            secondProcessEngine = createProcessEngine("testShardsRebalancedAndJobsExecuted", "secondExecutor");
+            waitForShardLeases(firstProcessEngine, 8, 8);
+
+            for (int i = 0; i < 20; i++) {
+                firstProcessEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+            }
+
+            long timeout = System.currentTimeMillis() + 20000L;
+            while (firstProcessEngine.getManagementService().createJobQuery().count() > 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(100L);
+            }
+            assertThat(firstProcessEngine.getManagementService().createJobQuery().count()).isZero();
+            assertThat(firstProcessEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(20);
+
+            // The shards of a stopped executor are released and taken over by the remaining executor
+            secondProcessEngine.close();
+            secondProcessEngine = null;
+            waitForShardLeases(firstProcessEngine, 16, 0);
+
+        } finally {
+            if (secondProcessEngine != null) {
+                secondProcessEngine.close();
+            }
+            cleanup(firstProcessEngine);
+        }
+    }
+
+    protected void waitForShardLeases(ProcessEngine processEngine, int expectedFirstExecutorShards, int expectedSecondExecutorShards) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 15000L;
+        int firstExecutorShards = -1;
+        int secondExecutorShards = -1;
+        while (System.currentTimeMillis() < timeout) {
+            firstExecutorShards = 0;
+            secondExecutorShards = 0;
+            for (Map.Entry<String, String> property : processEngine.getManagementService().getProperties().entrySet()) {
+                if (property.getKey().startsWith(RebalanceJobShardLeasesCmd.SHARD_LEASE_NAME) && property.getValue() != null) {
+                    if (property.getValue().endsWith(" firstExecutor")) {
+                        firstExecutorShards++;
+                    } else if (property.getValue().endsWith(" secondExecutor")) {
+                        secondExecutorShards++;
+                    }
+                }
+            }
+
+            if (firstExecutorShards == expectedFirstExecutorShards && secondExecutorShards == expectedSecondExecutorShards) {
+                return;
+            }
+            Thread.sleep(100L);
+        }
+
+        assertThat(firstExecutorShards).isEqualTo(expectedFirstExecutorShards);
+        assertThat(secondExecutorShards).isEqualTo(expectedSecondExecutorShards);
+    }
+
+    protected ProcessEngine createProcessEngine(String databaseName, String lockOwner) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-" + databaseName + ";DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+
+        if (lockOwner != null) {
+            processEngineConfiguration.setAsyncExecutorActivate(true);
+
+            DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor();
+            asyncExecutor.setLockOwner(lockOwner);
+            asyncExecutor.setShardedAcquireEnabled(true);
+            asyncExecutor.setAsyncJobShardLeaseTime(Duration.ofSeconds(3));
+            asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(200);
+            processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+        }
+
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+    protected void cleanup(ProcessEngine processEngine) {
+        if (processEngine != null) {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            processEngine.close();
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.json;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
+import org.flowable.variable.service.impl.types.JsonType;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class BinaryJsonTypeTest extends CustomConfigurationFlowableTestCase {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    public BinaryJsonTypeTest() {
+        super("binaryJsonTypeTest");
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setCustomPreVariableTypes(Collections.singletonList(
+                new BinaryJsonType(new ObjectMapper(new SmileFactory()), objectMapper, true)));
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testStoreJsonInBinaryFormat() {
+        ObjectNode customer = objectMapper.createObjectNode();
+        customer.put("name", "Kermit");
+        customer.putObject("address").put("street", "Sesame Street");
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", customer)
+                .start();
+
+        VariableInstance variableInstance = runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(variableInstance.getTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+        assertThat(variableInstance.getTextValue()).isNull();
+
+        byte[] bytes = managementService.executeCommand(commandContext -> ((VariableInstanceEntity) variableInstance).getBytes());
+        // Smile content starts with the ':)\n' header
+        assertThat(bytes).startsWith((byte) ':', (byte) ')', (byte) '\n');
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{"
+                        + "  name: 'Kermit',"
+                        + "  address: {"
+                        + "    street: 'Sesame Street'"
+                        + "  }"
+                        + "}");
+
+        customer.put("name", "Gonzo");
+        runtimeService.setVariable(processInstance.getId(), "customer", customer);
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .inPath("name")
+                .isEqualTo("Gonzo");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testReadAndMigrateJsonTextValue() {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", objectMapper.createObjectNode().put("name", "Kermit"))
+                .start();
+
+        // Simulate a row that was stored as json text before the binary json type was registered
+        managementService.executeCommand(commandContext -> {
+            VariableInstanceEntity variableInstance = (VariableInstanceEntity) CommandContextUtil.getExecutionEntityManager(commandContext)
+                    .findById(processInstance.getId())
+                    .getVariableInstance("customer", false);
+            variableInstance.getType().setValue(null, variableInstance);
+            variableInstance.setType(processEngineConfiguration.getVariableTypes().getVariableType(JsonType.TYPE_NAME));
+            variableInstance.setTypeName(JsonType.TYPE_NAME);
+            variableInstance.getType().setValue(objectMapper.createObjectNode().put("name", "Kermit"), variableInstance);
+            return null;
+        });
+
+        VariableInstance variableInstance = runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(variableInstance.getTypeName()).isEqualTo(JsonType.TYPE_NAME);
+        assertThat(variableInstance.getTextValue()).isEqualTo("{\"name\":\"Kermit\"}");
+
+        // Changing the type name only is enough for the binary json type to read the json text
+        managementService.executeCommand(commandContext -> {
+            VariableInstanceEntity entity = (VariableInstanceEntity) CommandContextUtil.getExecutionEntityManager(commandContext)
+                    .findById(processInstance.getId())
+                    .getVariableInstance("customer", false);
+            entity.setType(processEngineConfiguration.getVariableTypes().getVariableType(BinaryJsonType.TYPE_NAME));
+            entity.setTypeName(BinaryJsonType.TYPE_NAME);
+            return null;
+        });
+
+        assertThat(runtimeService.getVariableInstance(processInstance.getId(), "customer").getTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{ name: 'Kermit' }");
+
+        // Setting the value stores it in the binary format
+        runtimeService.setVariable(processInstance.getId(), "customer", objectMapper.createObjectNode().put("name", "Gonzo"));
+        variableInstance = runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(variableInstance.getTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+        assertThat(variableInstance.getTextValue()).isNull();
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "customer"))
+                .isEqualTo("{ name: 'Gonzo' }");
+    }
+
+}
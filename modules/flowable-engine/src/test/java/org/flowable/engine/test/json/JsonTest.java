@@ -17,6 +17,9 @@ import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -43,6 +46,8 @@ import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEnt
 import org.flowable.variable.service.impl.types.JsonType;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -795,6 +800,40 @@ public class JsonTest extends PluggableFlowableTestCase {
         assertThat(task.getTaskDefinitionKey()).isEqualTo("userTaskFailure");
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    void testReadLongJsonValueAsStream() {
+        ObjectNode bigJsonObject = createBigJsonObject();
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable(BIG_JSON_OBJ, bigJsonObject)
+                .start();
+
+        managementService.executeCommand(commandContext -> {
+            VariableInstanceEntity variableInstance = (VariableInstanceEntity) CommandContextUtil.getExecutionEntityManager(commandContext)
+                    .findById(processInstance.getId())
+                    .getVariableInstance(BIG_JSON_OBJ, false);
+            JsonType jsonType = (JsonType) variableInstance.getType();
+
+            try (JsonParser parser = jsonType.createJsonParser(variableInstance)) {
+                assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+                assertThat(parser.nextFieldName()).isEqualTo("var0");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try (InputStream inputStream = jsonType.getValueAsStream(variableInstance)) {
+                assertThat(objectMapper.readTree(inputStream)).isEqualTo(bigJsonObject);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // Streaming access should neither deserialize nor cache the value
+            assertThat(variableInstance.getCachedValue()).isNull();
+            return null;
+        });
+    }
+
     @Test
     @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
     void testSetNestedJsonNodeValue() {
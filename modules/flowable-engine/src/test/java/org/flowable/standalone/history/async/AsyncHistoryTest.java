@@ -13,6 +13,7 @@
 package org.flowable.standalone.history.async;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -50,6 +51,7 @@ import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AbstractAsyncExecutor;
 import org.flowable.job.service.impl.asyncexecutor.ResetExpiredJobsRunnable;
 import org.flowable.job.service.impl.history.async.AsyncHistoryDateUtil;
+import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.task.api.Task;
 import org.flowable.task.api.history.HistoricTaskInstance;
@@ -1048,6 +1050,43 @@ public class AsyncHistoryTest extends CustomConfigurationFlowableTestCase {
                 .variableName("var1").singleResult().getMetaInfo()).isEqualTo("test meta info");
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testVariableChangesCoalescedWithinTransaction() throws Exception {
+        String processInstanceId = managementService.executeCommand(commandContext -> {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+            runtimeService.setVariable(processInstance.getId(), "var1", "created");
+            runtimeService.setVariable(processInstance.getId(), "var1", "updated");
+            runtimeService.setVariable(processInstance.getId(), "var1", "updatedAgain");
+            runtimeService.setVariable(processInstance.getId(), "var2", "removed");
+            runtimeService.removeVariable(processInstance.getId(), "var2");
+            return processInstance.getId();
+        });
+
+        List<String> variableHistoryTypes = new ArrayList<>();
+        List<String> createdVariableValues = new ArrayList<>();
+        for (HistoryJob job : managementService.createHistoryJobQuery().list()) {
+            JsonNode historyNode = processEngineConfiguration.getObjectMapper().readTree(managementService.getHistoryJobHistoryJson(job.getId()));
+            for (JsonNode element : historyNode.isArray() ? historyNode : Arrays.asList(historyNode)) {
+                String type = element.path(HistoryJsonTransformer.FIELD_NAME_TYPE).asText();
+                if (type.startsWith("variable-")) {
+                    variableHistoryTypes.add(type);
+                }
+                if (HistoryJsonConstants.TYPE_VARIABLE_CREATED.equals(type)) {
+                    createdVariableValues.add(element.path(HistoryJsonTransformer.FIELD_NAME_DATA).path(HistoryJsonConstants.VARIABLE_TEXT_VALUE).asText());
+                }
+            }
+        }
+        assertThat(variableHistoryTypes).containsExactly(HistoryJsonConstants.TYPE_VARIABLE_CREATED);
+        assertThat(createdVariableValues).containsExactly("updatedAgain");
+
+        waitForHistoryJobExecutorToProcessAllJobs(20000L, 200L);
+
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list())
+                .extracting(historicVariable -> historicVariable.getVariableName(), historicVariable -> historicVariable.getValue())
+                .containsExactly(tuple("var1", "updatedAgain"));
+    }
+
     static final class TestDeadletterEventListener implements FlowableEventListener {
 
         public static AtomicInteger COUNTER = new AtomicInteger(0);
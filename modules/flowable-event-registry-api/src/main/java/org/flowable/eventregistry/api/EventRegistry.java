@@ -73,6 +73,24 @@ public interface EventRegistry {
      */
     void eventReceived(InboundChannelModel channelModel, InboundEvent event);
 
+    /**
+     * Adapters that receive events in batches (e.g. a Kafka poll) can call this method to process all the events of a batch together.
+     * When this method returns, the resulting process and case instance changes have been committed.
+     * When handling an event fails, a {@link FlowableInboundEventBatchException} indicates up to which event the batch was handled.
+     */
+    default void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        int index = 0;
+        for (InboundEvent event : events) {
+            try {
+                eventReceived(channelModel, event);
+            } catch (RuntimeException e) {
+                throw new FlowableInboundEventBatchException("Failed to handle event " + index + " of a batch of " + events.size()
+                        + " events received on channel " + channelModel.getKey(), index, e);
+            }
+            index++;
+        }
+    }
+
     /**
      * Send an event to all the registered event consumers.
      */
@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.api;
+
+import org.flowable.common.engine.api.FlowableException;
+
+/**
+ * Thrown by {@link EventRegistry#eventsReceived} when handling one of the events of a batch failed.
+ * All the events of the batch before the {@link #getFailedEventIndex() failed event} have been handled and committed,
+ * so an adapter only needs to redeliver the events from that index onwards.
+ */
+public class FlowableInboundEventBatchException extends FlowableException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final int failedEventIndex;
+
+    public FlowableInboundEventBatchException(String message, int failedEventIndex, Throwable cause) {
+        super(message, cause);
+        this.failedEventIndex = failedEventIndex;
+    }
+
+    /**
+     * @return the index of the first event of the batch that was not (completely) handled
+     */
+    public int getFailedEventIndex() {
+        return failedEventIndex;
+    }
+}
@@ -12,6 +12,8 @@
  */
 package org.flowable.eventregistry.api;
 
+import java.util.Collection;
+
 import org.flowable.eventregistry.model.InboundChannelModel;
 
 /**
@@ -21,4 +23,17 @@ public interface InboundEventProcessor {
 
     void eventReceived(InboundChannelModel channelModel, InboundEvent event);
 
+    default void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        int index = 0;
+        for (InboundEvent event : events) {
+            try {
+                eventReceived(channelModel, event);
+            } catch (RuntimeException e) {
+                throw new FlowableInboundEventBatchException("Failed to handle event " + index + " of a batch of " + events.size()
+                        + " events received on channel " + channelModel.getKey(), index, e);
+            }
+            index++;
+        }
+    }
+
 }
@@ -188,6 +188,13 @@ public interface InboundChannelModelBuilder {
          */
         InboundKafkaChannelBuilder concurrency(String concurrency);
 
+        /**
+         * Sets whether all the records of a poll should be handled together (e.g "true").
+         * The offsets of a batch are only committed after all its events have been handled.
+         * This can't be combined with retry topics.
+         */
+        InboundKafkaChannelBuilder batchListener(String batchListener);
+
         /**
          * Sets custom properties for this Kafka adapter. See the Spring Kafka docs for more information.
          */
@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.spring.kafka;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.flowable.eventregistry.impl.pipeline.InboundChannelBackpressureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+/**
+ * Pauses the Kafka listener containers of a channel while too many of its events are waiting to be handled.
+ * Pausing a container stops fetching new records, but keeps polling the consumer, so the consumer does not leave the group.
+ */
+public class KafkaChannelBackpressureListener implements InboundChannelBackpressureListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaChannelBackpressureListener.class);
+
+    protected final KafkaListenerEndpointRegistry endpointRegistry;
+    protected final Set<String> endpointIds = ConcurrentHashMap.newKeySet();
+
+    public KafkaChannelBackpressureListener(KafkaListenerEndpointRegistry endpointRegistry) {
+        this.endpointRegistry = endpointRegistry;
+    }
+
+    @Override
+    public void pause(String channelKey) {
+        LOGGER.debug("Pausing the Kafka listeners {} of channel {}", endpointIds, channelKey);
+        for (String endpointId : endpointIds) {
+            MessageListenerContainer listenerContainer = endpointRegistry.getListenerContainer(endpointId);
+            if (listenerContainer != null) {
+                listenerContainer.pause();
+            }
+        }
+    }
+
+    @Override
+    public void resume(String channelKey) {
+        LOGGER.debug("Resuming the Kafka listeners {} of channel {}", endpointIds, channelKey);
+        for (String endpointId : endpointIds) {
+            MessageListenerContainer listenerContainer = endpointRegistry.getListenerContainer(endpointId);
+            if (listenerContainer != null) {
+                listenerContainer.resume();
+            }
+        }
+    }
+
+    public void addEndpointIds(Collection<String> endpointIds) {
+        this.endpointIds.addAll(endpointIds);
+    }
+
+    public void removeEndpointIds(Collection<String> endpointIds) {
+        this.endpointIds.removeAll(endpointIds);
+    }
+
+    public Set<String> getEndpointIds() {
+        return endpointIds;
+    }
+
+}
@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.spring.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.flowable.eventregistry.api.EventRegistry;
+import org.flowable.eventregistry.api.FlowableInboundEventBatchException;
+import org.flowable.eventregistry.api.InboundEvent;
+import org.flowable.eventregistry.model.InboundChannelModel;
+import org.springframework.kafka.listener.BatchAcknowledgingConsumerAwareMessageListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+/**
+ * A Kafka listener that passes all the records of a poll to the {@link EventRegistry} at once.
+ * The batch is only acknowledged once all its events have been handled, i.e. after the database transactions have been committed.
+ * When handling an event fails, a {@link BatchListenerFailedException} with the index of that event is thrown, so that the container
+ * commits the offsets of the records before it and only redelivers the records from the failed one onwards.
+ */
+public class KafkaChannelBatchMessageListenerAdapter implements BatchAcknowledgingConsumerAwareMessageListener<Object, Object> {
+
+    protected EventRegistry eventRegistry;
+    protected InboundChannelModel inboundChannelModel;
+
+    public KafkaChannelBatchMessageListenerAdapter(EventRegistry eventRegistry, InboundChannelModel inboundChannelModel) {
+        this.eventRegistry = eventRegistry;
+        this.inboundChannelModel = inboundChannelModel;
+    }
+
+    @Override
+    public void onMessage(List<ConsumerRecord<Object, Object>> data, Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        List<InboundEvent> events = new ArrayList<>(data.size());
+        for (ConsumerRecord<Object, Object> record : data) {
+            events.add(new KafkaConsumerRecordInboundEvent(record));
+        }
+
+        try {
+            eventRegistry.eventsReceived(inboundChannelModel, events);
+        } catch (FlowableInboundEventBatchException e) {
+            throw new BatchListenerFailedException(e.getMessage(), e.getCause(), e.getFailedEventIndex());
+        }
+
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+    }
+
+    public EventRegistry getEventRegistry() {
+        return eventRegistry;
+    }
+
+    public void setEventRegistry(EventRegistry eventRegistry) {
+        this.eventRegistry = eventRegistry;
+    }
+
+    public InboundChannelModel getInboundChannelModel() {
+        return inboundChannelModel;
+    }
+
+    public void setInboundChannelModel(InboundChannelModel inboundChannelModel) {
+        this.inboundChannelModel = inboundChannelModel;
+    }
+
+}
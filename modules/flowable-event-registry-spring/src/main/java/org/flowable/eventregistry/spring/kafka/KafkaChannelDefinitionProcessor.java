@@ -36,6 +36,11 @@ import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.eventregistry.api.ChannelModelProcessor;
 import org.flowable.eventregistry.api.EventRegistry;
 import org.flowable.eventregistry.api.EventRepositoryService;
+import org.flowable.eventregistry.api.InboundEventProcessor;
+import org.flowable.eventregistry.impl.DefaultEventRegistry;
+import org.flowable.eventregistry.impl.DefaultInboundEventProcessor;
+import org.flowable.eventregistry.impl.pipeline.InboundChannelStatistics;
+import org.flowable.eventregistry.impl.pipeline.PartitionedInboundEventExecutor;
 import org.flowable.eventregistry.model.ChannelModel;
 import org.flowable.eventregistry.model.InboundChannelModel;
 import org.flowable.eventregistry.model.KafkaInboundChannelModel;
@@ -146,6 +151,7 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
     protected BeanExpressionContext expressionContext;
 
     protected Map<String, Collection<String>> retryEndpointsByMainEndpointId = new HashMap<>();
+    protected Map<String, KafkaChannelBackpressureListener> backpressureListenersByChannelKey = new HashMap<>();
 
     public KafkaChannelDefinitionProcessor(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -196,7 +202,11 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
         endpoint.setConcurrency(resolveExpressionAsInteger(channelModel.getConcurrency(), "concurrency"));
         endpoint.setConsumerProperties(resolveProperties(channelModel.getCustomProperties()));
 
-        endpoint.setMessageListener(createMessageListener(eventRegistry, channelModel));
+        if (isBatchListener(channelModel)) {
+            endpoint.setMessageListener(createBatchMessageListener(eventRegistry, channelModel));
+        } else {
+            endpoint.setMessageListener(createMessageListener(eventRegistry, channelModel));
+        }
 
         return endpoint;
     }
@@ -215,6 +225,35 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
             registerEndpoint(configuration.getEndpoint(), configuration.getFactory());
         }
 
+        registerBackpressureListener(channelModel, eventRegistry, retryEndpointsByMainEndpointId.get(mainEndpoint.getId()));
+    }
+
+    /**
+     * When the events of a batch listener are handled on a {@link PartitionedInboundEventExecutor}, the listener containers of the channel
+     * are paused while too many of its events are pending. Record listeners handle their events on the listener thread.
+     */
+    protected void registerBackpressureListener(KafkaInboundChannelModel channelModel, EventRegistry eventRegistry, Collection<String> endpointIds) {
+        PartitionedInboundEventExecutor inboundEventExecutor = getInboundEventExecutor(eventRegistry);
+        if (inboundEventExecutor == null || !isBatchListener(channelModel)) {
+            return;
+        }
+
+        KafkaChannelBackpressureListener backpressureListener = backpressureListenersByChannelKey.computeIfAbsent(channelModel.getKey(),
+                key -> new KafkaChannelBackpressureListener(endpointRegistry));
+        backpressureListener.addEndpointIds(endpointIds);
+
+        InboundChannelStatistics channelStatistics = inboundEventExecutor.getChannelStatistics(channelModel.getKey());
+        channelStatistics.setBackpressureListener(backpressureListener);
+    }
+
+    protected PartitionedInboundEventExecutor getInboundEventExecutor(EventRegistry eventRegistry) {
+        if (eventRegistry instanceof DefaultEventRegistry) {
+            InboundEventProcessor inboundEventProcessor = ((DefaultEventRegistry) eventRegistry).getInboundEventProcessor();
+            if (inboundEventProcessor instanceof DefaultInboundEventProcessor) {
+                return ((DefaultInboundEventProcessor) inboundEventProcessor).getInboundEventExecutor();
+            }
+        }
+        return null;
     }
 
     protected Collection<KafkaChannelDefinitionProcessor.Configuration> createEndpointConfigurations(KafkaInboundChannelModel channelModel, String tenantId,
@@ -232,6 +271,11 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
 
         RetryTopicConfiguration retryTopicConfiguration = createRetryTopicConfiguration(retryConfiguration);
 
+        if (retryTopicConfiguration != null && isBatchListener(channelModel)) {
+            throw new FlowableException("Channel model " + channelModel.getKey() + " in tenant " + tenantId
+                    + " is a batch listener, which does not support retry topics");
+        }
+
         if (retryTopicConfiguration != null) {
 
             Collection<String> topics;
@@ -748,6 +792,19 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
         return kafkaChannelMessageListenerAdapter;
     }
 
+    @SuppressWarnings("unchecked")
+    protected GenericMessageListener<ConsumerRecord<Object, Object>> createBatchMessageListener(EventRegistry eventRegistry,
+            InboundChannelModel inboundChannelModel) {
+        // The endpoint is typed for record listeners, the listener container determines the listener type from the instance
+        @SuppressWarnings("rawtypes")
+        GenericMessageListener kafkaChannelBatchMessageListenerAdapter = new KafkaChannelBatchMessageListenerAdapter(eventRegistry, inboundChannelModel);
+        return kafkaChannelBatchMessageListenerAdapter;
+    }
+
+    protected boolean isBatchListener(KafkaInboundChannelModel channelModel) {
+        return resolveExpressionAsBoolean(channelModel.getBatchListener(), "batchListener", false);
+    }
+
     @Override
     public void unregisterChannelModel(ChannelModel channelModel, String tenantId, EventRepositoryService eventRepositoryService) {
         logger.info("Starting to unregister channel {} in tenant {}", channelModel.getKey(), tenantId);
@@ -756,6 +813,11 @@ public class KafkaChannelDefinitionProcessor implements BeanFactoryAware, Applic
         for (String endpointId : endpointsToUnregister) {
             unregisterEndpoint(endpointId, channelModel, tenantId);
         }
+
+        KafkaChannelBackpressureListener backpressureListener = backpressureListenersByChannelKey.get(channelModel.getKey());
+        if (backpressureListener != null) {
+            backpressureListener.removeEndpointIds(endpointsToUnregister);
+        }
         logger.info("Finished unregistering channel {} in tenant {}", channelModel.getKey(), tenantId);
     }
 
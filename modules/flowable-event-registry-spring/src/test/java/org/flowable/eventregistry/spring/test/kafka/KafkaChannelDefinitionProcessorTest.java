@@ -204,6 +204,57 @@ class KafkaChannelDefinitionProcessorTest {
             );
     }
 
+    @Test
+    void eventsShouldBeReceivedWithBatchListener() throws Exception {
+        createTopic("test-batch-customer");
+
+        eventRepositoryService.createInboundChannelModelBuilder()
+            .key("batchCustomerChannel")
+            .resourceName("customer.channel")
+            .kafkaChannelAdapter("test-batch-customer")
+            .batchListener("true")
+            .eventProcessingPipeline()
+            .jsonDeserializer()
+            .detectEventKeyUsingJsonField("eventKey")
+            .jsonFieldsMapDirectlyToPayload()
+            .deploy();
+
+        // Give time for the consumers to register properly in the groups
+        // This is linked to the session timeout property for the consumers
+        Thread.sleep(600);
+
+        eventRepositoryService.createEventModelBuilder()
+            .resourceName("testEvent.event")
+            .key("test")
+            .correlationParameter("customer", EventPayloadTypes.STRING)
+            .payload("name", EventPayloadTypes.STRING)
+            .deploy();
+
+        kafkaTemplate.send("test-batch-customer", "{"
+            + "    \"eventKey\": \"test\","
+            + "    \"customer\": \"kermit\","
+            + "    \"name\": \"Kermit the Frog\""
+            + "}")
+            .get(5, TimeUnit.SECONDS);
+        kafkaTemplate.send("test-batch-customer", "{"
+            + "    \"eventKey\": \"test\","
+            + "    \"customer\": \"fozzie\","
+            + "    \"name\": \"Fozzie Bear\""
+            + "}")
+            .get(5, TimeUnit.SECONDS);
+
+        await("receive events")
+            .atMost(Duration.ofSeconds(5))
+            .pollInterval(Duration.ofMillis(200))
+            .untilAsserted(() -> assertThat(testEventConsumer.getEvents())
+                .extracting(EventRegistryEvent::getType)
+                .containsExactlyInAnyOrder("test", "test"));
+
+        assertThat(testEventConsumer.getEvents())
+            .extracting(event -> ((EventInstance) event.getEventObject()).getCorrelationParameterInstances().iterator().next().getValue())
+            .containsExactlyInAnyOrder("kermit", "fozzie");
+    }
+
     @Test
     void kafkaTopicIsCorrectlyResolvedFromExpression() throws Exception {
         createTopic("test-expression-customer");
@@ -51,6 +51,10 @@ public class DefaultEventRegistry implements EventRegistry {
         this.inboundEventProcessor = inboundEventProcessor;
     }
 
+    public InboundEventProcessor getInboundEventProcessor() {
+        return inboundEventProcessor;
+    }
+
     @Override
     public void setOutboundEventProcessor(OutboundEventProcessor outboundEventProcessor) {
         this.outboundEventProcessor = outboundEventProcessor;
@@ -76,6 +80,11 @@ public class DefaultEventRegistry implements EventRegistry {
         inboundEventProcessor.eventReceived(channelModel, event);
     }
 
+    @Override
+    public void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        inboundEventProcessor.eventsReceived(channelModel, events);
+    }
+
     @Override
     public void sendEventToConsumers(EventRegistryEvent eventRegistryEvent) {
         Collection<EventRegistryEventConsumer> engineEventRegistryEventConsumers = engineConfiguration.getEventRegistryEventConsumers().values();
@@ -12,14 +12,29 @@
  */
 package org.flowable.eventregistry.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.eventregistry.api.EventRegistry;
 import org.flowable.eventregistry.api.EventRegistryEvent;
+import org.flowable.eventregistry.api.FlowableInboundEventBatchException;
 import org.flowable.eventregistry.api.InboundEvent;
 import org.flowable.eventregistry.api.InboundEventProcessingPipeline;
 import org.flowable.eventregistry.api.InboundEventProcessor;
+import org.flowable.eventregistry.api.runtime.EventInstance;
+import org.flowable.eventregistry.api.runtime.EventPayloadInstance;
+import org.flowable.eventregistry.impl.pipeline.PartitionedInboundEventExecutor;
 import org.flowable.eventregistry.model.InboundChannelModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Joram Barrez
@@ -27,21 +42,225 @@ import org.flowable.eventregistry.model.InboundChannelModel;
  */
 public class DefaultInboundEventProcessor implements InboundEventProcessor {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultInboundEventProcessor.class);
+
     protected EventRegistry eventRegistry;
 
+    /**
+     * Used to send the events of a batch to the consumers in grouped transactions.
+     */
+    protected CommandExecutor commandExecutor;
+
+    /**
+     * The number of events of a batch that are sent to the consumers in one transaction.
+     */
+    protected int eventBatchTransactionSize = 1;
+
+    /**
+     * When set, the events of a batch are handed to the consumers on the partitions of this executor instead of on the thread that received them.
+     * The receiving thread waits until all events of the batch are handled, so failures are still propagated to the channel.
+     * Single events (see {@link #eventReceived}) are always handled on the receiving thread.
+     */
+    protected PartitionedInboundEventExecutor inboundEventExecutor;
+
     public DefaultInboundEventProcessor(EventRegistry eventRegistry) {
         this.eventRegistry = eventRegistry;
     }
 
+    public DefaultInboundEventProcessor(EventRegistry eventRegistry, CommandExecutor commandExecutor, int eventBatchTransactionSize) {
+        this.eventRegistry = eventRegistry;
+        this.commandExecutor = commandExecutor;
+        this.eventBatchTransactionSize = eventBatchTransactionSize;
+    }
+
     @Override
     public void eventReceived(InboundChannelModel channelModel, InboundEvent event) {
         InboundEventProcessingPipeline inboundEventProcessingPipeline = (InboundEventProcessingPipeline) channelModel.getInboundEventProcessingPipeline();
         Collection<EventRegistryEvent> eventRegistryEvents = inboundEventProcessingPipeline.run(channelModel, event);
 
+        // Single events are always handled on the receiving thread: the channel acknowledges the event once this method returns,
+        // so handing it to the inbound event executor would only add a thread hop without handling more events in parallel
         for (EventRegistryEvent eventRegistryEvent : eventRegistryEvents) {
             eventRegistry.sendEventToConsumers(eventRegistryEvent);
         }
 
     }
 
+    @Override
+    public void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        InboundEventProcessingPipeline inboundEventProcessingPipeline = (InboundEventProcessingPipeline) channelModel.getInboundEventProcessingPipeline();
+
+        // The deserialization, key detection and payload extraction of the whole batch is done before any consumer is invoked
+        List<EventRegistryEvent> eventRegistryEvents = new ArrayList<>(events.size());
+        // The index of the inbound event each of the event registry events results from
+        List<Integer> inboundEventIndexes = new ArrayList<>(events.size());
+        int inboundEventIndex = 0;
+        for (InboundEvent event : events) {
+            for (EventRegistryEvent eventRegistryEvent : inboundEventProcessingPipeline.run(channelModel, event)) {
+                eventRegistryEvents.add(eventRegistryEvent);
+                inboundEventIndexes.add(inboundEventIndex);
+            }
+            inboundEventIndex++;
+        }
+
+        if (inboundEventExecutor != null) {
+            sendEventsToConsumersInPartitions(channelModel, eventRegistryEvents, inboundEventIndexes, events.size());
+
+        } else {
+            AtomicInteger handledEventCount = new AtomicInteger();
+            try {
+                sendEventsToConsumersInGroups(eventRegistryEvents, handledEventCount);
+            } catch (RuntimeException e) {
+                throw createBatchException(channelModel, events.size(), inboundEventIndexes.get(handledEventCount.get()), e);
+            }
+        }
+    }
+
+    /**
+     * Sends the events to the consumers, in groups of {@link #eventBatchTransactionSize} events sharing one transaction.
+     *
+     * @param handledEventCount incremented with the events whose transaction has been committed
+     */
+    protected void sendEventsToConsumersInGroups(List<EventRegistryEvent> eventRegistryEvents, AtomicInteger handledEventCount) {
+        if (commandExecutor == null || eventBatchTransactionSize <= 1) {
+            for (EventRegistryEvent eventRegistryEvent : eventRegistryEvents) {
+                eventRegistry.sendEventToConsumers(eventRegistryEvent);
+                handledEventCount.incrementAndGet();
+            }
+            return;
+        }
+
+        for (int i = 0; i < eventRegistryEvents.size(); i += eventBatchTransactionSize) {
+            sendEventsToConsumers(eventRegistryEvents.subList(i, Math.min(i + eventBatchTransactionSize, eventRegistryEvents.size())), handledEventCount);
+        }
+    }
+
+    /**
+     * Splits the events over the partitions of the {@link #inboundEventExecutor}, keeping the order of the events within a partition,
+     * and waits until all partitions have handled their events. This way the batch is only acknowledged once all its events are handled.
+     * When a partition fails, the first inbound event that was not handled by all partitions is reported as the failed one.
+     */
+    protected void sendEventsToConsumersInPartitions(InboundChannelModel channelModel, List<EventRegistryEvent> eventRegistryEvents,
+            List<Integer> inboundEventIndexes, int inboundEventCount) {
+
+        Map<Integer, List<Integer>> eventIndexesByPartition = new LinkedHashMap<>();
+        for (int i = 0; i < eventRegistryEvents.size(); i++) {
+            int partition = inboundEventExecutor.getPartition(getOrderingKey(eventRegistryEvents.get(i)));
+            eventIndexesByPartition.computeIfAbsent(partition, key -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(eventIndexesByPartition.size());
+        Map<List<Integer>, AtomicInteger> handledEventCounts = new IdentityHashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : eventIndexesByPartition.entrySet()) {
+            List<Integer> partitionEventIndexes = entry.getValue();
+            List<EventRegistryEvent> partitionEvents = new ArrayList<>(partitionEventIndexes.size());
+            for (Integer eventIndex : partitionEventIndexes) {
+                partitionEvents.add(eventRegistryEvents.get(eventIndex));
+            }
+
+            AtomicInteger handledEventCount = new AtomicInteger();
+            handledEventCounts.put(partitionEventIndexes, handledEventCount);
+            futures.add(inboundEventExecutor.execute(channelModel.getKey(), entry.getKey(), partitionEvents.size(),
+                    () -> sendEventsToConsumersInGroups(partitionEvents, handledEventCount)));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        } catch (CompletionException e) {
+            // All partitions are done at this point, the events after the first unhandled one of each failed partition are not handled
+            int failedEventIndex = Integer.MAX_VALUE;
+            for (Map.Entry<List<Integer>, AtomicInteger> entry : handledEventCounts.entrySet()) {
+                List<Integer> partitionEventIndexes = entry.getKey();
+                int handledEventCount = entry.getValue().get();
+                if (handledEventCount < partitionEventIndexes.size()) {
+                    failedEventIndex = Math.min(failedEventIndex, inboundEventIndexes.get(partitionEventIndexes.get(handledEventCount)));
+                }
+            }
+            throw createBatchException(channelModel, inboundEventCount, failedEventIndex == Integer.MAX_VALUE ? 0 : failedEventIndex,
+                    e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    protected FlowableInboundEventBatchException createBatchException(InboundChannelModel channelModel, int eventCount, int failedEventIndex,
+            Throwable cause) {
+        return new FlowableInboundEventBatchException("Failed to handle event " + failedEventIndex + " of a batch of " + eventCount
+                + " events received on channel " + channelModel.getKey(), failedEventIndex, cause);
+    }
+
+    /**
+     * Events with the same ordering key are handled in the order in which they were received.
+     * The key consists of the event definition key, the tenant and the correlation parameter values, so that all events for one
+     * correlated instance are ordered. Events without correlation parameters (e.g. the ones that start instances) do not need
+     * any ordering and get no key.
+     */
+    protected Object getOrderingKey(EventRegistryEvent eventRegistryEvent) {
+        if (eventRegistryEvent.getEventObject() instanceof EventInstance) {
+            EventInstance eventInstance = (EventInstance) eventRegistryEvent.getEventObject();
+            Collection<EventPayloadInstance> correlationParameterInstances = eventInstance.getCorrelationParameterInstances();
+            if (correlationParameterInstances != null && !correlationParameterInstances.isEmpty()) {
+                List<Object> orderingKey = new ArrayList<>(2 + 2 * correlationParameterInstances.size());
+                orderingKey.add(eventInstance.getEventKey());
+                orderingKey.add(eventInstance.getTenantId());
+                for (EventPayloadInstance correlationParameterInstance : correlationParameterInstances) {
+                    orderingKey.add(correlationParameterInstance.getDefinitionName());
+                    orderingKey.add(correlationParameterInstance.getValue());
+                }
+                return orderingKey;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends the events to the consumers in one transaction.
+     * When that transaction fails, the events are sent again one by one, so that one failing event does not prevent the others from being handled.
+     */
+    protected void sendEventsToConsumers(List<EventRegistryEvent> eventRegistryEvents, AtomicInteger handledEventCount) {
+        try {
+            commandExecutor.execute(commandContext -> {
+                for (EventRegistryEvent eventRegistryEvent : eventRegistryEvents) {
+                    eventRegistry.sendEventToConsumers(eventRegistryEvent);
+                }
+                return null;
+            });
+            handledEventCount.addAndGet(eventRegistryEvents.size());
+
+        } catch (RuntimeException e) {
+            if (eventRegistryEvents.size() == 1) {
+                throw e;
+            }
+
+            LOGGER.debug("Failed to handle {} events in one transaction, handling them one by one", eventRegistryEvents.size(), e);
+            for (EventRegistryEvent eventRegistryEvent : eventRegistryEvents) {
+                eventRegistry.sendEventToConsumers(eventRegistryEvent);
+                handledEventCount.incrementAndGet();
+            }
+        }
+    }
+
+    public CommandExecutor getCommandExecutor() {
+        return commandExecutor;
+    }
+
+    public void setCommandExecutor(CommandExecutor commandExecutor) {
+        this.commandExecutor = commandExecutor;
+    }
+
+    public PartitionedInboundEventExecutor getInboundEventExecutor() {
+        return inboundEventExecutor;
+    }
+
+    public void setInboundEventExecutor(PartitionedInboundEventExecutor inboundEventExecutor) {
+        this.inboundEventExecutor = inboundEventExecutor;
+    }
+
+    public int getEventBatchTransactionSize() {
+        return eventBatchTransactionSize;
+    }
+
+    public void setEventBatchTransactionSize(int eventBatchTransactionSize) {
+        this.eventBatchTransactionSize = eventBatchTransactionSize;
+    }
+
 }
@@ -29,6 +29,7 @@ import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.FullDeploymentCache;
@@ -87,6 +88,7 @@ import org.flowable.eventregistry.impl.pipeline.InMemoryOutboundEventChannelAdap
 import org.flowable.eventregistry.impl.pipeline.InMemoryOutboundEventProcessingPipeline;
 import org.flowable.eventregistry.impl.pipeline.InboundChannelModelProcessor;
 import org.flowable.eventregistry.impl.pipeline.OutboundChannelModelProcessor;
+import org.flowable.eventregistry.impl.pipeline.PartitionedInboundEventExecutor;
 import org.flowable.eventregistry.json.converter.ChannelJsonConverter;
 import org.flowable.eventregistry.json.converter.EventJsonConverter;
 
@@ -158,6 +160,35 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
     protected OutboundEventProcessor outboundEventProcessor;
     protected OutboundEventProcessor systemOutboundEventProcessor;
 
+    /**
+     * The number of events of a batch (see {@link EventRegistry#eventsReceived}) that are handled in one transaction.
+     * When such a transaction fails, its events are handled again one by one.
+     */
+    protected int inboundEventBatchTransactionSize = 1;
+
+    /**
+     * The number of partitions (each with one worker thread) on which the events of received batches (see {@link EventRegistry#eventsReceived})
+     * are handed to the consumers. Events with the same correlation are always handled by the same partition, in the order in which they were received.
+     * This only applies to channels that receive their events in batches, like Kafka channels with a batch listener:
+     * single events are always handed to the consumers on the thread that received them, as that is the thread acknowledging them.
+     * By default (0) the events of a batch are also handed to the consumers on the thread that received them.
+     */
+    protected int inboundEventExecutorPartitions;
+    protected int inboundEventExecutorQueueCapacity = 100;
+
+    /**
+     * The number of pending events of one channel at which the channel is asked to stop consuming, see {@link org.flowable.eventregistry.impl.pipeline.InboundChannelBackpressureListener}.
+     */
+    protected int inboundEventMaxPendingEventsPerChannel = 1000;
+    protected PartitionedInboundEventExecutor inboundEventExecutor;
+
+    /**
+     * Whether json channels read their events with a streaming parser, only materializing the fields that are used,
+     * instead of building a json tree of the full event. Only applies to json channels that do not use custom deserializers,
+     * detectors or payload extractors, as those expect a json tree.
+     */
+    protected boolean inboundJsonEventStreamingEnabled;
+
     protected Map<String, InboundEventPayloadExtractor<?>> inboundEventPayloadExtractorsByChannelType;
     protected InboundEventPayloadExtractor<?> defaultInboundEventPayloadExtractor;
     
@@ -256,6 +287,7 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         initDataManagers();
         initEntityManagers();
         initEventRegistry();
+        initInboundEventExecutor();
         initInboundEventProcessor();
         initOutboundEventProcessor();
         initSystemOutboundEventProcessor();
@@ -456,7 +488,9 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         }
 
         if (eventDefinitionCache == null) {
-            if (eventDefinitionCacheLimit <= 0) {
+            if (concurrentDeploymentCacheEnabled) {
+                eventDefinitionCache = new ConcurrentDeploymentCache<>(eventDefinitionCacheLimit);
+            } else if (eventDefinitionCacheLimit <= 0) {
                 eventDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 eventDefinitionCache = new DefaultDeploymentCache<>(eventDefinitionCacheLimit);
@@ -532,9 +566,23 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         }
     }
 
+    public void initInboundEventExecutor() {
+        if (this.inboundEventExecutor == null && inboundEventExecutorPartitions > 0) {
+            this.inboundEventExecutor = new PartitionedInboundEventExecutor(inboundEventExecutorPartitions, inboundEventExecutorQueueCapacity);
+            this.inboundEventExecutor.setMaxPendingEventsPerChannel(inboundEventMaxPendingEventsPerChannel);
+        }
+
+        if (this.inboundEventExecutor != null) {
+            this.inboundEventExecutor.initialize();
+        }
+    }
+
     public void initInboundEventProcessor() {
         if (this.inboundEventProcessor == null) {
-            this.inboundEventProcessor = new DefaultInboundEventProcessor(eventRegistry);
+            DefaultInboundEventProcessor defaultInboundEventProcessor = new DefaultInboundEventProcessor(eventRegistry, commandExecutor,
+                    inboundEventBatchTransactionSize);
+            defaultInboundEventProcessor.setInboundEventExecutor(inboundEventExecutor);
+            this.inboundEventProcessor = defaultInboundEventProcessor;
         }
         this.eventRegistry.setInboundEventProcessor(this.inboundEventProcessor);
     }
@@ -668,6 +716,51 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         return this;
     }
 
+    public int getInboundEventBatchTransactionSize() {
+        return inboundEventBatchTransactionSize;
+    }
+
+    public EventRegistryEngineConfiguration setInboundEventBatchTransactionSize(int inboundEventBatchTransactionSize) {
+        this.inboundEventBatchTransactionSize = inboundEventBatchTransactionSize;
+        return this;
+    }
+
+    public int getInboundEventExecutorPartitions() {
+        return inboundEventExecutorPartitions;
+    }
+
+    public EventRegistryEngineConfiguration setInboundEventExecutorPartitions(int inboundEventExecutorPartitions) {
+        this.inboundEventExecutorPartitions = inboundEventExecutorPartitions;
+        return this;
+    }
+
+    public int getInboundEventExecutorQueueCapacity() {
+        return inboundEventExecutorQueueCapacity;
+    }
+
+    public EventRegistryEngineConfiguration setInboundEventExecutorQueueCapacity(int inboundEventExecutorQueueCapacity) {
+        this.inboundEventExecutorQueueCapacity = inboundEventExecutorQueueCapacity;
+        return this;
+    }
+
+    public int getInboundEventMaxPendingEventsPerChannel() {
+        return inboundEventMaxPendingEventsPerChannel;
+    }
+
+    public EventRegistryEngineConfiguration setInboundEventMaxPendingEventsPerChannel(int inboundEventMaxPendingEventsPerChannel) {
+        this.inboundEventMaxPendingEventsPerChannel = inboundEventMaxPendingEventsPerChannel;
+        return this;
+    }
+
+    public PartitionedInboundEventExecutor getInboundEventExecutor() {
+        return inboundEventExecutor;
+    }
+
+    public EventRegistryEngineConfiguration setInboundEventExecutor(PartitionedInboundEventExecutor inboundEventExecutor) {
+        this.inboundEventExecutor = inboundEventExecutor;
+        return this;
+    }
+
     public OutboundEventProcessor getOutboundEventProcessor() {
         return outboundEventProcessor;
     }
@@ -686,6 +779,15 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         return this;
     }
 
+    public boolean isInboundJsonEventStreamingEnabled() {
+        return inboundJsonEventStreamingEnabled;
+    }
+
+    public EventRegistryEngineConfiguration setInboundJsonEventStreamingEnabled(boolean inboundJsonEventStreamingEnabled) {
+        this.inboundJsonEventStreamingEnabled = inboundJsonEventStreamingEnabled;
+        return this;
+    }
+
     public Map<String, InboundEventPayloadExtractor<?>> getInboundEventPayloadExtractorsByChannelType() {
         return inboundEventPayloadExtractorsByChannelType;
     }
@@ -81,6 +81,10 @@ public class EventRegistryEngineImpl implements EventRegistryEngine {
             engineConfiguration.getEventRegistryChangeDetectionExecutor().shutdown();
         }
 
+        if (engineConfiguration.getInboundEventExecutor() != null) {
+            engineConfiguration.getInboundEventExecutor().shutdown();
+        }
+
         engineConfiguration.close();
 
         if (engineConfiguration.getEngineLifecycleListeners() != null) {
@@ -24,6 +24,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.common.engine.api.delegate.event.FlowableEventType;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
@@ -37,6 +39,8 @@ import org.flowable.eventregistry.impl.EventRegistryEngineConfiguration;
 import org.flowable.eventregistry.impl.util.CommandContextUtil;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Joram Barrez
@@ -44,8 +48,11 @@ import org.flowable.eventsubscription.api.EventSubscriptionQuery;
  */
 public abstract class BaseEventRegistryEventConsumer implements EventRegistryEventConsumer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaseEventRegistryEventConsumer.class);
+
     protected AbstractEngineConfiguration engingeConfiguration;
     protected CommandExecutor commandExecutor;
+    protected EventSubscriptionIndex eventSubscriptionIndex;
 
     public BaseEventRegistryEventConsumer(AbstractEngineConfiguration engingeConfiguration) {
         this.engingeConfiguration = engingeConfiguration;
@@ -67,6 +74,25 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
 
     protected abstract EventRegistryProcessingInfo eventReceived(EventInstance eventInstance);
 
+    /**
+     * Enables the {@link EventSubscriptionIndex}, which is kept up to date through the event dispatcher of the engine.
+     * Only to be used when this is the only node creating event subscriptions: subscriptions created on other nodes are not seen
+     * by the index, so events for them would be dropped.
+     * The index is not enabled when the event dispatcher is disabled, since the created subscriptions would not be seen.
+     */
+    public void enableEventSubscriptionIndex() {
+        FlowableEventDispatcher eventDispatcher = engingeConfiguration.getEventDispatcher();
+        if (eventDispatcher == null || !eventDispatcher.isEnabled()) {
+            LOGGER.warn("The event subscription index of {} can't be enabled because the event dispatcher is disabled", getConsumerKey());
+            return;
+        }
+
+        EventSubscriptionIndex eventSubscriptionIndex = new EventSubscriptionIndex();
+        eventDispatcher.addEventListener(eventSubscriptionIndex, eventSubscriptionIndex.getTypes().toArray(new FlowableEventType[0]));
+        this.eventSubscriptionIndex = eventSubscriptionIndex;
+        LOGGER.info("Enabled the single node event subscription index of {}", getConsumerKey());
+    }
+
     /**
      * Generates all possible correlation keys for the given correlation parameters.
      * The first element in the list will only have used one parameter. The last element in the list has included all parameters.
@@ -118,6 +144,10 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
     protected List<EventSubscription> findEventSubscriptions(String scopeType, EventInstance eventInstance,  Collection<CorrelationKey> correlationKeys) {
         return commandExecutor.execute(commandContext -> {
 
+            if (eventSubscriptionIndex != null && !hasPossibleEventSubscriptions(scopeType, eventInstance, correlationKeys)) {
+                return Collections.emptyList();
+            }
+
             EventSubscriptionQuery eventSubscriptionQuery = createEventSubscriptionQuery()
                 .eventType(eventInstance.getEventKey())
                 .scopeType(scopeType);
@@ -168,6 +198,58 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
         });
     }
 
+    /**
+     * Uses the {@link EventSubscriptionIndex} to determine whether there can be subscriptions for the event.
+     * Needs to be called within a command.
+     */
+    protected boolean hasPossibleEventSubscriptions(String scopeType, EventInstance eventInstance, Collection<CorrelationKey> correlationKeys) {
+        String eventType = eventInstance.getEventKey();
+        if (!eventSubscriptionIndex.isIndexed(scopeType, eventType)) {
+            long modificationCount = eventSubscriptionIndex.getModificationCount();
+            EventSubscriptionQuery eventSubscriptionQuery = createEventSubscriptionQuery()
+                .eventType(eventType)
+                .scopeType(scopeType);
+
+            if (eventSubscriptionQuery.count() > eventSubscriptionIndex.getMaxIndexedSubscriptions()) {
+                eventSubscriptionIndex.markNotIndexable(scopeType, eventType, modificationCount);
+                return true;
+
+            } else if (!eventSubscriptionIndex.index(scopeType, eventType, eventSubscriptionQuery.list(), modificationCount)) {
+                return true;
+            }
+        }
+
+        Set<String> allCorrelationKeyValues = correlationKeys.stream().map(CorrelationKey::getValue).collect(Collectors.toSet());
+        return eventSubscriptionIndex.hasPossibleMatch(scopeType, eventType, getEventSubscriptionTenantIds(scopeType, eventInstance), allCorrelationKeyValues);
+    }
+
+    /**
+     * @return the tenant ids of the subscriptions that can match the event, or {@code null} if subscriptions of any tenant can match
+     */
+    protected Collection<String> getEventSubscriptionTenantIds(String scopeType, EventInstance eventInstance) {
+        String eventInstanceTenantId = eventInstance.getTenantId();
+        if (eventInstanceTenantId == null || AbstractEngineConfiguration.NO_TENANT_ID.equals(eventInstanceTenantId)) {
+            return null;
+        }
+
+        EventRegistryEngineConfiguration eventRegistryConfiguration = CommandContextUtil.getEventRegistryConfiguration();
+        if (eventRegistryConfiguration.isFallbackToDefaultTenant()) {
+            String defaultTenant = eventRegistryConfiguration.getDefaultTenantProvider()
+                .getDefaultTenant(eventInstanceTenantId, scopeType, eventInstance.getEventKey());
+            return Arrays.asList(eventInstanceTenantId, defaultTenant);
+        }
+
+        return Collections.singletonList(eventInstanceTenantId);
+    }
+
+    public EventSubscriptionIndex getEventSubscriptionIndex() {
+        return eventSubscriptionIndex;
+    }
+
+    public void setEventSubscriptionIndex(EventSubscriptionIndex eventSubscriptionIndex) {
+        this.eventSubscriptionIndex = eventSubscriptionIndex;
+    }
+
     protected abstract EventSubscriptionQuery createEventSubscriptionQuery();
 
 }
@@ -0,0 +1,284 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.consumer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.api.delegate.event.AbstractFlowableEventListener;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.api.delegate.event.FlowableEntityEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEventType;
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.eventsubscription.api.EventSubscription;
+
+/**
+ * A node local index of the event subscriptions per scope type and event type, which is used by the
+ * {@link BaseEventRegistryEventConsumer} to skip the event subscription query when it is certain that no subscription
+ * can match an incoming event.
+ * <p>
+ * For every indexed event type the (tenant id, configuration) pairs of its subscriptions are kept. The index is kept
+ * up to date through the {@link FlowableEngineEventType#ENTITY_CREATED} events of the event subscriptions created on this node:
+ * a new subscription is added when it is inserted and once more when its transaction commits, which also invalidates
+ * any load of the same event type that was running concurrently.
+ * Deleted subscriptions are not removed, which only means that the query is executed when it could have been skipped.
+ * <p>
+ * Subscriptions created on other nodes are not seen through events, and there is no cluster wide signal for them.
+ * A missing subscription can therefore only be trusted when this node is the only one creating subscriptions,
+ * hence the index is only to be used for single node deployments.
+ * As a safety net for subscriptions that are not created through the engine (e.g. a data migration),
+ * an indexed event type is reloaded once it is older than the refresh interval.
+ * Event types with more subscriptions than the max indexed subscriptions are not indexed,
+ * which means that the query is always executed for them.
+ */
+public class EventSubscriptionIndex extends AbstractFlowableEventListener {
+
+    protected static final Set<FlowableEngineEventType> TYPES = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(FlowableEngineEventType.ENTITY_CREATED, FlowableEngineEventType.CHANGE_TENANT_ID)));
+
+    protected final ConcurrentMap<IndexKey, IndexEntry> entries = new ConcurrentHashMap<>();
+    protected final AtomicLong modificationCount = new AtomicLong();
+
+    protected Duration refreshInterval = Duration.ofMinutes(1);
+    protected int maxIndexedSubscriptions = 1000;
+
+    /**
+     * @return the value of the modification counter, which needs to be passed to {@link #index(String, String, Collection, long)}
+     *         and has to be read before loading the subscriptions
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * @return whether the given event type has an up-to-date index entry,
+     *         i.e. whether {@link #hasPossibleMatch(String, String, Collection, Collection)} can be trusted for it
+     */
+    public boolean isIndexed(String scopeType, String eventType) {
+        IndexEntry entry = entries.get(new IndexKey(scopeType, eventType));
+        if (entry == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - entry.loadTime > refreshInterval.toNanos()) {
+            entries.remove(entry.key, entry);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Index the given subscriptions of the event type.
+     * Nothing is indexed if the index was modified since the given modification count was read.
+     *
+     * @return whether the subscriptions were indexed
+     */
+    public boolean index(String scopeType, String eventType, Collection<EventSubscription> eventSubscriptions, long loadModificationCount) {
+        IndexEntry entry = new IndexEntry(new IndexKey(scopeType, eventType), eventSubscriptions.size() <= maxIndexedSubscriptions);
+        if (entry.complete) {
+            for (EventSubscription eventSubscription : eventSubscriptions) {
+                entry.add(eventSubscription.getTenantId(), eventSubscription.getConfiguration());
+            }
+        }
+        return putEntry(entry, loadModificationCount);
+    }
+
+    /**
+     * Marks the event type as having too many subscriptions to index, until the refresh interval has passed.
+     */
+    public boolean markNotIndexable(String scopeType, String eventType, long loadModificationCount) {
+        return putEntry(new IndexEntry(new IndexKey(scopeType, eventType), false), loadModificationCount);
+    }
+
+    protected boolean putEntry(IndexEntry entry, long loadModificationCount) {
+        synchronized (entries) {
+            if (modificationCount.get() != loadModificationCount) {
+                return false;
+            }
+            entries.put(entry.key, entry);
+        }
+        return true;
+    }
+
+    /**
+     * @param tenantIds the tenant ids a subscription can have, {@code null} when any tenant can match
+     * @param configurations the configurations (correlation keys) a subscription can have, next to subscriptions without configuration
+     * @return {@code false} if the event type is indexed and none of its subscriptions matches, {@code true} otherwise
+     */
+    public boolean hasPossibleMatch(String scopeType, String eventType, Collection<String> tenantIds, Collection<String> configurations) {
+        IndexEntry entry = entries.get(new IndexKey(scopeType, eventType));
+        if (entry == null || !entry.complete) {
+            return true;
+        }
+
+        for (SubscriptionKey subscriptionKey : entry.subscriptionKeys) {
+            if (tenantIds != null && !tenantIds.contains(subscriptionKey.tenantId)) {
+                continue;
+            }
+
+            if (subscriptionKey.configuration == null || configurations.contains(subscriptionKey.configuration)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            modificationCount.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void onEvent(FlowableEvent event) {
+        if (event.getType() == FlowableEngineEventType.CHANGE_TENANT_ID) {
+            clear();
+
+        } else if (event instanceof FlowableEntityEvent && ((FlowableEntityEvent) event).getEntity() instanceof EventSubscription) {
+            EventSubscription eventSubscription = (EventSubscription) ((FlowableEntityEvent) event).getEntity();
+            addEventSubscription(eventSubscription);
+
+            TransactionContext transactionContext = Context.getTransactionContext();
+            if (transactionContext != null) {
+                // Loads that ran concurrently could not see the subscription yet, they are invalidated by the modification
+                transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> addEventSubscription(eventSubscription));
+            }
+        }
+    }
+
+    protected void addEventSubscription(EventSubscription eventSubscription) {
+        synchronized (entries) {
+            modificationCount.incrementAndGet();
+            IndexEntry entry = entries.get(new IndexKey(eventSubscription.getScopeType(), eventSubscription.getEventType()));
+            if (entry != null) {
+                entry.add(eventSubscription.getTenantId(), eventSubscription.getConfiguration());
+            }
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return false;
+    }
+
+    @Override
+    public Collection<? extends FlowableEventType> getTypes() {
+        return TYPES;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getMaxIndexedSubscriptions() {
+        return maxIndexedSubscriptions;
+    }
+
+    public void setMaxIndexedSubscriptions(int maxIndexedSubscriptions) {
+        this.maxIndexedSubscriptions = maxIndexedSubscriptions;
+    }
+
+    protected static class IndexEntry {
+
+        protected final IndexKey key;
+        protected final boolean complete;
+        protected final long loadTime = System.nanoTime();
+        protected final Set<SubscriptionKey> subscriptionKeys = ConcurrentHashMap.newKeySet();
+
+        protected IndexEntry(IndexKey key, boolean complete) {
+            this.key = key;
+            this.complete = complete;
+        }
+
+        protected void add(String tenantId, String configuration) {
+            subscriptionKeys.add(new SubscriptionKey(tenantId, configuration));
+        }
+    }
+
+    protected static class IndexKey {
+
+        protected final String scopeType;
+        protected final String eventType;
+
+        protected IndexKey(String scopeType, String eventType) {
+            this.scopeType = scopeType;
+            this.eventType = eventType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            IndexKey that = (IndexKey) o;
+            return Objects.equals(scopeType, that.scopeType) && Objects.equals(eventType, that.eventType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scopeType, eventType);
+        }
+    }
+
+    protected static class SubscriptionKey {
+
+        protected final String tenantId;
+        protected final String configuration;
+
+        protected SubscriptionKey(String tenantId, String configuration) {
+            // Subscriptions without tenant are stored with null or the empty string
+            this.tenantId = tenantId != null ? tenantId : "";
+            this.configuration = configuration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SubscriptionKey that = (SubscriptionKey) o;
+            return tenantId.equals(that.tenantId) && Objects.equals(configuration, that.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, configuration);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.keydetector;
+
+import org.flowable.eventregistry.api.InboundEventKeyDetector;
+import org.flowable.eventregistry.impl.serialization.LazyJsonEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The {@link LazyJsonEvent} variant of the {@link JsonPointerBasedInboundEventKeyDetector}.
+ */
+public class LazyJsonPointerBasedInboundEventKeyDetector implements InboundEventKeyDetector<LazyJsonEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyJsonPointerBasedInboundEventKeyDetector.class);
+
+    protected String jsonPointerValue;
+    protected JsonPointer jsonPointerExpression;
+
+    public LazyJsonPointerBasedInboundEventKeyDetector(String jsonPointerExpression) {
+        this.jsonPointerValue = jsonPointerExpression;
+        this.jsonPointerExpression = JsonPointer.compile(jsonPointerExpression);
+    }
+
+    @Override
+    public String detectEventDefinitionKey(LazyJsonEvent payload) {
+        JsonNode result = payload.at(jsonPointerExpression);
+
+        if (result == null || result.isMissingNode() || result.isNull()) {
+            LOGGER.warn("JsonPointer expression {} did not detect event key", jsonPointerExpression);
+            return null;
+        }
+
+        if (result.isTextual()) {
+            return result.asText();
+        }
+
+        return null;
+    }
+
+    public String getJsonPointerValue() {
+        return jsonPointerValue;
+    }
+}
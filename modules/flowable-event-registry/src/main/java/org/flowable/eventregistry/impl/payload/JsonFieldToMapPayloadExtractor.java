@@ -47,7 +47,10 @@ public class JsonFieldToMapPayloadExtractor implements InboundEventPayloadExtrac
             return event;
         }
         
-        JsonNode parameterNode = event.get(definitionName);
+        return convertPayloadValue(event.get(definitionName), definitionType);
+    }
+
+    protected Object convertPayloadValue(JsonNode parameterNode, String definitionType) {
         Object value = null;
 
         if (EventPayloadTypes.STRING.equals(definitionType)) {
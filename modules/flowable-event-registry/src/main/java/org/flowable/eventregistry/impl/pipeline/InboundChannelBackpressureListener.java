@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.pipeline;
+
+/**
+ * Notified by the {@link PartitionedInboundEventExecutor} when too many events of a channel are waiting to be handled,
+ * so that the channel adapter can stop consuming new events until the backlog has been processed.
+ */
+public interface InboundChannelBackpressureListener {
+
+    /**
+     * Called when the number of pending events of the channel reached the configured maximum.
+     */
+    void pause(String channelKey);
+
+    /**
+     * Called when the number of pending events of a paused channel dropped to half of the configured maximum.
+     */
+    void resume(String channelKey);
+
+}
@@ -15,6 +15,7 @@ package org.flowable.eventregistry.impl.pipeline;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
@@ -33,14 +34,21 @@ import org.flowable.eventregistry.impl.EventRegistryEngineConfiguration;
 import org.flowable.eventregistry.impl.keydetector.InboundEventStaticKeyDetector;
 import org.flowable.eventregistry.impl.keydetector.JsonFieldBasedInboundEventKeyDetector;
 import org.flowable.eventregistry.impl.keydetector.JsonPointerBasedInboundEventKeyDetector;
+import org.flowable.eventregistry.impl.keydetector.LazyJsonFieldBasedInboundEventKeyDetector;
+import org.flowable.eventregistry.impl.keydetector.LazyJsonPointerBasedInboundEventKeyDetector;
 import org.flowable.eventregistry.impl.keydetector.XpathBasedInboundEventKeyDetector;
 import org.flowable.eventregistry.impl.payload.CompositePayloadExtractor;
+import org.flowable.eventregistry.impl.payload.HeadersPayloadExtractor;
 import org.flowable.eventregistry.impl.payload.JsonFieldToMapPayloadExtractor;
+import org.flowable.eventregistry.impl.payload.LazyJsonFieldToMapPayloadExtractor;
 import org.flowable.eventregistry.impl.payload.XmlElementsToMapPayloadExtractor;
+import org.flowable.eventregistry.impl.serialization.LazyJsonEvent;
+import org.flowable.eventregistry.impl.serialization.RawJsonToLazyJsonEventDeserializer;
 import org.flowable.eventregistry.impl.serialization.StringToJsonDeserializer;
 import org.flowable.eventregistry.impl.serialization.StringToXmlDocumentDeserializer;
 import org.flowable.eventregistry.impl.tenantdetector.InboundEventStaticTenantDetector;
 import org.flowable.eventregistry.impl.tenantdetector.JsonPointerBasedInboundEventTenantDetector;
+import org.flowable.eventregistry.impl.tenantdetector.LazyJsonPointerBasedInboundEventTenantDetector;
 import org.flowable.eventregistry.impl.tenantdetector.XpathBasedInboundEventTenantDetector;
 import org.flowable.eventregistry.impl.transformer.DefaultInboundEventTransformer;
 import org.flowable.eventregistry.impl.util.CommandContextUtil;
@@ -119,6 +127,10 @@ public class InboundChannelModelProcessor implements ChannelModelProcessor {
     protected InboundEventProcessingPipeline createJsonEventProcessingPipeline(InboundChannelModel channelModel, 
             EventRepositoryService eventRepositoryService,
             ObjectMapper objectMapper) {
+
+        if (engineConfiguration.isInboundJsonEventStreamingEnabled() && canStreamJsonEvents(channelModel)) {
+            return createStreamingJsonEventProcessingPipeline(channelModel, eventRepositoryService, objectMapper);
+        }
         
         InboundEventDeserializer<JsonNode> eventDeserializer;
         if (StringUtils.isEmpty(channelModel.getDeserializerDelegateExpression())) {
@@ -128,10 +140,54 @@ public class InboundChannelModelProcessor implements ChannelModelProcessor {
             eventDeserializer = resolveExpression(channelModel.getDeserializerDelegateExpression(), InboundEventDeserializer.class);
         }
 
-        InboundEventTenantDetector<JsonNode> eventTenantDetector = null; // By default no multi-tenancy is applied
-
         InboundEventPayloadExtractor<JsonNode> eventPayloadExtractor = createInboundEventPayloadExtractor(channelModel, JsonFieldToMapPayloadExtractor::new);
 
+        return createJsonEventProcessingPipeline(channelModel, eventRepositoryService, eventDeserializer, eventPayloadExtractor,
+                JsonFieldBasedInboundEventKeyDetector::new,
+                jsonPointerExpression -> new JsonPointerBasedInboundEventKeyDetector(jsonPointerExpression, objectMapper),
+                JsonPointerBasedInboundEventTenantDetector::new);
+    }
+
+    /**
+     * Events can only be streamed when none of the pipeline steps is customized, as custom steps expect a json tree.
+     */
+    protected boolean canStreamJsonEvents(InboundChannelModel channelModel) {
+        ChannelEventKeyDetection keyDetection = channelModel.getChannelEventKeyDetection();
+        ChannelEventTenantIdDetection tenantIdDetection = channelModel.getChannelEventTenantIdDetection();
+        Map<String, InboundEventPayloadExtractor<?>> inboundEventPayloadExtractors = engineConfiguration.getInboundEventPayloadExtractorsByChannelType();
+
+        return StringUtils.isEmpty(channelModel.getDeserializerDelegateExpression())
+                && StringUtils.isEmpty(channelModel.getPayloadExtractorDelegateExpression())
+                && (keyDetection == null || StringUtils.isEmpty(keyDetection.getDelegateExpression()))
+                && (tenantIdDetection == null || StringUtils.isEmpty(tenantIdDetection.getDelegateExpression()))
+                && engineConfiguration.getDefaultInboundEventPayloadExtractor() instanceof HeadersPayloadExtractor
+                && (inboundEventPayloadExtractors == null || !inboundEventPayloadExtractors.containsKey(channelModel.getType()));
+    }
+
+    protected InboundEventProcessingPipeline createStreamingJsonEventProcessingPipeline(InboundChannelModel channelModel,
+            EventRepositoryService eventRepositoryService, ObjectMapper objectMapper) {
+
+        InboundEventDeserializer<LazyJsonEvent> eventDeserializer = new RawJsonToLazyJsonEventDeserializer(objectMapper);
+        InboundEventPayloadExtractor<LazyJsonEvent> eventPayloadExtractor = createInboundEventPayloadExtractor(channelModel,
+                LazyJsonFieldToMapPayloadExtractor::new);
+
+        return createJsonEventProcessingPipeline(channelModel, eventRepositoryService, eventDeserializer, eventPayloadExtractor,
+                LazyJsonFieldBasedInboundEventKeyDetector::new,
+                LazyJsonPointerBasedInboundEventKeyDetector::new,
+                LazyJsonPointerBasedInboundEventTenantDetector::new);
+    }
+
+    /**
+     * Creates the pipeline of a json channel, the json field and json pointer detectors are created with the given functions
+     * as they depend on the representation of the deserialized event.
+     */
+    protected <T> InboundEventProcessingPipeline createJsonEventProcessingPipeline(InboundChannelModel channelModel,
+            EventRepositoryService eventRepositoryService, InboundEventDeserializer<T> eventDeserializer, InboundEventPayloadExtractor<T> eventPayloadExtractor,
+            Function<String, InboundEventKeyDetector<T>> jsonFieldKeyDetectorCreator, Function<String, InboundEventKeyDetector<T>> jsonPointerKeyDetectorCreator,
+            Function<String, InboundEventTenantDetector<T>> jsonPointerTenantDetectorCreator) {
+
+        InboundEventTenantDetector<T> eventTenantDetector = null; // By default no multi-tenancy is applied
+
         InboundEventTransformer eventTransformer;
         if (StringUtils.isEmpty(channelModel.getEventTransformerDelegateExpression())) {
             eventTransformer = new DefaultInboundEventTransformer();
@@ -139,7 +195,7 @@ public class InboundChannelModelProcessor implements ChannelModelProcessor {
             eventTransformer = resolveExpression(channelModel.getEventTransformerDelegateExpression(), InboundEventTransformer.class);
         }
 
-        InboundEventKeyDetector<JsonNode> eventKeyDetector;
+        InboundEventKeyDetector<T> eventKeyDetector;
         ChannelEventKeyDetection keyDetection = channelModel.getChannelEventKeyDetection();
 
         if (keyDetection == null) {
@@ -149,9 +205,9 @@ public class InboundChannelModelProcessor implements ChannelModelProcessor {
         if (StringUtils.isNotEmpty(keyDetection.getFixedValue())) {
             eventKeyDetector = new InboundEventStaticKeyDetector<>(keyDetection.getFixedValue());
         } else if (StringUtils.isNotEmpty(keyDetection.getJsonField())) {
-            eventKeyDetector = new JsonFieldBasedInboundEventKeyDetector(keyDetection.getJsonField());
+            eventKeyDetector = jsonFieldKeyDetectorCreator.apply(keyDetection.getJsonField());
         } else if (StringUtils.isNotEmpty(keyDetection.getJsonPointerExpression())) {
-            eventKeyDetector = new JsonPointerBasedInboundEventKeyDetector(keyDetection.getJsonPointerExpression(), objectMapper);
+            eventKeyDetector = jsonPointerKeyDetectorCreator.apply(keyDetection.getJsonPointerExpression());
         } else if (StringUtils.isNotEmpty(keyDetection.getDelegateExpression())) {
             //noinspection unchecked
             eventKeyDetector = resolveExpression(keyDetection.getDelegateExpression(), InboundEventKeyDetector.class);
@@ -166,7 +222,7 @@ public class InboundChannelModelProcessor implements ChannelModelProcessor {
             if (StringUtils.isNotEmpty(channelEventTenantIdDetection.getFixedValue())) {
                 eventTenantDetector = new InboundEventStaticTenantDetector<>(channelEventTenantIdDetection.getFixedValue());
             } else if (StringUtils.isNotEmpty(channelEventTenantIdDetection.getJsonPointerExpression())) {
-                eventTenantDetector = new JsonPointerBasedInboundEventTenantDetector(channelEventTenantIdDetection.getJsonPointerExpression());
+                eventTenantDetector = jsonPointerTenantDetectorCreator.apply(channelEventTenantIdDetection.getJsonPointerExpression());
             } else if (StringUtils.isNotEmpty(channelEventTenantIdDetection.getDelegateExpression())) {
                 //noinspection unchecked
                 eventTenantDetector = resolveExpression(channelEventTenantIdDetection.getDelegateExpression(), InboundEventTenantDetector.class);
@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue depth, lag and processing time of the inbound events of one channel that are handled by the {@link PartitionedInboundEventExecutor}.
+ * <p>
+ * The lag is the time an event waited in the queue of its partition before it was handed to the consumers,
+ * the processing time is the time it took the consumers to handle it.
+ */
+public class InboundChannelStatistics {
+
+    protected final String channelKey;
+    protected final int maxPendingEvents;
+
+    protected final LongAdder queuedEvents = new LongAdder();
+    protected final LongAdder processedEvents = new LongAdder();
+    protected final LongAdder failedEvents = new LongAdder();
+    protected final AtomicLong queueDepth = new AtomicLong();
+    protected final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0L);
+    protected final LongAdder totalLagInNanos = new LongAdder();
+    protected final LongAccumulator maxLagInNanos = new LongAccumulator(Math::max, 0L);
+    protected final LongAdder totalProcessingTimeInNanos = new LongAdder();
+    protected final LongAccumulator maxProcessingTimeInNanos = new LongAccumulator(Math::max, 0L);
+
+    protected final AtomicBoolean paused = new AtomicBoolean();
+    protected volatile InboundChannelBackpressureListener backpressureListener;
+
+    public InboundChannelStatistics(String channelKey, int maxPendingEvents) {
+        this.channelKey = channelKey;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    public void eventsQueued(int nrOfEvents) {
+        queuedEvents.add(nrOfEvents);
+        long depth = queueDepth.addAndGet(nrOfEvents);
+        maxQueueDepth.accumulate(depth);
+
+        InboundChannelBackpressureListener listener = backpressureListener;
+        if (listener != null && maxPendingEvents > 0 && depth >= maxPendingEvents && paused.compareAndSet(false, true)) {
+            listener.pause(channelKey);
+        }
+    }
+
+    public void eventsStarted(int nrOfEvents, long lagInNanos) {
+        totalLagInNanos.add(lagInNanos * nrOfEvents);
+        maxLagInNanos.accumulate(lagInNanos);
+    }
+
+    public void eventsFinished(int nrOfEvents, long processingTimeInNanos, boolean failed) {
+        if (failed) {
+            failedEvents.add(nrOfEvents);
+        } else {
+            processedEvents.add(nrOfEvents);
+        }
+        totalProcessingTimeInNanos.add(processingTimeInNanos);
+        maxProcessingTimeInNanos.accumulate(processingTimeInNanos / nrOfEvents);
+        long depth = queueDepth.addAndGet(-nrOfEvents);
+
+        if (depth <= maxPendingEvents / 2 && paused.compareAndSet(true, false)) {
+            InboundChannelBackpressureListener listener = backpressureListener;
+            if (listener != null) {
+                listener.resume(channelKey);
+            }
+        }
+    }
+
+    public String getChannelKey() {
+        return channelKey;
+    }
+
+    public int getMaxPendingEvents() {
+        return maxPendingEvents;
+    }
+
+    public long getQueuedEvents() {
+        return queuedEvents.sum();
+    }
+
+    public long getProcessedEvents() {
+        return processedEvents.sum();
+    }
+
+    public long getFailedEvents() {
+        return failedEvents.sum();
+    }
+
+    /**
+     * @return the number of events that are queued or being handled at this moment.
+     */
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public double getAverageLagInNanos() {
+        long count = getProcessedEvents() + getFailedEvents();
+        return count > 0 ? (double) totalLagInNanos.sum() / count : 0.0;
+    }
+
+    public long getMaxLagInNanos() {
+        return maxLagInNanos.get();
+    }
+
+    public double getAverageProcessingTimeInNanos() {
+        long count = getProcessedEvents() + getFailedEvents();
+        return count > 0 ? (double) totalProcessingTimeInNanos.sum() / count : 0.0;
+    }
+
+    public long getMaxProcessingTimeInNanos() {
+        return maxProcessingTimeInNanos.get();
+    }
+
+    public boolean isPaused() {
+        return paused.get();
+    }
+
+    public InboundChannelBackpressureListener getBackpressureListener() {
+        return backpressureListener;
+    }
+
+    public void setBackpressureListener(InboundChannelBackpressureListener backpressureListener) {
+        this.backpressureListener = backpressureListener;
+    }
+
+    @Override
+    public String toString() {
+        return channelKey + "[processed=" + getProcessedEvents() + ", failed=" + getFailedEvents() + ", queueDepth=" + getQueueDepth()
+                + ", avgLag=" + TimeUnit.NANOSECONDS.toMicros((long) getAverageLagInNanos()) + "us, avgProcessingTime="
+                + TimeUnit.NANOSECONDS.toMicros((long) getAverageProcessingTimeInNanos()) + "us]";
+    }
+
+}
@@ -0,0 +1,264 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.pipeline;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.common.engine.api.FlowableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands inbound events to the consumers on a fixed number of partitions, each with its own single worker thread.
+ * <p>
+ * Events with the same ordering key (e.g. the same correlation) always end up on the same partition and are thus handled in the order
+ * in which they were received, while events with different keys are handled in parallel.
+ * Every partition has a bounded queue: when it is full, the thread that submits the events (typically the listener thread of the channel)
+ * blocks until there is room again. Next to that, an {@link InboundChannelBackpressureListener} can be registered per channel
+ * to stop consuming before that happens.
+ */
+public class PartitionedInboundEventExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInboundEventExecutor.class);
+
+    protected final int numberOfPartitions;
+    protected final int partitionQueueCapacity;
+    protected int maxPendingEventsPerChannel = 1000;
+    protected long shutdownTimeoutInMs = 10000L;
+    protected String threadName = "flowable-inbound-event-executor-%d";
+
+    protected ThreadPoolExecutor[] partitions;
+    protected final Map<String, InboundChannelStatistics> channelStatistics = new ConcurrentHashMap<>();
+    protected final AtomicInteger unorderedEventCounter = new AtomicInteger();
+
+    public PartitionedInboundEventExecutor(int numberOfPartitions, int partitionQueueCapacity) {
+        if (numberOfPartitions < 1) {
+            throw new FlowableException("The number of partitions of the inbound event executor must be at least 1");
+        }
+        this.numberOfPartitions = numberOfPartitions;
+        this.partitionQueueCapacity = partitionQueueCapacity;
+    }
+
+    public synchronized void initialize() {
+        if (partitions != null) {
+            return;
+        }
+
+        BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern(threadName).build();
+        ThreadPoolExecutor[] executors = new ThreadPoolExecutor[numberOfPartitions];
+        for (int i = 0; i < numberOfPartitions; i++) {
+            executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(partitionQueueCapacity),
+                    threadFactory, new BlockUntilQueuedPolicy());
+        }
+        this.partitions = executors;
+    }
+
+    public synchronized void shutdown() {
+        if (partitions == null) {
+            return;
+        }
+
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+
+        try {
+            for (ThreadPoolExecutor partition : partitions) {
+                if (!partition.awaitTermination(shutdownTimeoutInMs, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("Timed out waiting for inbound events to be handled, {} events are not handled", partition.getQueue().size());
+                    rejectTasks(partition.shutdownNow());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (ThreadPoolExecutor partition : partitions) {
+                rejectTasks(partition.shutdownNow());
+            }
+        }
+        partitions = null;
+    }
+
+    /**
+     * Completes the futures of tasks that will never run exceptionally, so that nobody keeps waiting for them.
+     */
+    protected void rejectTasks(List<Runnable> tasks) {
+        for (Runnable task : tasks) {
+            if (task instanceof InboundEventTask) {
+                ((InboundEventTask) task).reject(new FlowableException("The inbound event executor has been shut down before the events were handled"));
+            }
+        }
+    }
+
+    /**
+     * @return the partition for the given ordering key. Events without an ordering key are spread over all partitions.
+     */
+    public int getPartition(Object orderingKey) {
+        if (orderingKey == null) {
+            return Math.floorMod(unorderedEventCounter.getAndIncrement(), numberOfPartitions);
+        }
+        int hash = orderingKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), numberOfPartitions);
+    }
+
+    /**
+     * Queues the handling of the given number of events of a channel on a partition.
+     * Blocks when the queue of the partition is full.
+     *
+     * @return a future that is completed when the events have been handled, or completed exceptionally when handling them failed.
+     */
+    public CompletableFuture<Void> execute(String channelKey, int partition, int nrOfEvents, Runnable handler) {
+        ThreadPoolExecutor[] currentPartitions = partitions;
+        if (currentPartitions == null) {
+            throw new FlowableException("The inbound event executor is not initialized or has been shut down");
+        }
+
+        InboundEventTask task = new InboundEventTask(getChannelStatistics(channelKey), nrOfEvents, handler);
+        try {
+            currentPartitions[partition].execute(task);
+
+        } catch (RejectedExecutionException e) {
+            FlowableException exception = new FlowableException("Could not queue inbound events of channel " + channelKey, e);
+            task.reject(exception);
+            throw exception;
+        }
+
+        return task.future;
+    }
+
+    public InboundChannelStatistics getChannelStatistics(String channelKey) {
+        InboundChannelStatistics statistics = channelStatistics.get(channelKey);
+        if (statistics == null) {
+            statistics = channelStatistics.computeIfAbsent(channelKey, key -> new InboundChannelStatistics(key, maxPendingEventsPerChannel));
+        }
+        return statistics;
+    }
+
+    public Map<String, InboundChannelStatistics> getChannelStatistics() {
+        return Collections.unmodifiableMap(channelStatistics);
+    }
+
+    public int getNumberOfPartitions() {
+        return numberOfPartitions;
+    }
+
+    public int getPartitionQueueCapacity() {
+        return partitionQueueCapacity;
+    }
+
+    public int getMaxPendingEventsPerChannel() {
+        return maxPendingEventsPerChannel;
+    }
+
+    public void setMaxPendingEventsPerChannel(int maxPendingEventsPerChannel) {
+        this.maxPendingEventsPerChannel = maxPendingEventsPerChannel;
+    }
+
+    public long getShutdownTimeoutInMs() {
+        return shutdownTimeoutInMs;
+    }
+
+    public void setShutdownTimeoutInMs(long shutdownTimeoutInMs) {
+        this.shutdownTimeoutInMs = shutdownTimeoutInMs;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public void setThreadName(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Handles events queued on a partition and completes the future once they are handled.
+     */
+    protected static class InboundEventTask implements Runnable {
+
+        protected final InboundChannelStatistics statistics;
+        protected final int nrOfEvents;
+        protected final Runnable handler;
+        protected final long queuedAt;
+        protected final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        public InboundEventTask(InboundChannelStatistics statistics, int nrOfEvents, Runnable handler) {
+            this.statistics = statistics;
+            this.nrOfEvents = nrOfEvents;
+            this.handler = handler;
+            this.queuedAt = System.nanoTime();
+            statistics.eventsQueued(nrOfEvents);
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            statistics.eventsStarted(nrOfEvents, startedAt - queuedAt);
+            try {
+                handler.run();
+                statistics.eventsFinished(nrOfEvents, System.nanoTime() - startedAt, false);
+                future.complete(null);
+
+            } catch (Throwable e) {
+                statistics.eventsFinished(nrOfEvents, System.nanoTime() - startedAt, true);
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Called for a task that will never run.
+         */
+        public void reject(Throwable cause) {
+            if (future.completeExceptionally(cause)) {
+                statistics.eventsFinished(nrOfEvents, 0L, true);
+            }
+        }
+    }
+
+    /**
+     * Instead of rejecting a task when the queue of a partition is full, waits until it can be queued.
+     * A task is still rejected when the partition is shut down while waiting, or right after it was queued, as it would never run then.
+     */
+    protected static class BlockUntilQueuedPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            try {
+                while (!executor.isShutdown()) {
+                    if (executor.getQueue().offer(runnable, 100L, TimeUnit.MILLISECONDS)) {
+                        // A shutdown in between could have missed the queued task, in that case it is taken back out of the queue
+                        if (executor.isShutdown() && executor.getQueue().remove(runnable)) {
+                            break;
+                        }
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting to queue inbound events", e);
+            }
+
+            throw new RejectedExecutionException("The inbound event executor has been shut down");
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.serialization;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableException;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * A json event that is read with a streaming parser instead of being turned into a full json tree.
+ * <p>
+ * The first access does one pass over the top level fields of the event: scalar values are kept,
+ * for objects and arrays only their location in the raw content is kept. Such a value is only parsed when it is asked for,
+ * so large parts of an event that are not used by the key detection, tenant detection or payload extraction are never materialized.
+ */
+public class LazyJsonEvent {
+
+    protected final ObjectMapper objectMapper;
+    protected final byte[] bytes;
+    protected final int offset;
+    protected final int length;
+    protected final String text;
+
+    protected Map<String, Object> fields;
+    protected JsonNode fullTree;
+
+    public LazyJsonEvent(ObjectMapper objectMapper, byte[] bytes, int offset, int length) {
+        this.objectMapper = objectMapper;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.text = null;
+    }
+
+    public LazyJsonEvent(ObjectMapper objectMapper, String text) {
+        this.objectMapper = objectMapper;
+        this.bytes = null;
+        this.offset = 0;
+        this.length = text.length();
+        this.text = text;
+    }
+
+    public boolean has(String fieldName) {
+        return getFields().containsKey(fieldName);
+    }
+
+    /**
+     * @return the value of the top level field, or null when the event has no such field.
+     */
+    public JsonNode get(String fieldName) {
+        Map<String, Object> currentFields = getFields();
+        Object value = currentFields.get(fieldName);
+        if (value instanceof long[]) {
+            long[] location = (long[]) value;
+            value = readTree((int) location[0], (int) (location[1] - location[0]));
+            currentFields.put(fieldName, value);
+        }
+        return (JsonNode) value;
+    }
+
+    public JsonNode path(String fieldName) {
+        JsonNode value = get(fieldName);
+        return value != null ? value : MissingNode.getInstance();
+    }
+
+    public JsonNode at(JsonPointer jsonPointer) {
+        if (jsonPointer.matches() || jsonPointer.getMatchingIndex() >= 0 || fullTree != null) {
+            return getFullTree().at(jsonPointer);
+        }
+        return path(jsonPointer.getMatchingProperty()).at(jsonPointer.tail());
+    }
+
+    /**
+     * @return the complete event as json tree, this is only needed when the full payload of the event is used.
+     */
+    public JsonNode getFullTree() {
+        if (fullTree == null) {
+            fullTree = readTree(0, length);
+        }
+        return fullTree;
+    }
+
+    protected Map<String, Object> getFields() {
+        if (fields == null) {
+            fields = indexFields();
+        }
+        return fields;
+    }
+
+    protected Map<String, Object> indexFields() {
+        Map<String, Object> indexedFields = new HashMap<>();
+        try (JsonParser parser = createParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // Not an object, so there are no fields to index
+                return indexedFields;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (valueToken.isStructStart()) {
+                    long start = getOffset(parser.getTokenLocation());
+                    parser.skipChildren();
+                    long end = getOffset(parser.getCurrentLocation());
+                    indexedFields.put(fieldName, new long[] { start, end });
+                } else {
+                    indexedFields.put(fieldName, parser.readValueAsTree());
+                }
+            }
+            return indexedFields;
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not read json event", e);
+        }
+    }
+
+    protected JsonParser createParser() throws IOException {
+        if (bytes != null) {
+            return objectMapper.createParser(bytes, offset, length);
+        }
+        return objectMapper.createParser(text);
+    }
+
+    protected long getOffset(JsonLocation location) {
+        return bytes != null ? location.getByteOffset() : location.getCharOffset();
+    }
+
+    protected JsonNode readTree(int start, int size) {
+        try {
+            if (bytes != null) {
+                return objectMapper.readTree(bytes, offset + start, size);
+            }
+            return objectMapper.readTree(text.substring(start, start + size));
+        } catch (IOException e) {
+            throw new FlowableException("Could not read json event", e);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.serialization;
+
+import java.nio.ByteBuffer;
+
+import org.flowable.eventregistry.api.InboundEventDeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Wraps the raw json of an event in a {@link LazyJsonEvent}. Byte content (e.g. from a Kafka record or a JMS bytes message)
+ * is parsed directly, without turning it into a String first.
+ */
+public class RawJsonToLazyJsonEventDeserializer implements InboundEventDeserializer<LazyJsonEvent> {
+
+    protected ObjectMapper objectMapper;
+
+    public RawJsonToLazyJsonEventDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public LazyJsonEvent deserialize(Object rawEvent) {
+        if (rawEvent instanceof byte[]) {
+            byte[] bytes = (byte[]) rawEvent;
+            return new LazyJsonEvent(objectMapper, bytes, 0, bytes.length);
+
+        } else if (rawEvent instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) rawEvent;
+            if (buffer.hasArray()) {
+                return new LazyJsonEvent(objectMapper, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return new LazyJsonEvent(objectMapper, bytes, 0, bytes.length);
+        }
+
+        return new LazyJsonEvent(objectMapper, rawEvent.toString());
+    }
+
+}
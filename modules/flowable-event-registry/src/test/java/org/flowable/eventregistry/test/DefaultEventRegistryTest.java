@@ -42,6 +42,7 @@ import org.flowable.eventregistry.impl.DefaultInboundEventProcessor;
 import org.flowable.eventregistry.impl.event.FlowableEventRegistryEvent;
 import org.flowable.eventregistry.impl.pipeline.DefaultInboundEventProcessingPipeline;
 import org.flowable.eventregistry.impl.runtime.EventPayloadInstanceImpl;
+import org.flowable.eventregistry.impl.serialization.RawJsonToLazyJsonEventDeserializer;
 import org.flowable.eventregistry.model.EventModel;
 import org.flowable.eventregistry.model.EventPayload;
 import org.flowable.eventregistry.model.InboundChannelModel;
@@ -124,6 +125,54 @@ public class DefaultEventRegistryTest extends AbstractFlowableEventTest {
                 );
     }
     
+    @Test
+    public void testStreamingJsonInboundEventPipeline() {
+        eventEngineConfiguration.setInboundJsonEventStreamingEnabled(true);
+        TestInboundEventChannelAdapter inboundEventChannelAdapter;
+        try {
+            inboundEventChannelAdapter = setupTestChannel();
+        } finally {
+            eventEngineConfiguration.setInboundJsonEventStreamingEnabled(false);
+        }
+
+        DefaultInboundEventProcessingPipeline<?> inboundEventProcessingPipeline = (DefaultInboundEventProcessingPipeline<?>) inboundEventChannelAdapter.inboundChannelModel
+                .getInboundEventProcessingPipeline();
+        assertThat(inboundEventProcessingPipeline.getInboundEventDeserializer()).isInstanceOf(RawJsonToLazyJsonEventDeserializer.class);
+
+        repositoryService.createEventModelBuilder()
+                .key("myEvent")
+                .resourceName("myEvent.event")
+                .correlationParameter("customerId", EventPayloadTypes.STRING)
+                .payload("payload1", EventPayloadTypes.STRING)
+                .payload("payload2", EventPayloadTypes.INTEGER)
+                .fullPayload("fullPayload")
+                .deploy();
+
+        inboundEventChannelAdapter.triggerTestEvent();
+
+        assertThat(testEventConsumer.eventsReceived).hasSize(1);
+        FlowableEventRegistryEvent eventRegistryEvent = (FlowableEventRegistryEvent) testEventConsumer.eventsReceived.get(0);
+
+        EventInstance eventInstance = eventRegistryEvent.getEventInstance();
+        assertThat(eventInstance.getEventKey()).isEqualTo("myEvent");
+        assertThat(eventInstance.getCorrelationParameterInstances())
+                .extracting(EventPayloadInstance::getValue)
+                .containsOnly("test");
+        assertThat(eventInstance.getPayloadInstances())
+                .filteredOn(payloadInstance -> !"fullPayload".equals(payloadInstance.getDefinitionName()))
+                .extracting(EventPayloadInstance::getDefinitionName, EventPayloadInstance::getDefinitionType, EventPayloadInstance::getValue)
+                .containsOnly(
+                        tuple("customerId", EventPayloadTypes.STRING, "test"),
+                        tuple("payload1", EventPayloadTypes.STRING, "Hello World"),
+                        tuple("payload2", EventPayloadTypes.INTEGER, 123)
+                );
+        assertThat(eventInstance.getPayloadInstances())
+                .filteredOn(payloadInstance -> "fullPayload".equals(payloadInstance.getDefinitionName()))
+                .singleElement()
+                .satisfies(payloadInstance -> assertThatJson(payloadInstance.getValue())
+                        .isEqualTo("{ type: 'myEvent', customerId: 'test', payload1: 'Hello World', payload2: 123 }"));
+    }
+
     @Test
     public void testFullPayloadPropertyName() {
         TestInboundEventChannelAdapter inboundEventChannelAdapter = setupTestChannel();
@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.flowable.eventregistry.impl.keydetector.LazyJsonFieldBasedInboundEventKeyDetector;
+import org.flowable.eventregistry.impl.keydetector.LazyJsonPointerBasedInboundEventKeyDetector;
+import org.flowable.eventregistry.impl.serialization.LazyJsonEvent;
+import org.flowable.eventregistry.impl.serialization.RawJsonToLazyJsonEventDeserializer;
+import org.flowable.eventregistry.impl.tenantdetector.LazyJsonPointerBasedInboundEventTenantDetector;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class LazyJsonEventTest {
+
+    private static final String EVENT = "{ \"type\": \"myEvent\", \"customer\": { \"id\": \"c1\", \"tenant\": \"acme\" }, \"items\": [ { \"key\": \"item1\" } ], \"amount\": 12 }";
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+    private RawJsonToLazyJsonEventDeserializer deserializer = new RawJsonToLazyJsonEventDeserializer(objectMapper);
+
+    @Test
+    void testDeserializeString() throws Exception {
+        assertEvent(deserializer.deserialize(EVENT));
+    }
+
+    @Test
+    void testDeserializeBytes() throws Exception {
+        assertEvent(deserializer.deserialize(EVENT.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testDeserializeByteBufferSlice() throws Exception {
+        byte[] eventBytes = EVENT.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[eventBytes.length + 20];
+        System.arraycopy(eventBytes, 0, bytes, 10, eventBytes.length);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 5, eventBytes.length + 10).slice();
+        buffer.position(5);
+        buffer.limit(5 + eventBytes.length);
+
+        assertEvent(deserializer.deserialize(buffer));
+        assertThat(buffer.position()).isEqualTo(5);
+    }
+
+    @Test
+    void testDeserializeDirectByteBuffer() throws Exception {
+        byte[] eventBytes = EVENT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(eventBytes.length);
+        buffer.put(eventBytes);
+        buffer.flip();
+
+        assertEvent(deserializer.deserialize(buffer));
+        assertThat(buffer.remaining()).isEqualTo(eventBytes.length);
+    }
+
+    @Test
+    void testNestedFieldsAreOnlyParsedWhenUsed() {
+        CountingLazyJsonEvent event = new CountingLazyJsonEvent(objectMapper, EVENT.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(event.get("type").asText()).isEqualTo("myEvent");
+        assertThat(event.get("amount").asInt()).isEqualTo(12);
+        assertThat(event.has("customer")).isTrue();
+        assertThat(event.readTreeCount).isZero();
+
+        JsonNode customer = event.get("customer");
+        assertThat(customer.path("id").asText()).isEqualTo("c1");
+        assertThat(event.get("customer")).isSameAs(customer);
+        assertThat(event.readTreeCount).isEqualTo(1);
+
+        assertThat(event.get("unknown")).isNull();
+        assertThat(event.path("unknown").isMissingNode()).isTrue();
+        assertThat(event.readTreeCount).isEqualTo(1);
+
+        assertThat(event.getFullTree().path("items").get(0).path("key").asText()).isEqualTo("item1");
+        assertThat(event.readTreeCount).isEqualTo(2);
+    }
+
+    @Test
+    void testJsonPointerKeyAndTenantDetection() {
+        LazyJsonEvent event = deserializer.deserialize(EVENT.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/type").detectEventDefinitionKey(event)).isEqualTo("myEvent");
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/customer/id").detectEventDefinitionKey(event)).isEqualTo("c1");
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/items/0/key").detectEventDefinitionKey(event)).isEqualTo("item1");
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/customer/unknown").detectEventDefinitionKey(event)).isNull();
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/amount").detectEventDefinitionKey(event)).isNull();
+
+        assertThat(new LazyJsonPointerBasedInboundEventTenantDetector("/customer/tenant").detectTenantId(event)).isEqualTo("acme");
+        assertThat(new LazyJsonPointerBasedInboundEventTenantDetector("/tenant").detectTenantId(event)).isNull();
+    }
+
+    @Test
+    void testTopLevelValueIsNotAnObject() {
+        LazyJsonEvent arrayEvent = deserializer.deserialize("[ \"myEvent\", { \"tenant\": \"acme\" } ]".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(arrayEvent.has("type")).isFalse();
+        assertThat(arrayEvent.get("type")).isNull();
+        assertThat(new LazyJsonFieldBasedInboundEventKeyDetector("type").detectEventDefinitionKey(arrayEvent)).isEmpty();
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/0").detectEventDefinitionKey(arrayEvent)).isEqualTo("myEvent");
+        assertThat(new LazyJsonPointerBasedInboundEventTenantDetector("/1/tenant").detectTenantId(arrayEvent)).isEqualTo("acme");
+
+        LazyJsonEvent textEvent = deserializer.deserialize("\"myEvent\"");
+
+        assertThat(textEvent.has("type")).isFalse();
+        assertThat(new LazyJsonPointerBasedInboundEventKeyDetector("/type").detectEventDefinitionKey(textEvent)).isNull();
+        assertThat(textEvent.getFullTree().asText()).isEqualTo("myEvent");
+    }
+
+    private void assertEvent(LazyJsonEvent event) throws Exception {
+        assertThat(new LazyJsonFieldBasedInboundEventKeyDetector("type").detectEventDefinitionKey(event)).isEqualTo("myEvent");
+        assertThat(event.get("amount").asInt()).isEqualTo(12);
+        assertThat(event.get("customer").path("tenant").asText()).isEqualTo("acme");
+        assertThat(event.get("items").get(0).path("key").asText()).isEqualTo("item1");
+        assertThat(event.getFullTree()).isEqualTo(objectMapper.readTree(EVENT));
+    }
+
+    private static class CountingLazyJsonEvent extends LazyJsonEvent {
+
+        private int readTreeCount;
+
+        private CountingLazyJsonEvent(ObjectMapper objectMapper, byte[] bytes) {
+            super(objectMapper, bytes, 0, bytes.length);
+        }
+
+        @Override
+        protected JsonNode readTree(int start, int size) {
+            readTreeCount++;
+            return super.readTree(start, size);
+        }
+    }
+}
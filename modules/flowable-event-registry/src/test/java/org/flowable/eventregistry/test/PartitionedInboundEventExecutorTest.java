@@ -0,0 +1,201 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.eventregistry.impl.pipeline.InboundChannelBackpressureListener;
+import org.flowable.eventregistry.impl.pipeline.InboundChannelStatistics;
+import org.flowable.eventregistry.impl.pipeline.PartitionedInboundEventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedInboundEventExecutorTest {
+
+    protected PartitionedInboundEventExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PartitionedInboundEventExecutor(4, 10);
+        executor.setMaxPendingEventsPerChannel(4);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void eventsWithSameKeyAreHandledInOrder() {
+        Map<String, List<Integer>> handledEvents = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            for (String customer : new String[] { "kermit", "gonzo", "fozzie" }) {
+                int eventNr = i;
+                futures.add(executor.execute("myChannel", executor.getPartition(customer), 1,
+                        () -> handledEvents.computeIfAbsent(customer, key -> Collections.synchronizedList(new ArrayList<>())).add(eventNr)));
+            }
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(handledEvents).containsOnlyKeys("kermit", "gonzo", "fozzie");
+        for (List<Integer> customerEvents : handledEvents.values()) {
+            assertThat(customerEvents).hasSize(50).isSorted();
+        }
+
+        InboundChannelStatistics statistics = executor.getChannelStatistics("myChannel");
+        assertThat(statistics.getQueuedEvents()).isEqualTo(150);
+        assertThat(statistics.getProcessedEvents()).isEqualTo(150);
+        assertThat(statistics.getFailedEvents()).isZero();
+        assertThat(statistics.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void slowEventDoesNotBlockOtherPartitions() throws Exception {
+        CountDownLatch slowEventLatch = new CountDownLatch(1);
+        int slowPartition = executor.getPartition("slow");
+        int otherPartition = (slowPartition + 1) % executor.getNumberOfPartitions();
+
+        CompletableFuture<Void> slowEvent = executor.execute("myChannel", slowPartition, 1, () -> {
+            try {
+                slowEventLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Void> otherEvent = executor.execute("myChannel", otherPartition, 1, () -> { });
+
+        otherEvent.get(10, TimeUnit.SECONDS);
+        assertThat(slowEvent).isNotDone();
+
+        slowEventLatch.countDown();
+        slowEvent.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void failedEventsAreReported() {
+        CompletableFuture<Void> future = executor.execute("myChannel", 0, 2, () -> {
+            throw new IllegalStateException("Event could not be handled");
+        });
+
+        assertThat(future).failsWithin(10, TimeUnit.SECONDS);
+
+        InboundChannelStatistics statistics = executor.getChannelStatistics("myChannel");
+        assertThat(statistics.getFailedEvents()).isEqualTo(2);
+        assertThat(statistics.getProcessedEvents()).isZero();
+    }
+
+    @Test
+    void channelIsPausedWhileTooManyEventsArePending() throws Exception {
+        List<String> backpressureCalls = Collections.synchronizedList(new ArrayList<>());
+        executor.getChannelStatistics("myChannel").setBackpressureListener(new InboundChannelBackpressureListener() {
+
+            @Override
+            public void pause(String channelKey) {
+                backpressureCalls.add("pause " + channelKey);
+            }
+
+            @Override
+            public void resume(String channelKey) {
+                backpressureCalls.add("resume " + channelKey);
+            }
+        });
+
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.execute("myChannel", 0, 1, () -> {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        assertThat(backpressureCalls).containsExactly("pause myChannel");
+        assertThat(executor.getChannelStatistics("myChannel").isPaused()).isTrue();
+
+        latch.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(backpressureCalls).containsExactly("pause myChannel", "resume myChannel");
+        assertThat(executor.getChannelStatistics("myChannel").isPaused()).isFalse();
+    }
+
+    @Test
+    void queuedEventsAreFailedWhenShutdownTimesOut() throws Exception {
+        PartitionedInboundEventExecutor shutdownExecutor = new PartitionedInboundEventExecutor(1, 2);
+        shutdownExecutor.setShutdownTimeoutInMs(100L);
+        shutdownExecutor.initialize();
+
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch slowEventLatch = new CountDownLatch(1);
+        CompletableFuture<Void> slowEvent = shutdownExecutor.execute("myChannel", 0, 1, () -> {
+            startedLatch.countDown();
+            try {
+                slowEventLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(startedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<CompletableFuture<Void>> queuedEvents = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            queuedEvents.add(shutdownExecutor.execute("myChannel", 0, 1, () -> { }));
+        }
+
+        // The queue is full, so this one waits until it is rejected by the shutdown
+        CompletableFuture<CompletableFuture<Void>> blockedSubmit = CompletableFuture.supplyAsync(
+                () -> shutdownExecutor.execute("myChannel", 0, 1, () -> { }));
+        while (shutdownExecutor.getChannelStatistics("myChannel").getQueuedEvents() < 4) {
+            Thread.sleep(10L);
+        }
+
+        shutdownExecutor.shutdown();
+
+        slowEvent.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Void> queuedEvent : queuedEvents) {
+            assertThat(queuedEvent).failsWithin(10, TimeUnit.SECONDS)
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(FlowableException.class);
+        }
+        assertThat(blockedSubmit).failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(FlowableException.class);
+
+        InboundChannelStatistics statistics = shutdownExecutor.getChannelStatistics("myChannel");
+        assertThat(statistics.getFailedEvents()).isEqualTo(3);
+        assertThat(statistics.getQueueDepth()).isZero();
+
+        assertThatThrownBy(() -> shutdownExecutor.execute("myChannel", 0, 1, () -> { }))
+                .isInstanceOf(FlowableException.class);
+    }
+
+}
@@ -36,7 +36,9 @@ import org.flowable.job.service.impl.asyncexecutor.FailedJobCommandFactory;
 import org.flowable.job.service.impl.asyncexecutor.JobManager;
 import org.flowable.job.service.impl.asyncexecutor.TimerJobScheduler;
 import org.flowable.job.service.impl.asyncexecutor.TimerJobSchedulerImpl;
+import org.flowable.job.service.impl.asyncexecutor.notification.JobNotificationChannel;
 import org.flowable.job.service.impl.history.async.AsyncHistoryJobHandler;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodec;
 import org.flowable.job.service.impl.history.async.transformer.HistoryJsonTransformer;
 import org.flowable.job.service.impl.persistence.entity.DeadLetterJobEntityManager;
 import org.flowable.job.service.impl.persistence.entity.DeadLetterJobEntityManagerImpl;
@@ -126,6 +128,19 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected List<JobProcessor> jobProcessors;
     
     protected List<String> enabledJobCategories;
+
+    /**
+     * When set, the async executors of the other nodes are notified through this channel about async jobs they can acquire,
+     * instead of only finding them with their next poll.
+     */
+    protected JobNotificationChannel jobNotificationChannel;
+
+    /**
+     * The number of shards async jobs are spread over when they are created. Async executors with sharded acquisition enabled
+     * only acquire the jobs of the shards they currently hold a lease for. A value of 0 or less disables the shard assignment.
+     * All engines sharing a database should use the same value.
+     */
+    protected int jobShardCount = 16;
     
     protected AsyncExecutor asyncHistoryExecutor;
     protected int asyncHistoryExecutorNumberOfRetries;
@@ -141,6 +156,12 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     protected boolean asyncHistoryJsonGroupingEnabled;
     protected boolean asyncHistoryExecutorMessageQueueMode;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+
+    /**
+     * The codec used to write the history data of new async history jobs. By default null, meaning the data is written as JSON.
+     * Jobs are always read with the codec matching their bytes, so the JSON jobs of nodes that still run without a codec stay readable.
+     */
+    protected AsyncHistoryPayloadCodec asyncHistoryPayloadCodec;
     
     public JobServiceConfiguration(String engineName) {
         super(engineName);
@@ -666,6 +687,24 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
         enabledJobCategories.add(jobCategory);
     }
 
+    public JobNotificationChannel getJobNotificationChannel() {
+        return jobNotificationChannel;
+    }
+
+    public JobServiceConfiguration setJobNotificationChannel(JobNotificationChannel jobNotificationChannel) {
+        this.jobNotificationChannel = jobNotificationChannel;
+        return this;
+    }
+
+    public int getJobShardCount() {
+        return jobShardCount;
+    }
+
+    public JobServiceConfiguration setJobShardCount(int jobShardCount) {
+        this.jobShardCount = jobShardCount;
+        return this;
+    }
+
     public String getJobTypeAsyncHistory() {
         return jobTypeAsyncHistory;
     }
@@ -713,5 +752,13 @@ public class JobServiceConfiguration extends AbstractServiceConfiguration {
     public void setAsyncHistoryJsonGroupingThreshold(int asyncHistoryJsonGroupingThreshold) {
         this.asyncHistoryJsonGroupingThreshold = asyncHistoryJsonGroupingThreshold;
     }
+
+    public AsyncHistoryPayloadCodec getAsyncHistoryPayloadCodec() {
+        return asyncHistoryPayloadCodec;
+    }
+
+    public void setAsyncHistoryPayloadCodec(AsyncHistoryPayloadCodec asyncHistoryPayloadCodec) {
+        this.asyncHistoryPayloadCodec = asyncHistoryPayloadCodec;
+    }
     
 }
@@ -374,6 +374,22 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         configuration.setAsyncJobsGlobalLockPollRate(asyncJobsGlobalLockPollRate);
     }
 
+    public boolean isShardedAcquireEnabled() {
+        return configuration.isShardedAcquireEnabled();
+    }
+
+    public void setShardedAcquireEnabled(boolean shardedAcquireEnabled) {
+        configuration.setShardedAcquireEnabled(shardedAcquireEnabled);
+    }
+
+    public Duration getAsyncJobShardLeaseTime() {
+        return configuration.getAsyncJobShardLeaseTime();
+    }
+
+    public void setAsyncJobShardLeaseTime(Duration asyncJobShardLeaseTime) {
+        configuration.setAsyncJobShardLeaseTime(asyncJobShardLeaseTime);
+    }
+
     public Duration getTimerLockWaitTime() {
         return configuration.getTimerLockWaitTime();
     }
@@ -537,5 +553,15 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         public Duration getLockForceAcquireAfter() {
             return configuration.getAsyncJobsGlobalLockForceAcquireAfter();
         }
+
+        @Override
+        public boolean isShardedAcquireEnabled() {
+            return configuration.isShardedAcquireEnabled();
+        }
+
+        @Override
+        public Duration getShardLeaseTime() {
+            return configuration.getAsyncJobShardLeaseTime();
+        }
     }
 }
@@ -13,7 +13,9 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.flowable.common.engine.api.FlowableException;
@@ -21,8 +23,11 @@ import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.common.engine.impl.lock.LockManager;
 import org.flowable.common.engine.impl.lock.LockManagerImpl;
+import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.cmd.AcquireJobsCmd;
+import org.flowable.job.service.impl.cmd.AcquireJobsFromShardsCmd;
 import org.flowable.job.service.impl.cmd.AcquireJobsWithGlobalAcquireLockCmd;
+import org.flowable.job.service.impl.persistence.entity.JobEntityManager;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
 import org.flowable.job.service.impl.persistence.entity.JobInfoEntityManager;
 import org.slf4j.Logger;
@@ -83,10 +88,12 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected AcquireJobsRunnableConfiguration configuration;
     protected LockManager lockManager;
+    protected JobShardLeaseManager shardLeaseManager;
 
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
     protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+    protected volatile boolean jobsAvailableNotified;
 
     public AcquireAsyncJobsDueRunnable(String name, AsyncExecutor asyncExecutor, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager,
             AcquireAsyncJobsDueLifecycleListener lifecycleListener, AcquireJobsRunnableConfiguration configuration) {
@@ -102,6 +109,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
         // Always initialize the lock manager, allowing to switch execution modes if needed
         this.lockManager = createLockManager(asyncExecutor.getJobServiceConfiguration().getCommandExecutor());
+        this.shardLeaseManager = isShardedAcquire() ? createShardLeaseManager(asyncExecutor.getJobServiceConfiguration().getCommandExecutor()) : null;
 
         LOGGER.info("starting to acquire async jobs due for engine {}", getEngineName());
         Thread.currentThread().setName(name);
@@ -111,6 +119,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         long millisToWait = 0L;
         while (!isInterrupted) {
 
+            // Notifications received from now on can concern jobs this cycle doesn't see anymore
+            jobsAvailableNotified = false;
+
             if (configuration.isGlobalAcquireLockEnabled()) {
 
                 try {
@@ -140,6 +151,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             }
 
         }
+
+        if (shardLeaseManager != null) {
+            shardLeaseManager.releaseLeases();
+        }
         LOGGER.info("stopped async job due acquisition for engine {}", getEngineName());
     }
 
@@ -147,6 +162,18 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         return new LockManagerImpl(commandExecutor, configuration.getGlobalAcquireLockPrefix() + ACQUIRE_ASYNC_JOBS_GLOBAL_LOCK, configuration.getLockPollRate(), configuration.getLockForceAcquireAfter(), getEngineName());
     }
 
+    protected boolean isShardedAcquire() {
+        // Only the async jobs have shards, the global acquire lock takes precedence when both are enabled
+        return configuration.isShardedAcquireEnabled() && !configuration.isGlobalAcquireLockEnabled()
+                && jobEntityManager instanceof JobEntityManager && asyncExecutor.getJobServiceConfiguration().getJobShardCount() > 0;
+    }
+
+    protected JobShardLeaseManager createShardLeaseManager(CommandExecutor commandExecutor) {
+        JobServiceConfiguration jobServiceConfiguration = asyncExecutor.getJobServiceConfiguration();
+        return new JobShardLeaseManager(commandExecutor, getEngineName(), configuration.getGlobalAcquireLockPrefix(), asyncExecutor.getLockOwner(),
+                jobServiceConfiguration.getJobShardCount(), configuration.getShardLeaseTime());
+    }
+
     protected long executeAcquireCycle(CommandExecutor commandExecutor) {
         int remainingCapacity = asyncExecutor.getTaskExecutor().getRemainingCapacity();
         lifecycleListener.startAcquiring(getEngineName(), remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
@@ -178,6 +205,14 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             if (globalAcquireLockEnabled) {
                 acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, remainingCapacity, jobEntityManager));
 
+            } else if (shardLeaseManager != null) {
+                Set<Integer> shards = shardLeaseManager.getOwnedShards();
+                if (!shards.isEmpty()) {
+                    acquiredJobs = commandExecutor.execute(new AcquireJobsFromShardsCmd(asyncExecutor, remainingCapacity, (JobEntityManager) jobEntityManager, shards));
+                } else {
+                    acquiredJobs = Collections.emptyList();
+                }
+
             } else {
                 acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
 
@@ -243,6 +278,18 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
     }
 
+    /**
+     * Wakes up the acquisition when it is waiting for its next cycle, or makes it skip that wait when it is currently acquiring.
+     */
+    public void notifyJobsAvailable() {
+        synchronized (MONITOR) {
+            jobsAvailableNotified = true;
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
     protected void sleep(long millisToWait) {
         if (millisToWait > 0) {
             try {
@@ -251,7 +298,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                     LOGGER.debug("async job acquisition for engine {}, thread sleeping for {} millis", getEngineName(), millisToWait);
                 }
                 synchronized (MONITOR) {
-                    if (!isInterrupted) {
+                    if (!isInterrupted && !jobsAvailableNotified) {
                         isWaiting.set(true);
                         lifecycleListener.startWaiting(getEngineName(), millisToWait);
                         MONITOR.wait(millisToWait);
@@ -60,4 +60,12 @@ public interface AcquireJobsRunnableConfiguration {
     Duration getLockPollRate();
 
     Duration getLockForceAcquireAfter();
+
+    default boolean isShardedAcquireEnabled() {
+        return false;
+    }
+
+    default Duration getShardLeaseTime() {
+        return Duration.ofSeconds(30);
+    }
 }
@@ -127,6 +127,18 @@ public class AsyncJobExecutorConfiguration {
      * another node will be able to acquire the lock.
      */
     private Duration asyncJobsGlobalLockForceAcquireAfter = Duration.ofMinutes(10);
+
+    /**
+     * Whether the async jobs should be acquired through shards.
+     * Each executor then leases a fair share of the shards and only acquires the async jobs of the shards it owns,
+     * so executors in a cluster don't compete for the same jobs. Ignored when the global acquire lock is enabled.
+     */
+    protected boolean shardedAcquireEnabled;
+    /**
+     * The amount of time a shard lease is valid. The leases are renewed, and rebalanced between the executors, every third of this time.
+     * When an executor stops without releasing its leases, the other executors take over its shards after this time.
+     */
+    private Duration asyncJobShardLeaseTime = Duration.ofSeconds(30);
     /**
      * The amount of time the timer job acquire thread should wait to acquire the global lock.
      */
@@ -358,6 +370,22 @@ public class AsyncJobExecutorConfiguration {
         this.asyncJobsGlobalLockForceAcquireAfter = asyncJobsGlobalLockForceAcquireAfter;
     }
 
+    public boolean isShardedAcquireEnabled() {
+        return shardedAcquireEnabled;
+    }
+
+    public void setShardedAcquireEnabled(boolean shardedAcquireEnabled) {
+        this.shardedAcquireEnabled = shardedAcquireEnabled;
+    }
+
+    public Duration getAsyncJobShardLeaseTime() {
+        return asyncJobShardLeaseTime;
+    }
+
+    public void setAsyncJobShardLeaseTime(Duration asyncJobShardLeaseTime) {
+        this.asyncJobShardLeaseTime = asyncJobShardLeaseTime;
+    }
+
     public Duration getTimerLockWaitTime() {
         return timerLockWaitTime;
     }
@@ -24,6 +24,8 @@ import org.flowable.common.engine.impl.interceptor.CommandConfig;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
+import org.flowable.job.service.impl.asyncexecutor.notification.JobNotificationChannel;
+import org.flowable.job.service.impl.asyncexecutor.notification.JobNotificationListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +58,11 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected AsyncTaskExecutor taskExecutor;
     protected boolean shutdownTaskExecutor;
 
+    /**
+     * Subscribed to the job notification channel of the job service configuration (if any), waking up the async job acquisition.
+     */
+    protected JobNotificationListener jobNotificationListener;
+
     public DefaultAsyncJobExecutor() {
         super();
     }
@@ -100,6 +107,12 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
             @Override
             public Void execute(CommandContext commandContext) {
                 jobServiceConfiguration.getJobManager().unacquire(job);
+
+                // Other nodes might have capacity left to execute the job
+                JobNotificationChannel jobNotificationChannel = jobServiceConfiguration.getJobNotificationChannel();
+                if (jobNotificationChannel != null) {
+                    jobNotificationChannel.notifyJobsAvailable(commandContext);
+                }
                 return null;
             }
         });
@@ -124,6 +137,7 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
     @Override
     protected void shutdownAdditionalComponents() {
+        unsubscribeFromJobNotifications();
         stopResetExpiredJobsThread();
         stopTimerAcquisitionThread();
         stopJobAcquisitionThread();
@@ -169,6 +183,24 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
                 asyncJobAcquisitionThread = new Thread(asyncJobsDueRunnable);
             }
             asyncJobAcquisitionThread.start();
+            subscribeToJobNotifications();
+        }
+    }
+
+    protected void subscribeToJobNotifications() {
+        JobNotificationChannel jobNotificationChannel = jobServiceConfiguration.getJobNotificationChannel();
+        // Only the async executor of the job service is interested in new async jobs, not e.g. the async history executor
+        if (jobNotificationChannel != null && jobServiceConfiguration.getAsyncExecutor() == this && jobNotificationListener == null) {
+            AcquireAsyncJobsDueRunnable acquireAsyncJobsDueRunnable = asyncJobsDueRunnable;
+            jobNotificationListener = acquireAsyncJobsDueRunnable::notifyJobsAvailable;
+            jobNotificationChannel.subscribe(jobNotificationListener);
+        }
+    }
+
+    protected void unsubscribeFromJobNotifications() {
+        if (jobNotificationListener != null) {
+            jobServiceConfiguration.getJobNotificationChannel().unsubscribe(jobNotificationListener);
+            jobNotificationListener = null;
         }
     }
 
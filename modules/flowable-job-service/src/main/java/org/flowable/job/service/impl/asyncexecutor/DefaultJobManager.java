@@ -41,6 +41,7 @@ import org.flowable.job.service.JobHandler;
 import org.flowable.job.service.JobProcessorContext;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
+import org.flowable.job.service.impl.asyncexecutor.notification.JobNotificationChannel;
 import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.history.async.TriggerAsyncHistoryExecutorTransactionListener;
 import org.flowable.job.service.impl.persistence.entity.AbstractJobEntity;
@@ -99,11 +100,23 @@ public class DefaultJobManager implements JobManager {
                 if (jobServiceConfiguration.getEnabledJobCategories() != null && 
                         !jobServiceConfiguration.getEnabledJobCategories().contains(jobEntity.getCategory())) {
                     
+                    notifyJobsAvailable();
                     return;
                 }
             }
             
             hintAsyncExecutor(jobEntity);
+
+        } else {
+            // The job isn't executed by this node, the other nodes can be told they can acquire it
+            notifyJobsAvailable();
+        }
+    }
+
+    protected void notifyJobsAvailable() {
+        JobNotificationChannel jobNotificationChannel = jobServiceConfiguration.getJobNotificationChannel();
+        if (jobNotificationChannel != null) {
+            jobNotificationChannel.notifyJobsAvailable(getCommandContext());
         }
     }
 
@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.cfg.TransactionPropagation;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.impl.cmd.RebalanceJobShardLeasesCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the shards an async executor holds a lease for.
+ * <p>
+ * The leases are renewed, and rebalanced over the live executors, every third of the lease time.
+ * When renewing fails, the executor keeps acquiring from the shards it owned until their leases would have expired.
+ * The leases only spread the acquisition load: a job is still locked through its lock owner and revision when acquired,
+ * so an executor acquiring from a shard it no longer owns can't execute a job twice.
+ */
+public class JobShardLeaseManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobShardLeaseManager.class);
+
+    protected CommandExecutor commandExecutor;
+    protected CommandConfig leaseCommandConfig;
+    protected String engineType;
+    protected String leasePrefix;
+    protected String lockOwner;
+    protected int shardCount;
+    protected Duration leaseTime;
+
+    protected Set<Integer> ownedShards = Collections.emptySet();
+    protected long lastRenewalTime;
+    protected long nextRenewalTime;
+
+    public JobShardLeaseManager(CommandExecutor commandExecutor, String engineType, String leasePrefix, String lockOwner, int shardCount, Duration leaseTime) {
+        this.commandExecutor = commandExecutor;
+        this.leaseCommandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW);
+        this.engineType = engineType;
+        this.leasePrefix = leasePrefix;
+        this.lockOwner = lockOwner;
+        this.shardCount = shardCount;
+        this.leaseTime = leaseTime;
+    }
+
+    /**
+     * Returns the shards this executor can acquire jobs from, renewing the leases first when needed.
+     */
+    public synchronized Set<Integer> getOwnedShards() {
+        long now = System.currentTimeMillis();
+        if (now >= nextRenewalTime) {
+            renewLeases(now);
+        }
+        return ownedShards;
+    }
+
+    protected void renewLeases(long now) {
+        try {
+            ownedShards = Collections.unmodifiableSet(commandExecutor.execute(leaseCommandConfig,
+                    new RebalanceJobShardLeasesCmd(engineType, leasePrefix, lockOwner, shardCount, leaseTime, false)));
+            lastRenewalTime = now;
+            LOGGER.debug("Executor {} of engine {} owns shards {}", lockOwner, engineType, ownedShards);
+
+        } catch (FlowableOptimisticLockingException e) {
+            LOGGER.debug("Concurrent shard lease rebalance for engine {}, retrying later", engineType);
+            expireOwnedShardsIfNeeded(now);
+
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to renew the shard leases of executor {} for engine {}", lockOwner, engineType, e);
+            expireOwnedShardsIfNeeded(now);
+        }
+
+        nextRenewalTime = now + leaseTime.toMillis() / 3;
+    }
+
+    protected void expireOwnedShardsIfNeeded(long now) {
+        if (now - lastRenewalTime >= leaseTime.toMillis()) {
+            ownedShards = Collections.emptySet();
+        }
+    }
+
+    /**
+     * Releases all shard leases of this executor, so the other executors can take them over immediately.
+     */
+    public synchronized void releaseLeases() {
+        try {
+            commandExecutor.execute(leaseCommandConfig, new RebalanceJobShardLeasesCmd(engineType, leasePrefix, lockOwner, shardCount, leaseTime, true));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to release the shard leases of executor {} for engine {}", lockOwner, engineType, e);
+        }
+        ownedShards = Collections.emptySet();
+        nextRenewalTime = 0L;
+    }
+
+}
@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.notification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base {@link JobNotificationChannel} that publishes at most one notification per command context
+ * and starts listening when the first listener subscribes.
+ */
+public abstract class AbstractJobNotificationChannel implements JobNotificationChannel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractJobNotificationChannel.class);
+
+    protected static final String NOTIFIED_ATTRIBUTE_PREFIX = "flowable.jobNotificationChannel.notified.";
+
+    protected final String channelName;
+    protected final List<JobNotificationListener> listeners = new CopyOnWriteArrayList<>();
+
+    public AbstractJobNotificationChannel(String channelName) {
+        this.channelName = channelName;
+    }
+
+    @Override
+    public void notifyJobsAvailable(CommandContext commandContext) {
+        String notifiedAttribute = NOTIFIED_ATTRIBUTE_PREFIX + channelName;
+        if (commandContext.getAttribute(notifiedAttribute) == null) {
+            commandContext.addAttribute(notifiedAttribute, Boolean.TRUE);
+            publish(commandContext);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(JobNotificationListener listener) {
+        listeners.add(listener);
+        if (listeners.size() == 1) {
+            startListening();
+        }
+    }
+
+    @Override
+    public synchronized void unsubscribe(JobNotificationListener listener) {
+        if (listeners.remove(listener) && listeners.isEmpty()) {
+            stopListening();
+        }
+    }
+
+    protected void notifyListeners() {
+        for (JobNotificationListener listener : listeners) {
+            try {
+                listener.jobsAvailable();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Exception while notifying job notification listener {} of channel {}", listener, channelName, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes the notification, which should only reach the subscribers once the transaction of the command context is committed.
+     */
+    protected abstract void publish(CommandContext commandContext);
+
+    protected void startListening() {
+        // meant to be overridden if needed
+    }
+
+    protected void stopListening() {
+        // meant to be overridden if needed
+    }
+
+    public String getChannelName() {
+        return channelName;
+    }
+
+}
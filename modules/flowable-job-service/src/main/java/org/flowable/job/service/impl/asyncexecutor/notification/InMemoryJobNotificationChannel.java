@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.notification;
+
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * {@link JobNotificationChannel} that notifies all listeners subscribed to the same instance within the JVM.
+ * Sharing one instance between several engines makes it possible to test the cluster behaviour in a single JVM.
+ */
+public class InMemoryJobNotificationChannel extends AbstractJobNotificationChannel {
+
+    public InMemoryJobNotificationChannel() {
+        this("flowable_jobs");
+    }
+
+    public InMemoryJobNotificationChannel(String channelName) {
+        super(channelName);
+    }
+
+    @Override
+    protected void publish(CommandContext commandContext) {
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, context -> notifyListeners());
+        } else {
+            notifyListeners();
+        }
+    }
+
+}
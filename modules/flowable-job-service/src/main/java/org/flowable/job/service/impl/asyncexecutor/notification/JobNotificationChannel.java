@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.notification;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+
+/**
+ * A channel through which the nodes of a cluster tell each other that new async jobs are available for acquisition,
+ * so that the async job acquisition doesn't need to wait for its next poll.
+ * <p>
+ * Notifications are only a hint: they can be lost (e.g. while a node reconnects), in which case the regular polling picks up the jobs.
+ */
+public interface JobNotificationChannel {
+
+    /**
+     * Called within the transaction that makes new async jobs available for acquisition.
+     * The subscribers (on all nodes) need to be notified once that transaction is committed.
+     */
+    void notifyJobsAvailable(CommandContext commandContext);
+
+    void subscribe(JobNotificationListener listener);
+
+    void unsubscribe(JobNotificationListener listener);
+
+}
@@ -0,0 +1,178 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor.notification;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobNotificationChannel} based on the PostgreSQL LISTEN / NOTIFY mechanism.
+ * <p>
+ * The notification is sent with {@code pg_notify} on the connection of the transaction creating the jobs,
+ * PostgreSQL only delivers it when (and if) that transaction commits, and merges identical notifications of one transaction.
+ * It is sent within a savepoint, so that a failing notification doesn't abort the transaction creating the jobs.
+ * <p>
+ * Listening is done on a dedicated thread holding a dedicated connection of the given data source for as long as there are subscribers.
+ * After (re)connecting, the listeners are always notified once, as notifications might have been missed in the meantime.
+ */
+public class PostgresJobNotificationChannel extends AbstractJobNotificationChannel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresJobNotificationChannel.class);
+
+    protected static final Pattern CHANNEL_NAME_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    protected final DataSource dataSource;
+
+    protected Duration notificationWaitTime = Duration.ofSeconds(10);
+    protected Duration reconnectWaitTime = Duration.ofSeconds(10);
+
+    protected volatile boolean listening;
+    protected Thread listenerThread;
+
+    public PostgresJobNotificationChannel(DataSource dataSource) {
+        this(dataSource, "flowable_jobs");
+    }
+
+    public PostgresJobNotificationChannel(DataSource dataSource, String channelName) {
+        super(channelName);
+        if (channelName == null || !CHANNEL_NAME_PATTERN.matcher(channelName).matches()) {
+            // The channel name is used as an identifier in the LISTEN statement, which doesn't support parameters
+            throw new FlowableIllegalArgumentException("Invalid channel name " + channelName + ", only lower case letters, digits and underscores are allowed");
+        }
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    protected void publish(CommandContext commandContext) {
+        DbSqlSession dbSqlSession = commandContext.getSession(DbSqlSession.class);
+        Connection connection = dbSqlSession.getSqlSession().getConnection();
+        Savepoint savepoint = null;
+        try {
+            // A failing statement aborts the whole transaction in PostgreSQL, the savepoint makes sure only the notification is undone
+            if (!connection.getAutoCommit()) {
+                savepoint = connection.setSavepoint();
+            }
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, '')")) {
+                statement.setString(1, channelName);
+                statement.execute();
+            }
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+
+        } catch (SQLException e) {
+            // Polling will pick up the jobs
+            LOGGER.warn("Could not send notification on channel {}", channelName, e);
+            rollbackToSavepoint(connection, savepoint);
+        }
+    }
+
+    protected void rollbackToSavepoint(Connection connection, Savepoint savepoint) {
+        if (savepoint != null) {
+            try {
+                connection.rollback(savepoint);
+            } catch (SQLException e) {
+                LOGGER.warn("Could not roll back the notification on channel {}", channelName, e);
+            }
+        }
+    }
+
+    @Override
+    protected void startListening() {
+        listening = true;
+        listenerThread = new Thread(this::listen, "flowable-job-notification-" + channelName);
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    protected void stopListening() {
+        listening = false;
+        if (listenerThread != null) {
+            try {
+                // The listener thread notices at the latest when waiting for notifications times out
+                listenerThread.join(notificationWaitTime.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    protected void listen() {
+        while (listening) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channelName);
+                }
+
+                Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection");
+                Object pgConnection = connection.unwrap(pgConnectionClass);
+                Method getNotifications = pgConnectionClass.getMethod("getNotifications", int.class);
+                LOGGER.info("Listening for job notifications on channel {}", channelName);
+
+                notifyListeners();
+                while (listening) {
+                    Object[] notifications = (Object[]) getNotifications.invoke(pgConnection, (int) notificationWaitTime.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        notifyListeners();
+                    }
+                }
+
+            } catch (Exception e) {
+                if (listening) {
+                    LOGGER.warn("Exception while listening for job notifications on channel {}, reconnecting in {}", channelName, reconnectWaitTime, e);
+                    try {
+                        Thread.sleep(reconnectWaitTime.toMillis());
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+        LOGGER.info("Stopped listening for job notifications on channel {}", channelName);
+    }
+
+    public Duration getNotificationWaitTime() {
+        return notificationWaitTime;
+    }
+
+    public void setNotificationWaitTime(Duration notificationWaitTime) {
+        this.notificationWaitTime = notificationWaitTime;
+    }
+
+    public Duration getReconnectWaitTime() {
+        return reconnectWaitTime;
+    }
+
+    public void setReconnectWaitTime(Duration reconnectWaitTime) {
+        this.reconnectWaitTime = reconnectWaitTime;
+    }
+
+}
@@ -49,7 +49,7 @@ public class AcquireJobsCmd implements Command<List<? extends JobInfoEntity>> {
     public List<? extends JobInfoEntity> execute(CommandContext commandContext) {
         int maxResults = Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
         List<String> enabledCategories = asyncExecutor.getJobServiceConfiguration().getEnabledJobCategories();
-        List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(enabledCategories, new Page(0, maxResults));
+        List<? extends JobInfoEntity> jobs = findJobsToExecute(enabledCategories, new Page(0, maxResults));
 
         for (JobInfoEntity job : jobs) {
             lockJob(job, asyncExecutor.getAsyncJobLockTimeInMillis(), asyncExecutor.getJobServiceConfiguration());
@@ -58,6 +58,10 @@ public class AcquireJobsCmd implements Command<List<? extends JobInfoEntity>> {
         return jobs;
     }
 
+    protected List<? extends JobInfoEntity> findJobsToExecute(List<String> enabledCategories, Page page) {
+        return jobEntityManager.findJobsToExecute(enabledCategories, page);
+    }
+
     protected void lockJob(JobInfoEntity job, int lockTimeInMillis, JobServiceConfiguration jobServiceConfiguration) {
         GregorianCalendar gregorianCalendar = calculateLockExpirationTime(lockTimeInMillis, jobServiceConfiguration);
         job.setLockOwner(asyncExecutor.getLockOwner());
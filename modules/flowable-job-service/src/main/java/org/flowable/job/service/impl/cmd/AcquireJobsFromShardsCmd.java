@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.cmd;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.flowable.common.engine.impl.Page;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.persistence.entity.JobEntityManager;
+import org.flowable.job.service.impl.persistence.entity.JobInfoEntity;
+
+/**
+ * Acquires the async jobs of the shards the executor currently holds a lease for.
+ */
+public class AcquireJobsFromShardsCmd extends AcquireJobsCmd {
+
+    protected JobEntityManager shardedJobEntityManager;
+    protected Collection<Integer> shards;
+
+    public AcquireJobsFromShardsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobEntityManager jobEntityManager, Collection<Integer> shards) {
+        super(asyncExecutor, remainingCapacity, jobEntityManager);
+        this.shardedJobEntityManager = jobEntityManager;
+        this.shards = shards;
+    }
+
+    @Override
+    protected List<? extends JobInfoEntity> findJobsToExecute(List<String> enabledCategories, Page page) {
+        return shardedJobEntityManager.findJobsToExecute(enabledCategories, shards, page);
+    }
+
+}
@@ -18,10 +18,14 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.api.HistoryJob;
 import org.flowable.job.api.JobNotFoundException;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodecUtil;
+import org.flowable.job.service.impl.history.async.codec.CompactBinaryAsyncHistoryPayloadCodec;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * Executes a {@link HistoryJob} directly (not through the async history executor).
  * 
@@ -49,6 +53,15 @@ public class GetHistoryJobAdvancedConfigurationCmd implements Command<String> {
         if (historyJobEntity == null) {
             throw new JobNotFoundException(historyJobId);
         }
+
+        if (historyJobEntity.getAdvancedJobHandlerConfigurationByteArrayRef() != null) {
+            byte[] bytes = historyJobEntity.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes(historyJobEntity.getScopeType());
+            if (CompactBinaryAsyncHistoryPayloadCodec.isCompactBinary(bytes)) {
+                // Binary payloads are returned as their json representation
+                ObjectMapper objectMapper = jobServiceConfiguration.getObjectMapper();
+                return AsyncHistoryPayloadCodecUtil.decode(jobServiceConfiguration, bytes, objectMapper).toString();
+            }
+        }
         return historyJobEntity.getAdvancedJobHandlerConfiguration();
     }
 
@@ -0,0 +1,177 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.cmd;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
+
+/**
+ * Renews the shard leases of an async executor and rebalances them over all live executors.
+ * <p>
+ * Each executor keeps a node lease (a heartbeat) and a lease for every shard it owns, both stored as properties.
+ * The value of a shard lease is the lease expiration time followed by the lock owner of the executor, the value of a node lease
+ * is its expiration time. Using the number of live nodes, each executor computes its fair share of shards: it releases the surplus
+ * shards it holds and claims free or expired shards until it reaches its fair share.
+ * <p>
+ * Concurrent rebalances of different executors are detected through the revision of the properties,
+ * in that case the command fails with an optimistic locking exception and the rebalance is retried later.
+ */
+public class RebalanceJobShardLeasesCmd implements Command<Set<Integer>> {
+
+    public static final String SHARD_LEASE_NAME = "asyncJobShard-";
+    public static final String NODE_LEASE_NAME = "asyncJobNode-";
+
+    protected static final int LEASE_NAME_MAX_LENGTH = 64;
+
+    protected String engineType;
+    protected String leasePrefix;
+    protected String lockOwner;
+    protected int shardCount;
+    protected Duration leaseTime;
+    protected boolean releaseAll;
+
+    public RebalanceJobShardLeasesCmd(String engineType, String leasePrefix, String lockOwner, int shardCount, Duration leaseTime, boolean releaseAll) {
+        this.engineType = engineType;
+        this.leasePrefix = leasePrefix != null ? leasePrefix : "";
+        this.lockOwner = lockOwner;
+        this.shardCount = shardCount;
+        this.leaseTime = leaseTime;
+        this.releaseAll = releaseAll;
+    }
+
+    @Override
+    public Set<Integer> execute(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = commandContext.getEngineConfigurations().get(engineType).getPropertyEntityManager();
+
+        Instant now = Instant.now();
+        String leaseExpirationTime = now.plus(leaseTime).toString();
+        String shardLeasePrefix = leasePrefix + SHARD_LEASE_NAME;
+        String nodeLeasePrefix = leasePrefix + NODE_LEASE_NAME;
+        String ownNodeLeaseName = StringUtils.substring(nodeLeasePrefix + lockOwner, 0, LEASE_NAME_MAX_LENGTH);
+
+        Map<String, PropertyEntity> shardLeases = new HashMap<>();
+        PropertyEntity ownNodeLease = null;
+        int liveNodes = 1;
+        for (PropertyEntity property : propertyEntityManager.findAll()) {
+            String name = property.getName();
+            if (name.startsWith(shardLeasePrefix)) {
+                shardLeases.put(name, property);
+
+            } else if (name.startsWith(nodeLeasePrefix)) {
+                if (name.equals(ownNodeLeaseName)) {
+                    ownNodeLease = property;
+                } else if (isExpired(property.getValue(), now)) {
+                    // The node did not renew its lease in time, so it is gone
+                    propertyEntityManager.delete(property);
+                } else {
+                    liveNodes++;
+                }
+            }
+        }
+
+        if (releaseAll) {
+            if (ownNodeLease != null) {
+                propertyEntityManager.delete(ownNodeLease);
+            }
+        } else if (ownNodeLease == null) {
+            ownNodeLease = propertyEntityManager.create();
+            ownNodeLease.setName(ownNodeLeaseName);
+            ownNodeLease.setValue(leaseExpirationTime);
+            propertyEntityManager.insert(ownNodeLease);
+        } else {
+            ownNodeLease.setValue(leaseExpirationTime);
+        }
+
+        int fairShare = releaseAll ? 0 : (shardCount + liveNodes - 1) / liveNodes;
+        String ownShardLeaseValue = leaseExpirationTime + " " + lockOwner;
+
+        Set<Integer> ownedShards = new TreeSet<>();
+        List<Integer> claimableShards = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            PropertyEntity shardLease = shardLeases.get(shardLeasePrefix + shard);
+            String leaseValue = shardLease != null ? shardLease.getValue() : null;
+
+            if (leaseValue != null && lockOwner.equals(getLeaseOwner(leaseValue))) {
+                if (ownedShards.size() < fairShare) {
+                    shardLease.setValue(ownShardLeaseValue);
+                    ownedShards.add(shard);
+                } else {
+                    // Surplus shard, hand it over to the other nodes
+                    shardLease.setValue(null);
+                }
+
+            } else if (leaseValue == null || isExpired(leaseValue, now)) {
+                claimableShards.add(shard);
+            }
+        }
+
+        if (ownedShards.size() < fairShare && !claimableShards.isEmpty()) {
+            // Start at a different shard for every node, to avoid that nodes starting together claim the same shards
+            Collections.rotate(claimableShards, Math.floorMod(lockOwner.hashCode(), claimableShards.size()));
+
+            for (Integer shard : claimableShards) {
+                if (ownedShards.size() >= fairShare) {
+                    break;
+                }
+
+                String shardLeaseName = shardLeasePrefix + shard;
+                PropertyEntity shardLease = shardLeases.get(shardLeaseName);
+                if (shardLease == null) {
+                    shardLease = propertyEntityManager.create();
+                    shardLease.setName(shardLeaseName);
+                    shardLease.setValue(ownShardLeaseValue);
+                    propertyEntityManager.insert(shardLease);
+                } else {
+                    shardLease.setValue(ownShardLeaseValue);
+                }
+                ownedShards.add(shard);
+            }
+        }
+
+        return ownedShards;
+    }
+
+    protected boolean isExpired(String leaseValue, Instant now) {
+        if (leaseValue == null) {
+            return true;
+        }
+
+        int separatorIndex = leaseValue.indexOf(' ');
+        String expirationTime = separatorIndex >= 0 ? leaseValue.substring(0, separatorIndex) : leaseValue;
+        try {
+            return Instant.parse(expirationTime).isBefore(now);
+        } catch (RuntimeException e) {
+            // Not a lease value we understand, so treat it as expired
+            return true;
+        }
+    }
+
+    protected String getLeaseOwner(String leaseValue) {
+        int separatorIndex = leaseValue.indexOf(' ');
+        return separatorIndex >= 0 ? leaseValue.substring(separatorIndex + 1) : null;
+    }
+
+}
@@ -21,6 +21,7 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.HistoryJobHandler;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodecUtil;
 import org.flowable.job.service.impl.persistence.entity.DeadLetterJobEntity;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 import org.slf4j.Logger;
@@ -56,7 +57,7 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
             JsonNode historyNode;
             try {
                 byte[] bytes = getJobBytes(job);
-                historyNode = objectMapper.readTree(bytes);
+                historyNode = AsyncHistoryPayloadCodecUtil.decode(jobServiceConfiguration, bytes, objectMapper);
             } catch (Exception e) {
                 // The transaction will be rolled back and the job retries decremented,
                 // which is different from unacquiring the job where the retries are not changed.
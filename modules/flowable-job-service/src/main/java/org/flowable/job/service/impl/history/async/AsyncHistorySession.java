@@ -14,6 +14,7 @@ package org.flowable.job.service.impl.history.async;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.CommandContextCloseListener;
 import org.flowable.common.engine.impl.interceptor.Session;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -119,6 +121,10 @@ public class AsyncHistorySession implements Session {
         this.sessionData = sessionData;
     }
 
+    public AsyncHistorySessionData getAsyncHistorySessionData(JobServiceConfiguration jobServiceConfiguration) {
+        return sessionData != null ? sessionData.get(jobServiceConfiguration) : null;
+    }
+
     public List<String> getJobDataTypes() {
         return jobDataTypes;
     }
@@ -155,5 +161,41 @@ public class AsyncHistorySession implements Session {
             jobData.get(type).add(data);
         }
         
+        /**
+         * Returns the first historical event of the given type of which the given field has the given value,
+         * or null if there is no such event. Used to coalesce events that supersede each other within one transaction.
+         */
+        public ObjectNode findJobData(String type, String fieldName, String value) {
+            List<ObjectNode> dataList = jobData.get(type);
+            if (dataList != null && value != null) {
+                for (ObjectNode data : dataList) {
+                    if (value.equals(AsyncHistoryJsonUtil.getStringFromJson(data, fieldName))) {
+                        return data;
+                    }
+                }
+            }
+            return null;
+        }
+        
+        /**
+         * Removes the first historical event of the given type of which the given field has the given value.
+         * 
+         * @return the removed event, or null if there was no such event
+         */
+        public ObjectNode removeJobData(String type, String fieldName, String value) {
+            List<ObjectNode> dataList = jobData.get(type);
+            if (dataList != null && value != null) {
+                Iterator<ObjectNode> dataIterator = dataList.iterator();
+                while (dataIterator.hasNext()) {
+                    ObjectNode data = dataIterator.next();
+                    if (value.equals(AsyncHistoryJsonUtil.getStringFromJson(data, fieldName))) {
+                        dataIterator.remove();
+                        return data;
+                    }
+                }
+            }
+            return null;
+        }
+        
     }
 }
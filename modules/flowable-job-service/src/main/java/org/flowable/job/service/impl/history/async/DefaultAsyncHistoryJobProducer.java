@@ -23,9 +23,9 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodecUtil;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -86,15 +86,11 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
     }
 
     protected void addJsonToJob(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration, HistoryJobEntity jobEntity, JsonNode rootObjectNode, boolean applyCompression) {
-        try {
-            byte[] bytes = jobServiceConfiguration.getObjectMapper().writeValueAsBytes(rootObjectNode);
-            if (applyCompression) {
-                bytes = compress(bytes);
-            }
-            jobEntity.setAdvancedJobHandlerConfigurationBytes(bytes);
-        } catch (JsonProcessingException e) {
-            throw new FlowableException("Could not serialize historic data for async history", e);
+        byte[] bytes = AsyncHistoryPayloadCodecUtil.encode(jobServiceConfiguration, rootObjectNode);
+        if (applyCompression && AsyncHistoryPayloadCodecUtil.usesDefaultJsonFormat(jobServiceConfiguration)) {
+            bytes = compress(bytes);
         }
+        jobEntity.setAdvancedJobHandlerConfigurationBytes(bytes);
     }
 
     protected byte[] compress(final byte[] bytes) {
@@ -109,7 +105,8 @@ public class DefaultAsyncHistoryJobProducer implements AsyncHistoryListener {
     }
 
     protected String getJobType(JobServiceConfiguration jobServiceConfiguration, boolean groupingEnabled) {
-        if (groupingEnabled) {
+        // A custom payload codec takes care of compression itself, so gzip is only applied to the default json format
+        if (groupingEnabled && AsyncHistoryPayloadCodecUtil.usesDefaultJsonFormat(jobServiceConfiguration)) {
             return jobServiceConfiguration.isAsyncHistoryJsonGzipCompressionEnabled() ?
                 jobServiceConfiguration.getJobTypeAsyncHistoryZipped() : jobServiceConfiguration.getJobTypeAsyncHistory();
         } else {
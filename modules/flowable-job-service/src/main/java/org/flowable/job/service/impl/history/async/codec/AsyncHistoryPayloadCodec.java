@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Converts the history data of an async history job from and to the bytes stored with the job.
+ * <p>
+ * Jobs are always read with the codec that is able to decode their bytes, see {@link AsyncHistoryPayloadCodecUtil},
+ * so the codec used for writing can be changed while jobs written with another codec still need to be executed.
+ */
+public interface AsyncHistoryPayloadCodec {
+
+    byte[] encode(JsonNode payload, ObjectMapper objectMapper);
+
+    /**
+     * Whether the given bytes were written by this codec.
+     */
+    boolean canDecode(byte[] bytes);
+
+    JsonNode decode(byte[] bytes, ObjectMapper objectMapper);
+
+}
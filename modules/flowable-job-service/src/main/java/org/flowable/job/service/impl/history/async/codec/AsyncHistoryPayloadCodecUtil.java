@@ -0,0 +1,52 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import org.flowable.job.service.JobServiceConfiguration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class AsyncHistoryPayloadCodecUtil {
+
+    protected static final CompactBinaryAsyncHistoryPayloadCodec COMPACT_BINARY_CODEC = new CompactBinaryAsyncHistoryPayloadCodec();
+
+    public static byte[] encode(JobServiceConfiguration jobServiceConfiguration, JsonNode payload) {
+        return getWritingCodec(jobServiceConfiguration).encode(payload, jobServiceConfiguration.getObjectMapper());
+    }
+
+    /**
+     * Decodes the bytes of an async history job, independent of the codec that is currently used for writing:
+     * the configured codec is tried first, then the compact binary format and finally plain JSON.
+     */
+    public static JsonNode decode(JobServiceConfiguration jobServiceConfiguration, byte[] bytes, ObjectMapper objectMapper) {
+        AsyncHistoryPayloadCodec codec = jobServiceConfiguration.getAsyncHistoryPayloadCodec();
+        if (codec != null && codec.canDecode(bytes)) {
+            return codec.decode(bytes, objectMapper);
+        } else if (COMPACT_BINARY_CODEC.canDecode(bytes)) {
+            return COMPACT_BINARY_CODEC.decode(bytes, objectMapper);
+        } else {
+            return JsonAsyncHistoryPayloadCodec.INSTANCE.decode(bytes, objectMapper);
+        }
+    }
+
+    public static boolean usesDefaultJsonFormat(JobServiceConfiguration jobServiceConfiguration) {
+        return getWritingCodec(jobServiceConfiguration) instanceof JsonAsyncHistoryPayloadCodec;
+    }
+
+    protected static AsyncHistoryPayloadCodec getWritingCodec(JobServiceConfiguration jobServiceConfiguration) {
+        AsyncHistoryPayloadCodec codec = jobServiceConfiguration.getAsyncHistoryPayloadCodec();
+        return codec != null ? codec : JsonAsyncHistoryPayloadCodec.INSTANCE;
+    }
+
+}
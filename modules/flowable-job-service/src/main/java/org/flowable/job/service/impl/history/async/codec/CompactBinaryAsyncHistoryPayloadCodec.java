@@ -0,0 +1,513 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.flowable.common.engine.api.FlowableException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Stores the history data in a compact binary format instead of JSON.
+ * <p>
+ * The payload starts with a header that can never start a JSON document (a magic byte, the format version and a flags byte),
+ * followed by the value tree. Every value is prefixed by a one byte tag describing its type, numbers are written as variable
+ * length integers and strings are interned: the second occurrence of a field name or short value is written as a reference
+ * to its first occurrence. As the async history data is mostly made of the same field names and ids, this saves most of the
+ * bytes when several events are grouped in one job.
+ * <p>
+ * The encoded tree can be compressed with Deflate, which is only done when the tree is larger than the compression threshold.
+ */
+public class CompactBinaryAsyncHistoryPayloadCodec implements AsyncHistoryPayloadCodec {
+
+    protected static final byte MAGIC = (byte) 0xFB;
+    protected static final byte VERSION = 1;
+    protected static final int HEADER_LENGTH = 3;
+
+    protected static final int FLAG_DEFLATE = 0x01;
+
+    protected static final byte TAG_NULL = 0;
+    protected static final byte TAG_TRUE = 1;
+    protected static final byte TAG_FALSE = 2;
+    protected static final byte TAG_LONG = 3;
+    protected static final byte TAG_DOUBLE = 4;
+    protected static final byte TAG_STRING = 5;
+    protected static final byte TAG_STRING_REFERENCE = 6;
+    protected static final byte TAG_LONG_STRING = 7;
+    protected static final byte TAG_OBJECT = 8;
+    protected static final byte TAG_ARRAY = 9;
+    protected static final byte TAG_BINARY = 10;
+    protected static final byte TAG_BIG_INTEGER = 11;
+    protected static final byte TAG_BIG_DECIMAL = 12;
+
+    /**
+     * Strings longer than this are not interned, as they are unlikely to repeat.
+     */
+    protected static final int MAX_INTERNED_STRING_LENGTH = 128;
+
+    protected boolean compressionEnabled;
+    protected int compressionThreshold = 512;
+    protected int compressionLevel = Deflater.BEST_SPEED;
+
+    public CompactBinaryAsyncHistoryPayloadCodec() {
+    }
+
+    public CompactBinaryAsyncHistoryPayloadCodec(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public static boolean isCompactBinary(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(JsonNode payload, ObjectMapper objectMapper) {
+        Output output = new Output(256);
+        output.writeByte(MAGIC);
+        output.writeByte(VERSION);
+        output.writeByte(0);
+
+        new Encoder(output).writeValue(payload);
+
+        if (compressionEnabled && output.size() - HEADER_LENGTH > compressionThreshold) {
+            return compress(output);
+        }
+        return output.toByteArray();
+    }
+
+    protected byte[] compress(Output uncompressed) {
+        int uncompressedBodyLength = uncompressed.size() - HEADER_LENGTH;
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setInput(uncompressed.buffer, HEADER_LENGTH, uncompressedBodyLength);
+            deflater.finish();
+
+            Output output = new Output(uncompressedBodyLength / 2 + 16);
+            output.writeByte(MAGIC);
+            output.writeByte(VERSION);
+            output.writeByte(FLAG_DEFLATE);
+            output.writeVarInt(uncompressedBodyLength);
+            while (!deflater.finished()) {
+                output.ensureCapacity(256);
+                output.count += deflater.deflate(output.buffer, output.count, output.buffer.length - output.count);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return isCompactBinary(bytes);
+    }
+
+    @Override
+    public JsonNode decode(byte[] bytes, ObjectMapper objectMapper) {
+        if (!isCompactBinary(bytes)) {
+            throw new FlowableException("Async history payload is not in the compact binary format");
+        }
+        if (bytes[1] != VERSION) {
+            throw new FlowableException("Unsupported compact binary async history payload version " + bytes[1]);
+        }
+
+        Input input = new Input(bytes, HEADER_LENGTH, bytes.length);
+        if ((bytes[2] & FLAG_DEFLATE) != 0) {
+            input = decompress(input);
+        }
+
+        try {
+            return new Decoder(input, objectMapper.getNodeFactory()).readValue();
+        } catch (IndexOutOfBoundsException e) {
+            throw new FlowableException("Corrupt compact binary async history payload", e);
+        }
+    }
+
+    protected Input decompress(Input input) {
+        int uncompressedLength = input.readVarInt();
+        byte[] uncompressed = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input.buffer, input.position, input.limit - input.position);
+            int length = 0;
+            while (length < uncompressedLength && !inflater.finished()) {
+                int inflated = inflater.inflate(uncompressed, length, uncompressedLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != uncompressedLength) {
+                throw new FlowableException("Corrupt compressed async history payload");
+            }
+            return new Input(uncompressed, 0, uncompressedLength);
+        } catch (DataFormatException e) {
+            throw new FlowableException("Could not decompress async history payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    protected static class Encoder {
+
+        protected final Output output;
+        protected final Map<String, Integer> internedStrings = new HashMap<>();
+
+        public Encoder(Output output) {
+            this.output = output;
+        }
+
+        public void writeValue(JsonNode node) {
+            switch (node.getNodeType()) {
+                case OBJECT:
+                    output.writeByte(TAG_OBJECT);
+                    output.writeVarInt(node.size());
+                    Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                    while (fields.hasNext()) {
+                        Map.Entry<String, JsonNode> field = fields.next();
+                        writeString(field.getKey());
+                        writeValue(field.getValue());
+                    }
+                    break;
+
+                case ARRAY:
+                    output.writeByte(TAG_ARRAY);
+                    output.writeVarInt(node.size());
+                    for (JsonNode element : node) {
+                        writeValue(element);
+                    }
+                    break;
+
+                case STRING:
+                    writeString(node.textValue());
+                    break;
+
+                case NUMBER:
+                    writeNumber(node);
+                    break;
+
+                case BOOLEAN:
+                    output.writeByte(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+                    break;
+
+                case BINARY:
+                    byte[] binaryValue = binaryValue(node);
+                    output.writeByte(TAG_BINARY);
+                    output.writeVarInt(binaryValue.length);
+                    output.writeBytes(binaryValue, binaryValue.length);
+                    break;
+
+                default:
+                    // null and missing nodes, POJO nodes are not used for the history data
+                    output.writeByte(TAG_NULL);
+            }
+        }
+
+        protected void writeNumber(JsonNode node) {
+            if (node.isIntegralNumber()) {
+                if (node.canConvertToLong()) {
+                    output.writeByte(TAG_LONG);
+                    output.writeVarLong(zigZag(node.longValue()));
+                } else {
+                    output.writeByte(TAG_BIG_INTEGER);
+                    writeRawString(node.bigIntegerValue().toString());
+                }
+            } else if (node.isBigDecimal()) {
+                output.writeByte(TAG_BIG_DECIMAL);
+                writeRawString(node.decimalValue().toString());
+            } else {
+                output.writeByte(TAG_DOUBLE);
+                output.writeLong(Double.doubleToRawLongBits(node.doubleValue()));
+            }
+        }
+
+        protected void writeString(String value) {
+            if (value.length() > MAX_INTERNED_STRING_LENGTH) {
+                output.writeByte(TAG_LONG_STRING);
+                writeRawString(value);
+                return;
+            }
+
+            Integer index = internedStrings.get(value);
+            if (index != null) {
+                output.writeByte(TAG_STRING_REFERENCE);
+                output.writeVarInt(index);
+            } else {
+                internedStrings.put(value, internedStrings.size());
+                output.writeByte(TAG_STRING);
+                writeRawString(value);
+            }
+        }
+
+        protected void writeRawString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeVarInt(bytes.length);
+            output.writeBytes(bytes, bytes.length);
+        }
+
+        protected byte[] binaryValue(JsonNode node) {
+            try {
+                return node.binaryValue();
+            } catch (IOException e) {
+                throw new FlowableException("Could not read binary value", e);
+            }
+        }
+
+        protected static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    protected static class Decoder {
+
+        protected final Input input;
+        protected final JsonNodeFactory nodeFactory;
+        protected final List<String> internedStrings = new ArrayList<>();
+
+        public Decoder(Input input, JsonNodeFactory nodeFactory) {
+            this.input = input;
+            this.nodeFactory = nodeFactory;
+        }
+
+        public JsonNode readValue() {
+            byte tag = input.readByte();
+            switch (tag) {
+                case TAG_NULL:
+                    return nodeFactory.nullNode();
+                case TAG_TRUE:
+                    return nodeFactory.booleanNode(true);
+                case TAG_FALSE:
+                    return nodeFactory.booleanNode(false);
+                case TAG_LONG:
+                    long value = unZigZag(input.readVarLong());
+                    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                        return nodeFactory.numberNode((int) value);
+                    }
+                    return nodeFactory.numberNode(value);
+                case TAG_DOUBLE:
+                    return nodeFactory.numberNode(Double.longBitsToDouble(input.readLong()));
+                case TAG_BIG_INTEGER:
+                    return nodeFactory.numberNode(new BigInteger(input.readRawString()));
+                case TAG_BIG_DECIMAL:
+                    return nodeFactory.numberNode(new BigDecimal(input.readRawString()));
+                case TAG_STRING:
+                case TAG_STRING_REFERENCE:
+                case TAG_LONG_STRING:
+                    return nodeFactory.textNode(readString(tag));
+                case TAG_BINARY:
+                    int length = input.readVarInt();
+                    return nodeFactory.binaryNode(input.readBytes(length));
+                case TAG_OBJECT:
+                    int fieldCount = input.readVarInt();
+                    ObjectNode objectNode = nodeFactory.objectNode();
+                    for (int i = 0; i < fieldCount; i++) {
+                        String fieldName = readString(input.readByte());
+                        objectNode.set(fieldName, readValue());
+                    }
+                    return objectNode;
+                case TAG_ARRAY:
+                    int elementCount = input.readVarInt();
+                    ArrayNode arrayNode = nodeFactory.arrayNode(elementCount);
+                    for (int i = 0; i < elementCount; i++) {
+                        arrayNode.add(readValue());
+                    }
+                    return arrayNode;
+                default:
+                    throw new FlowableException("Unknown value tag " + tag + " in compact binary async history payload");
+            }
+        }
+
+        protected String readString(byte tag) {
+            switch (tag) {
+                case TAG_STRING:
+                    String value = input.readRawString();
+                    internedStrings.add(value);
+                    return value;
+                case TAG_STRING_REFERENCE:
+                    return internedStrings.get(input.readVarInt());
+                case TAG_LONG_STRING:
+                    return input.readRawString();
+                default:
+                    throw new FlowableException("Expected a string in compact binary async history payload, but got tag " + tag);
+            }
+        }
+
+        protected static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    protected static class Output {
+
+        protected byte[] buffer;
+        protected int count;
+
+        public Output(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        public void ensureCapacity(int additional) {
+            if (count + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + additional));
+            }
+        }
+
+        public void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) value;
+        }
+
+        public void writeBytes(byte[] bytes, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, 0, buffer, count, length);
+            count += length;
+        }
+
+        public void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        public void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[count++] = (byte) value;
+        }
+
+        public void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+    }
+
+    protected static class Input {
+
+        protected final byte[] buffer;
+        protected int position;
+        protected final int limit;
+
+        public Input(byte[] buffer, int position, int limit) {
+            this.buffer = buffer;
+            this.position = position;
+            this.limit = limit;
+        }
+
+        public byte readByte() {
+            if (position >= limit) {
+                throw new FlowableException("Unexpected end of compact binary async history payload");
+            }
+            return buffer[position++];
+        }
+
+        public byte[] readBytes(int length) {
+            if (length < 0 || position + length > limit) {
+                throw new FlowableException("Unexpected end of compact binary async history payload");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        public int readVarInt() {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new FlowableException("Corrupt compact binary async history payload");
+            }
+            return (int) value;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new FlowableException("Corrupt compact binary async history payload");
+        }
+
+        public long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        public String readRawString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > limit) {
+                throw new FlowableException("Unexpected end of compact binary async history payload");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+}
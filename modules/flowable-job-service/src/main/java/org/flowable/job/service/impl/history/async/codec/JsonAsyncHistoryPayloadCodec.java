@@ -0,0 +1,52 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import java.io.IOException;
+
+import org.flowable.common.engine.api.FlowableException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores the history data as plain JSON, the format used by async history jobs before payload codecs existed.
+ */
+public class JsonAsyncHistoryPayloadCodec implements AsyncHistoryPayloadCodec {
+
+    public static final JsonAsyncHistoryPayloadCodec INSTANCE = new JsonAsyncHistoryPayloadCodec();
+
+    @Override
+    public byte[] encode(JsonNode payload, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new FlowableException("Could not serialize historic data for async history", e);
+        }
+    }
+
+    @Override
+    public boolean canDecode(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && !CompactBinaryAsyncHistoryPayloadCodec.isCompactBinary(bytes);
+    }
+
+    @Override
+    public JsonNode decode(byte[] bytes, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new FlowableException("Could not deserialize async history json", e);
+        }
+    }
+
+}
@@ -12,7 +12,6 @@
  */
 package org.flowable.job.service.impl.history.async.message;
 
-import java.io.IOException;
 import java.util.List;
 
 import org.flowable.common.engine.api.FlowableException;
@@ -23,6 +22,7 @@ import org.flowable.job.api.HistoryJob;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.impl.HistoryJobQueryImpl;
 import org.flowable.job.service.impl.asyncexecutor.message.AsyncJobMessageReceiver;
+import org.flowable.job.service.impl.history.async.codec.AsyncHistoryPayloadCodecUtil;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.job.service.impl.persistence.entity.HistoryJobEntityManager;
 
@@ -95,11 +95,8 @@ public class AsyncHistoryJobMessageReceiver {
     protected JsonNode getHistoryJobData(CommandContext commandContext, HistoryJobEntity job) {
         ObjectMapper objectMapper = jobServiceConfiguration.getObjectMapper();
         if (job.getAdvancedJobHandlerConfigurationByteArrayRef() != null) {
-            try {
-                return objectMapper.readTree(job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes(jobServiceConfiguration.getEngineName()));
-            } catch (IOException e) {
-                throw new FlowableException("Could not deserialize json for history job data", e);
-            }
+            byte[] bytes = job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes(jobServiceConfiguration.getEngineName());
+            return AsyncHistoryPayloadCodecUtil.decode(jobServiceConfiguration, bytes, objectMapper);
         }
         return null;
     }
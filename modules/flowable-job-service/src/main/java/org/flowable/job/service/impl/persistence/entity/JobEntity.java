@@ -20,4 +20,12 @@ package org.flowable.job.service.impl.persistence.entity;
  */
 public interface JobEntity extends JobInfoEntity, AbstractRuntimeJobEntity {
 
+    /**
+     * The shard this job belongs to, used to split the async job acquisition across executors.
+     * Can be null for jobs that were created before sharding was introduced or when sharding is disabled.
+     */
+    Integer getShard();
+
+    void setShard(Integer shard);
+
 }
@@ -27,6 +27,7 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
 
     protected String lockOwner;
     protected Date lockExpirationTime;
+    protected Integer shard;
 
     @Override
     @SuppressWarnings("unchecked")
@@ -60,6 +61,16 @@ public class JobEntityImpl extends AbstractJobEntityImpl implements JobEntity {
         this.lockExpirationTime = claimedUntil;
     }
 
+    @Override
+    public Integer getShard() {
+        return shard;
+    }
+
+    @Override
+    public void setShard(Integer shard) {
+        this.shard = shard;
+    }
+
     @Override
     public String toString() {
         return "JobEntity [id=" + id + "]";
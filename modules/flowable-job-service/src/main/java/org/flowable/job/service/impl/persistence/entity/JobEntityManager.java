@@ -12,8 +12,10 @@
  */
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.persistence.entity.EntityManager;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.impl.JobQueryImpl;
@@ -31,6 +33,12 @@ public interface JobEntityManager extends EntityManager<JobEntity>, JobInfoEntit
      */
     boolean insertJobEntity(JobEntity jobEntity);
 
+    /**
+     * Same as {@link #findJobsToExecute(List, Page)}, but only returns the jobs belonging to the given shards.
+     * Jobs without a shard are returned together with the jobs of shard 0.
+     */
+    List<JobEntity> findJobsToExecute(List<String> enabledCategories, Collection<Integer> shards, Page page);
+
     /**
      * Find the job with the given correlation id
      */
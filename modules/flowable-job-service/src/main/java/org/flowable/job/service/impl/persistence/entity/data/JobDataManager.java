@@ -12,8 +12,10 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.flowable.common.engine.impl.Page;
 import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.impl.JobQueryImpl;
@@ -26,6 +28,8 @@ public interface JobDataManager extends DataManager<JobEntity>, JobInfoDataManag
 
     JobEntity findJobByCorrelationId(String correlationId);
 
+    List<JobEntity> findJobsToExecute(List<String> enabledCategories, Collection<Integer> shards, Page page);
+
     List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery);
 
     long findJobCountByQueryCriteria(JobQueryImpl jobQuery);
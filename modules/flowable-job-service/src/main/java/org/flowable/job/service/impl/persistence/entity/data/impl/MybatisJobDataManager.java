@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -69,6 +70,28 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
         return getDbSqlSession().selectList("selectJobsToExecute", params, page);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsToExecute(List<String> enabledCategories, Collection<Integer> shards, Page page) {
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("jobExecutionScope", jobServiceConfiguration.getJobExecutionScope());
+
+        if (enabledCategories != null && enabledCategories.size() > 0) {
+            params.put("enabledCategories", enabledCategories);
+        }
+
+        params.put("shards", shards);
+        if (shards.contains(0)) {
+            // Jobs without a shard, or with a shard outside the configured range, are picked up by the owner of the first shard
+            params.put("unassignedShardCount", jobServiceConfiguration.getJobShardCount());
+        }
+
+        // Executors only compete for the rows of a shard during rebalancing,
+        // the rows already locked by another executor are skipped on the databases supporting it
+        params.put("skipLocked", true);
+        return getDbSqlSession().selectList("selectJobsToExecute", params, page);
+    }
+
     @Override
     public List<JobEntity> findJobsByExecutionId(final String executionId) {
         DbSqlSession dbSqlSession = getDbSqlSession();
@@ -25,6 +25,7 @@ CREATE TABLE ACT_RU_JOB (
     HANDLER_CFG_ varchar(4000),
     CUSTOM_VALUES_ID_ varchar(64),
     CREATE_TIME_ timestamp,
+    SHARD_ integer,
     TENANT_ID_ varchar(255) default '',
     primary key (ID_)
 );
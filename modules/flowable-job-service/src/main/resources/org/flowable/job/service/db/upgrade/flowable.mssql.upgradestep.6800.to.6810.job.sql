@@ -0,0 +1 @@
+alter table ACT_RU_JOB add SHARD_ int;
@@ -0,0 +1,183 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.FlowableException;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class CompactBinaryAsyncHistoryPayloadCodecTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactBinaryAsyncHistoryPayloadCodecTest.class);
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void roundTripAllValueTypes() {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.putNull("null");
+        node.put("true", true);
+        node.put("false", false);
+        node.put("int", 42);
+        node.put("negative", -7);
+        node.put("long", Long.MAX_VALUE);
+        node.put("minLong", Long.MIN_VALUE);
+        node.put("double", 3.14);
+        node.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        node.put("bigDecimal", new BigDecimal("12345.678901234567890"));
+        node.put("string", "value");
+        node.put("unicode", "été 漢字");
+        node.put("empty", "");
+        node.put("longString", StringUtils.repeat("x", 500));
+        node.put("binary", "bytes".getBytes(StandardCharsets.UTF_8));
+        node.putArray("array").add(1).add("value").add(true).addNull();
+        node.putObject("nested").put("string", "value");
+
+        CompactBinaryAsyncHistoryPayloadCodec codec = new CompactBinaryAsyncHistoryPayloadCodec();
+        byte[] bytes = codec.encode(node, objectMapper);
+
+        assertThat(codec.canDecode(bytes)).isTrue();
+        assertThat(codec.decode(bytes, objectMapper)).isEqualTo(node);
+    }
+
+    @Test
+    void repeatedStringsAreInterned() {
+        CompactBinaryAsyncHistoryPayloadCodec codec = new CompactBinaryAsyncHistoryPayloadCodec();
+        ArrayNode single = objectMapper.createArrayNode().add(createHistoryEvent(0));
+        ArrayNode repeated = objectMapper.createArrayNode();
+        for (int i = 0; i < 10; i++) {
+            repeated.add(createHistoryEvent(0));
+        }
+
+        int singleSize = codec.encode(single, objectMapper).length;
+        int repeatedSize = codec.encode(repeated, objectMapper).length;
+
+        // Every repeated event only consists of tags and string references
+        assertThat(repeatedSize).isLessThan(singleSize * 3);
+        assertThat(codec.decode(codec.encode(repeated, objectMapper), objectMapper)).isEqualTo(repeated);
+    }
+
+    @Test
+    void compressionOnlyAboveThreshold() {
+        CompactBinaryAsyncHistoryPayloadCodec codec = new CompactBinaryAsyncHistoryPayloadCodec(true);
+        codec.setCompressionThreshold(1024);
+
+        ArrayNode small = createHistoryEvents(1);
+        byte[] smallBytes = codec.encode(small, objectMapper);
+        assertThat(smallBytes[2]).isZero();
+        assertThat(codec.decode(smallBytes, objectMapper)).isEqualTo(small);
+
+        ArrayNode large = createHistoryEvents(100);
+        byte[] largeBytes = codec.encode(large, objectMapper);
+        assertThat(largeBytes[2]).isEqualTo((byte) CompactBinaryAsyncHistoryPayloadCodec.FLAG_DEFLATE);
+        assertThat(largeBytes.length).isLessThan(new CompactBinaryAsyncHistoryPayloadCodec().encode(large, objectMapper).length);
+        assertThat(codec.decode(largeBytes, objectMapper)).isEqualTo(large);
+    }
+
+    @Test
+    void jsonIsNotDetectedAsCompactBinary() throws Exception {
+        byte[] jsonBytes = objectMapper.writeValueAsBytes(createHistoryEvents(2));
+
+        assertThat(CompactBinaryAsyncHistoryPayloadCodec.isCompactBinary(jsonBytes)).isFalse();
+        assertThat(new CompactBinaryAsyncHistoryPayloadCodec().canDecode(jsonBytes)).isFalse();
+        assertThat(JsonAsyncHistoryPayloadCodec.INSTANCE.canDecode(jsonBytes)).isTrue();
+        assertThatThrownBy(() -> new CompactBinaryAsyncHistoryPayloadCodec().decode(jsonBytes, objectMapper))
+                .isInstanceOf(FlowableException.class);
+    }
+
+    @Test
+    void truncatedPayloadFails() {
+        CompactBinaryAsyncHistoryPayloadCodec codec = new CompactBinaryAsyncHistoryPayloadCodec();
+        byte[] bytes = codec.encode(createHistoryEvents(2), objectMapper);
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThatThrownBy(() -> codec.decode(truncated, objectMapper))
+                .isInstanceOf(FlowableException.class);
+    }
+
+    @Test
+    void compareWithJson() throws Exception {
+        ArrayNode events = createHistoryEvents(50);
+        CompactBinaryAsyncHistoryPayloadCodec binaryCodec = new CompactBinaryAsyncHistoryPayloadCodec();
+        CompactBinaryAsyncHistoryPayloadCodec compressedCodec = new CompactBinaryAsyncHistoryPayloadCodec(true);
+
+        int jsonSize = objectMapper.writeValueAsBytes(events).length;
+        int binarySize = binaryCodec.encode(events, objectMapper).length;
+        int compressedSize = compressedCodec.encode(events, objectMapper).length;
+
+        assertThat(binarySize).isLessThan(jsonSize);
+        assertThat(compressedSize).isLessThan(binarySize);
+
+        int iterations = 2000;
+        long jsonNanos = measure(iterations, () -> JsonAsyncHistoryPayloadCodec.INSTANCE.decode(JsonAsyncHistoryPayloadCodec.INSTANCE.encode(events, objectMapper), objectMapper));
+        long binaryNanos = measure(iterations, () -> binaryCodec.decode(binaryCodec.encode(events, objectMapper), objectMapper));
+        long compressedNanos = measure(iterations, () -> compressedCodec.decode(compressedCodec.encode(events, objectMapper), objectMapper));
+
+        LOGGER.info("Bytes per event: json {}, binary {}, binary+deflate {}", jsonSize / events.size(), binarySize / events.size(), compressedSize / events.size());
+        LOGGER.info("Encode+decode per job: json {}us, binary {}us, binary+deflate {}us", jsonNanos / iterations / 1000, binaryNanos / iterations / 1000,
+                compressedNanos / iterations / 1000);
+    }
+
+    protected long measure(int iterations, Runnable runnable) {
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            runnable.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            runnable.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    protected ArrayNode createHistoryEvents(int count) {
+        ArrayNode arrayNode = objectMapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            arrayNode.add(createHistoryEvent(i));
+        }
+        return arrayNode;
+    }
+
+    protected ObjectNode createHistoryEvent(int index) {
+        ObjectNode event = objectMapper.createObjectNode();
+        event.put("type", index % 2 == 0 ? "activity-full" : "variable-created");
+        ObjectNode data = event.putObject("data");
+        data.put("processInstanceId", "a1b2c3d4-0000-11ee-8c90-0242ac120002");
+        data.put("executionId", "a1b2c3d4-0001-11ee-8c90-0242ac120002");
+        data.put("processDefinitionId", "oneTaskProcess:1:a1b2c3d4-0002-11ee-8c90-0242ac120002");
+        data.put("activityId", "task" + index);
+        data.put("activityType", "userTask");
+        data.put("startTime", "2023-06-01T10:15:30.000+0000");
+        data.put("endTime", "2023-06-01T10:15:31.000+0000");
+        data.put("durationInMillis", 1000L + index);
+        data.put("tenantId", "");
+        data.put("__timeStamp", "2023-06-01T10:15:31.000+0000");
+        return event;
+    }
+
+}
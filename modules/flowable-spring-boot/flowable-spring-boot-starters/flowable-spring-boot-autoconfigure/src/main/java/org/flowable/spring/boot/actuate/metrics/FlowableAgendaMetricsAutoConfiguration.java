@@ -0,0 +1,64 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.spring.boot.actuate.metrics;
+
+import org.flowable.cmmn.spring.SpringCmmnEngineConfiguration;
+import org.flowable.spring.SpringProcessEngineConfiguration;
+import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.flowable.spring.boot.ProcessEngineServicesAutoConfiguration;
+import org.flowable.spring.boot.cmmn.CmmnEngineServicesAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration} publishing the execution of the Flowable agenda operations
+ * to Micrometer. Disabled by default, enable it with {@code flowable.metrics.agenda.enabled=true}.
+ */
+@AutoConfiguration(
+        before = {
+            ProcessEngineServicesAutoConfiguration.class,
+            CmmnEngineServicesAutoConfiguration.class
+        },
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "flowable.metrics.agenda", name = "enabled", havingValue = "true")
+public class FlowableAgendaMetricsAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(SpringProcessEngineConfiguration.class)
+    public static class ProcessEngineAgendaMetricsConfiguration {
+
+        @Bean
+        public EngineConfigurationConfigurer<SpringProcessEngineConfiguration> agendaMetricsProcessEngineConfigurer(MeterRegistry meterRegistry) {
+            return engineConfiguration -> engineConfiguration.setAgendaOperationMetrics(new MicrometerAgendaOperationMetrics(meterRegistry, "bpmn"));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(SpringCmmnEngineConfiguration.class)
+    public static class CmmnEngineAgendaMetricsConfiguration {
+
+        @Bean
+        public EngineConfigurationConfigurer<SpringCmmnEngineConfiguration> agendaMetricsCmmnEngineConfigurer(MeterRegistry meterRegistry) {
+            return engineConfiguration -> engineConfiguration.setAgendaOperationMetrics(new MicrometerAgendaOperationMetrics(meterRegistry, "cmmn"));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.spring.boot.actuate.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.agenda.AgendaOperationMetrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link AgendaOperationMetrics} publishing the agenda operation timings to a Micrometer {@link MeterRegistry}.
+ * <ul>
+ * <li>{@code flowable.agenda.operation}: timer tagged with the engine and the operation type</li>
+ * <li>{@code flowable.agenda.operation.db.statements}: distribution of the number of sql statements per operation</li>
+ * <li>{@code flowable.agenda.behavior}: timer tagged with the engine and the behavior type</li>
+ * </ul>
+ */
+public class MicrometerAgendaOperationMetrics implements AgendaOperationMetrics {
+
+    public static final String OPERATION_METER_NAME = "flowable.agenda.operation";
+    public static final String OPERATION_DB_STATEMENTS_METER_NAME = "flowable.agenda.operation.db.statements";
+    public static final String BEHAVIOR_METER_NAME = "flowable.agenda.behavior";
+
+    protected final MeterRegistry meterRegistry;
+    protected final String engine;
+
+    // Looking up a meter in the registry on every operation is comparatively expensive, hence the meters are cached per type
+    protected final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    protected final Map<String, DistributionSummary> operationDbStatements = new ConcurrentHashMap<>();
+    protected final Map<String, Timer> behaviorTimers = new ConcurrentHashMap<>();
+
+    public MicrometerAgendaOperationMetrics(MeterRegistry meterRegistry, String engine) {
+        this.meterRegistry = meterRegistry;
+        this.engine = engine;
+    }
+
+    @Override
+    public void recordOperation(String operationType, long durationInNanos, long nrOfDbStatements) {
+        operationTimers.computeIfAbsent(operationType, type -> Timer.builder(OPERATION_METER_NAME)
+                        .description("Execution time of Flowable agenda operations")
+                        .tag("engine", engine)
+                        .tag("type", type)
+                        .register(meterRegistry))
+                .record(durationInNanos, TimeUnit.NANOSECONDS);
+
+        operationDbStatements.computeIfAbsent(operationType, type -> DistributionSummary.builder(OPERATION_DB_STATEMENTS_METER_NAME)
+                        .description("Number of sql statements executed by Flowable agenda operations")
+                        .tag("engine", engine)
+                        .tag("type", type)
+                        .register(meterRegistry))
+                .record(nrOfDbStatements);
+    }
+
+    @Override
+    public void recordBehavior(String behaviorType, long durationInNanos) {
+        behaviorTimers.computeIfAbsent(behaviorType, type -> Timer.builder(BEHAVIOR_METER_NAME)
+                        .description("Execution time of the Flowable agenda operations executing an activity or plan item behavior")
+                        .tag("engine", engine)
+                        .tag("type", type)
+                        .register(meterRegistry))
+                .record(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+}
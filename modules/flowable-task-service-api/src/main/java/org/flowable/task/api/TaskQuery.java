@@ -45,4 +45,13 @@ public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
      * Only selects tasks which are active (ie. not suspended)
      */
     TaskQuery active();
+
+    /**
+     * Loads the executions (or plan item and case instances) the resulting tasks belong to, together with their process instances,
+     * in batches into the entity cache of the command in which the query is executed. This avoids one select per task when these are
+     * used afterwards in the same command, e.g. when the query is executed in a custom command or a delegate.
+     * This is only done when the query is executed within such a surrounding command: a query executed on its own
+     * closes its entity cache right after returning the tasks.
+     */
+    TaskQuery prefetchParentScopes();
 }
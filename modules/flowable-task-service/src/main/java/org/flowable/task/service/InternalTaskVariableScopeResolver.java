@@ -13,6 +13,8 @@
 
 package org.flowable.task.service;
 
+import java.util.Collection;
+
 import org.flowable.task.service.impl.persistence.entity.TaskEntity;
 import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
 
@@ -22,5 +24,13 @@ import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
 public interface InternalTaskVariableScopeResolver {
 
     VariableScopeImpl resolveParentVariableScope(TaskEntity task);
+
+    /**
+     * Loads the parent variable scopes of the given tasks into the entity cache, in as few queries as possible,
+     * so that {@link #resolveParentVariableScope(TaskEntity)} doesn't need to go to the database for them later on.
+     */
+    default void prefetchParentVariableScopes(Collection<TaskEntity> tasks) {
+        
+    }
     
 }
@@ -143,6 +143,7 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     protected boolean includeProcessVariables;
     protected boolean includeCaseVariables;
     protected boolean includeIdentityLinks;
+    protected boolean prefetchParentScopes;
     protected String userIdForCandidateAndAssignee;
     protected boolean bothCandidateAndAssigned;
     protected String locale;
@@ -1766,6 +1767,12 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         return this;
     }
 
+    @Override
+    public TaskQuery prefetchParentScopes() {
+        this.prefetchParentScopes = true;
+        return this;
+    }
+
     public Collection<String> getCandidateGroups() {
         if (candidateGroup != null) {
             Collection<String> candidateGroupList = new ArrayList<>(1);
@@ -1958,6 +1965,18 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
                     .findTasksByQueryCriteria(this);
         }
 
+        // Only useful when the query is part of a surrounding command, otherwise the entity cache is closed together with the query
+        if (prefetchParentScopes && commandContext.isReused() && tasks != null && !tasks.isEmpty()
+                && taskServiceConfiguration.getInternalTaskVariableScopeResolver() != null) {
+            List<TaskEntity> taskEntities = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                if (task instanceof TaskEntity) {
+                    taskEntities.add((TaskEntity) task);
+                }
+            }
+            taskServiceConfiguration.getInternalTaskVariableScopeResolver().prefetchParentVariableScopes(taskEntities);
+        }
+
         if (tasks != null && taskServiceConfiguration.getInternalTaskLocalizationManager() != null && taskServiceConfiguration.isEnableLocalization()) {
             for (Task task : tasks) {
                 taskServiceConfiguration.getInternalTaskLocalizationManager()
@@ -2356,6 +2375,10 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         return includeIdentityLinks;
     }
 
+    public boolean isPrefetchParentScopes() {
+        return prefetchParentScopes;
+    }
+
     public boolean isBothCandidateAndAssigned() {
         return bothCandidateAndAssigned;
     }
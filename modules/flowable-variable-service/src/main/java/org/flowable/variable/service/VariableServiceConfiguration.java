@@ -18,12 +18,14 @@ import org.flowable.variable.api.types.VariableTypes;
 import org.flowable.variable.service.history.InternalHistoryVariableManager;
 import org.flowable.variable.service.impl.DefaultVariableInstanceValueModifier;
 import org.flowable.variable.service.impl.HistoricVariableServiceImpl;
+import org.flowable.variable.service.impl.VariableFetchStatistics;
 import org.flowable.variable.service.impl.VariableInstanceValueModifier;
 import org.flowable.variable.service.impl.VariableServiceImpl;
 import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntityManager;
 import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntityManagerImpl;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityManager;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntityManagerImpl;
+import org.flowable.variable.service.impl.persistence.entity.VariableScopeImpl;
 import org.flowable.variable.service.impl.persistence.entity.data.HistoricVariableInstanceDataManager;
 import org.flowable.variable.service.impl.persistence.entity.data.VariableInstanceDataManager;
 import org.flowable.variable.service.impl.persistence.entity.data.impl.MybatisHistoricVariableInstanceDataManager;
@@ -67,7 +69,16 @@ public class VariableServiceConfiguration extends AbstractServiceConfiguration {
      * By default true for backwards compatibility.
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
-    
+
+    /**
+     * When true, reading or writing a variable by name only fetches that variable instead of all the variables of the scope.
+     * All variables are then only fetched when the whole variable map of a scope is requested.
+     * By default false for backwards compatibility. Can be overridden per scope with {@link VariableScopeImpl#setSelectiveVariableFetching(Boolean)}.
+     */
+    protected boolean selectiveVariableFetchingEnabled;
+
+    protected VariableFetchStatistics variableFetchStatistics = new VariableFetchStatistics();
+
     public VariableServiceConfiguration(String engineName) {
         super(engineName);
     }
@@ -222,6 +233,24 @@ public class VariableServiceConfiguration extends AbstractServiceConfiguration {
         this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
     }
 
+    public boolean isSelectiveVariableFetchingEnabled() {
+        return selectiveVariableFetchingEnabled;
+    }
+
+    public VariableServiceConfiguration setSelectiveVariableFetchingEnabled(boolean selectiveVariableFetchingEnabled) {
+        this.selectiveVariableFetchingEnabled = selectiveVariableFetchingEnabled;
+        return this;
+    }
+
+    public VariableFetchStatistics getVariableFetchStatistics() {
+        return variableFetchStatistics;
+    }
+
+    public VariableServiceConfiguration setVariableFetchStatistics(VariableFetchStatistics variableFetchStatistics) {
+        this.variableFetchStatistics = variableFetchStatistics;
+        return this;
+    }
+
     public VariableInstanceValueModifier getVariableInstanceValueModifier() {
         return variableInstanceValueModifier;
     }
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many variable instances are fetched from the database by variable scopes, compared to how many variables are read from them.
+ * A high ratio of fetched to read variables indicates that enabling selective variable fetching could avoid loading unused variables.
+ */
+public class VariableFetchStatistics {
+
+    protected final LongAdder fullFetchCount = new LongAdder();
+    protected final LongAdder fullyFetchedVariableCount = new LongAdder();
+    protected final LongAdder selectiveFetchCount = new LongAdder();
+    protected final LongAdder selectivelyFetchedVariableCount = new LongAdder();
+    protected final LongAdder readVariableCount = new LongAdder();
+
+    public void recordFullFetch(int variableCount) {
+        fullFetchCount.increment();
+        fullyFetchedVariableCount.add(variableCount);
+    }
+
+    public void recordSelectiveFetch(int variableCount) {
+        selectiveFetchCount.increment();
+        selectivelyFetchedVariableCount.add(variableCount);
+    }
+
+    public void recordRead(int variableCount) {
+        readVariableCount.add(variableCount);
+    }
+
+    public void reset() {
+        fullFetchCount.reset();
+        fullyFetchedVariableCount.reset();
+        selectiveFetchCount.reset();
+        selectivelyFetchedVariableCount.reset();
+        readVariableCount.reset();
+    }
+
+    /**
+     * @return the number of times all variables of a scope were fetched
+     */
+    public long getFullFetchCount() {
+        return fullFetchCount.sum();
+    }
+
+    /**
+     * @return the number of variable instances fetched when fetching all variables of a scope
+     */
+    public long getFullyFetchedVariableCount() {
+        return fullyFetchedVariableCount.sum();
+    }
+
+    /**
+     * @return the number of times specific variables of a scope were fetched
+     */
+    public long getSelectiveFetchCount() {
+        return selectiveFetchCount.sum();
+    }
+
+    /**
+     * @return the number of variable instances fetched when fetching specific variables of a scope
+     */
+    public long getSelectivelyFetchedVariableCount() {
+        return selectivelyFetchedVariableCount.sum();
+    }
+
+    public long getFetchedVariableCount() {
+        return getFullyFetchedVariableCount() + getSelectivelyFetchedVariableCount();
+    }
+
+    /**
+     * @return the number of variables requested by name from variable scopes
+     */
+    public long getReadVariableCount() {
+        return readVariableCount.sum();
+    }
+}
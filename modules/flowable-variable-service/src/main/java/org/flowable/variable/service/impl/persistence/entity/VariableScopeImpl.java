@@ -34,6 +34,7 @@ import org.flowable.variable.api.delegate.VariableScope;
 import org.flowable.variable.api.persistence.entity.VariableInstance;
 import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.event.impl.FlowableVariableEventBuilder;
+import org.flowable.variable.service.impl.VariableFetchStatistics;
 import org.flowable.variable.service.impl.VariableInstanceValueModifier;
 import org.flowable.variable.service.impl.util.VariableLoggingSessionUtil;
 
@@ -57,8 +58,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     protected Map<String, VariableInstance> transientVariables;
 
+    // Overrides the selective variable fetching of the variable service configuration for this scope when not null
+    protected Boolean selectiveVariableFetching;
+
     protected ELContext cachedElContext;
 
+    // Resolved when this scope fetches variables, so that reading variables doesn't need to look up the configuration
+    protected VariableFetchStatistics variableFetchStatistics;
+
     protected abstract Collection<VariableInstanceEntity> loadVariableInstances();
 
     protected abstract VariableScopeImpl getParentVariableScope();
@@ -79,7 +86,73 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
             for (VariableInstanceEntity variableInstance : variableInstancesList) {
                 variableInstances.put(variableInstance.getName(), variableInstance);
             }
+
+            VariableFetchStatistics variableFetchStatistics = getVariableFetchStatistics();
+            if (variableFetchStatistics != null) {
+                variableFetchStatistics.recordFullFetch(variableInstancesList.size());
+            }
+        }
+    }
+
+    /**
+     * Whether reading or writing variables by name without an explicit fetchAllVariables flag only fetches the requested variables.
+     * Determined by {@link #setSelectiveVariableFetching(Boolean)} or else by the variable service configuration.
+     */
+    public boolean isSelectiveVariableFetching() {
+        if (selectiveVariableFetching != null) {
+            return selectiveVariableFetching;
+        }
+
+        if (Context.getCommandContext() == null) {
+            return false;
         }
+        VariableServiceConfiguration variableServiceConfiguration = getVariableServiceConfiguration();
+        return variableServiceConfiguration != null && variableServiceConfiguration.isSelectiveVariableFetchingEnabled();
+    }
+
+    public void setSelectiveVariableFetching(Boolean selectiveVariableFetching) {
+        this.selectiveVariableFetching = selectiveVariableFetching;
+    }
+
+    protected boolean isFetchAllVariablesByDefault() {
+        return !isSelectiveVariableFetching();
+    }
+
+    protected VariableFetchStatistics getVariableFetchStatistics() {
+        if (Context.getCommandContext() == null) {
+            return null;
+        }
+        VariableServiceConfiguration variableServiceConfiguration = getVariableServiceConfiguration();
+        variableFetchStatistics = variableServiceConfiguration != null ? variableServiceConfiguration.getVariableFetchStatistics() : null;
+        return variableFetchStatistics;
+    }
+
+    /**
+     * Only records the reads once this scope has fetched variables, which resolves the statistics of the configuration.
+     * Hence it's called after the variables are looked up, and it doesn't do any lookup itself.
+     */
+    protected void recordVariablesRead(int variableCount) {
+        if (variableFetchStatistics != null) {
+            variableFetchStatistics.recordRead(variableCount);
+        }
+    }
+
+    protected VariableInstanceEntity fetchSpecificVariable(String variableName) {
+        VariableInstanceEntity variable = getSpecificVariable(variableName);
+        VariableFetchStatistics variableFetchStatistics = getVariableFetchStatistics();
+        if (variableFetchStatistics != null) {
+            variableFetchStatistics.recordSelectiveFetch(variable != null ? 1 : 0);
+        }
+        return variable;
+    }
+
+    protected List<VariableInstanceEntity> fetchSpecificVariables(Collection<String> variableNames) {
+        List<VariableInstanceEntity> variables = getSpecificVariables(variableNames);
+        VariableFetchStatistics variableFetchStatistics = getVariableFetchStatistics();
+        if (variableFetchStatistics != null) {
+            variableFetchStatistics.recordSelectiveFetch(variables.size());
+        }
+        return variables;
     }
 
     /**
@@ -101,17 +174,16 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Map<String, Object> getVariables(Collection<String> variableNames) {
-        return getVariables(variableNames, true);
+        return getVariables(variableNames, isFetchAllVariablesByDefault());
     }
 
     @Override
     public Map<String, VariableInstance> getVariableInstances(Collection<String> variableNames) {
-        return getVariableInstances(variableNames, true);
+        return getVariableInstances(variableNames, isFetchAllVariablesByDefault());
     }
 
     @Override
     public Map<String, Object> getVariables(Collection<String> variableNames, boolean fetchAllVariables) {
-
         Map<String, Object> requestedVariables = new HashMap<>();
         Set<String> variableNamesToFetch = new HashSet<>(variableNames);
 
@@ -145,12 +217,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
             }
 
             // Fetch variables on this scope
-            List<VariableInstanceEntity> variables = getSpecificVariables(variableNamesToFetch);
+            List<VariableInstanceEntity> variables = fetchSpecificVariables(variableNamesToFetch);
             for (VariableInstanceEntity variable : variables) {
                 requestedVariables.put(variable.getName(), variable.getValue());
             }
 
         }
+
+        recordVariablesRead(variableNames.size());
         return requestedVariables;
 
     }
@@ -190,7 +264,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
             }
 
             // Fetch variables on this scope
-            List<VariableInstanceEntity> variables = getSpecificVariables(variableNamesToFetch);
+            List<VariableInstanceEntity> variables = fetchSpecificVariables(variableNamesToFetch);
             for (VariableInstanceEntity variable : variables) {
                 requestedVariables.put(variable.getName(), variable);
             }
@@ -248,12 +322,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Object getVariable(String variableName) {
-        return getVariable(variableName, true);
+        return getVariable(variableName, isFetchAllVariablesByDefault());
     }
 
     @Override
     public VariableInstance getVariableInstance(String variableName) {
-        return getVariableInstance(variableName, true);
+        return getVariableInstance(variableName, isFetchAllVariablesByDefault());
     }
 
     /**
@@ -268,6 +342,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     public Object getVariable(String variableName, boolean fetchAllVariables) {
         Object value = null;
         VariableInstance variable = getVariableInstance(variableName, fetchAllVariables);
+        recordVariablesRead(1);
         if (variable != null) {
             value = variable.getValue();
         }
@@ -306,7 +381,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
                 return variableInstances.get(variableName);
             }
 
-            VariableInstanceEntity variable = getSpecificVariable(variableName);
+            VariableInstanceEntity variable = fetchSpecificVariable(variableName);
             if (variable != null) {
                 usedVariablesCache.put(variableName, variable);
                 return variable;
@@ -326,18 +401,19 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Object getVariableLocal(String variableName) {
-        return getVariableLocal(variableName, true);
+        return getVariableLocal(variableName, isFetchAllVariablesByDefault());
     }
 
     @Override
     public VariableInstance getVariableInstanceLocal(String variableName) {
-        return getVariableInstanceLocal(variableName, true);
+        return getVariableInstanceLocal(variableName, isFetchAllVariablesByDefault());
     }
 
     @Override
     public Object getVariableLocal(String variableName, boolean fetchAllVariables) {
         Object value = null;
         VariableInstance variable = getVariableInstanceLocal(variableName, fetchAllVariables);
+        recordVariablesRead(1);
         if (variable != null) {
             value = variable.getValue();
         }
@@ -373,7 +449,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
                 }
             }
 
-            VariableInstanceEntity variable = getSpecificVariable(variableName);
+            VariableInstanceEntity variable = fetchSpecificVariable(variableName);
             if (variable != null) {
                 usedVariablesCache.put(variableName, variable);
                 return variable;
@@ -426,6 +502,20 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         if (transientVariables != null && transientVariables.containsKey(variableName)) {
             return true;
         }
+
+        if (variableInstances == null && isSelectiveVariableFetching()) {
+            if (usedVariablesCache.containsKey(variableName)) {
+                return true;
+            }
+
+            VariableInstanceEntity variable = fetchSpecificVariable(variableName);
+            if (variable != null) {
+                usedVariablesCache.put(variableName, variable);
+                return true;
+            }
+            return false;
+        }
+
         ensureVariableInstancesInitialized();
         return variableInstances.containsKey(variableName);
     }
@@ -487,12 +577,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Map<String, Object> getVariablesLocal(Collection<String> variableNames) {
-        return getVariablesLocal(variableNames, true);
+        return getVariablesLocal(variableNames, isFetchAllVariablesByDefault());
     }
 
     @Override
     public Map<String, VariableInstance> getVariableInstancesLocal(Collection<String> variableNames) {
-        return getVariableInstancesLocal(variableNames, true);
+        return getVariableInstancesLocal(variableNames, isFetchAllVariablesByDefault());
     }
 
     @Override
@@ -520,13 +610,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
         } else {
 
-            List<VariableInstanceEntity> variables = getSpecificVariables(variableNamesToFetch);
+            List<VariableInstanceEntity> variables = fetchSpecificVariables(variableNamesToFetch);
             for (VariableInstanceEntity variable : variables) {
                 requestedVariables.put(variable.getName(), variable.getValue());
             }
 
         }
 
+        recordVariablesRead(variableNames.size());
         return requestedVariables;
     }
 
@@ -555,7 +646,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
         } else {
 
-            List<VariableInstanceEntity> variables = getSpecificVariables(variableNamesToFetch);
+            List<VariableInstanceEntity> variables = fetchSpecificVariables(variableNamesToFetch);
             for (VariableInstanceEntity variable : variables) {
                 requestedVariables.put(variable.getName(), variable);
             }
@@ -655,7 +746,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
                     createExpression(variableName).
                     setValue(value, this);
         } else {
-            setVariable(variableName, value, true);
+            setVariable(variableName, value, isFetchAllVariablesByDefault());
         }
     }
 
@@ -706,7 +797,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
                 // Not in local cache, check if defined on this scope
                 // Create it if it doesn't exist yet
-                VariableInstanceEntity variable = getSpecificVariable(variableName);
+                VariableInstanceEntity variable = fetchSpecificVariable(variableName);
                 if (variable != null) {
                     updateVariableInstance(variable, value);
                 } else {
@@ -730,7 +821,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     @Override
     public Object setVariableLocal(String variableName, Object value) {
-        return setVariableLocal(variableName, value, true);
+        return setVariableLocal(variableName, value, isFetchAllVariablesByDefault());
     }
 
     /**
@@ -770,7 +861,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
                 updateVariableInstance(variableInstances.get(variableName), value);
             } else {
 
-                VariableInstanceEntity variable = getSpecificVariable(variableName);
+                VariableInstanceEntity variable = fetchSpecificVariable(variableName);
                 if (variable != null) {
                     updateVariableInstance(variable, value);
                 } else {
@@ -0,0 +1,145 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.format.DataFormatDetector;
+import com.fasterxml.jackson.core.format.DataFormatMatcher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A json variable type that stores the value in a binary json encoding in the byte array table, instead of as text.
+ * The binary encoding is determined by the given binary {@link ObjectMapper}, e.g. one created with a
+ * {@code SmileFactory} or a {@code CBORFactory} from the Jackson dataformat modules:
+ *
+ * <pre>
+ * configuration.setCustomPreVariableTypes(Collections.singletonList(
+ *         new BinaryJsonType(new ObjectMapper(new SmileFactory()), configuration.getObjectMapper(), true)));
+ * </pre>
+ *
+ * When this type is registered before the default {@link JsonType}, new json variables are stored in the binary encoding
+ * and existing json variables are converted the next time their value is set.
+ * Values that are still stored as json text (in the text column or as bytes) are read transparently as well,
+ * which means that existing rows can also be migrated by only changing their type name to {@link #TYPE_NAME}.
+ */
+public class BinaryJsonType extends JsonType {
+
+    public static final String TYPE_NAME = "binaryJson";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryJsonType.class);
+
+    protected ObjectMapper binaryObjectMapper;
+    protected DataFormatDetector dataFormatDetector;
+
+    public BinaryJsonType(ObjectMapper binaryObjectMapper, ObjectMapper objectMapper, boolean trackObjects) {
+        this(binaryObjectMapper, objectMapper, trackObjects, TYPE_NAME);
+    }
+
+    protected BinaryJsonType(ObjectMapper binaryObjectMapper, ObjectMapper objectMapper, boolean trackObjects, String typeName) {
+        super(Integer.MAX_VALUE, objectMapper, trackObjects, typeName);
+        this.binaryObjectMapper = binaryObjectMapper;
+        // The binary format is checked first, since the binary formats have a more distinctive header than json text
+        this.dataFormatDetector = new DataFormatDetector(binaryObjectMapper.getFactory(), objectMapper.getFactory());
+    }
+
+    @Override
+    public Object getValue(ValueFields valueFields) {
+        if (valueFields.getCachedValue() != null) {
+            return valueFields.getCachedValue();
+        }
+
+        JsonNode jsonValue = null;
+        try (JsonParser parser = createJsonParser(valueFields)) {
+            if (parser != null) {
+                jsonValue = binaryObjectMapper.readTree(parser);
+                valueFields.setCachedValue(jsonValue);
+                traceValue(jsonValue, valueFields);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error reading binary json variable {}", valueFields.getName(), e);
+        }
+        return jsonValue;
+    }
+
+    @Override
+    public void setValue(Object value, ValueFields valueFields) {
+        if (value == null) {
+            valueFields.setTextValue(null);
+            valueFields.setBytes(null);
+            valueFields.setCachedValue(null);
+        } else {
+            JsonNode jsonNode = (JsonNode) value;
+            valueFields.setTextValue(null);
+            valueFields.setBytes(serialize(jsonNode, valueFields));
+            valueFields.setCachedValue(jsonNode);
+            traceValue(jsonNode, valueFields);
+        }
+    }
+
+    @Override
+    public boolean updateValueIfChanged(JsonNode originalNode, JsonNode originalCopyNode, VariableInstanceEntity variableInstanceEntity) {
+        if (!Objects.equals(originalNode, originalCopyNode)) {
+            variableInstanceEntity.setTextValue(null);
+            variableInstanceEntity.setBytes(serialize(originalNode, variableInstanceEntity));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public JsonParser createJsonParser(ValueFields valueFields) {
+        String textValue = valueFields.getTextValue();
+        if (textValue != null && textValue.length() > 0) {
+            // Json text that has not been migrated yet
+            return super.createJsonParser(valueFields);
+        }
+
+        byte[] bytes = valueFields.getBytes();
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            DataFormatMatcher matcher = dataFormatDetector.findFormat(bytes);
+            if (matcher.hasMatch()) {
+                return matcher.createParserWithMatch();
+            }
+            return binaryObjectMapper.getFactory().createParser(bytes);
+        } catch (IOException e) {
+            throw new FlowableException("Couldn't create json parser for variable '" + valueFields.getName() + "'", e);
+        }
+    }
+
+    public byte[] serialize(JsonNode value, ValueFields valueFields) {
+        try {
+            return binaryObjectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new FlowableException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "'", e);
+        }
+    }
+
+    public ObjectMapper getBinaryObjectMapper() {
+        return binaryObjectMapper;
+    }
+
+}
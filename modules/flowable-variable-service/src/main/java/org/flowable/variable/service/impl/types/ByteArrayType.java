@@ -12,13 +12,16 @@
  */
 package org.flowable.variable.service.impl.types;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 import org.flowable.variable.api.types.ValueFields;
 import org.flowable.variable.api.types.VariableType;
 
 /**
  * @author Tom Baeyens
  */
-public class ByteArrayType implements VariableType {
+public class ByteArrayType implements VariableType, StreamableVariableType {
 
     public static final String TYPE_NAME = "bytes";
 
@@ -44,6 +47,12 @@ public class ByteArrayType implements VariableType {
         valueFields.setBytes((byte[]) value);
     }
 
+    @Override
+    public InputStream getValueAsStream(ValueFields valueFields) {
+        byte[] bytes = valueFields.getBytes();
+        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+
     @Override
     public boolean isAbleToStore(Object value) {
         if (value == null) {
@@ -12,12 +12,15 @@
  */
 package org.flowable.variable.service.impl.types;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 
 import org.apache.commons.lang3.StringUtils;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.HasVariableServiceConfiguration;
@@ -31,6 +34,7 @@ import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEnt
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -38,7 +42,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * @author Tijs Rademakers
  * @author Filip Hrisafov
  */
-public class JsonType implements VariableType, MutableVariableType<JsonNode, JsonNode> {
+public class JsonType implements VariableType, MutableVariableType<JsonNode, JsonNode>, StreamableVariableType {
 
     public static final String TYPE_NAME = "json";
 
@@ -129,6 +133,44 @@ public class JsonType implements VariableType, MutableVariableType<JsonNode, Jso
         }
     }
 
+    @Override
+    public InputStream getValueAsStream(ValueFields valueFields) {
+        String textValue = valueFields.getTextValue();
+        if (textValue != null && textValue.length() > 0) {
+            return new ByteArrayInputStream(textValue.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] bytes = valueFields.getBytes();
+        if (bytes != null && bytes.length > 0) {
+            return new ByteArrayInputStream(bytes);
+        }
+        return null;
+    }
+
+    /**
+     * Creates a streaming {@link JsonParser} over the stored json, without building the {@link JsonNode} tree.
+     * The value is neither cached nor tracked, which means that the parser can be used to extract parts of large json values
+     * without keeping the full tree in memory. The caller is responsible for closing the parser.
+     *
+     * @return the parser, or {@code null} if the variable has no value
+     */
+    public JsonParser createJsonParser(ValueFields valueFields) {
+        try {
+            String textValue = valueFields.getTextValue();
+            if (textValue != null && textValue.length() > 0) {
+                return objectMapper.getFactory().createParser(textValue);
+            }
+
+            byte[] bytes = valueFields.getBytes();
+            if (bytes != null && bytes.length > 0) {
+                return objectMapper.getFactory().createParser(bytes);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new FlowableException("Couldn't create json parser for variable '" + valueFields.getName() + "'", e);
+        }
+    }
+
     @Override
     public boolean updateValueIfChanged(JsonNode originalNode, JsonNode originalCopyNode, VariableInstanceEntity variableInstanceEntity) {
         boolean valueChanged = false;
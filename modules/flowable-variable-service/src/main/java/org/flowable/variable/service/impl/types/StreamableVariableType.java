@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.InputStream;
+
+import org.flowable.variable.api.types.ValueFields;
+
+/**
+ * An interface that can be implemented by a {@link org.flowable.variable.api.types.VariableType VariableType}
+ * that stores its value as raw content (text or bytes), in order to give access to that content without
+ * deserializing it into the variable value.
+ * <p>
+ * Reading a value as a stream does not set the cached value of the {@link ValueFields} and does not track the value for changes.
+ * This makes it suitable for large payloads that only need to be copied or scanned.
+ */
+public interface StreamableVariableType {
+
+    /**
+     * @return a stream over the raw stored content of the variable, or {@code null} if the variable has no content
+     */
+    InputStream getValueAsStream(ValueFields valueFields);
+
+}